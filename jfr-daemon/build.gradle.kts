@@ -22,6 +22,38 @@ tasks.named<JavaCompile>("compileTestJava") {
     })
 }
 
+// Multi-release classes using the JFR event streaming APIs compile against java 16 and are
+// packaged under META-INF/versions/16
+val java16: SourceSet by sourceSets.creating {
+    java.setSrcDirs(listOf("src/main/java16"))
+    compileClasspath += sourceSets.main.get().output + sourceSets.main.get().compileClasspath
+}
+
+tasks.named<JavaCompile>("compileJava16Java") {
+    javaCompiler.set(javaToolchains.compilerFor {
+        languageVersion.set(JavaLanguageVersion.of(16))
+    })
+}
+
+// The tests also run against the multi-release classes, the way a Java 16+ JVM loads the jar
+val testJava16 by tasks.registering(Test::class) {
+    description = "Runs the tests with the Java 16 multi-release classes."
+    group = "verification"
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = java16.output + sourceSets.test.get().runtimeClasspath
+    javaLauncher.set(javaToolchains.launcherFor {
+        languageVersion.set(JavaLanguageVersion.of(16))
+    })
+    useJUnitPlatform()
+    testLogging {
+        events("passed", "skipped", "failed")
+    }
+}
+
+tasks.named("check") {
+    dependsOn(testJava16)
+}
+
 dependencies {
     api(project(":jfr-mappers"))
     implementation("org.slf4j:slf4j-simple:${slf4jVersion}");
@@ -47,11 +79,16 @@ tasks.jar {
 tasks.shadowJar {
     archiveClassifier.set("")
 
+    into("META-INF/versions/16") {
+        from(java16.output)
+    }
+
     manifest {
         attributes(
                 "Agent-Class" to "com.newrelic.jfr.daemon.agent.AgentMain",
                 "Premain-Class" to "com.newrelic.jfr.daemon.agent.AgentMain",
                 "Main-Class" to "com.newrelic.jfr.daemon.app.JFRDaemon",
+                "Multi-Release" to "true",
                 "Implementation-Version" to project.version
         )
     }
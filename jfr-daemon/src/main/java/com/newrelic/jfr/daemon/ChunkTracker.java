@@ -0,0 +1,220 @@
+/*
+ *
+ *  * Copyright 2020 New Relic Corporation. All rights reserved.
+ *  * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package com.newrelic.jfr.daemon;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class tracks the chunks of consecutive JFR files recorded from the same recording. Each file
+ * overlaps the previous one by the recording's max age, but chunks are immutable once written, so
+ * chunks already consumed from a previous file can be skipped by reading their headers, without
+ * decoding any of their events. Chunks are only recorded as consumed once the events of a file were
+ * all handed off, so chunks of a file which couldn't be read in full are read again from the next
+ * file.
+ */
+public class ChunkTracker {
+
+  private static final Logger logger = LoggerFactory.getLogger(ChunkTracker.class);
+
+  private static final int HEADER_SIZE = 68;
+  private static final int MAGIC = 0x464c5200; // "FLR\0"
+
+  private Map<ChunkId, Long> consumedChunks = new HashMap<>();
+  // True when the new chunks of the last file were not marked consumed, so part of their events may
+  // already have been handed off
+  private boolean unconsumedChunks = false;
+
+  /**
+   * Remove the chunks of the JFR {@code file} which were consumed from previous files. The chunks
+   * of the file are not recorded as consumed until {@link #markConsumed(NewChunks)} is called.
+   *
+   * @param file the JFR file
+   * @return the chunks of the {@code file} which have not been consumed
+   * @throws IOException if an error occurs reading the file, or it is not a complete JFR file
+   */
+  public NewChunks removeConsumedChunks(Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      List<ChunkHeader> headers = readHeaders(channel);
+      Map<ChunkId, Long> chunks = new HashMap<>();
+      List<ChunkHeader> newChunks = new ArrayList<>();
+      boolean overlapping = unconsumedChunks;
+      for (ChunkHeader header : headers) {
+        chunks.put(header.id, header.durationNanos);
+        Long consumedDuration = consumedChunks.get(header.id);
+        if (consumedDuration == null) {
+          newChunks.add(header);
+        } else if (consumedDuration != header.durationNanos) {
+          // Only part of this chunk was consumed previously
+          newChunks.add(header);
+          overlapping = true;
+        }
+      }
+
+      logger.debug(
+          "Found {} new chunks of {} chunks in {}", newChunks.size(), headers.size(), file);
+      if (newChunks.isEmpty()) {
+        return new NewChunks(null, false, chunks);
+      }
+      unconsumedChunks = true;
+      if (newChunks.size() == headers.size()) {
+        return new NewChunks(file, overlapping, chunks);
+      }
+      return new NewChunks(copyChunks(channel, newChunks, file), overlapping, chunks);
+    }
+  }
+
+  /**
+   * Record the chunks of a file as consumed, once all the events of its new chunks were handed off.
+   *
+   * @param newChunks the result of {@link #removeConsumedChunks(Path)} for the file
+   */
+  public void markConsumed(NewChunks newChunks) {
+    // Chunks not in the file have aged out of the recording and won't be seen again
+    consumedChunks = newChunks.chunks;
+    unconsumedChunks = false;
+  }
+
+  private static List<ChunkHeader> readHeaders(FileChannel channel) throws IOException {
+    List<ChunkHeader> headers = new ArrayList<>();
+    ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE);
+    long fileSize = channel.size();
+    long position = 0;
+    while (position < fileSize) {
+      buffer.clear();
+      while (buffer.hasRemaining()) {
+        if (channel.read(buffer, position + buffer.position()) < 0) {
+          throw new IOException("Truncated chunk header at position " + position);
+        }
+      }
+      buffer.flip();
+      if (buffer.getInt() != MAGIC) {
+        throw new IOException("Not a JFR chunk at position " + position);
+      }
+      buffer.getShort(); // major version
+      buffer.getShort(); // minor version
+      long size = buffer.getLong();
+      buffer.getLong(); // constant pool offset
+      buffer.getLong(); // metadata offset
+      long startNanos = buffer.getLong();
+      long durationNanos = buffer.getLong();
+      long startTicks = buffer.getLong();
+      if (size < HEADER_SIZE || position + size > fileSize) {
+        throw new IOException("Incomplete JFR chunk at position " + position);
+      }
+      headers.add(
+          new ChunkHeader(new ChunkId(startNanos, startTicks), position, size, durationNanos));
+      position += size;
+    }
+    return headers;
+  }
+
+  private static Path copyChunks(FileChannel channel, List<ChunkHeader> chunks, Path file)
+      throws IOException {
+    Path copy = Files.createTempFile(file.getParent(), "chunks-", ".jfr");
+    try (FileChannel out = FileChannel.open(copy, StandardOpenOption.WRITE)) {
+      for (ChunkHeader chunk : chunks) {
+        long transferred = 0;
+        while (transferred < chunk.size) {
+          transferred +=
+              channel.transferTo(chunk.position + transferred, chunk.size - transferred, out);
+        }
+      }
+    } catch (IOException e) {
+      Files.deleteIfExists(copy);
+      throw e;
+    }
+    return copy;
+  }
+
+  /** The result of {@link #removeConsumedChunks(Path)}. */
+  public static final class NewChunks {
+    private final Path file;
+    private final boolean overlapping;
+    private final Map<ChunkId, Long> chunks;
+
+    NewChunks(Path file, boolean overlapping, Map<ChunkId, Long> chunks) {
+      this.file = file;
+      this.overlapping = overlapping;
+      this.chunks = chunks;
+    }
+
+    /** @return true if there are any new chunks, else false */
+    public boolean isPresent() {
+      return file != null;
+    }
+
+    /**
+     * @return the file containing only the new chunks. This is the original file if no chunks were
+     *     removed, else a new file in the same directory which the caller should delete.
+     */
+    public Path getFile() {
+      return file;
+    }
+
+    /**
+     * @return true if some chunks were partially consumed from previous files, or the chunks of the
+     *     previous file were not all consumed, so events need to be filtered by time, else false
+     */
+    public boolean isOverlapping() {
+      return overlapping;
+    }
+  }
+
+  private static final class ChunkId {
+    private final long startNanos;
+    private final long startTicks;
+
+    private ChunkId(long startNanos, long startTicks) {
+      this.startNanos = startNanos;
+      this.startTicks = startTicks;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      ChunkId chunkId = (ChunkId) o;
+      return startNanos == chunkId.startNanos && startTicks == chunkId.startTicks;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(startNanos, startTicks);
+    }
+  }
+
+  private static final class ChunkHeader {
+    private final ChunkId id;
+    private final long position;
+    private final long size;
+    private final long durationNanos;
+
+    private ChunkHeader(ChunkId id, long position, long size, long durationNanos) {
+      this.id = id;
+      this.position = position;
+      this.size = size;
+      this.durationNanos = durationNanos;
+    }
+  }
+}
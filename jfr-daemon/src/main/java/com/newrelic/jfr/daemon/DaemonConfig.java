@@ -10,8 +10,13 @@ package com.newrelic.jfr.daemon;
 import static com.newrelic.jfr.daemon.EnvironmentVars.INSERT_API_KEY;
 
 import com.newrelic.jfr.ThreadNameNormalizer;
+import com.newrelic.jfr.profiler.FlamegraphEncoding;
+import com.newrelic.jfr.profiler.FrameKeying;
+import com.newrelic.jfr.profiler.SpikeDetector;
 import java.net.URI;
 import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
 import java.util.function.Function;
 
 public class DaemonConfig {
@@ -23,10 +28,30 @@ public class DaemonConfig {
   private static final boolean DEFAULT_USE_SHARED_FILESYSTEM = false;
   private static final boolean DEFAULT_USE_LICENSE_KEY = false;
   private static final boolean DEFAULT_AUDIT_LOGGING = false;
+  private static final boolean DEFAULT_USE_EVENT_STREAMING = true;
+  private static final boolean DEFAULT_USE_STACK_TRACE_DICTIONARY = false;
+  private static final FlamegraphEncoding DEFAULT_FLAMEGRAPH_ENCODING =
+      FlamegraphEncoding.FLAME_LEVELS;
+  private static final double DEFAULT_FLAMEGRAPH_MIN_SAMPLE_PERCENT = 0;
+  private static final int DEFAULT_FLAMEGRAPH_MAX_DEPTH = 0;
+  private static final int DEFAULT_FLAMEGRAPH_MAX_NODES = 0;
+  private static final FrameKeying DEFAULT_FLAMEGRAPH_FRAME_KEYING = FrameKeying.METHOD_AND_LINE;
+  private static final List<String> DEFAULT_FLAMEGRAPH_FOLDED_PACKAGES = Collections.emptyList();
+  private static final boolean DEFAULT_FLAMEGRAPH_SPLIT_THREAD_STATES = false;
+  private static final boolean DEFAULT_FLAMEGRAPH_ALLOCATION_PROFILE = false;
+  private static final boolean DEFAULT_FLAMEGRAPH_LOCK_PROFILE = false;
+  private static final Duration DEFAULT_FLAMEGRAPH_LOCK_THRESHOLD = Duration.ofMillis(1);
+  private static final int DEFAULT_FLAMEGRAPH_SLICE_SECONDS = 0;
+  private static final double DEFAULT_FLAMEGRAPH_SPIKE_CPU_LOAD =
+      SpikeDetector.DEFAULT_CPU_LOAD_THRESHOLD;
+  private static final Duration DEFAULT_FLAMEGRAPH_SPIKE_GC_PAUSE =
+      SpikeDetector.DEFAULT_GC_PAUSE_THRESHOLD;
   public static final int DEFAULT_HARVEST_INTERVAL = 10;
   private static final Duration DEFAULT_HARVEST_DURATION =
       Duration.ofSeconds(DEFAULT_HARVEST_INTERVAL);
   public static final Integer DEFAULT_QUEUE_SIZE = 250_000;
+  // JFR writes events as thread buffers are flushed, not in start time order
+  private static final Duration DEFAULT_OUT_OF_ORDER_TOLERANCE = Duration.ofSeconds(1);
   private static final String DEFAULT_MONITORED_APP_NAME = "My Application";
   private static final String DEFAULT_PROXY_HOST = null;
   private static final Integer DEFAULT_PROXY_PORT = null;
@@ -40,8 +65,24 @@ public class DaemonConfig {
   private final String jmxHost;
   private final Integer jmxPort;
   private final boolean useSharedFilesystem;
+  private final boolean useEventStreaming;
+  private final boolean useStackTraceDictionary;
+  private final FlamegraphEncoding flamegraphEncoding;
+  private final double flamegraphMinSamplePercent;
+  private final int flamegraphMaxDepth;
+  private final int flamegraphMaxNodes;
+  private final FrameKeying flamegraphFrameKeying;
+  private final List<String> flamegraphFoldedPackages;
+  private final boolean flamegraphSplitThreadStates;
+  private final boolean flamegraphAllocationProfile;
+  private final boolean flamegraphLockProfile;
+  private final Duration flamegraphLockThreshold;
+  private final int flamegraphSliceSeconds;
+  private final double flamegraphSpikeCpuLoad;
+  private final Duration flamegraphSpikeGcPause;
   private final Duration harvestInterval;
   private final Integer queueSize;
+  private final Duration outOfOrderTolerance;
   private final String daemonVersion;
   private final String monitoredAppName;
   private final boolean auditLogging;
@@ -62,9 +103,25 @@ public class DaemonConfig {
     this.jmxHost = builder.jmxHost;
     this.jmxPort = builder.jmxPort;
     this.useSharedFilesystem = builder.useSharedFilesystem;
+    this.useEventStreaming = builder.useEventStreaming;
+    this.useStackTraceDictionary = builder.useStackTraceDictionary;
+    this.flamegraphEncoding = builder.flamegraphEncoding;
+    this.flamegraphMinSamplePercent = builder.flamegraphMinSamplePercent;
+    this.flamegraphMaxDepth = builder.flamegraphMaxDepth;
+    this.flamegraphMaxNodes = builder.flamegraphMaxNodes;
+    this.flamegraphFrameKeying = builder.flamegraphFrameKeying;
+    this.flamegraphFoldedPackages = builder.flamegraphFoldedPackages;
+    this.flamegraphSplitThreadStates = builder.flamegraphSplitThreadStates;
+    this.flamegraphAllocationProfile = builder.flamegraphAllocationProfile;
+    this.flamegraphLockProfile = builder.flamegraphLockProfile;
+    this.flamegraphLockThreshold = builder.flamegraphLockThreshold;
+    this.flamegraphSliceSeconds = builder.flamegraphSliceSeconds;
+    this.flamegraphSpikeCpuLoad = builder.flamegraphSpikeCpuLoad;
+    this.flamegraphSpikeGcPause = builder.flamegraphSpikeGcPause;
     this.useLicenseKey = builder.useLicenseKey;
     this.harvestInterval = builder.harvestInterval;
     this.queueSize = builder.queueSize;
+    this.outOfOrderTolerance = builder.outOfOrderTolerance;
     this.daemonVersion = builder.daemonVersion;
     this.monitoredAppName = builder.monitoredAppName;
     this.proxyHost = builder.proxyHost;
@@ -112,6 +169,66 @@ public class DaemonConfig {
     return !useSharedFilesystem;
   }
 
+  public boolean useEventStreaming() {
+    return useEventStreaming;
+  }
+
+  public boolean useStackTraceDictionary() {
+    return useStackTraceDictionary;
+  }
+
+  public FlamegraphEncoding getFlamegraphEncoding() {
+    return flamegraphEncoding;
+  }
+
+  public double getFlamegraphMinSamplePercent() {
+    return flamegraphMinSamplePercent;
+  }
+
+  public int getFlamegraphMaxDepth() {
+    return flamegraphMaxDepth;
+  }
+
+  public int getFlamegraphMaxNodes() {
+    return flamegraphMaxNodes;
+  }
+
+  public FrameKeying getFlamegraphFrameKeying() {
+    return flamegraphFrameKeying;
+  }
+
+  public List<String> getFlamegraphFoldedPackages() {
+    return flamegraphFoldedPackages;
+  }
+
+  public boolean flamegraphSplitThreadStates() {
+    return flamegraphSplitThreadStates;
+  }
+
+  public boolean flamegraphAllocationProfile() {
+    return flamegraphAllocationProfile;
+  }
+
+  public boolean flamegraphLockProfile() {
+    return flamegraphLockProfile;
+  }
+
+  public Duration getFlamegraphLockThreshold() {
+    return flamegraphLockThreshold;
+  }
+
+  public int getFlamegraphSliceSeconds() {
+    return flamegraphSliceSeconds;
+  }
+
+  public double getFlamegraphSpikeCpuLoad() {
+    return flamegraphSpikeCpuLoad;
+  }
+
+  public Duration getFlamegraphSpikeGcPause() {
+    return flamegraphSpikeGcPause;
+  }
+
   public Duration getHarvestInterval() {
     return harvestInterval;
   }
@@ -120,6 +237,10 @@ public class DaemonConfig {
     return queueSize;
   }
 
+  public Duration getOutOfOrderTolerance() {
+    return outOfOrderTolerance;
+  }
+
   public String getDaemonVersion() {
     return daemonVersion;
   }
@@ -169,8 +290,24 @@ public class DaemonConfig {
     private String jmxHost = DEFAULT_JMX_HOST;
     private Integer jmxPort = DEFAULT_JMX_PORT;
     private boolean useSharedFilesystem = DEFAULT_USE_SHARED_FILESYSTEM;
+    private boolean useEventStreaming = DEFAULT_USE_EVENT_STREAMING;
+    private boolean useStackTraceDictionary = DEFAULT_USE_STACK_TRACE_DICTIONARY;
+    private FlamegraphEncoding flamegraphEncoding = DEFAULT_FLAMEGRAPH_ENCODING;
+    private double flamegraphMinSamplePercent = DEFAULT_FLAMEGRAPH_MIN_SAMPLE_PERCENT;
+    private int flamegraphMaxDepth = DEFAULT_FLAMEGRAPH_MAX_DEPTH;
+    private int flamegraphMaxNodes = DEFAULT_FLAMEGRAPH_MAX_NODES;
+    private FrameKeying flamegraphFrameKeying = DEFAULT_FLAMEGRAPH_FRAME_KEYING;
+    private List<String> flamegraphFoldedPackages = DEFAULT_FLAMEGRAPH_FOLDED_PACKAGES;
+    private boolean flamegraphSplitThreadStates = DEFAULT_FLAMEGRAPH_SPLIT_THREAD_STATES;
+    private boolean flamegraphAllocationProfile = DEFAULT_FLAMEGRAPH_ALLOCATION_PROFILE;
+    private boolean flamegraphLockProfile = DEFAULT_FLAMEGRAPH_LOCK_PROFILE;
+    private Duration flamegraphLockThreshold = DEFAULT_FLAMEGRAPH_LOCK_THRESHOLD;
+    private int flamegraphSliceSeconds = DEFAULT_FLAMEGRAPH_SLICE_SECONDS;
+    private double flamegraphSpikeCpuLoad = DEFAULT_FLAMEGRAPH_SPIKE_CPU_LOAD;
+    private Duration flamegraphSpikeGcPause = DEFAULT_FLAMEGRAPH_SPIKE_GC_PAUSE;
     private Duration harvestInterval = DEFAULT_HARVEST_DURATION;
     private Integer queueSize = DEFAULT_QUEUE_SIZE;
+    private Duration outOfOrderTolerance = DEFAULT_OUT_OF_ORDER_TOLERANCE;
     public String daemonVersion = DEFAULT_DAEMON_VERSION;
     public String monitoredAppName = DEFAULT_MONITORED_APP_NAME;
     private String proxyHost = DEFAULT_PROXY_HOST;
@@ -217,6 +354,85 @@ public class DaemonConfig {
       return this;
     }
 
+    public Builder useEventStreaming(boolean useEventStreaming) {
+      this.useEventStreaming = useEventStreaming;
+      return this;
+    }
+
+    public Builder useStackTraceDictionary(boolean useStackTraceDictionary) {
+      this.useStackTraceDictionary = useStackTraceDictionary;
+      return this;
+    }
+
+    public Builder flamegraphEncoding(FlamegraphEncoding flamegraphEncoding) {
+      this.flamegraphEncoding = flamegraphEncoding;
+      return this;
+    }
+
+    public Builder flamegraphMinSamplePercent(double flamegraphMinSamplePercent) {
+      this.flamegraphMinSamplePercent = flamegraphMinSamplePercent;
+      return this;
+    }
+
+    public Builder flamegraphMaxDepth(int flamegraphMaxDepth) {
+      this.flamegraphMaxDepth = flamegraphMaxDepth;
+      return this;
+    }
+
+    public Builder flamegraphMaxNodes(int flamegraphMaxNodes) {
+      this.flamegraphMaxNodes = flamegraphMaxNodes;
+      return this;
+    }
+
+    public Builder flamegraphFrameKeying(FrameKeying flamegraphFrameKeying) {
+      this.flamegraphFrameKeying = flamegraphFrameKeying;
+      return this;
+    }
+
+    public Builder flamegraphFoldedPackages(List<String> flamegraphFoldedPackages) {
+      this.flamegraphFoldedPackages = flamegraphFoldedPackages;
+      return this;
+    }
+
+    public Builder flamegraphSplitThreadStates(boolean flamegraphSplitThreadStates) {
+      this.flamegraphSplitThreadStates = flamegraphSplitThreadStates;
+      return this;
+    }
+
+    public Builder flamegraphAllocationProfile(boolean flamegraphAllocationProfile) {
+      this.flamegraphAllocationProfile = flamegraphAllocationProfile;
+      return this;
+    }
+
+    public Builder flamegraphLockProfile(boolean flamegraphLockProfile) {
+      this.flamegraphLockProfile = flamegraphLockProfile;
+      return this;
+    }
+
+    public Builder flamegraphLockThresholdMillis(Integer millis) {
+      if (millis != null) {
+        this.flamegraphLockThreshold = Duration.ofMillis(millis);
+      }
+      return this;
+    }
+
+    public Builder flamegraphSliceSeconds(int flamegraphSliceSeconds) {
+      this.flamegraphSliceSeconds = flamegraphSliceSeconds;
+      return this;
+    }
+
+    public Builder flamegraphSpikeCpuLoad(double flamegraphSpikeCpuLoad) {
+      this.flamegraphSpikeCpuLoad = flamegraphSpikeCpuLoad;
+      return this;
+    }
+
+    public Builder flamegraphSpikeGcPauseMillis(Integer millis) {
+      if (millis != null) {
+        this.flamegraphSpikeGcPause = Duration.ofMillis(millis);
+      }
+      return this;
+    }
+
     public Builder useLicenseKey(boolean useLicenseKey) {
       this.useLicenseKey = useLicenseKey;
       return this;
@@ -236,6 +452,13 @@ public class DaemonConfig {
       return this;
     }
 
+    public Builder outOfOrderToleranceMillis(Integer millis) {
+      if (millis != null) {
+        this.outOfOrderTolerance = Duration.ofMillis(millis);
+      }
+      return this;
+    }
+
     public Builder daemonVersion(String daemonVersion) {
       this.daemonVersion = daemonVersion;
       return this;
@@ -353,12 +576,44 @@ public class DaemonConfig {
         + jmxPort
         + ", useSharedFilesystem="
         + useSharedFilesystem
+        + ", useEventStreaming="
+        + useEventStreaming
+        + ", useStackTraceDictionary="
+        + useStackTraceDictionary
+        + ", flamegraphEncoding="
+        + flamegraphEncoding
+        + ", flamegraphMinSamplePercent="
+        + flamegraphMinSamplePercent
+        + ", flamegraphMaxDepth="
+        + flamegraphMaxDepth
+        + ", flamegraphMaxNodes="
+        + flamegraphMaxNodes
+        + ", flamegraphFrameKeying="
+        + flamegraphFrameKeying
+        + ", flamegraphFoldedPackages="
+        + flamegraphFoldedPackages
+        + ", flamegraphSplitThreadStates="
+        + flamegraphSplitThreadStates
+        + ", flamegraphAllocationProfile="
+        + flamegraphAllocationProfile
+        + ", flamegraphLockProfile="
+        + flamegraphLockProfile
+        + ", flamegraphLockThreshold="
+        + flamegraphLockThreshold.toMillis()
+        + ", flamegraphSliceSeconds="
+        + flamegraphSliceSeconds
+        + ", flamegraphSpikeCpuLoad="
+        + flamegraphSpikeCpuLoad
+        + ", flamegraphSpikeGcPause="
+        + flamegraphSpikeGcPause.toMillis()
         + ", useLicenseKey="
         + useLicenseKey
         + ", harvestInterval="
         + harvestInterval.getSeconds()
         + ", queueSize="
         + queueSize
+        + ", outOfOrderTolerance="
+        + outOfOrderTolerance.toMillis()
         + ", daemonVersion='"
         + daemonVersion
         + '\''
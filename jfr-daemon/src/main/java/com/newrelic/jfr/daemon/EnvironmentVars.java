@@ -16,6 +16,21 @@ public class EnvironmentVars {
   public static final String REMOTE_JMX_HOST = "REMOTE_JMX_HOST";
   public static final String REMOTE_JMX_PORT = "REMOTE_JMX_PORT";
   public static final String JFR_SHARED_FILESYSTEM = "JFR_SHARED_FILESYSTEM";
+  public static final String USE_EVENT_STREAMING = "USE_EVENT_STREAMING";
+  public static final String USE_STACK_TRACE_DICTIONARY = "USE_STACK_TRACE_DICTIONARY";
+  public static final String FLAMEGRAPH_ENCODING = "FLAMEGRAPH_ENCODING";
+  public static final String FLAMEGRAPH_MIN_SAMPLE_PERCENT = "FLAMEGRAPH_MIN_SAMPLE_PERCENT";
+  public static final String FLAMEGRAPH_MAX_DEPTH = "FLAMEGRAPH_MAX_DEPTH";
+  public static final String FLAMEGRAPH_MAX_NODES = "FLAMEGRAPH_MAX_NODES";
+  public static final String FLAMEGRAPH_FRAME_KEYING = "FLAMEGRAPH_FRAME_KEYING";
+  public static final String FLAMEGRAPH_FOLDED_PACKAGES = "FLAMEGRAPH_FOLDED_PACKAGES";
+  public static final String FLAMEGRAPH_SPLIT_THREAD_STATES = "FLAMEGRAPH_SPLIT_THREAD_STATES";
+  public static final String FLAMEGRAPH_ALLOCATION_PROFILE = "FLAMEGRAPH_ALLOCATION_PROFILE";
+  public static final String FLAMEGRAPH_LOCK_PROFILE = "FLAMEGRAPH_LOCK_PROFILE";
+  public static final String FLAMEGRAPH_LOCK_THRESHOLD_MILLIS = "FLAMEGRAPH_LOCK_THRESHOLD_MILLIS";
+  public static final String FLAMEGRAPH_SLICE_SECONDS = "FLAMEGRAPH_SLICE_SECONDS";
+  public static final String FLAMEGRAPH_SPIKE_CPU_LOAD = "FLAMEGRAPH_SPIKE_CPU_LOAD";
+  public static final String FLAMEGRAPH_SPIKE_GC_PAUSE_MILLIS = "FLAMEGRAPH_SPIKE_GC_PAUSE_MILLIS";
   public static final String AUDIT_LOGGING = "AUDIT_LOGGING";
   public static final String USE_LICENSE_KEY = "USE_LICENSE_KEY";
   public static final String PROXY_HOST = "PROXY_HOST";
@@ -26,6 +41,7 @@ public class EnvironmentVars {
   public static final String THREAD_NAME_PATTERN = "THREAD_NAME_PATTERN";
   public static final String HARVEST_INTERVAL = "HARVEST_INTERVAL";
   public static final String QUEUE_SIZE = "QUEUE_SIZE";
+  public static final String OUT_OF_ORDER_TOLERANCE_MILLIS = "OUT_OF_ORDER_TOLERANCE_MILLIS";
   public static final String SERVICE_INSTANCE_ID = "SERVICE_INSTANCE_ID";
   public static final String OTEL_RESOURCE_ATTRIBUTES = "OTEL_RESOURCE_ATTRIBUTES";
 
@@ -7,19 +7,30 @@
 
 package com.newrelic.jfr.daemon;
 
+import com.newrelic.jfr.EventContext;
 import com.newrelic.jfr.ProfilerRegistry;
+import com.newrelic.jfr.StackTraceDictionary;
 import com.newrelic.jfr.ThreadNameNormalizer;
 import com.newrelic.jfr.ToEventRegistry;
 import com.newrelic.jfr.ToMetricRegistry;
 import com.newrelic.jfr.ToSummaryRegistry;
 import com.newrelic.jfr.profiler.EventToEventSummary;
+import com.newrelic.jfr.profiler.FlamegraphPruner;
+import com.newrelic.jfr.profiler.FrameAggregation;
+import com.newrelic.jfr.profiler.ProfileOptions;
+import com.newrelic.jfr.toevent.EventToEvent;
+import com.newrelic.jfr.tometric.EventToMetric;
 import com.newrelic.jfr.tosummary.EventToSummary;
 import com.newrelic.telemetry.Attributes;
+import com.newrelic.telemetry.events.Event;
+import com.newrelic.telemetry.metrics.Metric;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.atomic.AtomicInteger;
 import jdk.jfr.consumer.RecordedEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -33,21 +44,69 @@ public class EventConverter {
   private final ToSummaryRegistry toSummaryRegistry;
   private final ToEventRegistry toEventRegistry;
 
-  // AtomicInteger used as a counter, not for thread safety
-  private final Map<String, AtomicInteger> eventCount = new HashMap<>();
   private final ProfilerRegistry profilerRegistry;
+  private final ThreadNameNormalizer nameNormalizer;
+  private final StackTraceDictionary stackTraces;
+  // Computed on first use
+  private Set<String> eventNames;
+
+  // The mappers and summarizers interested in each event type, keyed by event type name
+  private final Map<String, EventDispatch> dispatchTable = new HashMap<>();
+
+  // Telemetry converted from events accepted since the last harvest
+  private BufferedTelemetry batches;
 
   public EventConverter(Attributes commonAttributes, String pattern) {
-    this(commonAttributes, new ThreadNameNormalizer(pattern));
+    this(
+        commonAttributes,
+        new ThreadNameNormalizer(pattern),
+        null,
+        ProfileOptions.builder().build());
   }
 
-  private EventConverter(Attributes commonAttributes, ThreadNameNormalizer nameNormalizer) {
+  public EventConverter(Attributes commonAttributes, DaemonConfig config) {
+    this(
+        commonAttributes,
+        new ThreadNameNormalizer(config.getThreadNamePattern()),
+        config.useStackTraceDictionary() ? new StackTraceDictionary() : null,
+        profileOptions(config));
+  }
+
+  private EventConverter(
+      Attributes commonAttributes,
+      ThreadNameNormalizer nameNormalizer,
+      StackTraceDictionary stackTraces,
+      ProfileOptions profileOptions) {
     this(
         commonAttributes,
         ToMetricRegistry.createDefault(),
         ToSummaryRegistry.create(nameNormalizer),
-        ToEventRegistry.createDefault(),
-        ProfilerRegistry.createDefault(nameNormalizer));
+        ToEventRegistry.createDefault(stackTraces),
+        ProfilerRegistry.createDefault(nameNormalizer, profileOptions),
+        nameNormalizer,
+        stackTraces);
+  }
+
+  // For the profiles, as configured in the daemon
+  static ProfileOptions profileOptions(DaemonConfig config) {
+    return ProfileOptions.builder()
+        .encoding(config.getFlamegraphEncoding())
+        .pruner(
+            new FlamegraphPruner(
+                config.getFlamegraphMinSamplePercent(),
+                config.getFlamegraphMaxDepth(),
+                config.getFlamegraphMaxNodes()))
+        .aggregation(
+            new FrameAggregation(
+                config.getFlamegraphFrameKeying(), config.getFlamegraphFoldedPackages()))
+        .splitThreadStates(config.flamegraphSplitThreadStates())
+        .allocationProfile(config.flamegraphAllocationProfile())
+        .lockProfile(config.flamegraphLockProfile())
+        .slices(
+            config.getFlamegraphSliceSeconds(),
+            config.getFlamegraphSpikeCpuLoad(),
+            config.getFlamegraphSpikeGcPause())
+        .build();
   }
 
   EventConverter(
@@ -56,11 +115,77 @@ public class EventConverter {
       ToSummaryRegistry toSummaryRegistry,
       ToEventRegistry toEventRegistry,
       ProfilerRegistry profilerRegistry) {
+    this(
+        commonAttributes,
+        toMetricRegistry,
+        toSummaryRegistry,
+        toEventRegistry,
+        profilerRegistry,
+        null,
+        null);
+  }
+
+  private EventConverter(
+      Attributes commonAttributes,
+      ToMetricRegistry toMetricRegistry,
+      ToSummaryRegistry toSummaryRegistry,
+      ToEventRegistry toEventRegistry,
+      ProfilerRegistry profilerRegistry,
+      ThreadNameNormalizer nameNormalizer,
+      StackTraceDictionary stackTraces) {
     this.commonAttributes = validateAttributes(commonAttributes);
     this.toMetricRegistry = toMetricRegistry;
     this.toSummaryRegistry = toSummaryRegistry;
     this.toEventRegistry = toEventRegistry;
     this.profilerRegistry = profilerRegistry;
+    this.nameNormalizer = nameNormalizer;
+    this.stackTraces = stackTraces;
+    this.batches = BufferedTelemetry.create(this.commonAttributes);
+  }
+
+  /**
+   * The names of the JFR events handled by the default metric, event, and summary registries, and
+   * by all the profiles whether they're configured or not. Other events are ignored by the {@link
+   * EventConverter}.
+   *
+   * @return the event names
+   */
+  public static Set<String> defaultEventNames() {
+    ThreadNameNormalizer nameNormalizer = null;
+    return eventNames(
+        ToMetricRegistry.createDefault(),
+        ToSummaryRegistry.create(nameNormalizer),
+        ToEventRegistry.createDefault(),
+        ProfilerRegistry.createDefault(
+            nameNormalizer,
+            ProfileOptions.builder().allocationProfile(true).lockProfile(true).build()));
+  }
+
+  /**
+   * The names of the JFR events handled by the registries of this converter. Other events are
+   * ignored by {@link #accept(RecordedEvent)}.
+   *
+   * @return the event names
+   */
+  public synchronized Set<String> getEventNames() {
+    if (eventNames == null) {
+      eventNames =
+          eventNames(toMetricRegistry, toSummaryRegistry, toEventRegistry, profilerRegistry);
+    }
+    return eventNames;
+  }
+
+  private static Set<String> eventNames(
+      ToMetricRegistry toMetricRegistry,
+      ToSummaryRegistry toSummaryRegistry,
+      ToEventRegistry toEventRegistry,
+      ProfilerRegistry profilerRegistry) {
+    Set<String> eventNames = new HashSet<>();
+    eventNames.addAll(toMetricRegistry.eventNames());
+    eventNames.addAll(toSummaryRegistry.eventNames());
+    eventNames.addAll(toEventRegistry.eventNames());
+    eventNames.addAll(profilerRegistry.eventNames());
+    return Collections.unmodifiableSet(eventNames);
   }
 
   /**
@@ -70,23 +195,64 @@ public class EventConverter {
    * @param buffer the buffer
    * @return a buffered telemetry containing the converted events
    */
-  public BufferedTelemetry convert(RecordedEventBuffer buffer) {
-    BufferedTelemetry batches = BufferedTelemetry.create(commonAttributes);
+  public synchronized BufferedTelemetry convert(RecordedEventBuffer buffer) {
+    buffer.drainToStream().filter(Objects::nonNull).forEach(this::accept);
+    return harvest();
+  }
 
-    buffer
-        .drainToStream()
-        .filter(Objects::nonNull)
-        .forEach(recordedEvent -> convertAndBuffer(batches, recordedEvent));
+  /**
+   * Convert a single {@code event} according to the configured metric, event, and summary
+   * registries, accumulating the result until the next {@link #harvest()}.
+   *
+   * @param event the event
+   */
+  public synchronized void accept(RecordedEvent event) {
+    convertAndBuffer(batches, event);
+  }
+
+  /**
+   * Summarize the events accepted since the last harvest and return all of the converted telemetry.
+   *
+   * @return a buffered telemetry containing the converted events
+   */
+  public synchronized BufferedTelemetry harvest() {
+    BufferedTelemetry batches = this.batches;
+    this.batches = BufferedTelemetry.create(commonAttributes);
 
     profilerRegistry.all().forEach(s -> s.summarize().forEach(batches::addEvent));
     profilerRegistry.all().forEach(EventToEventSummary::reset);
 
+    // Gauges first, as some summarizers reset themselves once summarized
+    toSummaryRegistry.all().forEach(s -> s.summarizeGauges().forEach(batches::addMetric));
     toSummaryRegistry.all().forEach(s -> s.summarize().forEach(batches::addMetric));
     toSummaryRegistry.all().forEach(EventToSummary::reset);
 
-    logger.debug("This conversion had {} events", eventCount.size());
-    logger.debug("Detailed view of event counts: {}", eventCount);
-    eventCount.clear();
+    if (stackTraces != null) {
+      // Later events send their stacks again, in the harvest that references them
+      logger.debug("Sent {} distinct stack traces", stackTraces.size());
+      stackTraces.reset();
+    }
+
+    if (logger.isDebugEnabled()) {
+      Map<String, Integer> eventCount = new HashMap<>();
+      dispatchTable.forEach(
+          (name, dispatch) -> {
+            if (dispatch.count > 0) {
+              eventCount.put(name, dispatch.count);
+            }
+          });
+      logger.debug("This conversion had {} events", eventCount.size());
+      logger.debug("Detailed view of event counts: {}", eventCount);
+      if (nameNormalizer != null) {
+        logger.debug(
+            "Thread name cache: {} names, {} hits, {} misses, {} evictions",
+            nameNormalizer.getCachedNameCount(),
+            nameNormalizer.getCacheHitCount(),
+            nameNormalizer.getCacheMissCount(),
+            nameNormalizer.getCacheEvictionCount());
+      }
+    }
+    dispatchTable.values().forEach(dispatch -> dispatch.count = 0);
 
     return batches;
   }
@@ -114,25 +280,36 @@ public class EventConverter {
   }
 
   private void convertAndBuffer(BufferedTelemetry batches, RecordedEvent event) {
-    String name = event.getEventType().getName();
-    eventCount.computeIfAbsent(name, (key) -> new AtomicInteger()).incrementAndGet();
-
     try {
-      toMetricRegistry
-          .all()
-          .filter(m -> m.test(event))
-          .flatMap(m -> m.apply(event).stream())
-          .forEach(batches::addMetric);
-
-      toEventRegistry
-          .all()
-          .filter(m -> m.test(event))
-          .flatMap(m -> m.apply(event).stream())
-          .forEach(batches::addEvent);
-
-      toSummaryRegistry.all().filter(m -> m.test(event)).forEach(m -> m.accept(event));
-      profilerRegistry.all().filter(m -> m.test(event)).forEach(m -> m.accept(event));
+      String name = event.getEventType().getName();
+      EventDispatch dispatch = dispatchTable.get(name);
+      if (dispatch == null) {
+        dispatch = createDispatch(event);
+        dispatchTable.put(name, dispatch);
+      }
+      dispatch.count++;
+      if (dispatch.isEmpty()) {
+        return;
+      }
 
+      // Shared by the mappers of the event so e.g. its thread name is only normalized once
+      EventContext context = new EventContext(event);
+      for (EventToMetric toMetric : dispatch.toMetrics) {
+        for (Metric metric : toMetric.apply(context)) {
+          batches.addMetric(metric);
+        }
+      }
+      for (EventToEvent toEvent : dispatch.toEvents) {
+        for (Event e : toEvent.apply(context)) {
+          batches.addEvent(e);
+        }
+      }
+      for (EventToSummary toSummary : dispatch.toSummaries) {
+        toSummary.accept(context);
+      }
+      for (EventToEventSummary profiler : dispatch.profilers) {
+        profiler.accept(context);
+      }
     } catch (Throwable e) {
       logger.error(
           "Dropping event "
@@ -143,4 +320,44 @@ public class EventConverter {
           e);
     }
   }
+
+  /**
+   * Find the mappers and summarizers interested in events of the same type as {@code event}. The
+   * registered predicates only depend on the event type, so the result applies to every event of
+   * that type.
+   */
+  private EventDispatch createDispatch(RecordedEvent event) {
+    return new EventDispatch(
+        toMetricRegistry.all().filter(m -> m.test(event)).toArray(EventToMetric[]::new),
+        toEventRegistry.all().filter(m -> m.test(event)).toArray(EventToEvent[]::new),
+        toSummaryRegistry.all().filter(m -> m.test(event)).toArray(EventToSummary[]::new),
+        profilerRegistry.all().filter(m -> m.test(event)).toArray(EventToEventSummary[]::new));
+  }
+
+  private static final class EventDispatch {
+    private final EventToMetric[] toMetrics;
+    private final EventToEvent[] toEvents;
+    private final EventToSummary[] toSummaries;
+    private final EventToEventSummary[] profilers;
+    // Number of events of this type since the last harvest
+    private int count;
+
+    private EventDispatch(
+        EventToMetric[] toMetrics,
+        EventToEvent[] toEvents,
+        EventToSummary[] toSummaries,
+        EventToEventSummary[] profilers) {
+      this.toMetrics = toMetrics;
+      this.toEvents = toEvents;
+      this.toSummaries = toSummaries;
+      this.profilers = profilers;
+    }
+
+    private boolean isEmpty() {
+      return toMetrics.length == 0
+          && toEvents.length == 0
+          && toSummaries.length == 0
+          && profilers.length == 0;
+    }
+  }
 }
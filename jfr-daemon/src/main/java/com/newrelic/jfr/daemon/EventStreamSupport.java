@@ -0,0 +1,87 @@
+package com.newrelic.jfr.daemon;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import javax.management.MBeanServerConnection;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Entry point to the JFR event streaming APIs, such as {@code jdk.jfr.consumer.RecordingStream}.
+ *
+ * <p>This is a multi-release class. This version is used on JVMs older than Java 16 and reports
+ * event streaming as unsupported, so callers fall back to recording to a file each harvest. The
+ * Java 16+ version lives in {@code src/main/java16} and is packaged under {@code
+ * META-INF/versions/16} in the jfr-daemon jar.
+ */
+public final class EventStreamSupport {
+
+  private EventStreamSupport() {}
+
+  /**
+   * Check whether the running JVM supports JFR event streaming.
+   *
+   * @return true if event streaming is supported, else false
+   */
+  public static boolean isSupported() {
+    return false;
+  }
+
+  /**
+   * Create a recorder which streams events from an in-process recording.
+   *
+   * @param settings the JFR settings for the recording
+   * @param maxAge how long the recording retains data on disk
+   * @return the recorder
+   * @throws JfrRecorderException if event streaming is not supported
+   */
+  public static JfrStreamingRecorder newRecordingStreamRecorder(
+      Map<String, String> settings, Duration maxAge) throws JfrRecorderException {
+    throw new JfrRecorderException("JFR event streaming requires Java 16 or later.");
+  }
+
+  /**
+   * Create a recorder which streams events from a recording in a remote JVM over JMX. The remote
+   * JVM must also be Java 16 or later.
+   *
+   * @param connection the connection to the remote MBean server
+   * @param settings the JFR settings for the recording
+   * @param maxAge how long the remote recording retains data on disk
+   * @return the recorder
+   * @throws JfrRecorderException if event streaming is not supported
+   */
+  public static JfrStreamingRecorder newRemoteRecordingStreamRecorder(
+      MBeanServerConnection connection, Map<String, String> settings, Duration maxAge)
+      throws JfrRecorderException {
+    throw new JfrRecorderException("JFR event streaming requires Java 16 or later.");
+  }
+
+  /**
+   * Create a recorder which tails the chunk files of a JFR disk repository in place, such as the
+   * repository of another JVM on a shared filesystem.
+   *
+   * @param repository the path of the repository
+   * @param onClose called when the recorder is closed, e.g. to stop the recording being tailed
+   * @return the recorder
+   * @throws JfrRecorderException if event streaming is not supported
+   */
+  public static JfrStreamingRecorder newRepositoryStreamRecorder(Path repository, Runnable onClose)
+      throws JfrRecorderException {
+    throw new JfrRecorderException("JFR event streaming requires Java 16 or later.");
+  }
+
+  /**
+   * Open the events of a JFR {@code file} with the given names. Other events are still decoded by
+   * {@link RecordingFile}, and dropped after they are read.
+   *
+   * @param file the JFR file
+   * @param eventNames the names of the events to read
+   * @return the source
+   * @throws IOException if the file could not be opened
+   */
+  public static RecordedEventSource openFile(Path file, Set<String> eventNames) throws IOException {
+    return RecordedEventSource.of(new RecordingFile(file), eventNames);
+  }
+}
@@ -13,8 +13,11 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Instant;
+import java.util.Set;
+import java.util.function.Predicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import jdk.jfr.consumer.RecordedEvent;
 import jdk.jfr.consumer.RecordingFile;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -24,6 +27,9 @@ public final class JFRUploader {
 
   private final TelemetrySender telemetrySender;
   private final RecordedEventBuffer eventBuffer;
+  private final ChunkTracker chunkTracker = new ChunkTracker();
+  // Read until a converter is ready, e.g. by streams started while awaiting the remote entity
+  private final Set<String> defaultEventNames = EventConverter.defaultEventNames();
   private volatile EventConverter eventConverter;
 
   public JFRUploader(TelemetrySender telemetrySender, RecordedEventBuffer eventBuffer) {
@@ -32,14 +38,15 @@ public final class JFRUploader {
   }
 
   /**
-   * Handle the JFR {@code dumpFile}. Buffer new events, then convert them and them to New Relic via
-   * {@link #telemetrySender}. Finally, delete the file and its parent directory.
+   * Handle the JFR {@code dumpFile}. Convert new events as they are read, or buffer them if the
+   * uploader is not yet ready to send, then send the converted telemetry to New Relic via {@link
+   * #telemetrySender}. Finally, delete the file and its parent directory.
    *
    * @param dumpFile the JFR file
    */
   public void handleFile(final Path dumpFile) {
     try {
-      bufferFileData(dumpFile);
+      readFileData(dumpFile);
       maybeDrainAndSend();
     } catch (Exception e) {
       logger.error("Error handling raw dump file", e);
@@ -49,9 +56,59 @@ public final class JFRUploader {
     }
   }
 
+  /**
+   * Handle a single JFR {@code event} delivered by a {@link JfrStreamingRecorder}. If the uploader
+   * is ready to send, the event is converted immediately, otherwise it is buffered until the first
+   * {@link #harvest()} after {@link #readyToSend(EventConverter)} is called.
+   *
+   * @param event the JFR event
+   */
+  public void handleEvent(RecordedEvent event) {
+    EventConverter converter = eventConverter;
+    if (converter == null) {
+      eventBuffer.bufferEvent(event);
+      return;
+    }
+    converter.accept(event);
+  }
+
+  /**
+   * Send the telemetry converted from events delivered via {@link #handleEvent(RecordedEvent)}
+   * since the last harvest.
+   */
+  public void harvest() {
+    try {
+      EventConverter converter = eventConverter;
+      if (converter == null) {
+        logger.warn("Harvest skipped because JFRUploader is not yet ready to send.");
+        return;
+      }
+      // Convert events that were buffered before the uploader was ready to send
+      eventBuffer.drainToStream().forEach(converter::accept);
+      BufferedTelemetry telemetry = converter.harvest();
+      sendMetrics(telemetry);
+      sendEvents(telemetry);
+    } catch (Exception e) {
+      logger.error("Error harvesting streamed events", e);
+    }
+  }
+
+  /**
+   * The names of the JFR events handled by the {@link EventConverter}, or by the default registries
+   * until {@link #readyToSend(EventConverter)} is called. Other events may be skipped without being
+   * decoded.
+   *
+   * @return the event names
+   */
+  public Set<String> getEventNames() {
+    EventConverter converter = eventConverter;
+    return converter == null ? defaultEventNames : converter.getEventNames();
+  }
+
   /**
    * Mark the uploader as ready to send events. Until this is called, calls to {@link
-   * #handleFile(Path)} will result in JFR events being buffered, but not converted or sent.
+   * #handleFile(Path)} and {@link #handleEvent(RecordedEvent)} will result in JFR events being
+   * buffered, but not converted or sent.
    *
    * @param eventConverter the event convert
    */
@@ -60,11 +117,46 @@ public final class JFRUploader {
     this.eventConverter = eventConverter;
   }
 
-  private void bufferFileData(Path dumpFile) {
-    try (RecordingFile recordingFile = openRecordingFile(dumpFile)) {
-      eventBuffer.bufferEvents(dumpFile, recordingFile);
+  private void readFileData(Path dumpFile) {
+    Path file = dumpFile;
+    boolean filterByWatermark = true;
+    ChunkTracker.NewChunks newChunks = null;
+    try {
+      newChunks = chunkTracker.removeConsumedChunks(dumpFile);
+      if (!newChunks.isPresent()) {
+        logger.debug("Skipping file {} because all chunks were already consumed", dumpFile);
+        return;
+      }
+      file = newChunks.getFile();
+      filterByWatermark = newChunks.isOverlapping();
+    } catch (IOException e) {
+      logger.debug("Unable to read chunks of file {}: {}", dumpFile, e.getMessage());
+    }
+    try (RecordedEventSource source = openEventSource(file, getEventNames())) {
+      EventConverter converter = eventConverter;
+      Predicate<RecordedEvent> handler;
+      if (converter != null) {
+        // Convert each event as it is read so it can be collected right away. The queue is
+        // only used to hold events until the uploader is ready to send.
+        handler =
+            event -> {
+              converter.accept(event);
+              return true;
+            };
+      } else {
+        handler = eventBuffer::bufferEvent;
+      }
+      boolean complete = eventBuffer.readEvents(file, source, filterByWatermark, handler);
+      if (complete && newChunks != null) {
+        // Otherwise the chunks are read again from the next file
+        chunkTracker.markConsumed(newChunks);
+      }
     } catch (Throwable t) {
       logger.error("Error processing file " + dumpFile, t);
+    } finally {
+      if (!file.equals(dumpFile)) {
+        deleteFile(file);
+      }
     }
   }
 
@@ -106,12 +198,15 @@ public final class JFRUploader {
     return count;
   }
 
-  RecordingFile openRecordingFile(Path file) {
-    try {
-      return new RecordingFile(file);
-    } catch (IOException e) {
-      throw new RuntimeException("Error opening recording file", e);
+  /**
+   * Open the events of the {@code file} with the given names. When supported by the JVM, other
+   * events are skipped without being decoded.
+   */
+  RecordedEventSource openEventSource(Path file, Set<String> eventNames) throws IOException {
+    if (EventStreamSupport.isSupported()) {
+      return EventStreamSupport.openFile(file, eventNames);
     }
+    return RecordedEventSource.of(new RecordingFile(file), eventNames);
   }
 
   void deleteFile(Path dumpFile) {
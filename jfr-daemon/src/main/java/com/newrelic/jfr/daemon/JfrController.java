@@ -9,7 +9,9 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Manages the continuous processing of JFR data. {@link #loop()} repeatedly calls {@link
- * JfrRecorder#recordToFile()} and uploads the data via {@link JFRUploader#handleFile(Path)}.
+ * JfrRecorder#recordToFile()} and uploads the data via {@link JFRUploader#handleFile(Path)}. For a
+ * {@link JfrStreamingRecorder}, events are delivered to the uploader as they are recorded and
+ * {@link #loop()} instead triggers {@link JFRUploader#harvest()} each iteration.
  */
 public class JfrController {
 
@@ -61,8 +63,13 @@ public class JfrController {
       }
 
       try {
-        Path pathToFile = jfrRecorder.recordToFile();
-        executorService.submit(() -> uploader.handleFile(pathToFile));
+        if (jfrRecorder instanceof JfrStreamingRecorder) {
+          ((JfrStreamingRecorder) jfrRecorder).checkStreaming();
+          executorService.submit(uploader::harvest);
+        } else {
+          Path pathToFile = jfrRecorder.recordToFile();
+          executorService.submit(() -> uploader.handleFile(pathToFile));
+        }
       } catch (JfrRecorderException e) {
         // If an error occurs, recording to file, attempt to reset the recorder. If
         // resetting fails allow the exception to propagate.
@@ -72,10 +79,21 @@ public class JfrController {
       }
     }
     logger.info("Stopping JfrController. Shutdown detected.");
+    closeStreamingRecorder();
     executorService.shutdown();
   }
 
   private void resetJfrRecorder() throws JfrRecorderException {
+    closeStreamingRecorder();
     jfrRecorder = recorderFactory.getRecorder();
+    if (jfrRecorder instanceof JfrStreamingRecorder) {
+      ((JfrStreamingRecorder) jfrRecorder).start(uploader);
+    }
+  }
+
+  private void closeStreamingRecorder() {
+    if (jfrRecorder instanceof JfrStreamingRecorder) {
+      ((JfrStreamingRecorder) jfrRecorder).close();
+    }
   }
 }
@@ -0,0 +1,43 @@
+package com.newrelic.jfr.daemon;
+
+import java.nio.file.Path;
+
+/**
+ * A {@link JfrStreamingRecorder} delivers JFR events to a {@link JFRUploader} via {@link
+ * JFRUploader#handleEvent(jdk.jfr.consumer.RecordedEvent)} as they are recorded, instead of
+ * recording to a file each harvest. The accumulated telemetry is sent each harvest via {@link
+ * JFRUploader#harvest()}.
+ *
+ * @see EventStreamSupport
+ */
+public interface JfrStreamingRecorder extends JfrRecorder {
+
+  /**
+   * Start streaming events to the {@code uploader}. Events continue to be delivered in the
+   * background until {@link #close()} is called or the stream terminates.
+   *
+   * @param uploader the uploader to deliver events to
+   * @throws JfrRecorderException if the stream could not be started
+   */
+  void start(JFRUploader uploader) throws JfrRecorderException;
+
+  /**
+   * Verify the stream is still delivering events.
+   *
+   * @throws JfrRecorderException if the stream has terminated
+   */
+  void checkStreaming() throws JfrRecorderException;
+
+  /** Stop streaming and release the underlying recording. */
+  void close();
+
+  /**
+   * Streaming recorders never record to a file.
+   *
+   * @throws JfrRecorderException always
+   */
+  @Override
+  default Path recordToFile() throws JfrRecorderException {
+    throw new JfrRecorderException("Streaming recorders do not record to file.");
+  }
+}
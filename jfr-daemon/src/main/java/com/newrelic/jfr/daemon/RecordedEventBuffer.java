@@ -9,10 +9,12 @@ package com.newrelic.jfr.daemon;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.BlockingQueue;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 import jdk.jfr.consumer.RecordedEvent;
 import jdk.jfr.consumer.RecordingFile;
@@ -20,18 +22,26 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * This class adds RecordedEvents from a RecordingFile to a queue. It statefully keeps track of the
- * time of the event seen from the previous file and uses this to prevent queueing duplicates.
+ * This class adds RecordedEvents from a RecordingFile to a queue, or hands them to another handler
+ * as they are read when conversion is ready. It statefully keeps track of the latest event time
+ * seen from previous files and uses this watermark to prevent queueing duplicates. Events are not
+ * always written in start time order, so the watermark can lag the latest event time by a
+ * configurable out-of-order tolerance.
  */
 public class RecordedEventBuffer {
 
   private static final Logger logger = LoggerFactory.getLogger(RecordedEventBuffer.class);
 
   private final BlockingQueue<RecordedEvent> queue;
-  private final RawProcessingContext ctx = new RawProcessingContext();
+  private final RawProcessingContext ctx;
 
   public RecordedEventBuffer(BlockingQueue<RecordedEvent> queue) {
+    this(queue, Duration.ZERO);
+  }
+
+  public RecordedEventBuffer(BlockingQueue<RecordedEvent> queue, Duration outOfOrderTolerance) {
     this.queue = queue;
+    this.ctx = new RawProcessingContext(Instant.EPOCH, outOfOrderTolerance);
   }
 
   /**
@@ -44,20 +54,50 @@ public class RecordedEventBuffer {
    * @throws IOException if an error occurs reading the file
    */
   public void bufferEvents(Path dumpFile, RecordingFile file) throws IOException {
+    readEvents(dumpFile, RecordedEventSource.of(file), true, this::enqueue);
+  }
+
+  /**
+   * Hand each event of the {@code source} to the {@code handler}, optionally filtering events older
+   * than the last seen watermark, until there are no more events or the {@code handler} returns
+   * false. The watermark is updated with every event read.
+   *
+   * <p>Filtering by the watermark can be skipped when the source is known to only contain chunks
+   * which have not been seen before.
+   *
+   * @param dumpFile the path of the file being read
+   * @param source the events of the file
+   * @param filterByWatermark true to filter events older than the last seen watermark
+   * @param handler the handler, for example {@link #bufferEvent(RecordedEvent)}
+   * @return true if all the events were handed to the {@code handler}, false if it rejected one
+   * @throws IOException if an error occurs reading the file
+   * @see ChunkTracker
+   */
+  public boolean readEvents(
+      Path dumpFile,
+      RecordedEventSource source,
+      boolean filterByWatermark,
+      Predicate<RecordedEvent> handler)
+      throws IOException {
     ctx.resetForNewFile();
     if (logger.isDebugEnabled()) {
-      logger.debug("Looking in " + dumpFile + " for events after: " + ctx.getLastSeen());
-    }
-    while (file.hasMoreEvents()) {
-      RecordedEvent event = file.readEvent();
-      if (!handleEvent(event)) {
-        logger.warn("Ignoring remaining events in this file due to full queue!");
-        break;
-      }
+      String events =
+          filterByWatermark ? " for events after: " + ctx.getLastSeen() : " for all events";
+      logger.debug("Looking in " + dumpFile + events);
     }
+    boolean[] complete = {true};
+    source.forEach(
+        event -> {
+          if (!handleEvent(event, filterByWatermark, handler)) {
+            logger.warn("Ignoring remaining events in this file due to full queue!");
+            complete[0] = false;
+            return false;
+          }
+          return true;
+        });
     if (logger.isDebugEnabled()) {
       logger.debug(
-          "Queued events from: "
+          "Read events from: "
               + ctx.getFirstEventTime()
               + " to "
               + ctx.getLastEventTime()
@@ -67,12 +107,26 @@ public class RecordedEventBuffer {
               + " in "
               + dumpFile);
     }
+    return complete[0];
   }
 
-  private boolean handleEvent(RecordedEvent event) {
+  /**
+   * Buffer a single {@code event} to the {@link #queue}. No watermark filtering is applied, so this
+   * is used for events delivered by a stream, which are never repeated, or as the handler of {@link
+   * #readEvents(Path, RecordedEventSource, boolean, Predicate)}.
+   *
+   * @param event the event
+   * @return true if the event was queued, false if the queue is full
+   */
+  public boolean bufferEvent(RecordedEvent event) {
+    return enqueue(event);
+  }
+
+  private boolean handleEvent(
+      RecordedEvent event, boolean filterByWatermark, Predicate<RecordedEvent> handler) {
     ctx.update(event);
-    if (event.getStartTime().isAfter(ctx.getLastSeen())) {
-      return enqueue(event);
+    if (!filterByWatermark || event.getStartTime().isAfter(ctx.getLastSeen())) {
+      return handler.test(event);
     }
     return true;
   }
@@ -102,19 +156,27 @@ public class RecordedEventBuffer {
   static class RawProcessingContext {
     private Instant firstEventTime = null;
     private Instant lastEventTime = null;
+    private Instant maxEventTime = null;
     private Instant lastSeen;
+    private final Duration outOfOrderTolerance;
 
     public RawProcessingContext() {
       this(Instant.EPOCH);
     }
 
     public RawProcessingContext(Instant lastSeen) {
+      this(lastSeen, Duration.ZERO);
+    }
+
+    public RawProcessingContext(Instant lastSeen, Duration outOfOrderTolerance) {
       this.lastSeen = lastSeen;
+      this.outOfOrderTolerance = outOfOrderTolerance;
     }
 
     public void update(RecordedEvent event) {
       updateFirstEventTime(event);
       updateLastEventTime(event);
+      updateMaxEventTime(event);
     }
 
     private void updateFirstEventTime(RecordedEvent event) {
@@ -127,6 +189,12 @@ public class RecordedEventBuffer {
       lastEventTime = event.getStartTime();
     }
 
+    private void updateMaxEventTime(RecordedEvent event) {
+      if (maxEventTime == null || event.getStartTime().isAfter(maxEventTime)) {
+        maxEventTime = event.getStartTime();
+      }
+    }
+
     public Instant getFirstEventTime() {
       return firstEventTime;
     }
@@ -140,7 +208,7 @@ public class RecordedEventBuffer {
     }
 
     public void resetForNewFile() {
-      lastSeen = lastEventTime == null ? Instant.EPOCH : lastEventTime;
+      lastSeen = maxEventTime == null ? Instant.EPOCH : maxEventTime.minus(outOfOrderTolerance);
     }
   }
 }
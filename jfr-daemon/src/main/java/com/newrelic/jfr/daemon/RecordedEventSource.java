@@ -0,0 +1,65 @@
+package com.newrelic.jfr.daemon;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Set;
+import java.util.function.Predicate;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * A source of the {@link RecordedEvent}s of a JFR file.
+ *
+ * @see EventStreamSupport#openFile(java.nio.file.Path, Set)
+ */
+public interface RecordedEventSource extends Closeable {
+
+  /**
+   * Hand each event to the {@code handler} in the order they are read, until there are no more
+   * events or the {@code handler} returns false.
+   *
+   * @param handler the handler
+   * @throws IOException if an error occurs reading the events
+   */
+  void forEach(Predicate<RecordedEvent> handler) throws IOException;
+
+  /**
+   * Create a source reading all events of the {@code file}.
+   *
+   * @param file the JFR file
+   * @return the source
+   */
+  static RecordedEventSource of(RecordingFile file) {
+    return of(file, null);
+  }
+
+  /**
+   * Create a source reading the events of the {@code file} with the given names. {@link
+   * RecordingFile} decodes every event, so other events are only dropped after they are read.
+   *
+   * @param file the JFR file
+   * @param eventNames the names of the events to read, or null to read all events
+   * @return the source
+   */
+  static RecordedEventSource of(RecordingFile file, Set<String> eventNames) {
+    return new RecordedEventSource() {
+      @Override
+      public void forEach(Predicate<RecordedEvent> handler) throws IOException {
+        while (file.hasMoreEvents()) {
+          RecordedEvent event = file.readEvent();
+          if (eventNames != null && !eventNames.contains(event.getEventType().getName())) {
+            continue;
+          }
+          if (!handler.test(event)) {
+            return;
+          }
+        }
+      }
+
+      @Override
+      public void close() throws IOException {
+        file.close();
+      }
+    };
+  }
+}
@@ -0,0 +1,53 @@
+package com.newrelic.jfr.daemon;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JFR settings applied on top of a recording's base configuration, for events only needed by
+ * opt-in profiles. Keeping them out of the shared configuration avoids their overhead unless the
+ * profile is enabled.
+ */
+public final class RecordingSettings {
+
+  private static final List<String> LOCK_EVENTS =
+      Arrays.asList("jdk.JavaMonitorEnter", "jdk.JavaMonitorWait", "jdk.ThreadPark");
+
+  private RecordingSettings() {}
+
+  /**
+   * Get the settings to apply for the {@code config}. When the lock profile is enabled, the lock
+   * events are recorded with stack traces down to the configured lock threshold, so that short
+   * waits are profiled too. A lower threshold records many more events.
+   *
+   * @param config the config
+   * @return the settings, empty when no opt-in profile needs any
+   */
+  public static Map<String, String> forConfig(DaemonConfig config) {
+    Map<String, String> settings = new HashMap<>();
+    if (config.flamegraphLockProfile()) {
+      String threshold = config.getFlamegraphLockThreshold().toMillis() + " ms";
+      for (String event : LOCK_EVENTS) {
+        settings.put(event + "#enabled", "true");
+        settings.put(event + "#stackTrace", "true");
+        settings.put(event + "#threshold", threshold);
+      }
+    }
+    return settings;
+  }
+
+  /**
+   * Apply the {@code settings} on top of the {@code base} settings.
+   *
+   * @param base the base settings, which are not modified
+   * @param settings the settings to apply
+   * @return the combined settings
+   */
+  public static Map<String, String> apply(Map<String, String> base, Map<String, String> settings) {
+    Map<String, String> combined = new HashMap<>(base);
+    combined.putAll(settings);
+    return combined;
+  }
+}
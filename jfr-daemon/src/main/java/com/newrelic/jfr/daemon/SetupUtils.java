@@ -12,6 +12,9 @@ import static java.util.function.Function.identity;
 import com.newrelic.jfr.daemon.agent.FileJfrRecorderFactory;
 import com.newrelic.jfr.daemon.httpclient.ApacheHttpPoster;
 import com.newrelic.jfr.daemon.httpclient.ApacheProxyManager;
+import com.newrelic.jfr.profiler.FlamegraphEncoding;
+import com.newrelic.jfr.profiler.FrameAggregation;
+import com.newrelic.jfr.profiler.FrameKeying;
 import com.newrelic.telemetry.Attributes;
 import com.newrelic.telemetry.EventBatchSenderFactory;
 import com.newrelic.telemetry.MetricBatchSenderFactory;
@@ -80,6 +83,60 @@ public class SetupUtils {
     builder.maybeEnv(EnvironmentVars.EVENTS_INGEST_URI, URI::create, builder::eventsUri);
     builder.maybeEnv(
         EnvironmentVars.JFR_SHARED_FILESYSTEM, Boolean::parseBoolean, builder::useSharedFilesystem);
+    builder.maybeEnv(
+        EnvironmentVars.USE_EVENT_STREAMING, Boolean::parseBoolean, builder::useEventStreaming);
+    builder.maybeEnv(
+        EnvironmentVars.USE_STACK_TRACE_DICTIONARY,
+        Boolean::parseBoolean,
+        builder::useStackTraceDictionary);
+    builder.maybeEnv(
+        EnvironmentVars.FLAMEGRAPH_ENCODING,
+        FlamegraphEncoding::parse,
+        builder::flamegraphEncoding);
+    builder.maybeEnv(
+        EnvironmentVars.FLAMEGRAPH_MIN_SAMPLE_PERCENT,
+        Double::parseDouble,
+        builder::flamegraphMinSamplePercent);
+    builder.maybeEnv(
+        EnvironmentVars.FLAMEGRAPH_MAX_DEPTH, Integer::parseInt, builder::flamegraphMaxDepth);
+    builder.maybeEnv(
+        EnvironmentVars.FLAMEGRAPH_MAX_NODES, Integer::parseInt, builder::flamegraphMaxNodes);
+    builder.maybeEnv(
+        EnvironmentVars.FLAMEGRAPH_FRAME_KEYING,
+        FrameKeying::parse,
+        builder::flamegraphFrameKeying);
+    builder.maybeEnv(
+        EnvironmentVars.FLAMEGRAPH_FOLDED_PACKAGES,
+        FrameAggregation::parsePackages,
+        builder::flamegraphFoldedPackages);
+    builder.maybeEnv(
+        EnvironmentVars.FLAMEGRAPH_SPLIT_THREAD_STATES,
+        Boolean::parseBoolean,
+        builder::flamegraphSplitThreadStates);
+    builder.maybeEnv(
+        EnvironmentVars.FLAMEGRAPH_ALLOCATION_PROFILE,
+        Boolean::parseBoolean,
+        builder::flamegraphAllocationProfile);
+    builder.maybeEnv(
+        EnvironmentVars.FLAMEGRAPH_LOCK_PROFILE,
+        Boolean::parseBoolean,
+        builder::flamegraphLockProfile);
+    builder.maybeEnv(
+        EnvironmentVars.FLAMEGRAPH_LOCK_THRESHOLD_MILLIS,
+        Integer::parseInt,
+        builder::flamegraphLockThresholdMillis);
+    builder.maybeEnv(
+        EnvironmentVars.FLAMEGRAPH_SLICE_SECONDS,
+        Integer::parseInt,
+        builder::flamegraphSliceSeconds);
+    builder.maybeEnv(
+        EnvironmentVars.FLAMEGRAPH_SPIKE_CPU_LOAD,
+        Double::parseDouble,
+        builder::flamegraphSpikeCpuLoad);
+    builder.maybeEnv(
+        EnvironmentVars.FLAMEGRAPH_SPIKE_GC_PAUSE_MILLIS,
+        Integer::parseInt,
+        builder::flamegraphSpikeGcPauseMillis);
     builder.maybeEnv(
         EnvironmentVars.USE_LICENSE_KEY, Boolean::parseBoolean, builder::useLicenseKey);
     builder.maybeEnv(EnvironmentVars.AUDIT_LOGGING, Boolean::parseBoolean, builder::auditLogging);
@@ -91,6 +148,10 @@ public class SetupUtils {
     builder.maybeEnv(EnvironmentVars.THREAD_NAME_PATTERN, identity(), builder::threadNamePattern);
     builder.maybeEnv(EnvironmentVars.HARVEST_INTERVAL, Integer::parseInt, builder::harvestInterval);
     builder.maybeEnv(EnvironmentVars.QUEUE_SIZE, Integer::parseInt, builder::queueSize);
+    builder.maybeEnv(
+        EnvironmentVars.OUT_OF_ORDER_TOLERANCE_MILLIS,
+        Integer::parseInt,
+        builder::outOfOrderToleranceMillis);
     builder.maybeEnv(EnvironmentVars.SERVICE_INSTANCE_ID, identity(), builder::serviceInstanceId);
     builder.maybeEnv(
         EnvironmentVars.OTEL_RESOURCE_ATTRIBUTES, identity(), builder::otelResourceAttributes);
@@ -137,7 +198,8 @@ public class SetupUtils {
   public static JFRUploader buildUploader(DaemonConfig config) {
     TelemetryClient telemetryClient = buildTelemetryClient(config);
     BlockingQueue<RecordedEvent> queue = new LinkedBlockingQueue<>(config.getQueueSize());
-    RecordedEventBuffer recordedEventBuffer = new RecordedEventBuffer(queue);
+    RecordedEventBuffer recordedEventBuffer =
+        new RecordedEventBuffer(queue, config.getOutOfOrderTolerance());
     return new JFRUploader(new NewRelicTelemetrySender(telemetryClient), recordedEventBuffer);
   }
 
@@ -151,8 +213,7 @@ public class SetupUtils {
    * @return the JfrController
    */
   public static JfrController buildJfrController(DaemonConfig config, JFRUploader uploader) {
-    FileJfrRecorderFactory recorderFactory =
-        new FileJfrRecorderFactory(config.getHarvestInterval());
+    FileJfrRecorderFactory recorderFactory = new FileJfrRecorderFactory(config);
     return new JfrController(recorderFactory, uploader, config.getHarvestInterval());
   }
 
@@ -43,9 +43,8 @@ public class AgentMain {
   private void start(DaemonConfig config) {
     Attributes commonAttrs = SetupUtils.buildCommonAttributes(config);
     JFRUploader uploader = SetupUtils.buildUploader(config);
-    uploader.readyToSend(new EventConverter(commonAttrs, config.getThreadNamePattern()));
-    FileJfrRecorderFactory recorderFactory =
-        new FileJfrRecorderFactory(config.getHarvestInterval());
+    uploader.readyToSend(new EventConverter(commonAttrs, config));
+    FileJfrRecorderFactory recorderFactory = new FileJfrRecorderFactory(config);
     JfrController controller =
         new JfrController(recorderFactory, uploader, config.getHarvestInterval());
 
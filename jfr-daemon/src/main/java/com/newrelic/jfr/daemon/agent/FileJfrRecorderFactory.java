@@ -1,23 +1,57 @@
 package com.newrelic.jfr.daemon.agent;
 
+import com.newrelic.jfr.daemon.DaemonConfig;
+import com.newrelic.jfr.daemon.EventStreamSupport;
 import com.newrelic.jfr.daemon.JfrRecorder;
 import com.newrelic.jfr.daemon.JfrRecorderException;
 import com.newrelic.jfr.daemon.JfrRecorderFactory;
+import com.newrelic.jfr.daemon.RecordingSettings;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.text.ParseException;
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.Map;
 import jdk.jfr.Configuration;
 import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+/**
+ * An implementation of {@link JfrRecorderFactory} that records JFR data in-process. When event
+ * streaming is enabled and supported by the JVM, it produces streaming recorders backed by a {@code
+ * RecordingStream}, otherwise it produces {@link FileJfrRecorder}s.
+ */
 public class FileJfrRecorderFactory implements JfrRecorderFactory {
 
+  private static final Logger logger = LoggerFactory.getLogger(FileJfrRecorderFactory.class);
+
   private final Duration harvestInterval;
+  private final boolean useEventStreaming;
+  private final Map<String, String> settings;
 
   public FileJfrRecorderFactory(Duration harvestInterval) {
+    this(harvestInterval, false);
+  }
+
+  public FileJfrRecorderFactory(Duration harvestInterval, boolean useEventStreaming) {
+    this(harvestInterval, useEventStreaming, Collections.emptyMap());
+  }
+
+  public FileJfrRecorderFactory(DaemonConfig config) {
+    this(
+        config.getHarvestInterval(),
+        config.useEventStreaming(),
+        RecordingSettings.forConfig(config));
+  }
+
+  private FileJfrRecorderFactory(
+      Duration harvestInterval, boolean useEventStreaming, Map<String, String> settings) {
     this.harvestInterval = harvestInterval;
+    this.useEventStreaming = useEventStreaming;
+    this.settings = settings;
   }
 
   @Override
@@ -34,8 +68,18 @@ public class FileJfrRecorderFactory implements JfrRecorderFactory {
       // This should never happen
       throw new JfrRecorderException("An error occurred getting configuration.", e);
     }
-    Recording recording = new Recording(jfrConfig);
-    recording.setMaxAge(harvestInterval.plus(10, ChronoUnit.SECONDS));
+    Map<String, String> recordingSettings =
+        RecordingSettings.apply(jfrConfig.getSettings(), settings);
+    Duration maxAge = harvestInterval.plus(10, ChronoUnit.SECONDS);
+    if (useEventStreaming) {
+      if (EventStreamSupport.isSupported()) {
+        return EventStreamSupport.newRecordingStreamRecorder(recordingSettings, maxAge);
+      }
+      logger.info("JFR event streaming is not supported by this JVM, recording to file instead.");
+    }
+
+    Recording recording = new Recording(recordingSettings);
+    recording.setMaxAge(maxAge);
     recording.setToDisk(true);
     recording.setName("New Relic JFR Agent Recording");
     recording.start();
@@ -59,8 +59,7 @@ public class JFRDaemon {
                   commonAttrs.put(SERVICE_NAME, remoteAppName);
                   commonAttrs.put(APP_NAME, remoteAppName);
                 }
-                uploader.readyToSend(
-                    new EventConverter(commonAttrs, config.getThreadNamePattern()));
+                uploader.readyToSend(new EventConverter(commonAttrs, config));
               });
 
       controller.loop();
@@ -2,6 +2,7 @@ package com.newrelic.jfr.daemon.app;
 
 import static com.newrelic.jfr.daemon.app.JmxJfrRecorderFactory.makeFlightRecorderObjectName;
 import static com.newrelic.jfr.daemon.app.JmxJfrRecorderFactory.makeOpenData;
+import static com.newrelic.jfr.daemon.app.JmxJfrRecorderFactory.makeRuntimeObjectName;
 
 import com.newrelic.jfr.daemon.JfrRecorder;
 import com.newrelic.jfr.daemon.JfrRecorderException;
@@ -9,7 +10,9 @@ import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import javax.management.Attribute;
 import javax.management.MBeanServerConnection;
 import javax.management.ObjectName;
 import org.slf4j.Logger;
@@ -26,6 +29,8 @@ public class JmxJfrRecorder implements JfrRecorder {
   private final MBeanServerConnection connection;
   private final boolean streamFromJmx;
   private final long recordingId;
+  // Time on the target JVM just after the last successful stream was cloned, in epoch millis
+  private Long lastStreamEndTime;
 
   public JmxJfrRecorder(MBeanServerConnection connection, boolean streamFromJmx, long recordingId) {
     this.connection = connection;
@@ -54,9 +59,18 @@ public class JmxJfrRecorder implements JfrRecorder {
       throw new RuntimeException("JMX returned something that wasn't a Long: " + oClone);
     }
     Long cloneId = (Long) oClone;
+    // Cloning rotates the recording's chunk, so only chunks written after this time are new on the
+    // next harvest. Use the target's clock to avoid skew between hosts.
+    long streamEndTime = getTargetTimeMillis();
 
     Map<String, String> streamOptions = new HashMap<String, String>();
     streamOptions.put("blockSize", "" + MAX_BYTES_READ);
+    streamOptions.put("endTime", "" + streamEndTime);
+    if (lastStreamEndTime != null) {
+      // Only fetch chunks overlapping the time since the last stream. Events repeated in an
+      // overlapping chunk are filtered by the RecordedEventBuffer.
+      streamOptions.put("startTime", "" + lastStreamEndTime);
+    }
 
     String[] sig = new String[] {"long", "javax.management.openmbean.TabularData"};
     Object[] args = new Object[] {cloneId, makeOpenData(streamOptions)};
@@ -97,9 +111,29 @@ public class JmxJfrRecorder implements JfrRecorder {
 
     connection.invoke(objectName, "closeRecording", new Object[] {cloneId}, new String[] {"long"});
 
+    lastStreamEndTime = streamEndTime;
     return file;
   }
 
+  private long getTargetTimeMillis() throws Exception {
+    List<Attribute> attributes =
+        connection
+            .getAttributes(makeRuntimeObjectName(), new String[] {"StartTime", "Uptime"})
+            .asList();
+    if (attributes.size() != 2) {
+      throw new RuntimeException("JMX did not return the target's StartTime and Uptime.");
+    }
+    long time = 0;
+    for (Attribute attribute : attributes) {
+      if (!(attribute.getValue() instanceof Long)) {
+        throw new RuntimeException(
+            "JMX returned something that wasn't a Long: " + attribute.getValue());
+      }
+      time += (Long) attribute.getValue();
+    }
+    return time;
+  }
+
   Path copyRecordingToFile() throws Exception {
     ObjectName objectName = makeFlightRecorderObjectName();
 
@@ -1,16 +1,22 @@
 package com.newrelic.jfr.daemon.app;
 
 import com.newrelic.jfr.daemon.DaemonConfig;
+import com.newrelic.jfr.daemon.EventStreamSupport;
 import com.newrelic.jfr.daemon.JfrRecorder;
 import com.newrelic.jfr.daemon.JfrRecorderException;
 import com.newrelic.jfr.daemon.JfrRecorderFactory;
+import com.newrelic.jfr.daemon.RecordingSettings;
 import com.newrelic.jfr.daemon.SafeSleep;
 import com.newrelic.telemetry.Backoff;
-import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 import javax.management.*;
 import javax.management.openmbean.CompositeData;
 import javax.management.openmbean.CompositeDataSupport;
@@ -18,6 +24,7 @@ import javax.management.openmbean.CompositeType;
 import javax.management.openmbean.OpenDataException;
 import javax.management.openmbean.OpenType;
 import javax.management.openmbean.SimpleType;
+import javax.management.openmbean.TabularData;
 import javax.management.openmbean.TabularDataSupport;
 import javax.management.openmbean.TabularType;
 import org.slf4j.Logger;
@@ -25,7 +32,12 @@ import org.slf4j.LoggerFactory;
 
 /**
  * An implementation of {@link JfrRecorderFactory} that produces {@link JmxJfrRecorder}s which
- * record JFR data from a remote MBean server over JMX.
+ * record JFR data from a remote MBean server over JMX. When event streaming is enabled and both
+ * this JVM and the target JVM are Java 16 or later, it instead produces streaming recorders backed
+ * by a {@code jdk.management.jfr.RemoteRecordingStream}, which tail new events over the same
+ * connection rather than cloning and copying the recording each harvest. When using a shared
+ * filesystem, Java 14+ targets are instead tailed in place by streaming the chunk files of the
+ * target's JFR repository, so the target never writes a copy of the recording.
  */
 public class JmxJfrRecorderFactory implements JfrRecorderFactory {
 
@@ -34,12 +46,16 @@ public class JmxJfrRecorderFactory implements JfrRecorderFactory {
   private final MBeanConnectionFactory connectionFactory;
   private final Duration harvestInterval;
   private final boolean streamFromJmx;
+  private final boolean useEventStreaming;
+  private final Map<String, String> settings;
 
   public JmxJfrRecorderFactory(
       DaemonConfig daemonConfig, MBeanConnectionFactory connectionFactory) {
     this.connectionFactory = connectionFactory;
     this.harvestInterval = daemonConfig.getHarvestInterval();
     this.streamFromJmx = daemonConfig.streamFromJmx();
+    this.useEventStreaming = daemonConfig.useEventStreaming();
+    this.settings = RecordingSettings.forConfig(daemonConfig);
   }
 
   @Override
@@ -47,13 +63,129 @@ public class JmxJfrRecorderFactory implements JfrRecorderFactory {
     try {
       MBeanServerConnection connection =
           connectionFactory.awaitConnection(Backoff.defaultBackoff());
+      if (streamFromJmx && shouldUseEventStreaming(connection, 16)) {
+        Optional<Map<String, String>> profile = getProfileSettings(connection);
+        if (profile.isPresent()) {
+          return EventStreamSupport.newRemoteRecordingStreamRecorder(
+              connection, RecordingSettings.apply(profile.get(), settings), maxAge());
+        }
+        logger.info("Unable to find target JFR profile configuration, copying recordings instead.");
+      }
       long recordingId = startRecordingWithBackoff(connection);
+      if (!streamFromJmx && shouldUseEventStreaming(connection, 14)) {
+        Optional<Path> repository = getRepositoryPath(connection);
+        if (repository.isPresent()) {
+          return EventStreamSupport.newRepositoryStreamRecorder(
+              repository.get(), () -> closeRecording(connection, recordingId));
+        }
+        logger.info("Unable to find target JFR repository, copying recordings instead.");
+      }
       return new JmxJfrRecorder(connection, streamFromJmx, recordingId);
     } catch (Exception e) {
       throw new JfrRecorderException("Failed to obtain JfrRecorder.", e);
     }
   }
 
+  /**
+   * Check whether event streaming is enabled and supported by this JVM and the target JVM.
+   *
+   * @param connection the connection to the target
+   * @param minTargetVersion the minimum feature version of the target JVM
+   * @return true if event streaming should be used, else false
+   */
+  private boolean shouldUseEventStreaming(MBeanServerConnection connection, int minTargetVersion) {
+    if (!useEventStreaming) {
+      return false;
+    }
+    if (!EventStreamSupport.isSupported()) {
+      logger.info("JFR event streaming is not supported by this JVM.");
+      return false;
+    }
+    try {
+      Object specVersion = connection.getAttribute(makeRuntimeObjectName(), "SpecVersion");
+      if (getFeatureVersion(String.valueOf(specVersion)) >= minTargetVersion) {
+        return true;
+      }
+      logger.info("Target JVM version {} does not support JFR event streaming.", specVersion);
+    } catch (Exception e) {
+      logger.info("Unable to determine target JVM version: {}", e.getMessage());
+    }
+    return false;
+  }
+
+  /**
+   * Find the target's JFR disk repository, which is published in the {@code jdk.jfr.repository}
+   * system property once a recording to disk has started.
+   */
+  static Optional<Path> getRepositoryPath(MBeanServerConnection connection) throws Exception {
+    Object properties = connection.getAttribute(makeRuntimeObjectName(), "SystemProperties");
+    if (!(properties instanceof TabularData)) {
+      throw new RuntimeException("JMX returned something that wasn't TabularData: " + properties);
+    }
+    CompositeData property = ((TabularData) properties).get(new Object[] {"jdk.jfr.repository"});
+    if (property == null) {
+      return Optional.empty();
+    }
+    Path repository = Paths.get(String.valueOf(property.get("value")));
+    return Files.isDirectory(repository) ? Optional.of(repository) : Optional.empty();
+  }
+
+  private static void closeRecording(MBeanServerConnection connection, long recordingId) {
+    try {
+      connection.invoke(
+          makeFlightRecorderObjectName(),
+          "closeRecording",
+          new Object[] {recordingId},
+          new String[] {"long"});
+    } catch (Exception e) {
+      logger.debug("Unable to close recording {}: {}", recordingId, e.getMessage());
+    }
+  }
+
+  /**
+   * Parse the feature version from a {@code java.specification.version}, e.g. {@code 8} from
+   * {@code 1.8} or {@code 17} from {@code 17}.
+   */
+  static int getFeatureVersion(String specVersion) {
+    String version = specVersion.startsWith("1.") ? specVersion.substring(2) : specVersion;
+    int dot = version.indexOf('.');
+    try {
+      return Integer.parseInt(dot == -1 ? version : version.substring(0, dot));
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+
+  /**
+   * Read the settings of the target's predefined {@code profile} configuration, the same settings
+   * the cloned recording is started with, from the {@code Configurations} of its FlightRecorder
+   * MBean. The settings of this JVM may name events the target doesn't know, or miss some it does.
+   */
+  static Optional<Map<String, String>> getProfileSettings(MBeanServerConnection connection)
+      throws Exception {
+    Object configurations =
+        connection.getAttribute(makeFlightRecorderObjectName(), "Configurations");
+    if (!(configurations instanceof CompositeData[])) {
+      throw new RuntimeException(
+          "JMX returned something that wasn't CompositeData: " + configurations);
+    }
+    for (CompositeData configuration : (CompositeData[]) configurations) {
+      if ("profile".equals(configuration.get("name"))) {
+        Map<String, String> settings = new HashMap<>();
+        for (Object row : ((TabularData) configuration.get("settings")).values()) {
+          CompositeData setting = (CompositeData) row;
+          settings.put((String) setting.get("key"), (String) setting.get("value"));
+        }
+        return Optional.of(settings);
+      }
+    }
+    return Optional.empty();
+  }
+
+  private Duration maxAge() {
+    return harvestInterval.plus(10, ChronoUnit.SECONDS);
+  }
+
   private long startRecordingWithBackoff(MBeanServerConnection connection) throws Exception {
     Backoff backoff = Backoff.defaultBackoff();
     while (true) {
@@ -86,7 +218,7 @@ public class JmxJfrRecorderFactory implements JfrRecorderFactory {
 
     configureDefaultProfile(connection, recordingId);
 
-    String maxAge = (harvestInterval.get(ChronoUnit.SECONDS) + 10) + "s";
+    String maxAge = maxAge().getSeconds() + "s";
     Map<String, String> options = new HashMap<>();
     options.put("name", "New Relic JFR Recording");
     options.put("disk", "true");
@@ -103,9 +235,24 @@ public class JmxJfrRecorderFactory implements JfrRecorderFactory {
     return recordingId;
   }
 
-  private static void configureDefaultProfile(MBeanServerConnection connection, long recordingId)
-      throws IOException, JMException {
+  private void configureDefaultProfile(MBeanServerConnection connection, long recordingId)
+      throws Exception {
     ObjectName objectName = makeFlightRecorderObjectName();
+    if (!settings.isEmpty()) {
+      Optional<Map<String, String>> profile = getProfileSettings(connection);
+      if (profile.isPresent()) {
+        // Have to pass this as actual open data, not as a Map
+        TabularDataSupport openData =
+            makeOpenData(RecordingSettings.apply(profile.get(), settings));
+        connection.invoke(
+            objectName,
+            "setRecordingSettings",
+            new Object[] {recordingId, openData},
+            new String[] {"long", "javax.management.openmbean.TabularData"});
+        return;
+      }
+      logger.info("Unable to find target JFR profile configuration, using its default settings.");
+    }
     connection.invoke(
         objectName,
         "setPredefinedConfiguration",
@@ -133,4 +280,8 @@ public class JmxJfrRecorderFactory implements JfrRecorderFactory {
   static ObjectName makeFlightRecorderObjectName() throws MalformedObjectNameException {
     return new ObjectName("jdk.management.jfr:type=FlightRecorder");
   }
+
+  static ObjectName makeRuntimeObjectName() throws MalformedObjectNameException {
+    return new ObjectName(ManagementFactory.RUNTIME_MXBEAN_NAME);
+  }
 }
@@ -0,0 +1,72 @@
+package com.newrelic.jfr.daemon;
+
+import jdk.jfr.consumer.EventStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An implementation of {@link JfrStreamingRecorder} backed by an {@link EventStream}, such as an
+ * in-process {@code RecordingStream} or a {@code RemoteRecordingStream} over JMX. Events are handed
+ * to the {@link JFRUploader} as JFR flushes them, so the recording is never dumped to a temp file
+ * and re-parsed.
+ */
+public class EventStreamJfrRecorder implements JfrStreamingRecorder {
+
+  private static final Logger logger = LoggerFactory.getLogger(EventStreamJfrRecorder.class);
+
+  private final EventStream eventStream;
+  private final Runnable onClose;
+  private volatile boolean terminated = false;
+
+  /**
+   * Create a recorder from a stream that has not been started.
+   *
+   * @param eventStream the stream
+   */
+  public EventStreamJfrRecorder(EventStream eventStream) {
+    this(eventStream, () -> {});
+  }
+
+  /**
+   * Create a recorder from a stream that has not been started.
+   *
+   * @param eventStream the stream
+   * @param onClose called after the stream is closed by {@link #close()}
+   */
+  public EventStreamJfrRecorder(EventStream eventStream, Runnable onClose) {
+    this.eventStream = eventStream;
+    this.onClose = onClose;
+    // Some summarizers hold on to events across calls, so event objects must not be reused
+    eventStream.setReuse(false);
+  }
+
+  @Override
+  public void start(JFRUploader uploader) throws JfrRecorderException {
+    // Only registering handlers for named events lets the stream skip decoding all other events
+    for (String eventName : uploader.getEventNames()) {
+      eventStream.onEvent(eventName, uploader::handleEvent);
+    }
+    eventStream.onError(t -> logger.error("Error in JFR event stream.", t));
+    eventStream.onClose(() -> terminated = true);
+    try {
+      eventStream.startAsync();
+    } catch (IllegalStateException e) {
+      throw new JfrRecorderException("Failed to start JFR event stream.", e);
+    }
+    logger.info("Started JFR event stream.");
+  }
+
+  @Override
+  public void checkStreaming() throws JfrRecorderException {
+    if (terminated) {
+      throw new JfrRecorderException("JFR event stream has terminated.");
+    }
+  }
+
+  @Override
+  public void close() {
+    terminated = true;
+    eventStream.close();
+    onClose.run();
+  }
+}
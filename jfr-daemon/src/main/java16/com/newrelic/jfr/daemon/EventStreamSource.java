@@ -0,0 +1,48 @@
+package com.newrelic.jfr.daemon;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.function.Predicate;
+import jdk.jfr.consumer.EventStream;
+import jdk.jfr.consumer.RecordedEvent;
+
+/**
+ * A {@link RecordedEventSource} backed by an {@link EventStream} over a JFR file. Only handlers for
+ * the given event names are registered, so the stream skips all other events without decoding
+ * them.
+ */
+class EventStreamSource implements RecordedEventSource {
+
+  private final EventStream eventStream;
+  private final Set<String> eventNames;
+  private volatile boolean stopped;
+
+  EventStreamSource(EventStream eventStream, Set<String> eventNames) {
+    this.eventStream = eventStream;
+    this.eventNames = eventNames;
+    // Events may be queued, so event objects must not be reused
+    eventStream.setReuse(false);
+  }
+
+  @Override
+  public void forEach(Predicate<RecordedEvent> handler) throws IOException {
+    for (String eventName : eventNames) {
+      eventStream.onEvent(
+          eventName,
+          event -> {
+            // Closing the stream from a handler takes effect lazily, so ignore what is still
+            // dispatched after the handler asked to stop
+            if (!stopped && !handler.test(event)) {
+              stopped = true;
+              eventStream.close();
+            }
+          });
+    }
+    eventStream.start();
+  }
+
+  @Override
+  public void close() {
+    eventStream.close();
+  }
+}
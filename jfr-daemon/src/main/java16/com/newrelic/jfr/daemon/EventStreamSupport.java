@@ -0,0 +1,100 @@
+package com.newrelic.jfr.daemon;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import javax.management.MBeanServerConnection;
+import jdk.jfr.consumer.EventStream;
+import jdk.jfr.consumer.RecordingStream;
+import jdk.management.jfr.RemoteRecordingStream;
+
+/**
+ * Entry point to the JFR event streaming APIs, such as {@code jdk.jfr.consumer.RecordingStream}.
+ *
+ * <p>This is the Java 16+ version of a multi-release class. The version in {@code src/main/java}
+ * is used on older JVMs.
+ */
+public final class EventStreamSupport {
+
+  private EventStreamSupport() {}
+
+  /**
+   * Check whether the running JVM supports JFR event streaming.
+   *
+   * @return true if event streaming is supported, else false
+   */
+  public static boolean isSupported() {
+    return true;
+  }
+
+  /**
+   * Create a recorder which streams events from an in-process recording.
+   *
+   * @param settings the JFR settings for the recording
+   * @param maxAge how long the recording retains data on disk
+   * @return the recorder
+   */
+  public static JfrStreamingRecorder newRecordingStreamRecorder(
+      Map<String, String> settings, Duration maxAge) {
+    RecordingStream recordingStream = new RecordingStream();
+    recordingStream.setSettings(settings);
+    recordingStream.setMaxAge(maxAge);
+    return new EventStreamJfrRecorder(recordingStream);
+  }
+
+  /**
+   * Create a recorder which streams events from a recording in a remote JVM over JMX. The remote
+   * JVM must also be Java 16 or later.
+   *
+   * @param connection the connection to the remote MBean server
+   * @param settings the JFR settings for the recording
+   * @param maxAge how long the remote recording retains data on disk
+   * @return the recorder
+   * @throws JfrRecorderException if the remote recording could not be created
+   */
+  public static JfrStreamingRecorder newRemoteRecordingStreamRecorder(
+      MBeanServerConnection connection, Map<String, String> settings, Duration maxAge)
+      throws JfrRecorderException {
+    try {
+      RemoteRecordingStream remoteStream = new RemoteRecordingStream(connection);
+      remoteStream.setSettings(settings);
+      remoteStream.setMaxAge(maxAge);
+      return new EventStreamJfrRecorder(remoteStream);
+    } catch (IOException | RuntimeException e) {
+      throw new JfrRecorderException("Failed to create remote JFR recording stream.", e);
+    }
+  }
+
+  /**
+   * Create a recorder which tails the chunk files of a JFR disk repository in place, such as the
+   * repository of another JVM on a shared filesystem.
+   *
+   * @param repository the path of the repository
+   * @param onClose called when the recorder is closed, e.g. to stop the recording being tailed
+   * @return the recorder
+   * @throws JfrRecorderException if the repository could not be opened
+   */
+  public static JfrStreamingRecorder newRepositoryStreamRecorder(Path repository, Runnable onClose)
+      throws JfrRecorderException {
+    try {
+      return new EventStreamJfrRecorder(EventStream.openRepository(repository), onClose);
+    } catch (IOException e) {
+      throw new JfrRecorderException("Failed to open JFR repository " + repository + ".", e);
+    }
+  }
+
+  /**
+   * Open the events of a JFR {@code file} with the given names. Other events are skipped without
+   * being decoded.
+   *
+   * @param file the JFR file
+   * @param eventNames the names of the events to read
+   * @return the source
+   * @throws IOException if the file could not be opened
+   */
+  public static RecordedEventSource openFile(Path file, Set<String> eventNames) throws IOException {
+    return new EventStreamSource(EventStream.openFile(file), eventNames);
+  }
+}
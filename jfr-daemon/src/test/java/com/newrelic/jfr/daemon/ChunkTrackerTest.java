@@ -0,0 +1,117 @@
+package com.newrelic.jfr.daemon;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ChunkTrackerTest {
+
+  private static final Path CHUNK_1 = Path.of("src/test/resources/stream-2020-06-10-1.jfr");
+  private static final Path CHUNK_2 = Path.of("src/test/resources/stream-2020-06-10-2.jfr");
+
+  private Path dir;
+
+  @BeforeEach
+  void setup() throws IOException {
+    dir = Files.createTempDirectory("chunk-tracker");
+  }
+
+  @AfterEach
+  void cleanup() throws IOException {
+    try (var files = Files.list(dir)) {
+      for (var file : (Iterable<Path>) files::iterator) {
+        Files.delete(file);
+      }
+    }
+    Files.delete(dir);
+  }
+
+  @Test
+  void testRemovesConsumedChunks() throws Exception {
+    var testClass = new ChunkTracker();
+    var first = write("first.jfr", CHUNK_1);
+    var second = write("second.jfr", CHUNK_1, CHUNK_2);
+
+    var result = testClass.removeConsumedChunks(first);
+    assertTrue(result.isPresent());
+    assertEquals(first, result.getFile());
+    assertFalse(result.isOverlapping());
+    testClass.markConsumed(result);
+
+    result = testClass.removeConsumedChunks(second);
+    assertTrue(result.isPresent());
+    assertNotEquals(second, result.getFile());
+    assertEquals(dir, result.getFile().getParent());
+    assertArrayEquals(Files.readAllBytes(CHUNK_2), Files.readAllBytes(result.getFile()));
+    assertFalse(result.isOverlapping());
+    testClass.markConsumed(result);
+
+    result = testClass.removeConsumedChunks(second);
+    assertFalse(result.isPresent());
+  }
+
+  @Test
+  void testUnconsumedChunksAreReadAgain() throws Exception {
+    var testClass = new ChunkTracker();
+    var first = write("first.jfr", CHUNK_1);
+    var second = write("second.jfr", CHUNK_1, CHUNK_2);
+
+    testClass.removeConsumedChunks(first);
+    // The events of the first file were not all handed off
+    var result = testClass.removeConsumedChunks(second);
+    assertEquals(second, result.getFile());
+    assertTrue(result.isOverlapping());
+    testClass.markConsumed(result);
+
+    assertFalse(testClass.removeConsumedChunks(second).isPresent());
+  }
+
+  @Test
+  void testGrownChunkIsOverlapping() throws Exception {
+    var testClass = new ChunkTracker();
+    var chunk = Files.readAllBytes(CHUNK_1);
+    var first = write("first.jfr", CHUNK_1);
+    // Same chunk start with a shorter duration
+    chunk[43] = (byte) (chunk[43] - 1);
+    var second = dir.resolve("second.jfr");
+    Files.write(second, chunk);
+
+    testClass.markConsumed(testClass.removeConsumedChunks(first));
+    var result = testClass.removeConsumedChunks(second);
+    assertTrue(result.isPresent());
+    assertEquals(second, result.getFile());
+    assertTrue(result.isOverlapping());
+  }
+
+  @Test
+  void testInvalidFile() throws Exception {
+    var testClass = new ChunkTracker();
+    var file = dir.resolve("invalid.jfr");
+    Files.write(file, new byte[] {1, 2, 3});
+
+    assertThrows(IOException.class, () -> testClass.removeConsumedChunks(file));
+  }
+
+  private Path write(String name, Path... chunks) throws IOException {
+    var file = dir.resolve(name);
+    for (var chunk : chunks) {
+      Files.write(
+          file,
+          Files.readAllBytes(chunk),
+          StandardOpenOption.CREATE,
+          StandardOpenOption.APPEND);
+    }
+    return file;
+  }
+}
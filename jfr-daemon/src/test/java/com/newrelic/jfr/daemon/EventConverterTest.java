@@ -10,15 +10,26 @@ package com.newrelic.jfr.daemon;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.newrelic.jfr.EventContext;
 import com.newrelic.jfr.ProfilerRegistry;
 import com.newrelic.jfr.ToEventRegistry;
 import com.newrelic.jfr.ToMetricRegistry;
 import com.newrelic.jfr.ToSummaryRegistry;
+import com.newrelic.jfr.profiler.FlamegraphEncoding;
+import com.newrelic.jfr.profiler.FrameKeying;
+import com.newrelic.jfr.profiler.ProfileSummarizer;
 import com.newrelic.jfr.toevent.EventToEvent;
 import com.newrelic.jfr.tometric.EventToMetric;
 import com.newrelic.jfr.tosummary.EventToSummary;
@@ -28,10 +39,12 @@ import com.newrelic.telemetry.metrics.Gauge;
 import com.newrelic.telemetry.metrics.Summary;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Stream;
 import jdk.jfr.EventType;
 import jdk.jfr.consumer.RecordedEvent;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
 class EventConverterTest {
 
@@ -40,6 +53,7 @@ class EventConverterTest {
     var event = new Event("foo", new Attributes().put("x", "y"), 12354);
     var metric = new Gauge("shimmy", 12.45, 1234567L, new Attributes().put("a", "b"));
     var summary = new Summary("dracula", 1, 23, 24, 25, 101, 102, new Attributes().put("z", "q"));
+    var percentile = new Gauge("dracula.percentiles", 24, 102, new Attributes().put("z", "q"));
 
     var e1 = makeEvent("one");
     var e2 = makeEvent("two");
@@ -59,14 +73,17 @@ class EventConverterTest {
     when(toEventRegistry.all()).thenAnswer(x -> Stream.of(eventToEvent));
     when(eventToEvent.test(e1)).thenReturn(true);
     when(eventToEvent.apply(e1)).thenReturn(List.of(event));
+    when(eventToEvent.apply(any(EventContext.class))).thenCallRealMethod();
 
     when(toMetricRegistry.all()).thenAnswer(x -> Stream.of(eventToMetric));
     when(eventToMetric.test(e2)).thenReturn(true);
     doReturn(List.of(metric)).when(eventToMetric).apply(e2);
+    doCallRealMethod().when(eventToMetric).apply(any(EventContext.class));
 
     when(toSummaryRegistry.all()).thenAnswer(x -> Stream.of(eventToSummary));
     when(eventToSummary.test(e3)).thenReturn(true);
     doReturn(Stream.of(summary)).when(eventToSummary).summarize();
+    doReturn(Stream.of(percentile)).when(eventToSummary).summarizeGauges();
 
     var testClass =
         new EventConverter(
@@ -77,9 +94,106 @@ class EventConverterTest {
     assertEquals(1, eventBatch.size());
     assertEquals(event, eventBatch.getTelemetry().iterator().next());
     var metricBatch = result.createMetricBatch();
-    assertEquals(2, metricBatch.getTelemetry().size());
+    assertEquals(3, metricBatch.getTelemetry().size());
     assertEquals(metric, new ArrayList<>(metricBatch.getTelemetry()).get(0));
-    assertEquals(summary, new ArrayList<>(metricBatch.getTelemetry()).get(1));
+    assertEquals(percentile, new ArrayList<>(metricBatch.getTelemetry()).get(1));
+    assertEquals(summary, new ArrayList<>(metricBatch.getTelemetry()).get(2));
+  }
+
+  @Test
+  void testAcceptAndHarvest() {
+    var event = new Event("foo", new Attributes().put("x", "y"), 12354);
+    var e1 = makeEvent("one");
+    var toEventRegistry = mock(ToEventRegistry.class);
+    var toMetricRegistry = mock(ToMetricRegistry.class);
+    var toSummaryRegistry = mock(ToSummaryRegistry.class);
+    var profilerRegistry = mock(ProfilerRegistry.class);
+    var eventToEvent = mock(EventToEvent.class);
+
+    when(toEventRegistry.all()).thenAnswer(x -> Stream.of(eventToEvent));
+    when(eventToEvent.test(e1)).thenReturn(true);
+    when(eventToEvent.apply(e1)).thenReturn(List.of(event));
+    when(eventToEvent.apply(any(EventContext.class))).thenCallRealMethod();
+
+    var attrs = new Attributes();
+    var testClass =
+        new EventConverter(
+            attrs, toMetricRegistry, toSummaryRegistry, toEventRegistry, profilerRegistry);
+
+    testClass.accept(e1);
+    assertEquals(List.of(event), testClass.harvest().createEventBatch().getTelemetry());
+    // Harvesting again starts from empty
+    assertTrue(testClass.harvest().createEventBatch().isEmpty());
+  }
+
+  @Test
+  void testDispatchIsComputedOncePerEventType() {
+    var event = new Event("foo", new Attributes().put("x", "y"), 12354);
+    var e1 = makeEvent("one");
+    var e2 = makeEvent("one");
+    var e3 = makeEvent("unmapped");
+    var toEventRegistry = mock(ToEventRegistry.class);
+    var toMetricRegistry = mock(ToMetricRegistry.class);
+    var toSummaryRegistry = mock(ToSummaryRegistry.class);
+    var profilerRegistry = mock(ProfilerRegistry.class);
+    var eventToEvent = mock(EventToEvent.class);
+
+    when(toEventRegistry.all()).thenAnswer(x -> Stream.of(eventToEvent));
+    when(eventToEvent.test(e1)).thenReturn(true);
+    when(eventToEvent.apply(any(EventContext.class))).thenReturn(List.of(event));
+
+    var attrs = new Attributes();
+    var testClass =
+        new EventConverter(
+            attrs, toMetricRegistry, toSummaryRegistry, toEventRegistry, profilerRegistry);
+
+    testClass.accept(e1);
+    testClass.accept(e2);
+    testClass.accept(e3);
+    testClass.accept(e3);
+
+    assertEquals(List.of(event, event), testClass.harvest().createEventBatch().getTelemetry());
+    verify(eventToEvent).test(e1);
+    verify(eventToEvent, never()).test(e2);
+    verify(eventToEvent).test(e3);
+    verify(eventToEvent, times(2)).apply(any(EventContext.class));
+  }
+
+  @Test
+  void testMappersOfAnEventShareItsContext() {
+    var e1 = makeEvent("one");
+    var toEventRegistry = mock(ToEventRegistry.class);
+    var toMetricRegistry = mock(ToMetricRegistry.class);
+    var toSummaryRegistry = mock(ToSummaryRegistry.class);
+    var profilerRegistry = mock(ProfilerRegistry.class);
+    var eventToEvent = mock(EventToEvent.class);
+    var eventToMetric = mock(EventToMetric.class);
+    var eventToSummary = mock(EventToSummary.class);
+
+    when(toEventRegistry.all()).thenAnswer(x -> Stream.of(eventToEvent));
+    when(eventToEvent.test(e1)).thenReturn(true);
+    when(eventToEvent.apply(any(EventContext.class))).thenReturn(List.of());
+    when(toMetricRegistry.all()).thenAnswer(x -> Stream.of(eventToMetric));
+    when(eventToMetric.test(e1)).thenReturn(true);
+    doReturn(List.of()).when(eventToMetric).apply(any(EventContext.class));
+    when(toSummaryRegistry.all()).thenAnswer(x -> Stream.of(eventToSummary));
+    when(eventToSummary.test(e1)).thenReturn(true);
+
+    var attrs = new Attributes();
+    var testClass =
+        new EventConverter(
+            attrs, toMetricRegistry, toSummaryRegistry, toEventRegistry, profilerRegistry);
+    testClass.accept(e1);
+
+    var toEventContext = ArgumentCaptor.forClass(EventContext.class);
+    var toMetricContext = ArgumentCaptor.forClass(EventContext.class);
+    var toSummaryContext = ArgumentCaptor.forClass(EventContext.class);
+    verify(eventToEvent).apply(toEventContext.capture());
+    verify(eventToMetric).apply(toMetricContext.capture());
+    verify(eventToSummary).accept(toSummaryContext.capture());
+    assertSame(e1, toEventContext.getValue().getEvent());
+    assertSame(toEventContext.getValue(), toMetricContext.getValue());
+    assertSame(toEventContext.getValue(), toSummaryContext.getValue());
   }
 
   @Test
@@ -103,6 +217,25 @@ class EventConverterTest {
     assertTrue(attributes.asMap().containsKey("entity.guid"));
   }
 
+  @Test
+  void testEventNamesOfRegistries() {
+    var toEventRegistry = mock(ToEventRegistry.class);
+    var toMetricRegistry = mock(ToMetricRegistry.class);
+    var toSummaryRegistry = mock(ToSummaryRegistry.class);
+    var profilerRegistry = mock(ProfilerRegistry.class);
+    when(toEventRegistry.eventNames()).thenReturn(Set.of("one"));
+    when(toMetricRegistry.eventNames()).thenReturn(Set.of("two"));
+    when(toSummaryRegistry.eventNames()).thenReturn(Set.of("two", "three"));
+    when(profilerRegistry.eventNames()).thenReturn(Set.of("four"));
+
+    var attrs = new Attributes();
+    var testClass =
+        new EventConverter(
+            attrs, toMetricRegistry, toSummaryRegistry, toEventRegistry, profilerRegistry);
+
+    assertEquals(Set.of("one", "two", "three", "four"), testClass.getEventNames());
+  }
+
   @Test
   void testConversionException() {
     var e1 = makeEvent("one");
@@ -125,6 +258,43 @@ class EventConverterTest {
     assertNotNull(result);
   }
 
+  @Test
+  void testProfileOptionsOfConfig() {
+    var config =
+        DaemonConfig.builder()
+            .apiKey("a")
+            .flamegraphEncoding(FlamegraphEncoding.COMPACT)
+            .flamegraphFrameKeying(FrameKeying.METHOD)
+            .flamegraphSplitThreadStates(true)
+            .flamegraphLockProfile(true)
+            .flamegraphSliceSeconds(30)
+            .build();
+
+    var options = EventConverter.profileOptions(config);
+
+    assertEquals(FlamegraphEncoding.COMPACT, options.getEncoding());
+    assertEquals(FrameKeying.METHOD, options.getAggregation().getKeying());
+    assertTrue(options.splitThreadStates());
+    assertFalse(options.allocationProfile());
+    assertTrue(options.lockProfile());
+    assertEquals(30, options.getSpikes().getSliceSeconds());
+  }
+
+  @Test
+  void testDefaultEventNamesCoverOptInProfiles() {
+    var eventNames = EventConverter.defaultEventNames();
+
+    assertTrue(eventNames.contains(ProfileSummarizer.IN_NEW_TLAB_EVENT_NAME));
+    assertTrue(eventNames.contains(ProfileSummarizer.THREAD_PARK_EVENT_NAME));
+  }
+
+  @Test
+  void testProfileOptionsWithoutSlices() {
+    var config = DaemonConfig.builder().apiKey("a").flamegraphSliceSeconds(0).build();
+
+    assertNull(EventConverter.profileOptions(config).getSpikes());
+  }
+
   private RecordedEvent makeEvent(String name) {
     var result = mock(RecordedEvent.class);
     var eventType = mock(EventType.class);
@@ -1,11 +1,14 @@
 package com.newrelic.jfr.daemon;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -15,9 +18,13 @@ import com.newrelic.telemetry.TelemetryClient;
 import com.newrelic.telemetry.events.EventBatch;
 import com.newrelic.telemetry.metrics.MetricBatch;
 import java.nio.file.Path;
-import jdk.jfr.consumer.RecordingFile;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import jdk.jfr.consumer.RecordedEvent;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
 class JFRUploaderTest {
 
@@ -25,22 +32,24 @@ class JFRUploaderTest {
   private TelemetryClient telemetryClient;
   private MetricBatch expectedMetricBatch;
   private EventBatch expectedEventBatch;
-  private RecordingFile recordingFile;
+  private RecordedEventSource eventSource;
   private EventConverter eventConverter;
   private RecordedEventBuffer recordedEventBuffer;
 
+  private BufferedTelemetry bufferedTelemetry;
+
   private JFRUploader testClass;
 
   @BeforeEach
-  void setup() {
+  void setup() throws Exception {
     filePath = Path.of("/foo", "bar", "baz");
     telemetryClient = mock(TelemetryClient.class);
     recordedEventBuffer = mock(RecordedEventBuffer.class);
     expectedMetricBatch = mock(MetricBatch.class);
     expectedEventBatch = mock(EventBatch.class);
-    recordingFile = mock(RecordingFile.class);
+    eventSource = mock(RecordedEventSource.class);
     eventConverter = mock(EventConverter.class);
-    var bufferedTelemetry = mock(BufferedTelemetry.class);
+    bufferedTelemetry = mock(BufferedTelemetry.class);
 
     when(eventConverter.convert(recordedEventBuffer)).thenReturn(bufferedTelemetry);
     when(bufferedTelemetry.createEventBatch()).thenReturn(expectedEventBatch);
@@ -50,7 +59,7 @@ class JFRUploaderTest {
         spy(new JFRUploader(new NewRelicTelemetrySender(telemetryClient), recordedEventBuffer));
     testClass.readyToSend(eventConverter);
 
-    doReturn(recordingFile).when(testClass).openRecordingFile(filePath);
+    doReturn(eventSource).when(testClass).openEventSource(eq(filePath), any());
     doNothing().when(testClass).deleteFile(any());
   }
 
@@ -82,7 +91,7 @@ class JFRUploaderTest {
   void testBufferingThrowsExceptionIsHandled() throws Exception {
     doThrow(new RuntimeException("Whoopsie doodle"))
         .when(recordedEventBuffer)
-        .bufferEvents(filePath, recordingFile);
+        .readEvents(eq(filePath), any(), eq(true), any());
 
     testClass.handleFile(filePath);
     // no exception, but we still try and send
@@ -90,6 +99,55 @@ class JFRUploaderTest {
     verify(telemetryClient).sendBatch(expectedEventBatch);
   }
 
+  @Test
+  void testEventsConvertedAsRead() throws Exception {
+    testClass.handleFile(filePath);
+
+    var handlerCaptor = handlerCaptor();
+    verify(recordedEventBuffer)
+        .readEvents(eq(filePath), eq(eventSource), eq(true), handlerCaptor.capture());
+    var event = mock(RecordedEvent.class);
+    handlerCaptor.getValue().test(event);
+    verify(eventConverter).accept(event);
+    verify(recordedEventBuffer, never()).bufferEvent(event);
+  }
+
+  @Test
+  void testEventsBufferedUntilReady() throws Exception {
+    var uploader =
+        spy(new JFRUploader(new NewRelicTelemetrySender(telemetryClient), recordedEventBuffer));
+    doReturn(eventSource).when(uploader).openEventSource(eq(filePath), any());
+    doNothing().when(uploader).deleteFile(any());
+
+    uploader.handleFile(filePath);
+
+    var handlerCaptor = handlerCaptor();
+    verify(recordedEventBuffer)
+        .readEvents(eq(filePath), eq(eventSource), eq(true), handlerCaptor.capture());
+    var event = mock(RecordedEvent.class);
+    handlerCaptor.getValue().test(event);
+    verify(recordedEventBuffer).bufferEvent(event);
+    verifyNoMoreInteractions(telemetryClient);
+  }
+
+  @Test
+  void testEventNamesOfConverter() throws Exception {
+    when(eventConverter.getEventNames()).thenReturn(Set.of("jdk.CPULoad"));
+
+    testClass.handleFile(filePath);
+
+    assertEquals(Set.of("jdk.CPULoad"), testClass.getEventNames());
+    verify(testClass).openEventSource(filePath, Set.of("jdk.CPULoad"));
+  }
+
+  @Test
+  void testDefaultEventNamesUntilReady() {
+    var uploader =
+        new JFRUploader(new NewRelicTelemetrySender(telemetryClient), recordedEventBuffer);
+
+    assertEquals(EventConverter.defaultEventNames(), uploader.getEventNames());
+  }
+
   @Test
   public void testConvertThrowsExceptionIsHandled() {
     doThrow(new RuntimeException("kaboom!")).when(eventConverter).convert(recordedEventBuffer);
@@ -98,4 +156,45 @@ class JFRUploaderTest {
     // no exception, and since we can't convert don't try sending
     verifyNoMoreInteractions(telemetryClient);
   }
+
+  @Test
+  void testHandleEventConvertsWhenReady() {
+    var event = mock(RecordedEvent.class);
+    when(recordedEventBuffer.drainToStream()).thenReturn(Stream.empty());
+    when(eventConverter.harvest()).thenReturn(bufferedTelemetry);
+
+    testClass.handleEvent(event);
+    testClass.harvest();
+
+    verify(eventConverter).accept(event);
+    verify(recordedEventBuffer, never()).bufferEvent(event);
+    verify(telemetryClient).sendBatch(expectedMetricBatch);
+    verify(telemetryClient).sendBatch(expectedEventBatch);
+  }
+
+  @Test
+  void testHandleEventBuffersUntilReady() {
+    var event = mock(RecordedEvent.class);
+    var uploader =
+        new JFRUploader(new NewRelicTelemetrySender(telemetryClient), recordedEventBuffer);
+
+    uploader.handleEvent(event);
+    uploader.harvest();
+    verify(recordedEventBuffer).bufferEvent(event);
+    verifyNoMoreInteractions(telemetryClient);
+
+    when(recordedEventBuffer.drainToStream()).thenReturn(Stream.of(event));
+    when(eventConverter.harvest()).thenReturn(bufferedTelemetry);
+    uploader.readyToSend(eventConverter);
+    uploader.harvest();
+
+    verify(eventConverter).accept(event);
+    verify(telemetryClient).sendBatch(expectedMetricBatch);
+    verify(telemetryClient).sendBatch(expectedEventBatch);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static ArgumentCaptor<Predicate<RecordedEvent>> handlerCaptor() {
+    return ArgumentCaptor.forClass(Predicate.class);
+  }
 }
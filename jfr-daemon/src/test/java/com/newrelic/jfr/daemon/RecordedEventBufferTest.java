@@ -7,13 +7,17 @@
 package com.newrelic.jfr.daemon;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.File;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.stream.Collectors;
@@ -72,6 +76,112 @@ class RecordedEventBufferTest {
     assertEquals(0, queue.size());
   }
 
+  @Test
+  public void testWatermarkIsMaxEventTime() throws Exception {
+    var queue = new ArrayBlockingQueue<RecordedEvent>(10);
+    var dumpPath = new File("/tmp/file.jfr").toPath();
+
+    var e11 = makeEvent(12346);
+    var e12 = makeEvent(12345); // out of order
+    var e21 = makeEvent(12346); // seen in the first file
+    var e22 = makeEvent(12347);
+    var recordingFile1 = mock(RecordingFile.class);
+    var recordingFile2 = mock(RecordingFile.class);
+
+    when(recordingFile1.hasMoreEvents()).thenReturn(true, true, false);
+    when(recordingFile1.readEvent()).thenReturn(e11, e12);
+
+    when(recordingFile2.hasMoreEvents()).thenReturn(true, true, false);
+    when(recordingFile2.readEvent()).thenReturn(e21, e22);
+
+    var testClass = new RecordedEventBuffer(queue);
+    testClass.bufferEvents(dumpPath, recordingFile1);
+    testClass.bufferEvents(dumpPath, recordingFile2);
+    var result = testClass.drainToStream().collect(Collectors.toList());
+    assertEquals(List.of(e11, e12, e22), result);
+  }
+
+  @Test
+  public void testOutOfOrderTolerance() throws Exception {
+    var queue = new ArrayBlockingQueue<RecordedEvent>(10);
+    var dumpPath = new File("/tmp/file.jfr").toPath();
+
+    var e11 = makeEvent(12346);
+    var e21 = makeEvent(12340); // within tolerance of the first file
+    var e22 = makeEvent(12335); // beyond tolerance of the first file
+    var recordingFile1 = mock(RecordingFile.class);
+    var recordingFile2 = mock(RecordingFile.class);
+
+    when(recordingFile1.hasMoreEvents()).thenReturn(true, false);
+    when(recordingFile1.readEvent()).thenReturn(e11);
+
+    when(recordingFile2.hasMoreEvents()).thenReturn(true, true, false);
+    when(recordingFile2.readEvent()).thenReturn(e21, e22);
+
+    var testClass = new RecordedEventBuffer(queue, Duration.ofMillis(10));
+    testClass.bufferEvents(dumpPath, recordingFile1);
+    testClass.bufferEvents(dumpPath, recordingFile2);
+    var result = testClass.drainToStream().collect(Collectors.toList());
+    assertEquals(List.of(e11, e21), result);
+  }
+
+  @Test
+  public void testReadEventsWithoutWatermark() throws Exception {
+    var queue = new ArrayBlockingQueue<RecordedEvent>(10);
+    var dumpPath = new File("/tmp/file.jfr").toPath();
+
+    var e11 = makeEvent(12346);
+    var e21 = makeEvent(12345);
+    var e31 = makeEvent(12346);
+    var recordingFile1 = mock(RecordingFile.class);
+    var recordingFile2 = mock(RecordingFile.class);
+    var recordingFile3 = mock(RecordingFile.class);
+
+    when(recordingFile1.hasMoreEvents()).thenReturn(true, false);
+    when(recordingFile1.readEvent()).thenReturn(e11);
+    when(recordingFile2.hasMoreEvents()).thenReturn(true, false);
+    when(recordingFile2.readEvent()).thenReturn(e21);
+    when(recordingFile3.hasMoreEvents()).thenReturn(true, false);
+    when(recordingFile3.readEvent()).thenReturn(e31);
+
+    var testClass = new RecordedEventBuffer(queue);
+    testClass.readEvents(
+        dumpPath, RecordedEventSource.of(recordingFile1), false, testClass::bufferEvent);
+    testClass.readEvents(
+        dumpPath, RecordedEventSource.of(recordingFile2), false, testClass::bufferEvent);
+    // The watermark still tracks events buffered without filtering
+    testClass.bufferEvents(dumpPath, recordingFile3);
+    var result = testClass.drainToStream().collect(Collectors.toList());
+    assertEquals(List.of(e11, e21), result);
+  }
+
+  @Test
+  public void testReadEventsSkipsQueue() throws Exception {
+    var queue = new ArrayBlockingQueue<RecordedEvent>(1);
+    var dumpPath = new File("/tmp/file.jfr").toPath();
+
+    var e11 = makeEvent(12345);
+    var e12 = makeEvent(12346);
+    var e21 = makeEvent(12346); // seen in the first file
+    var e22 = makeEvent(12347);
+    var recordingFile1 = mock(RecordingFile.class);
+    var recordingFile2 = mock(RecordingFile.class);
+
+    when(recordingFile1.hasMoreEvents()).thenReturn(true, true, false);
+    when(recordingFile1.readEvent()).thenReturn(e11, e12);
+    when(recordingFile2.hasMoreEvents()).thenReturn(true, true, false);
+    when(recordingFile2.readEvent()).thenReturn(e21, e22);
+
+    var testClass = new RecordedEventBuffer(queue);
+    var consumed = new ArrayList<RecordedEvent>();
+    var source1 = RecordedEventSource.of(recordingFile1);
+    var source2 = RecordedEventSource.of(recordingFile2);
+    assertTrue(testClass.readEvents(dumpPath, source1, true, consumed::add));
+    assertTrue(testClass.readEvents(dumpPath, source2, true, consumed::add));
+    assertEquals(List.of(e11, e12, e22), consumed);
+    assertEquals(0, queue.size());
+  }
+
   @Test
   public void testQueueGetsFilledUp() throws Exception {
     var queue = new ArrayBlockingQueue<RecordedEvent>(2);
@@ -94,6 +204,24 @@ class RecordedEventBufferTest {
     assertEquals(List.of(e1, e2), result);
   }
 
+  @Test
+  public void testReadEventsReportsRejectedEvents() throws Exception {
+    var queue = new ArrayBlockingQueue<RecordedEvent>(1);
+    var dumpPath = new File("/tmp/file.jfr").toPath();
+    var e1 = makeEvent(666);
+    var e2 = makeEvent(667);
+    var recordingFile = mock(RecordingFile.class);
+
+    when(recordingFile.hasMoreEvents()).thenReturn(true, true, false);
+    when(recordingFile.readEvent()).thenReturn(e1, e2);
+
+    var testClass = new RecordedEventBuffer(queue);
+    assertFalse(
+        testClass.readEvents(
+            dumpPath, RecordedEventSource.of(recordingFile), true, testClass::bufferEvent));
+    assertEquals(1, queue.size());
+  }
+
   private RecordedEvent makeEvent(long ms) {
     return makeEvent(Instant.ofEpochMilli(ms));
   }
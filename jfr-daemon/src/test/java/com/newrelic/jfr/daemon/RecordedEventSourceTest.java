@@ -0,0 +1,63 @@
+package com.newrelic.jfr.daemon;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import jdk.jfr.EventType;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+class RecordedEventSourceTest {
+
+  @Test
+  void testFiltersByEventName() throws Exception {
+    var e1 = makeEvent("jdk.CPULoad");
+    var e2 = makeEvent("jdk.FileRead");
+    var e3 = makeEvent("jdk.GarbageCollection");
+    var recordingFile = mock(RecordingFile.class);
+    when(recordingFile.hasMoreEvents()).thenReturn(true, true, true, false);
+    when(recordingFile.readEvent()).thenReturn(e1, e2, e3);
+
+    var result = new ArrayList<RecordedEvent>();
+    try (var source =
+        RecordedEventSource.of(recordingFile, Set.of("jdk.CPULoad", "jdk.GarbageCollection"))) {
+      source.forEach(result::add);
+    }
+
+    assertEquals(List.of(e1, e3), result);
+    verify(recordingFile).close();
+  }
+
+  @Test
+  void testStopsWhenHandlerReturnsFalse() throws Exception {
+    var e1 = makeEvent("jdk.CPULoad");
+    var e2 = makeEvent("jdk.CPULoad");
+    var recordingFile = mock(RecordingFile.class);
+    when(recordingFile.hasMoreEvents()).thenReturn(true);
+    when(recordingFile.readEvent()).thenReturn(e1, e2);
+
+    var result = new ArrayList<RecordedEvent>();
+    RecordedEventSource.of(recordingFile)
+        .forEach(
+            event -> {
+              result.add(event);
+              return false;
+            });
+
+    assertEquals(List.of(e1), result);
+  }
+
+  private RecordedEvent makeEvent(String name) {
+    var result = mock(RecordedEvent.class);
+    var eventType = mock(EventType.class);
+    when(result.getEventType()).thenReturn(eventType);
+    when(eventType.getName()).thenReturn(name);
+    return result;
+  }
+}
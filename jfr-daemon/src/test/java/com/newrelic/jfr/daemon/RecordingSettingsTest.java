@@ -0,0 +1,55 @@
+package com.newrelic.jfr.daemon;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class RecordingSettingsTest {
+
+  @Test
+  void noSettingsWithoutLockProfile() {
+    var config = DaemonConfig.builder().apiKey("abc").build();
+
+    assertTrue(RecordingSettings.forConfig(config).isEmpty());
+  }
+
+  @Test
+  void lockProfileEnablesLockEventsAtThreshold() {
+    var config =
+        DaemonConfig.builder()
+            .apiKey("abc")
+            .flamegraphLockProfile(true)
+            .flamegraphLockThresholdMillis(2)
+            .build();
+
+    var settings = RecordingSettings.forConfig(config);
+
+    assertEquals(9, settings.size());
+    for (var event : List.of("jdk.JavaMonitorEnter", "jdk.JavaMonitorWait", "jdk.ThreadPark")) {
+      assertEquals("true", settings.get(event + "#enabled"));
+      assertEquals("true", settings.get(event + "#stackTrace"));
+      assertEquals("2 ms", settings.get(event + "#threshold"));
+    }
+  }
+
+  @Test
+  void lockThresholdDefaultsToOneMilli() {
+    var config = DaemonConfig.builder().apiKey("abc").flamegraphLockProfile(true).build();
+
+    assertEquals("1 ms", RecordingSettings.forConfig(config).get("jdk.ThreadPark#threshold"));
+  }
+
+  @Test
+  void applyOverridesBaseSettings() {
+    var base = Map.of("jdk.ThreadPark#threshold", "20 ms", "jdk.CPULoad#enabled", "true");
+
+    var combined = RecordingSettings.apply(base, Map.of("jdk.ThreadPark#threshold", "1 ms"));
+
+    assertEquals(
+        Map.of("jdk.ThreadPark#threshold", "1 ms", "jdk.CPULoad#enabled", "true"), combined);
+    assertEquals("20 ms", base.get("jdk.ThreadPark#threshold"));
+  }
+}
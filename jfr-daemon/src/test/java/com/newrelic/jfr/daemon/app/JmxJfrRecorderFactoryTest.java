@@ -0,0 +1,154 @@
+package com.newrelic.jfr.daemon.app;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.newrelic.jfr.daemon.DaemonConfig;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.Optional;
+import javax.management.MBeanServerConnection;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.CompositeDataSupport;
+import javax.management.openmbean.CompositeType;
+import javax.management.openmbean.OpenType;
+import javax.management.openmbean.SimpleType;
+import javax.management.openmbean.TabularData;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class JmxJfrRecorderFactoryTest {
+
+  @Test
+  void testGetFeatureVersion() {
+    assertEquals(8, JmxJfrRecorderFactory.getFeatureVersion("1.8"));
+    assertEquals(11, JmxJfrRecorderFactory.getFeatureVersion("11"));
+    assertEquals(17, JmxJfrRecorderFactory.getFeatureVersion("17"));
+    assertEquals(17, JmxJfrRecorderFactory.getFeatureVersion("17.0.2"));
+    assertEquals(-1, JmxJfrRecorderFactory.getFeatureVersion("unknown"));
+  }
+
+  @Test
+  void testGetRecorderFallsBackToJmxRecorder() throws Exception {
+    var config =
+        DaemonConfig.builder()
+            .apiKey("abc")
+            .harvestInterval(10)
+            .useEventStreaming(true)
+            .build();
+    var connectionFactory = mock(MBeanConnectionFactory.class);
+    var connection = mock(MBeanServerConnection.class);
+    when(connectionFactory.awaitConnection(any())).thenReturn(connection);
+    when(connection.getAttribute(JmxJfrRecorderFactory.makeRuntimeObjectName(), "SpecVersion"))
+        .thenReturn("1.8");
+    when(connection.invoke(
+            eq(JmxJfrRecorderFactory.makeFlightRecorderObjectName()),
+            eq("newRecording"),
+            any(),
+            any()))
+        .thenReturn(1L);
+
+    var recorder = new JmxJfrRecorderFactory(config, connectionFactory).getRecorder();
+
+    assertTrue(recorder instanceof JmxJfrRecorder);
+  }
+
+  @Test
+  void testGetRecorderAppliesLockProfileSettings() throws Exception {
+    var config =
+        DaemonConfig.builder()
+            .apiKey("abc")
+            .harvestInterval(10)
+            .useEventStreaming(false)
+            .flamegraphLockProfile(true)
+            .build();
+    var connectionFactory = mock(MBeanConnectionFactory.class);
+    var connection = mock(MBeanServerConnection.class);
+    when(connectionFactory.awaitConnection(any())).thenReturn(connection);
+    when(connection.getAttribute(
+            JmxJfrRecorderFactory.makeFlightRecorderObjectName(), "Configurations"))
+        .thenReturn(
+            new CompositeData[] {configuration("profile", Map.of("jdk.CPULoad#enabled", "true"))});
+    when(connection.invoke(
+            eq(JmxJfrRecorderFactory.makeFlightRecorderObjectName()),
+            eq("newRecording"),
+            any(),
+            any()))
+        .thenReturn(1L);
+
+    new JmxJfrRecorderFactory(config, connectionFactory).getRecorder();
+
+    var args = ArgumentCaptor.forClass(Object[].class);
+    verify(connection)
+        .invoke(
+            eq(JmxJfrRecorderFactory.makeFlightRecorderObjectName()),
+            eq("setRecordingSettings"),
+            args.capture(),
+            any());
+    var settings = (TabularData) args.getValue()[1];
+    assertEquals(10, settings.size());
+    assertEquals("1 ms", settings.get(new Object[] {"jdk.ThreadPark#threshold"}).get("value"));
+    assertEquals("true", settings.get(new Object[] {"jdk.CPULoad#enabled"}).get("value"));
+  }
+
+  private static CompositeData configuration(String name, Map<String, String> settings)
+      throws Exception {
+    var openSettings = JmxJfrRecorderFactory.makeOpenData(settings);
+    var itemNames = new String[] {"name", "settings"};
+    var type =
+        new CompositeType(
+            "ConfigurationInfo",
+            "ConfigurationInfo",
+            itemNames,
+            itemNames,
+            new OpenType<?>[] {SimpleType.STRING, openSettings.getTabularType()});
+    return new CompositeDataSupport(type, itemNames, new Object[] {name, openSettings});
+  }
+
+  @Test
+  void testGetProfileSettings() throws Exception {
+    var connection = mock(MBeanServerConnection.class);
+    var settings = JmxJfrRecorderFactory.makeOpenData(Map.of("jdk.CPULoad#enabled", "true"));
+    var itemNames = new String[] {"name", "settings"};
+    var type =
+        new CompositeType(
+            "ConfigurationInfo",
+            "ConfigurationInfo",
+            itemNames,
+            itemNames,
+            new OpenType<?>[] {SimpleType.STRING, settings.getTabularType()});
+    var defaultConfiguration =
+        new CompositeDataSupport(type, itemNames, new Object[] {"default", settings});
+    var profileConfiguration =
+        new CompositeDataSupport(type, itemNames, new Object[] {"profile", settings});
+    when(connection.getAttribute(
+            JmxJfrRecorderFactory.makeFlightRecorderObjectName(), "Configurations"))
+        .thenReturn(new CompositeData[] {defaultConfiguration, profileConfiguration})
+        .thenReturn(new CompositeData[] {defaultConfiguration});
+
+    assertEquals(
+        Optional.of(Map.of("jdk.CPULoad#enabled", "true")),
+        JmxJfrRecorderFactory.getProfileSettings(connection));
+    assertEquals(Optional.empty(), JmxJfrRecorderFactory.getProfileSettings(connection));
+  }
+
+  @Test
+  void testGetRepositoryPath() throws Exception {
+    var repository = Files.createTempDirectory("jfr-repository");
+    var connection = mock(MBeanServerConnection.class);
+    var runtimeObjectName = JmxJfrRecorderFactory.makeRuntimeObjectName();
+    when(connection.getAttribute(runtimeObjectName, "SystemProperties"))
+        .thenReturn(
+            JmxJfrRecorderFactory.makeOpenData(Map.of("jdk.jfr.repository", repository.toString())),
+            JmxJfrRecorderFactory.makeOpenData(Map.of("java.version", "17")));
+
+    assertEquals(Optional.of(repository), JmxJfrRecorderFactory.getRepositoryPath(connection));
+    assertEquals(Optional.empty(), JmxJfrRecorderFactory.getRepositoryPath(connection));
+    Files.delete(repository);
+  }
+}
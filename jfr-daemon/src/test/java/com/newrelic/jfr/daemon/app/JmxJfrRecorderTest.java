@@ -0,0 +1,72 @@
+package com.newrelic.jfr.daemon.app;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.MBeanServerConnection;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class JmxJfrRecorderTest {
+
+  @Test
+  void testStreamRecordingToFileOnlyFetchesNewChunks() throws Exception {
+    var connection = mock(MBeanServerConnection.class);
+    var objectName = JmxJfrRecorderFactory.makeFlightRecorderObjectName();
+    when(connection.invoke(eq(objectName), eq("cloneRecording"), any(), any())).thenReturn(2L);
+    when(connection.invoke(eq(objectName), eq("openStream"), any(), any())).thenReturn(3L);
+    when(connection.invoke(eq(objectName), eq("readStream"), any(), any()))
+        .thenReturn(new byte[] {1, 2, 3});
+    when(connection.getAttributes(JmxJfrRecorderFactory.makeRuntimeObjectName(), uptimeAttrs()))
+        .thenReturn(
+            new AttributeList(
+                List.of(new Attribute("StartTime", 1000L), new Attribute("Uptime", 5L))),
+            new AttributeList(
+                List.of(new Attribute("StartTime", 1000L), new Attribute("Uptime", 10005L))));
+
+    var recorder = new JmxJfrRecorder(connection, true, 1);
+    var first = recorder.recordToFile();
+    var second = recorder.recordToFile();
+
+    assertEquals(3, Files.size(first));
+    assertEquals(3, Files.size(second));
+    Files.delete(first);
+    Files.delete(second);
+    var argsCaptor = ArgumentCaptor.forClass(Object[].class);
+    verify(connection, times(2))
+        .invoke(eq(objectName), eq("openStream"), argsCaptor.capture(), any());
+    var firstOptions = toMap((TabularData) argsCaptor.getAllValues().get(0)[1]);
+    var secondOptions = toMap((TabularData) argsCaptor.getAllValues().get(1)[1]);
+    assertFalse(firstOptions.containsKey("startTime"));
+    assertEquals("1005", firstOptions.get("endTime"));
+    assertEquals("1005", secondOptions.get("startTime"));
+    assertEquals("11005", secondOptions.get("endTime"));
+  }
+
+  private static String[] uptimeAttrs() {
+    return new String[] {"StartTime", "Uptime"};
+  }
+
+  private static Map<String, String> toMap(TabularData tabularData) {
+    Map<String, String> map = new HashMap<>();
+    for (Object row : tabularData.values()) {
+      var compositeData = (CompositeData) row;
+      map.put((String) compositeData.get("key"), (String) compositeData.get("value"));
+    }
+    return map;
+  }
+}
@@ -0,0 +1,426 @@
+package com.newrelic.jfr;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * The thread name rules of {@link ThreadNameNormalizer} compiled into matchers that don't need
+ * regular expressions:
+ *
+ * <ul>
+ *   <li>One scan of the name finds every literal the rules look for (request methods, {@code
+ *       thread}, the URI markers) with an Aho-Corasick automaton, together with line terminators
+ *       and brackets.
+ *   <li>The prefix terms are matched with a trie walked from the start of the name.
+ *   <li>Each kind of bracket is collapsed in one pass, and only if the name contains it.
+ *   <li>Hex and decimal numbers of the {@link ThreadNameNormalizer#DEFAULT_PATTERN} are replaced,
+ *       and slashes removed, in one scan. Other patterns still go through {@link Pattern}.
+ * </ul>
+ *
+ * The result is the same as applying the rules one after the other.
+ */
+final class CompiledThreadNameNormalizer {
+  private static final char REPLACEMENT_CHAR = '#';
+  private static final String REPLACEMENT_STRING = String.valueOf(REPLACEMENT_CHAR);
+
+  private static final String WEB_REQUEST = "WebRequest" + REPLACEMENT_CHAR;
+  private static final String POOL_THREAD = "pool" + REPLACEMENT_CHAR + "thread" + REPLACEMENT_CHAR;
+  private static final String POOL_PREFIX = "pool-";
+  private static final String[] REQUEST_METHODS = {
+    " GET ", " PUT ", " POST ", " DELETE ", " HEAD "
+  };
+  private static final String THREAD = "thread";
+
+  // A '.' in a term matches any character, as it did when the terms were a regex alternation
+  private static final String[] PREFIX_TERMS = {
+    "ActiveMQ",
+    "BoneCP-keep-alive-scheduler",
+    "CookieBrokerUpdates",
+    "C3P0PooledConnectionPoolManager",
+    "default-akka.actor.default",
+    "DelayedAutomationRunner",
+    "elasticsearch",
+    "hystrix",
+    "org.eclipse.jetty.server.session.HashSessionManager",
+    "jbm-client-session",
+    "JobHandler",
+    "QuartzScheduler",
+    "Sending mailitem",
+    "SOAPProcessorThread",
+    "TransientResourceLock"
+  };
+
+  private static final String[] REPLACE_AFTER_PATTERNS = {"http:", "https:", "uri:", "@"};
+
+  /* many thread names place variables in braces */
+  private static final char[][] ENCLOSING_CHARACTERS = {{'{', '}'}, {'(', ')'}, {'[', ']'}};
+
+  private static final String[] REPLACE_AFTER_ORDER = replaceAfterOrder();
+
+  // Ids of the literals found by the automaton
+  private static final int THREAD_ID = REQUEST_METHODS.length;
+  private static final int FIRST_REPLACE_AFTER_ID = THREAD_ID + 1;
+
+  private static final Literals LITERALS = new Literals();
+  private static final PrefixTrie PREFIXES = new PrefixTrie(PREFIX_TERMS);
+
+  private final Pattern replacementPattern;
+
+  /**
+   * Compile a normalizer.
+   *
+   * @param pattern the pattern of the parts of a name to replace after the rules are applied
+   */
+  CompiledThreadNameNormalizer(String pattern) {
+    this.replacementPattern =
+        ThreadNameNormalizer.DEFAULT_PATTERN.equals(pattern) ? null : Pattern.compile(pattern);
+  }
+
+  String normalize(String name) {
+    Scan scan = LITERALS.scan(name);
+    // The stopping rules all matched the whole name with '.', which doesn't match line terminators
+    if (!scan.hasLineTerminator) {
+      for (int i = 0; i < REQUEST_METHODS.length; i++) {
+        if (scan.firstIndex[i] >= 0) {
+          return WEB_REQUEST;
+        }
+      }
+      if (name.startsWith(POOL_PREFIX) && scan.threadAfterPoolPrefix) {
+        return POOL_THREAD;
+      }
+      int prefixEnd = PREFIXES.match(name);
+      if (prefixEnd >= 0) {
+        return name.substring(0, prefixEnd) + REPLACEMENT_CHAR;
+      }
+    }
+
+    int length = name.length();
+    for (int i = 0; i < REPLACE_AFTER_ORDER.length; i++) {
+      int index = scan.firstIndex[FIRST_REPLACE_AFTER_ID + i];
+      if (index >= 0) {
+        String pattern = REPLACE_AFTER_ORDER[i];
+        name = name.substring(0, index) + pattern + REPLACEMENT_CHAR;
+        length = index;
+        break;
+      }
+    }
+
+    for (int i = 0; i < ENCLOSING_CHARACTERS.length; i++) {
+      // Brackets after the replaced part are gone, and no pattern contains one
+      int first = scan.firstBracket[i];
+      if (first >= 0 && first < length) {
+        name = collapseEnclosed(name, ENCLOSING_CHARACTERS[i][0], ENCLOSING_CHARACTERS[i][1]);
+      }
+    }
+
+    if (replacementPattern == null) {
+      return replaceNumbers(name);
+    }
+    // Don't replace with a '*' because that messes up the dashboard metric selector
+    String renamed = replacementPattern.matcher(name).replaceAll(REPLACEMENT_STRING);
+    // Remove the slash characters for proper metric interpretation
+    return renamed.replace('/', '-');
+  }
+
+  /**
+   * Replaces everything between the outermost start and end characters. I wasn't able to write
+   * this as a regex because of nested enclosing characters, ie [[thing] [more stuff]]. An unclosed
+   * start character drops the rest of the name.
+   */
+  private static String collapseEnclosed(String name, char startChar, char endChar) {
+    int index = name.indexOf(startChar);
+    if (index < 0) {
+      return name;
+    }
+    int length = name.length();
+    StringBuilder sb = new StringBuilder(length);
+    int from = 0;
+    while (index >= 0) {
+      sb.append(name, from, index).append(startChar).append(REPLACEMENT_CHAR).append(endChar);
+      int found = 1;
+      int i = index + 1;
+      for (; i < length && found > 0; i++) {
+        char c = name.charAt(i);
+        if (c == startChar) {
+          found++;
+        } else if (c == endChar) {
+          found--;
+        }
+      }
+      from = i;
+      index = from < length ? name.indexOf(startChar, from) : -1;
+    }
+    return sb.append(name, from, length).toString();
+  }
+
+  /**
+   * Applies the {@link ThreadNameNormalizer#DEFAULT_PATTERN}: a hex number of at least 4 digits
+   * between word breaks, or else a decimal number, becomes {@code #}. Slashes become dashes.
+   */
+  private static String replaceNumbers(String name) {
+    int length = name.length();
+    StringBuilder sb = null;
+    int from = 0;
+    int i = 0;
+    while (i < length) {
+      char c = name.charAt(i);
+      int end = -1;
+      if (isHexDigit(c) && (i == 0 || !isLetterOrDigit(name.charAt(i - 1)))) {
+        int j = i + 1;
+        while (j < length && isHexDigit(name.charAt(j))) {
+          j++;
+        }
+        if (j - i >= 4 && (j == length || !isLetterOrDigit(name.charAt(j)))) {
+          end = j;
+        }
+      }
+      if (end < 0 && isDigit(c)) {
+        end = i + 1;
+        while (end < length && isDigit(name.charAt(end))) {
+          end++;
+        }
+      }
+      if (end >= 0 || c == '/') {
+        if (sb == null) {
+          sb = new StringBuilder(length);
+        }
+        sb.append(name, from, i).append(end >= 0 ? REPLACEMENT_CHAR : '-');
+        i = from = end >= 0 ? end : i + 1;
+      } else {
+        i++;
+      }
+    }
+    return sb == null ? name : sb.append(name, from, length).toString();
+  }
+
+  private static boolean isDigit(char c) {
+    return c >= '0' && c <= '9';
+  }
+
+  private static boolean isHexDigit(char c) {
+    return isDigit(c) || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+  }
+
+  // The complement of the regex [\W_]
+  private static boolean isLetterOrDigit(char c) {
+    return isDigit(c) || (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+  }
+
+  // Any of these ends the match of a regex '.'
+  private static boolean isLineTerminator(char c) {
+    return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+  }
+
+  /**
+   * When several patterns occur in a name, the rule has always replaced after the first one its
+   * {@link HashSet} iterated over. Keep that order so names don't change.
+   */
+  private static String[] replaceAfterOrder() {
+    Set<String> patterns = new HashSet<>(Arrays.asList(REPLACE_AFTER_PATTERNS));
+    for (String p : REPLACE_AFTER_PATTERNS) {
+      patterns.add(p.toUpperCase());
+    }
+    return patterns.toArray(new String[0]);
+  }
+
+  private static final class Scan {
+    private final int[] firstIndex;
+    private final int[] firstBracket = {-1, -1, -1};
+    private boolean hasLineTerminator;
+    private boolean threadAfterPoolPrefix;
+
+    private Scan(int literalCount) {
+      firstIndex = new int[literalCount];
+      Arrays.fill(firstIndex, -1);
+    }
+  }
+
+  /** An Aho-Corasick automaton over the ASCII literals the rules look for. */
+  private static final class Literals {
+    private static final int ALPHABET = 128;
+
+    private final String[] literals;
+    // transitions[state * ALPHABET + c] is the next state, non-ASCII characters go to the root
+    private final int[] transitions;
+    // The ids of the literals ending in each state, including through suffix links
+    private final int[][] matches;
+
+    private Literals() {
+      List<String> all = new ArrayList<>(Arrays.asList(REQUEST_METHODS));
+      all.add(THREAD);
+      all.addAll(Arrays.asList(REPLACE_AFTER_ORDER));
+      literals = all.toArray(new String[0]);
+
+      List<int[]> gotos = new ArrayList<>();
+      List<Set<Integer>> outputs = new ArrayList<>();
+      gotos.add(newState());
+      outputs.add(new LinkedHashSet<>());
+      for (int id = 0; id < literals.length; id++) {
+        int state = 0;
+        for (char c : literals[id].toCharArray()) {
+          if (gotos.get(state)[c] < 0) {
+            gotos.get(state)[c] = gotos.size();
+            gotos.add(newState());
+            outputs.add(new LinkedHashSet<>());
+          }
+          state = gotos.get(state)[c];
+        }
+        outputs.get(state).add(id);
+      }
+
+      // Breadth first, turning the trie into a complete transition table
+      int[] fail = new int[gotos.size()];
+      int[] queue = new int[gotos.size()];
+      int head = 0;
+      int tail = 0;
+      for (int c = 0; c < ALPHABET; c++) {
+        int next = gotos.get(0)[c];
+        if (next < 0) {
+          gotos.get(0)[c] = 0;
+        } else {
+          queue[tail++] = next;
+        }
+      }
+      while (head < tail) {
+        int state = queue[head++];
+        outputs.get(state).addAll(outputs.get(fail[state]));
+        for (int c = 0; c < ALPHABET; c++) {
+          int next = gotos.get(state)[c];
+          if (next < 0) {
+            gotos.get(state)[c] = gotos.get(fail[state])[c];
+          } else {
+            fail[next] = gotos.get(fail[state])[c];
+            queue[tail++] = next;
+          }
+        }
+      }
+
+      transitions = new int[gotos.size() * ALPHABET];
+      matches = new int[gotos.size()][];
+      for (int state = 0; state < gotos.size(); state++) {
+        System.arraycopy(gotos.get(state), 0, transitions, state * ALPHABET, ALPHABET);
+        matches[state] = outputs.get(state).stream().mapToInt(Integer::intValue).toArray();
+      }
+    }
+
+    private static int[] newState() {
+      int[] state = new int[ALPHABET];
+      Arrays.fill(state, -1);
+      return state;
+    }
+
+    private Scan scan(String name) {
+      Scan scan = new Scan(literals.length);
+      int state = 0;
+      for (int i = 0; i < name.length(); i++) {
+        char c = name.charAt(i);
+        if (c >= ALPHABET) {
+          state = 0;
+          if (isLineTerminator(c)) {
+            scan.hasLineTerminator = true;
+          }
+          continue;
+        }
+        switch (c) {
+          case '\n':
+          case '\r':
+            scan.hasLineTerminator = true;
+            break;
+          case '{':
+          case '(':
+          case '[':
+            for (int b = 0; b < ENCLOSING_CHARACTERS.length; b++) {
+              if (ENCLOSING_CHARACTERS[b][0] == c && scan.firstBracket[b] < 0) {
+                scan.firstBracket[b] = i;
+              }
+            }
+            break;
+          default:
+            break;
+        }
+        state = transitions[state * ALPHABET + c];
+        for (int id : matches[state]) {
+          int start = i - literals[id].length() + 1;
+          if (scan.firstIndex[id] < 0) {
+            scan.firstIndex[id] = start;
+          }
+          if (id == THREAD_ID && start >= POOL_PREFIX.length()) {
+            scan.threadAfterPoolPrefix = true;
+          }
+        }
+      }
+      return scan;
+    }
+  }
+
+  /**
+   * The prefix terms in a trie. Where terms match the same name, the one listed first wins, as it
+   * did in the regex alternation.
+   */
+  private static final class PrefixTrie {
+    private final Node root = new Node();
+
+    private PrefixTrie(String[] terms) {
+      for (int i = 0; i < terms.length; i++) {
+        Node node = root;
+        for (char c : terms[i].toCharArray()) {
+          if (c == '.') {
+            if (node.anyChild == null) {
+              node.anyChild = new Node();
+            }
+            node = node.anyChild;
+          } else {
+            node = node.children.computeIfAbsent(c, k -> new Node());
+          }
+        }
+        if (node.term < 0) {
+          node.term = i;
+        }
+      }
+    }
+
+    /**
+     * Match the terms against the start of a name.
+     *
+     * @param name the name, without line terminators
+     * @return the length of the prefix matched by the first matching term, or -1
+     */
+    private int match(String name) {
+      long best = match(root, name, 0, Long.MAX_VALUE);
+      return best == Long.MAX_VALUE ? -1 : (int) best;
+    }
+
+    // Returns the best match so far as the term index in the high bits and its end in the low bits
+    private long match(Node node, String name, int index, long best) {
+      if (node.term >= 0) {
+        best = Math.min(best, ((long) node.term << 32) | index);
+      }
+      if (index == name.length()) {
+        return best;
+      }
+      Node child = node.children.get(name.charAt(index));
+      if (child != null) {
+        best = match(child, name, index + 1, best);
+      }
+      if (node.anyChild != null) {
+        // A regex '.' matches a whole code point
+        int next = index + Character.charCount(name.codePointAt(index));
+        best = match(node.anyChild, name, next, best);
+      }
+      return best;
+    }
+
+    private static final class Node {
+      private final Map<Character, Node> children = new HashMap<>();
+      private Node anyChild;
+      private int term = -1;
+    }
+  }
+}
@@ -0,0 +1,113 @@
+package com.newrelic.jfr;
+
+import java.util.Optional;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedThread;
+
+/**
+ * Values derived from a {@link RecordedEvent} that several mappers need, such as the normalized
+ * name of the event's thread. Each value is computed the first time it is asked for and then
+ * reused, so a converter that hands the same context to every mapper of an event computes it at
+ * most once per event.
+ *
+ * <p>A context is meant to be used by the thread converting its event and is not thread safe.
+ */
+public final class EventContext {
+  public static final String SIMPLE_CLASS_NAME = EventContext.class.getSimpleName();
+  public static final String SAMPLED_THREAD = "sampledThread";
+
+  private static final FieldSchema SCHEMA = FieldSchema.of(SIMPLE_CLASS_NAME);
+  private static final FieldSchema.Field SAMPLED_THREAD_FIELD = SCHEMA.field(SAMPLED_THREAD);
+
+  private final RecordedEvent event;
+  private ThreadNames eventThread;
+  private ThreadNames sampledThread;
+
+  public EventContext(RecordedEvent event) {
+    this.event = event;
+  }
+
+  public RecordedEvent getEvent() {
+    return event;
+  }
+
+  /**
+   * The Java name of the thread in the {@code eventThread} field, see {@link
+   * Workarounds#getThreadName(RecordedEvent)}.
+   *
+   * @return the thread name, or an empty Optional if the event has no thread
+   */
+  public Optional<String> getThreadName() {
+    return Optional.ofNullable(eventThread().javaName);
+  }
+
+  /**
+   * The normalized Java name of the thread in the {@code eventThread} field.
+   *
+   * @param nameNormalizer the normalizer to apply to the thread name
+   * @return the normalized thread name, or an empty Optional if the event has no thread
+   */
+  public Optional<String> getNormalizedThreadName(ThreadNameNormalizer nameNormalizer) {
+    return Optional.ofNullable(eventThread().normalizedName(nameNormalizer));
+  }
+
+  /**
+   * The Java name of the thread in the {@code sampledThread} field of sampling events such as
+   * {@code jdk.ExecutionSample}.
+   *
+   * @return the thread name, or null if the event has no sampled thread
+   */
+  public String getSampledThreadName() {
+    return sampledThread().javaName;
+  }
+
+  /**
+   * The normalized Java name of the thread in the {@code sampledThread} field of sampling events
+   * such as {@code jdk.ExecutionSample}.
+   *
+   * @param nameNormalizer the normalizer to apply to the thread name
+   * @return the normalized thread name, or null if the event has no sampled thread
+   */
+  public String getNormalizedSampledThreadName(ThreadNameNormalizer nameNormalizer) {
+    return sampledThread().normalizedName(nameNormalizer);
+  }
+
+  private ThreadNames eventThread() {
+    if (eventThread == null) {
+      eventThread = new ThreadNames(Workarounds.getThread(event).orElse(null));
+    }
+    return eventThread;
+  }
+
+  private ThreadNames sampledThread() {
+    if (sampledThread == null) {
+      RecordedThread thread = null;
+      if (SCHEMA.resolve(event).has(SAMPLED_THREAD_FIELD)) {
+        thread = event.getThread(SAMPLED_THREAD);
+      }
+      sampledThread = new ThreadNames(thread);
+    }
+    return sampledThread;
+  }
+
+  private static final class ThreadNames {
+    private final String javaName;
+    private ThreadNameNormalizer nameNormalizer;
+    private String normalizedName;
+
+    private ThreadNames(RecordedThread thread) {
+      this.javaName = thread == null ? null : thread.getJavaName();
+    }
+
+    private String normalizedName(ThreadNameNormalizer nameNormalizer) {
+      if (javaName == null) {
+        return null;
+      }
+      if (this.nameNormalizer != nameNormalizer) {
+        this.nameNormalizer = nameNormalizer;
+        this.normalizedName = nameNormalizer.getNormalizedThreadName(javaName);
+      }
+      return normalizedName;
+    }
+  }
+}
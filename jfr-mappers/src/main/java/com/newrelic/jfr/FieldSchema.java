@@ -0,0 +1,192 @@
+package com.newrelic.jfr;
+
+import java.util.ArrayList;
+import java.util.List;
+import jdk.jfr.EventType;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The fields a mapper reads from {@code RecordedEvent}s, resolved once per {@link EventType}.
+ *
+ * <p>{@code RecordedObject} fields are subject to change or removal in future JDK releases, so each
+ * field must be validated before it is read. Rather than looking every field up by name on every
+ * event, a mapper declares its fields up front and resolves them against the type of each event.
+ * Whether each field exists is computed the first time a type is seen and cached, so the hot path
+ * is an array lookup:
+ *
+ * <pre>{@code
+ * private static final FieldSchema SCHEMA = FieldSchema.of(SIMPLE_CLASS_NAME);
+ * private static final FieldSchema.Field HEAP_USED_FIELD = SCHEMA.field(HEAP_USED);
+ *
+ * FieldSchema.Fields fields = SCHEMA.resolve(ev);
+ * if (fields.has(HEAP_USED_FIELD)) {
+ *   heapUsed = ev.getLong(HEAP_USED);
+ * }
+ * }</pre>
+ *
+ * <p>Fields of a nested object, such as {@code heapSpace} in {@code jdk.GCHeapSummary}, are
+ * declared on a {@link #nested(String)} schema and resolved through the type of the enclosing
+ * event.
+ */
+public final class FieldSchema {
+  private static final Logger logger = LoggerFactory.getLogger(FieldSchema.class);
+
+  // Each chunk of a recording brings its own EventType instances, so only keep the latest few
+  static final int MAX_CACHED_TYPES = 8;
+  // The fields of a missing nested object
+  private static final Fields NONE = field -> false;
+
+  private final String callingClassName;
+  private final List<String> path;
+  private final List<String> fieldNames = new ArrayList<>();
+  private volatile Resolved[] resolved = new Resolved[0];
+
+  private FieldSchema(String callingClassName, List<String> path) {
+    this.callingClassName = callingClassName;
+    this.path = path;
+  }
+
+  /**
+   * Create a schema for the fields of events.
+   *
+   * @param callingClassName name of the class reading the fields, for diagnostic logging
+   * @return the schema
+   */
+  public static FieldSchema of(String callingClassName) {
+    return new FieldSchema(callingClassName, new ArrayList<>());
+  }
+
+  /**
+   * Create a schema for the fields of the object held by the field {@code fieldName} of objects of
+   * this schema.
+   *
+   * @param fieldName the name of the field holding the nested object
+   * @return the schema
+   */
+  public FieldSchema nested(String fieldName) {
+    List<String> nestedPath = new ArrayList<>(path);
+    nestedPath.add(fieldName);
+    return new FieldSchema(callingClassName, nestedPath);
+  }
+
+  /**
+   * Declare a field of this schema. Fields should be declared once, e.g. as constants, rather than
+   * per event.
+   *
+   * @param fieldName the name of the field
+   * @return the field, to test against the {@link Fields} resolved from this schema
+   */
+  public synchronized Field field(String fieldName) {
+    fieldNames.add(fieldName);
+    // Types resolved so far don't know about the new field
+    resolved = new Resolved[0];
+    return new Field(fieldName, fieldNames.size() - 1);
+  }
+
+  /**
+   * Resolve the fields of this schema for an event.
+   *
+   * @param event the event
+   * @return the fields present on the event
+   */
+  public Fields resolve(RecordedEvent event) {
+    return resolve(event, event);
+  }
+
+  /**
+   * Resolve the fields of this nested schema for an object within an event.
+   *
+   * @param event the event enclosing the object
+   * @param object the nested object, or null if it is missing
+   * @return the fields present on the object
+   */
+  public Fields resolve(RecordedEvent event, RecordedObject object) {
+    if (object == null) {
+      return NONE;
+    }
+    EventType eventType = event.getEventType();
+    Resolved[] current = resolved;
+    for (Resolved candidate : current) {
+      if (candidate.eventType == eventType) {
+        return candidate;
+      }
+    }
+    return resolveType(eventType);
+  }
+
+  private synchronized Resolved resolveType(EventType eventType) {
+    Resolved[] current = resolved;
+    for (Resolved candidate : current) {
+      if (candidate.eventType == eventType) {
+        return candidate;
+      }
+    }
+    // Nested fields are looked up by their dotted path from the event, e.g. heapSpace.committedSize
+    String prefix = path.isEmpty() ? "" : String.join(".", path) + ".";
+    boolean[] present = new boolean[fieldNames.size()];
+    for (int i = 0; i < present.length; i++) {
+      present[i] = eventType.getField(prefix + fieldNames.get(i)) != null;
+      if (!present[i]) {
+        logger.debug(
+            "Field '{}' does not exist on {} in '{}'",
+            prefix + fieldNames.get(i),
+            eventType.getName(),
+            callingClassName);
+      }
+    }
+    Resolved result = new Resolved(eventType, present);
+
+    int size = Math.min(current.length + 1, MAX_CACHED_TYPES);
+    Resolved[] updated = new Resolved[size];
+    updated[0] = result;
+    System.arraycopy(current, 0, updated, 1, size - 1);
+    resolved = updated;
+    return result;
+  }
+
+  /** A field declared on a {@link FieldSchema}. */
+  public static final class Field {
+    private final String name;
+    private final int index;
+
+    private Field(String name, int index) {
+      this.name = name;
+      this.index = index;
+    }
+
+    public String getName() {
+      return name;
+    }
+  }
+
+  /** The fields of a {@link FieldSchema} present on an object. */
+  public interface Fields {
+
+    /**
+     * Check whether a field exists on the object. The field must be declared on the schema these
+     * fields were resolved from.
+     *
+     * @param field the field
+     * @return true if the field exists, else false
+     */
+    boolean has(Field field);
+  }
+
+  private static final class Resolved implements Fields {
+    private final EventType eventType;
+    private final boolean[] present;
+
+    private Resolved(EventType eventType, boolean[] present) {
+      this.eventType = eventType;
+      this.present = present;
+    }
+
+    @Override
+    public boolean has(Field field) {
+      return present[field.index];
+    }
+  }
+}
@@ -0,0 +1,137 @@
+package com.newrelic.jfr;
+
+import java.util.Objects;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedMethod;
+
+/**
+ * Canonical names of stack frames, in the {@code type.method(descriptor):line} form of the
+ * flamegraphs, or {@code type.method(descriptor)} when lines are ignored. The same hot methods are
+ * sampled in every harvest, so names are cached by the identity of the method and the line rather
+ * than by {@link RecordedMethod} instance, which differs between recordings. The least recently
+ * seen frames are evicted when the cache is full.
+ *
+ * <p>A cache is thread safe and can be shared by the summarizers of all profiles.
+ */
+public final class FrameNameCache {
+  public static final int DEFAULT_CACHE_SIZE = 16384;
+
+  private final LruCache<FrameKey, String> cache;
+  private final boolean includeLineNumbers;
+  // Looks names up without allocating a key, and is only copied when a name is cached
+  private final ThreadLocal<FrameKey> lookupKey = ThreadLocal.withInitial(FrameKey::new);
+
+  public FrameNameCache() {
+    this(DEFAULT_CACHE_SIZE);
+  }
+
+  public FrameNameCache(int cacheSize) {
+    this(cacheSize, true);
+  }
+
+  public FrameNameCache(int cacheSize, boolean includeLineNumbers) {
+    this.cache = new LruCache<>(cacheSize);
+    this.includeLineNumbers = includeLineNumbers;
+  }
+
+  /**
+   * The name of a frame.
+   *
+   * @param frame the frame
+   * @return the canonical name of the frame's method and line
+   */
+  public String getFrameName(RecordedFrame frame) {
+    return getFrameName(frame.getMethod(), frame.getLineNumber());
+  }
+
+  /**
+   * The name of a method at a line.
+   *
+   * @param method the method, may be null
+   * @param line the line number
+   * @return the canonical name, see {@link MethodSupport#describeMethod(RecordedMethod)}
+   */
+  public String getFrameName(RecordedMethod method, int line) {
+    int keyLine = includeLineNumbers ? line : 0;
+    FrameKey key = lookupKey.get();
+    if (method == null) {
+      key.set(null, null, null, keyLine);
+    } else {
+      key.set(method.getType().getName(), method.getName(), method.getDescriptor(), keyLine);
+    }
+    String name = cache.get(key);
+    if (name == null) {
+      name = describe(method, line);
+      String existing = cache.putIfAbsent(key.copy(), name);
+      if (existing != null) {
+        name = existing;
+      }
+    }
+    return name;
+  }
+
+  private String describe(RecordedMethod method, int line) {
+    String description = MethodSupport.describeMethod(method);
+    return includeLineNumbers ? description + ":" + line : description;
+  }
+
+  public long getHitCount() {
+    return cache.getHitCount();
+  }
+
+  public long getMissCount() {
+    return cache.getMissCount();
+  }
+
+  public long getEvictionCount() {
+    return cache.getEvictionCount();
+  }
+
+  public int size() {
+    return cache.size();
+  }
+
+  // Mutable so it can be reused for lookups, but never changed once cached
+  private static final class FrameKey {
+    private String typeName;
+    private String methodName;
+    private String descriptor;
+    private int line;
+    private int hash;
+
+    private void set(String typeName, String methodName, String descriptor, int line) {
+      this.typeName = typeName;
+      this.methodName = methodName;
+      this.descriptor = descriptor;
+      this.line = line;
+      // Unlike Objects.hash, doesn't allocate an array
+      int hash = Objects.hashCode(typeName);
+      hash = 31 * hash + Objects.hashCode(methodName);
+      hash = 31 * hash + Objects.hashCode(descriptor);
+      this.hash = 31 * hash + line;
+    }
+
+    private FrameKey copy() {
+      FrameKey copy = new FrameKey();
+      copy.set(typeName, methodName, descriptor, line);
+      return copy;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (o == null || getClass() != o.getClass()) return false;
+      FrameKey that = (FrameKey) o;
+      return hash == that.hash
+          && line == that.line
+          && Objects.equals(typeName, that.typeName)
+          && Objects.equals(methodName, that.methodName)
+          && Objects.equals(descriptor, that.descriptor);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+}
@@ -0,0 +1,185 @@
+package com.newrelic.jfr;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * A thread safe cache holding at most a fixed number of entries, evicting the least recently used
+ * entry when full.
+ *
+ * <p>Entries are spread over independently locked segments, each an access ordered {@link
+ * LinkedHashMap}, so concurrent callers rarely contend. Eviction is least recently used per
+ * segment, which approximates it for the whole cache.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+public final class LruCache<K, V> {
+  private static final int MAX_SEGMENTS = 16;
+  // Keep segments big enough for their own recency order to be meaningful
+  private static final int MIN_SEGMENT_SIZE = 64;
+
+  private final Segment<K, V>[] segments;
+  private final int maxSize;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  /**
+   * Create a cache.
+   *
+   * @param maxSize the maximum number of entries
+   */
+  public LruCache(int maxSize) {
+    if (maxSize < 1) {
+      throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+    }
+    int segmentCount = 1;
+    while (segmentCount < MAX_SEGMENTS && maxSize / (segmentCount * 2) >= MIN_SEGMENT_SIZE) {
+      segmentCount *= 2;
+    }
+    this.maxSize = maxSize;
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    Segment<K, V>[] segments = new Segment[segmentCount];
+    this.segments = segments;
+    for (int i = 0; i < segmentCount; i++) {
+      // Spread the remainder so the segment sizes add up to maxSize
+      int segmentSize = maxSize / segmentCount + (i < maxSize % segmentCount ? 1 : 0);
+      segments[i] = new Segment<>(segmentSize, evictions);
+    }
+  }
+
+  /**
+   * Get the value cached for {@code key}, computing and caching it if absent. The computation runs
+   * outside of any lock, so concurrent callers missing the same key may both compute it.
+   *
+   * @param key the key
+   * @param mappingFunction computes the value of a key, must not return null
+   * @return the value
+   */
+  public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+    V value = get(key);
+    if (value != null) {
+      return value;
+    }
+    value = mappingFunction.apply(key);
+    V existing = putIfAbsent(key, value);
+    return existing == null ? value : existing;
+  }
+
+  /**
+   * Get the value cached for {@code key}, counting a hit or a miss. The key only needs to be equal
+   * to the cached one, so callers may look up with a reused key.
+   *
+   * @param key the key
+   * @return the value, or null if absent
+   */
+  public V get(Object key) {
+    Segment<K, V> segment = segmentFor(key);
+    V value;
+    synchronized (segment) {
+      value = segment.get(key);
+    }
+    if (value == null) {
+      misses.increment();
+    } else {
+      hits.increment();
+    }
+    return value;
+  }
+
+  /**
+   * Cache a value unless one is already cached for {@code key}.
+   *
+   * @param key the key
+   * @param value the value, must not be null
+   * @return the value already cached, or null if {@code value} was cached
+   */
+  public V putIfAbsent(K key, V value) {
+    Segment<K, V> segment = segmentFor(key);
+    synchronized (segment) {
+      return segment.putIfAbsent(key, value);
+    }
+  }
+
+  private Segment<K, V> segmentFor(Object key) {
+    int hash = key.hashCode();
+    hash ^= hash >>> 16;
+    return segments[hash & (segments.length - 1)];
+  }
+
+  /** Remove all entries. The counters are kept. */
+  public void clear() {
+    for (Segment<K, V> segment : segments) {
+      synchronized (segment) {
+        segment.clear();
+      }
+    }
+  }
+
+  public int size() {
+    int size = 0;
+    for (Segment<K, V> segment : segments) {
+      synchronized (segment) {
+        size += segment.size();
+      }
+    }
+    return size;
+  }
+
+  public int getMaxSize() {
+    return maxSize;
+  }
+
+  public long getHitCount() {
+    return hits.sum();
+  }
+
+  public long getMissCount() {
+    return misses.sum();
+  }
+
+  public long getEvictionCount() {
+    return evictions.sum();
+  }
+
+  @Override
+  public String toString() {
+    return "LruCache{"
+        + "size="
+        + size()
+        + ", maxSize="
+        + maxSize
+        + ", hits="
+        + getHitCount()
+        + ", misses="
+        + getMissCount()
+        + ", evictions="
+        + getEvictionCount()
+        + '}';
+  }
+
+  private static final class Segment<K, V> extends LinkedHashMap<K, V> {
+    private static final long serialVersionUID = 1L;
+
+    private final int maxSize;
+    private final LongAdder evictions;
+
+    private Segment(int maxSize, LongAdder evictions) {
+      super(16, 0.75f, true);
+      this.maxSize = maxSize;
+      this.evictions = evictions;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+      if (size() > maxSize) {
+        evictions.increment();
+        return true;
+      }
+      return false;
+    }
+  }
+}
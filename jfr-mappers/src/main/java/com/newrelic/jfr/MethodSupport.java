@@ -7,10 +7,9 @@
 
 package com.newrelic.jfr;
 
-import com.google.gson.stream.JsonWriter;
-import java.io.IOException;
-import java.io.StringWriter;
-import java.util.*;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
 import jdk.jfr.consumer.RecordedFrame;
 import jdk.jfr.consumer.RecordedMethod;
 import jdk.jfr.consumer.RecordedStackTrace;
@@ -21,6 +20,13 @@ public final class MethodSupport {
   // default visibility for testing
   static final int HEADROOM_75PC = 3 * 1024;
 
+  private static final String PAYLOAD_END = "]}";
+  // A deep stack stops at the headroom, so only a frame with huge names grows the buffer further
+  private static final int MAX_RETAINED_BUFFER = 4 * HEADROOM_75PC;
+  private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+  private static final ThreadLocal<StringBuilder> BUFFER =
+      ThreadLocal.withInitial(() -> new StringBuilder(HEADROOM_75PC));
+
   public static String describeMethod(final RecordedMethod method) {
     if (method == null) {
       return "[missing]";
@@ -37,70 +43,114 @@ public final class MethodSupport {
   }
 
   public static String empty() {
-    List<RecordedFrame> payload = Collections.emptyList();
-    try {
-      return new String(jsonWrite(payload, Optional.empty()).getBytes());
-    } catch (IOException e) {
-      throw new RuntimeException("Failed to generate stacktrace json", e);
-    }
+    return write(Collections.emptyList(), false);
   }
 
   public static String serialize(final RecordedStackTrace trace) {
     if (trace == null) {
       return null;
     }
-
-    try {
-      return new String(jsonWrite(trace.getFrames(), Optional.empty()).getBytes());
-    } catch (IOException e) {
-      throw new RuntimeException("Failed to generate stacktrace json", e);
-    }
+    return write(trace.getFrames(), false);
   }
 
-  public static String jsonWrite(final List<RecordedFrame> frames, final Optional<Integer> limit)
-      throws IOException {
-    StringWriter strOut = new StringWriter();
-    JsonWriter jsonWriter = new JsonWriter(strOut);
+  public static String jsonWrite(final List<RecordedFrame> frames, final Optional<Integer> limit) {
     int frameCount = Math.min(limit.orElse(frames.size()), frames.size());
+    return write(frames.subList(0, frameCount), frameCount < frames.size());
+  }
+
+  /**
+   * Writes the frames as JSON in one pass, dropping the frames that would take the output over
+   * {@link #HEADROOM_75PC}. The JSON is built in a buffer reused by the calling thread.
+   */
+  private static String write(final List<RecordedFrame> frames, boolean truncated) {
+    StringBuilder sb = BUFFER.get();
+    sb.setLength(0);
+    sb.append("{\"type\":\"stacktrace\",\"language\":\"java\",\"version\":")
+        .append(JSON_SCHEMA_VERSION)
+        .append(",\"truncated\":");
+    // Written as the longer "false" until we know, so that the budget holds either way
+    int truncatedIndex = sb.length();
+    sb.append("false,\"payload\":[");
+    for (int i = 0; i < frames.size(); i++) {
+      int frameIndex = sb.length();
+      if (i > 0) {
+        sb.append(',');
+      }
+      writeFrame(sb, frames.get(i));
+      if (sb.length() + PAYLOAD_END.length() > HEADROOM_75PC) {
+        sb.setLength(frameIndex);
+        truncated = true;
+        break;
+      }
+    }
+    sb.append(PAYLOAD_END);
+    if (truncated) {
+      sb.replace(truncatedIndex, truncatedIndex + "false".length(), "true");
+    }
+    String json = sb.toString();
+    if (sb.capacity() > MAX_RETAINED_BUFFER) {
+      BUFFER.remove();
+    }
+    return json;
+  }
 
-    jsonWriter.beginObject();
-    jsonWriter.name("type").value("stacktrace");
-    jsonWriter.name("language").value("java");
-    jsonWriter.name("version").value(JSON_SCHEMA_VERSION);
-    jsonWriter.name("truncated").value(frameCount < frames.size());
-    jsonWriter.name("payload").beginArray();
-    for (int i = 0; i < frameCount; i++) {
-      RecordedFrame frame = frames.get(i);
-      jsonWriter.beginObject();
-      jsonWriter.name("desc").value(describeMethod(frame.getMethod()));
-      jsonWriter.name("line").value(Integer.toString(frame.getLineNumber()));
-      jsonWriter.name("bytecodeIndex").value(Integer.toString(frame.getBytecodeIndex()));
-      jsonWriter.endObject();
+  private static void writeFrame(StringBuilder sb, RecordedFrame frame) {
+    RecordedMethod method = frame.getMethod();
+    sb.append("{\"desc\":\"");
+    if (method == null) {
+      sb.append("[missing]");
+    } else {
+      appendEscaped(sb, method.getType().getName());
+      sb.append('.');
+      appendEscaped(sb, method.getName());
+      appendEscaped(sb, method.getDescriptor());
     }
+    sb.append("\",\"line\":\"")
+        .append(frame.getLineNumber())
+        .append("\",\"bytecodeIndex\":\"")
+        .append(frame.getBytecodeIndex())
+        .append("\"}");
+  }
 
-    jsonWriter.endArray();
-    jsonWriter.endObject();
-    String out = strOut.toString();
-    int length = out.length();
-    if (length > HEADROOM_75PC) {
-      double percentageOfFramesToTry = ((double) HEADROOM_75PC) / length;
-      int numFrames = (int) (frameCount * percentageOfFramesToTry);
-      if (numFrames < frameCount) {
-        return jsonWrite(frames, Optional.of(numFrames));
+  // Escapes as Gson's JsonWriter does
+  private static void appendEscaped(StringBuilder sb, String value) {
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      switch (c) {
+        case '"':
+          sb.append("\\\"");
+          break;
+        case '\\':
+          sb.append("\\\\");
+          break;
+        case '\t':
+          sb.append("\\t");
+          break;
+        case '\b':
+          sb.append("\\b");
+          break;
+        case '\n':
+          sb.append("\\n");
+          break;
+        case '\r':
+          sb.append("\\r");
+          break;
+        case '\f':
+          sb.append("\\f");
+          break;
+        case '\u2028':
+          sb.append("\\u2028");
+          break;
+        case '\u2029':
+          sb.append("\\u2029");
+          break;
+        default:
+          if (c < 0x20) {
+            sb.append("\\u00").append(HEX_DIGITS[c >> 4]).append(HEX_DIGITS[c & 0xf]);
+          } else {
+            sb.append(c);
+          }
       }
-      throw new IOException(
-          "Corner case of a stack frame that can't be cleanly truncated! "
-              + "numFrames = "
-              + numFrames
-              + ", frameCount = "
-              + frameCount
-              + ", "
-              + ", percentageOfFramesToTry = "
-              + percentageOfFramesToTry
-              + ", length = "
-              + length);
-    } else {
-      return out;
     }
   }
 }
@@ -8,22 +8,42 @@
 package com.newrelic.jfr;
 
 import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
 
 import com.newrelic.jfr.profiler.EventToEventSummary;
+import com.newrelic.jfr.profiler.ProfileOptions;
 import com.newrelic.jfr.profiler.ProfileSummarizer;
 import com.newrelic.jfr.tosummary.*;
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Stream;
 
 public class ProfilerRegistry {
 
-  private static List<EventToEventSummary> allMappers(ThreadNameNormalizer nameNormalizer) {
-    return Arrays.asList(
-        ProfileSummarizer.forExecutionSample(nameNormalizer),
-        ProfileSummarizer.forNativeMethodSample(nameNormalizer));
+  private static List<EventToEventSummary> allMappers(
+      ThreadNameNormalizer nameNormalizer, ProfileOptions options) {
+    List<EventToEventSummary> mappers = new ArrayList<>();
+    if (options.splitThreadStates()) {
+      mappers.add(ProfileSummarizer.forThreadStates(nameNormalizer, options));
+    } else {
+      mappers.add(ProfileSummarizer.forExecutionSample(nameNormalizer, options));
+      mappers.add(ProfileSummarizer.forNativeMethodSample(nameNormalizer, options));
+    }
+    if (options.allocationProfile()) {
+      mappers.add(ProfileSummarizer.forObjectAllocationSample(nameNormalizer, options));
+      mappers.add(ProfileSummarizer.forTlabAllocation(nameNormalizer, options));
+    }
+    if (options.lockProfile()) {
+      mappers.add(ProfileSummarizer.forLock(nameNormalizer, options));
+    }
+    if (options.getSpikes() != null) {
+      // Reads the CPU load and GC events of the spikes
+      mappers.add(options.getSpikes());
+    }
+    return mappers;
   }
 
   private final List<EventToEventSummary> mappers;
@@ -34,13 +54,23 @@ public class ProfilerRegistry {
 
   /** @param nameNormalizer is required to process most metrics and flame levels. */
   public static ProfilerRegistry createDefault(ThreadNameNormalizer nameNormalizer) {
-    return new ProfilerRegistry(allMappers(nameNormalizer));
+    return createDefault(nameNormalizer, ProfileOptions.builder().build());
+  }
+
+  /**
+   * @param nameNormalizer is required to process most metrics and flame levels.
+   * @param options how the profiles are built and sent, shared by all of them
+   */
+  public static ProfilerRegistry createDefault(
+      ThreadNameNormalizer nameNormalizer, ProfileOptions options) {
+    return new ProfilerRegistry(allMappers(nameNormalizer, options));
   }
 
   /** For testing */
   static ProfilerRegistry create(Collection<String> eventNames) {
     List<EventToEventSummary> filtered =
-        allMappers(null).stream()
+        allMappers(null, ProfileOptions.builder().allocationProfile(true).lockProfile(true).build())
+            .stream()
             .filter(mapper -> eventNames.contains(mapper.getEventName()))
             .collect(toList());
     return new ProfilerRegistry(filtered);
@@ -50,7 +80,12 @@ public class ProfilerRegistry {
     return mappers.stream();
   }
 
+  /** @return the names of all JFR events handled by the entries in this registry. */
+  public Set<String> eventNames() {
+    return mappers.stream().flatMap(m -> m.getEventNames().stream()).collect(toSet());
+  }
+
   public Optional<EventToEventSummary> get(String eventName) {
-    return mappers.stream().filter(m -> m.getEventName().equals(eventName)).findFirst();
+    return mappers.stream().filter(m -> m.getEventNames().contains(eventName)).findFirst();
   }
 }
@@ -10,6 +10,9 @@ import org.slf4j.LoggerFactory;
  * <p>{@code RecordedObject} fields are subject to change or removal in future JDK releases.
  * Accessors of {@code RecordedObject} fields will throw an {@code IllegalArgumentException} if the
  * field doesn't exist and thus a best practice is to validate the field before attempting access.
+ *
+ * <p>Mappers reading events on the hot path should prefer {@link FieldSchema}, which validates each
+ * field once per event type.
  */
 public class RecordedObjectValidators {
   private static final Logger logger = LoggerFactory.getLogger(RecordedObjectValidators.class);
@@ -29,19 +32,13 @@ public class RecordedObjectValidators {
       RecordedObject recordedObject, String objectField, String callingClassName) {
     if (isRecordedObjectNull(recordedObject, callingClassName)) {
       logger.debug(
-          "Cannot validate field '"
-              + objectField
-              + "' due to null RecordedObject in '"
-              + callingClassName
-              + "'");
+          "Cannot validate field '{}' due to null RecordedObject in '{}'",
+          objectField,
+          callingClassName);
       return false;
     } else if (!recordedObject.hasField(objectField)) {
       logger.debug(
-          "Field '"
-              + objectField
-              + "' does not exist on RecordedObject in '"
-              + callingClassName
-              + "'");
+          "Field '{}' does not exist on RecordedObject in '{}'", objectField, callingClassName);
       return false;
     }
     return true;
@@ -60,7 +57,7 @@ public class RecordedObjectValidators {
     if (recordedObject != null) {
       return false;
     }
-    logger.debug("RecordedObject is null in '" + callingClassName + "'");
+    logger.debug("RecordedObject is null in '{}'", callingClassName);
     return true;
   }
 }
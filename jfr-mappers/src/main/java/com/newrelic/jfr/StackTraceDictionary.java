@@ -0,0 +1,126 @@
+package com.newrelic.jfr;
+
+import com.newrelic.telemetry.Attributes;
+import com.newrelic.telemetry.events.Event;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedMethod;
+import jdk.jfr.consumer.RecordedStackTrace;
+
+/**
+ * Sends each distinct stack trace once per harvest. The first event with a stack is preceded by a
+ * {@code JfrStackTrace} event holding the serialized stack and its id, and every event with that
+ * stack carries only the id in {@code stackTrace.id}. Ids are hashes of the frames, so the same
+ * stack has the same id in every harvest and process.
+ *
+ * <p>The dictionary holds a bounded number of stacks and is reset every harvest, so that a
+ * reference is always sent in the same harvest as its stack. Events with a stack that doesn't fit
+ * carry it in {@code stackTrace}, as they would without a dictionary.
+ */
+public final class StackTraceDictionary {
+  public static final String JFR_STACK_TRACE = "JfrStackTrace";
+  public static final String STACK_TRACE = "stackTrace";
+  public static final String STACK_TRACE_ID = "stackTrace.id";
+  public static final int DEFAULT_MAX_SIZE = 1024;
+
+  private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+  private static final long FNV_PRIME = 0x100000001b3L;
+
+  private final int maxSize;
+  private final Set<Long> sentIds = new HashSet<>();
+
+  public StackTraceDictionary() {
+    this(DEFAULT_MAX_SIZE);
+  }
+
+  public StackTraceDictionary(int maxSize) {
+    this.maxSize = maxSize;
+  }
+
+  /**
+   * Create the event of a mapper with its stack trace, preceded by the event of the stack when the
+   * stack is new in this harvest.
+   *
+   * @param eventType the type of the event
+   * @param attr the attributes of the event, the stack trace attribute is added to them
+   * @param timestamp the timestamp of the event
+   * @param trace the stack trace, may be null
+   * @return the events to send
+   */
+  public synchronized List<Event> toEvents(
+      String eventType, Attributes attr, long timestamp, RecordedStackTrace trace) {
+    if (trace == null) {
+      attr.put(STACK_TRACE, (String) null);
+      return Collections.singletonList(new Event(eventType, attr, timestamp));
+    }
+
+    long hash = hash(trace);
+    String id = Long.toHexString(hash);
+    if (sentIds.contains(hash)) {
+      attr.put(STACK_TRACE_ID, id);
+      return Collections.singletonList(new Event(eventType, attr, timestamp));
+    }
+    if (sentIds.size() >= maxSize) {
+      attr.put(STACK_TRACE, MethodSupport.serialize(trace));
+      return Collections.singletonList(new Event(eventType, attr, timestamp));
+    }
+
+    sentIds.add(hash);
+    Attributes stackAttr =
+        new Attributes().put(STACK_TRACE_ID, id).put(STACK_TRACE, MethodSupport.serialize(trace));
+    attr.put(STACK_TRACE_ID, id);
+    return Arrays.asList(
+        new Event(JFR_STACK_TRACE, stackAttr, timestamp), new Event(eventType, attr, timestamp));
+  }
+
+  /** Forget the stacks sent, at the end of a harvest. */
+  public synchronized void reset() {
+    sentIds.clear();
+  }
+
+  public synchronized int size() {
+    return sentIds.size();
+  }
+
+  // FNV-1a over what the serialized stack is made of: the chars of the names of each frame's
+  // method, each preceded by its length so names can't run into each other, and the frame's numbers
+  static long hash(RecordedStackTrace trace) {
+    long hash = FNV_OFFSET_BASIS;
+    for (RecordedFrame frame : trace.getFrames()) {
+      RecordedMethod method = frame.getMethod();
+      if (method != null) {
+        hash = mix(hash, method.getType().getName());
+        hash = mix(hash, method.getName());
+        hash = mix(hash, method.getDescriptor());
+      }
+      hash = mix(hash, frame.getLineNumber());
+      hash = mix(hash, frame.getBytecodeIndex());
+    }
+    return hash;
+  }
+
+  private static long mix(long hash, String value) {
+    hash = mix(hash, value.length());
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      hash = mixByte(hash, c & 0xff);
+      hash = mixByte(hash, c >>> Byte.SIZE);
+    }
+    return hash;
+  }
+
+  private static long mix(long hash, int value) {
+    for (int shift = 0; shift < Integer.SIZE; shift += Byte.SIZE) {
+      hash = mixByte(hash, (value >>> shift) & 0xff);
+    }
+    return hash;
+  }
+
+  private static long mixByte(long hash, int value) {
+    return (hash ^ value) * FNV_PRIME;
+  }
+}
@@ -14,17 +14,12 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Stream;
 
 public class ToEventRegistry {
 
-  private static final List<EventToEvent> ALL_MAPPERS =
-      Arrays.asList(
-          new JITCompilationMapper(),
-          new JVMInformationMapper(),
-          new JVMSystemPropertyMapper(new AttributeValueSplitter()),
-          new ThreadLockEventMapper(),
-          new ValhallaVBCDetector());
+  private static final List<EventToEvent> ALL_MAPPERS = allMappers(null);
 
   private final List<EventToEvent> mappers;
 
@@ -36,14 +31,46 @@ public class ToEventRegistry {
     return create(allEventNames());
   }
 
+  /**
+   * Create a registry of all mappers, sending stack traces through a dictionary.
+   *
+   * @param stackTraces the dictionary, see {@link StackTraceDictionary}
+   * @return the registry
+   */
+  public static ToEventRegistry createDefault(StackTraceDictionary stackTraces) {
+    return create(allEventNames(), stackTraces);
+  }
+
   public static ToEventRegistry create(Collection<String> eventNames) {
+    return create(eventNames, null);
+  }
+
+  /**
+   * Create a registry of the mappers of the named events.
+   *
+   * @param eventNames the names of the events
+   * @param stackTraces the dictionary to send stack traces through, or null to attach the whole
+   *     stack trace to each event
+   * @return the registry
+   */
+  public static ToEventRegistry create(
+      Collection<String> eventNames, StackTraceDictionary stackTraces) {
     List<EventToEvent> filtered =
-        ALL_MAPPERS.stream()
+        allMappers(stackTraces).stream()
             .filter(mapper -> eventNames.contains(mapper.getEventName()))
             .collect(toList());
     return new ToEventRegistry(filtered);
   }
 
+  private static List<EventToEvent> allMappers(StackTraceDictionary stackTraces) {
+    return Arrays.asList(
+        new JITCompilationMapper(),
+        new JVMInformationMapper(),
+        new JVMSystemPropertyMapper(new AttributeValueSplitter()),
+        new ThreadLockEventMapper(stackTraces),
+        new ValhallaVBCDetector());
+  }
+
   private List<EventToEvent> getMappers() {
     return mappers;
   }
@@ -57,6 +84,11 @@ public class ToEventRegistry {
     return mappers.stream();
   }
 
+  /** @return the names of all JFR events handled by the entries in this registry. */
+  public Set<String> eventNames() {
+    return mappers.stream().flatMap(m -> m.getEventNames().stream()).collect(toSet());
+  }
+
   /**
    * Returns an optional EventToEvent containing the mapper with the given JFR event name. If the
    * event is not known to this registry, the returned Optional will be empty.
@@ -8,6 +8,7 @@
 package com.newrelic.jfr;
 
 import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
 
 import com.newrelic.jfr.tometric.AllocationRequiringGCMapper;
 import com.newrelic.jfr.tometric.CPUThreadLoadMapper;
@@ -23,6 +24,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Stream;
 
 public class ToMetricRegistry {
@@ -64,6 +66,11 @@ public class ToMetricRegistry {
     return mappers.stream();
   }
 
+  /** @return the names of all JFR events handled by the entries in this registry. */
+  public Set<String> eventNames() {
+    return mappers.stream().flatMap(m -> m.getEventNames().stream()).collect(toSet());
+  }
+
   /**
    * Returns an optional EventToMetric containing the mapper with the given JFR event name. If the
    * event is not known to this registry, the returned Optional will be empty.
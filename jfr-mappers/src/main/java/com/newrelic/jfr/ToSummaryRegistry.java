@@ -8,12 +8,14 @@
 package com.newrelic.jfr;
 
 import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
 
 import com.newrelic.jfr.tosummary.*;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Stream;
 
 public class ToSummaryRegistry {
@@ -60,6 +62,11 @@ public class ToSummaryRegistry {
     return mappers.stream();
   }
 
+  /** @return the names of all JFR events handled by the entries in this registry. */
+  public Set<String> eventNames() {
+    return mappers.stream().flatMap(m -> m.getEventNames().stream()).collect(toSet());
+  }
+
   public Optional<EventToSummary> get(String eventName) {
     return mappers.stream().filter(m -> m.getEventName().equals(eventName)).findFirst();
   }
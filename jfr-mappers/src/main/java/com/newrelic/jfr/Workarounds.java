@@ -7,8 +7,6 @@
 
 package com.newrelic.jfr;
 
-import static com.newrelic.jfr.RecordedObjectValidators.*;
-
 import java.util.Optional;
 import java.util.function.Function;
 import jdk.jfr.consumer.RecordedEvent;
@@ -20,6 +18,11 @@ public class Workarounds {
   public static final String SUCCEEDED = "succeeded";
   public static final String SUCCEDED_TYPO = "succeded";
 
+  private static final FieldSchema SCHEMA = FieldSchema.of(SIMPLE_CLASS_NAME);
+  private static final FieldSchema.Field EVENT_THREAD_FIELD = SCHEMA.field(EVENT_THREAD);
+  private static final FieldSchema.Field SUCCEEDED_FIELD = SCHEMA.field(SUCCEEDED);
+  private static final FieldSchema.Field SUCCEDED_TYPO_FIELD = SCHEMA.field(SUCCEDED_TYPO);
+
   /**
    * Carefully retrieves the thread name from the RecordedEvent.
    *
@@ -30,6 +33,16 @@ public class Workarounds {
     return getRecordedThreadInfo(ev, RecordedThread::getJavaName);
   }
 
+  /**
+   * Carefully retrieves the thread from the RecordedEvent.
+   *
+   * @param ev The event from which to carefully extract the thread
+   * @return an Optional with the thread, or an empty Optional if unable to extract it
+   */
+  public static Optional<RecordedThread> getThread(RecordedEvent ev) {
+    return getRecordedThreadInfo(ev, Function.identity());
+  }
+
   /**
    * There are cases where the event has the wrong type inside it for the thread, so calling {@link
    * RecordedEvent#getThread(String)} internally throws a {@link ClassCastException}. We work around
@@ -43,7 +56,7 @@ public class Workarounds {
    */
   private static <T> Optional<T> getRecordedThreadInfo(
       RecordedEvent ev, Function<RecordedThread, T> converter) {
-    if (hasField(ev, EVENT_THREAD, SIMPLE_CLASS_NAME)) {
+    if (SCHEMA.resolve(ev).has(EVENT_THREAD_FIELD)) {
       Object thisField = ev.getValue(EVENT_THREAD);
       if (thisField instanceof RecordedThread) {
         return Optional.of(converter.apply((RecordedThread) thisField));
@@ -61,9 +74,10 @@ public class Workarounds {
    * @return true if the event succeeded/succeded, false otherwise
    */
   public static boolean getSucceeded(RecordedEvent ev) {
-    if (hasField(ev, SUCCEEDED, SIMPLE_CLASS_NAME)) {
+    FieldSchema.Fields fields = SCHEMA.resolve(ev);
+    if (fields.has(SUCCEEDED_FIELD)) {
       return ev.getBoolean(SUCCEEDED);
-    } else if (hasField(ev, SUCCEDED_TYPO, SIMPLE_CLASS_NAME)) {
+    } else if (fields.has(SUCCEDED_TYPO_FIELD)) {
       return ev.getBoolean(SUCCEDED_TYPO);
     }
     return false;
@@ -0,0 +1,92 @@
+package com.newrelic.jfr.profiler;
+
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encodes a whole flamegraph tree as one JSON object, instead of one event per node:
+ *
+ * <pre>
+ * {"version":1,"strings":["root","a","b"],"parents":[-1,0,1],"names":[0,1,2],"counts":[4,4,2]}
+ * </pre>
+ *
+ * Node {@code i} is named {@code strings[names[i]]}, was sampled {@code counts[i]} times and is a
+ * child of node {@code parents[i]}. Node 0 is the root, and nodes are listed depth first so a
+ * parent always comes before its children. Each distinct frame name is in the string table once.
+ */
+public class CompactFlamegraphEncoder {
+  private static final int FORMAT_VERSION = 1;
+  private static final int NO_PARENT = -1;
+
+  public String encode(FlamegraphMarshaller.StackFrame root) {
+    List<String> strings = new ArrayList<>();
+    Map<String, Integer> stringIndexes = new HashMap<>();
+    List<Integer> parents = new ArrayList<>();
+    List<Integer> names = new ArrayList<>();
+    List<Integer> counts = new ArrayList<>();
+
+    // Pairs of a node and the index of its parent, children pushed in reverse to keep their order
+    Deque<FlamegraphMarshaller.StackFrame> nodes = new ArrayDeque<>();
+    Deque<Integer> nodeParents = new ArrayDeque<>();
+    nodes.push(root);
+    nodeParents.push(NO_PARENT);
+    while (!nodes.isEmpty()) {
+      FlamegraphMarshaller.StackFrame node = nodes.pop();
+      int index = names.size();
+      parents.add(nodeParents.pop());
+      names.add(
+          stringIndexes.computeIfAbsent(
+              node.getName(),
+              name -> {
+                strings.add(name);
+                return strings.size() - 1;
+              }));
+      counts.add(node.getValue());
+
+      List<FlamegraphMarshaller.StackFrame> children = node.getChildren();
+      if (children != null) {
+        for (int i = children.size() - 1; i >= 0; i--) {
+          nodes.push(children.get(i));
+          nodeParents.push(index);
+        }
+      }
+    }
+
+    try {
+      StringWriter out = new StringWriter();
+      JsonWriter jsonWriter = new JsonWriter(out);
+      jsonWriter.beginObject();
+      jsonWriter.name("version").value(FORMAT_VERSION);
+      jsonWriter.name("strings").beginArray();
+      for (String string : strings) {
+        jsonWriter.value(string);
+      }
+      jsonWriter.endArray();
+      writeArray(jsonWriter, "parents", parents);
+      writeArray(jsonWriter, "names", names);
+      writeArray(jsonWriter, "counts", counts);
+      jsonWriter.endObject();
+      return out.toString();
+    } catch (IOException e) {
+      // Writing to a StringWriter doesn't fail
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static void writeArray(JsonWriter jsonWriter, String name, List<Integer> values)
+      throws IOException {
+    jsonWriter.name(name).beginArray();
+    for (Integer value : values) {
+      jsonWriter.value(value);
+    }
+    jsonWriter.endArray();
+  }
+}
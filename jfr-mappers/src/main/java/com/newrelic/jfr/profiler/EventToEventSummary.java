@@ -7,7 +7,10 @@
 
 package com.newrelic.jfr.profiler;
 
+import com.newrelic.jfr.EventContext;
 import com.newrelic.telemetry.events.Event;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
@@ -22,6 +25,16 @@ public interface EventToEventSummary extends Consumer<RecordedEvent>, Predicate<
    */
   String getEventName();
 
+  /**
+   * JFR event names accepted by {@link #test(RecordedEvent)}. Readers may skip decoding events with
+   * any other name.
+   *
+   * @return the JFR event names, by default only {@link #getEventName()}
+   */
+  default Collection<String> getEventNames() {
+    return Collections.singleton(getEventName());
+  }
+
   /**
    * Aggregates JFR Events into a collection based on thread or class name
    *
@@ -29,9 +42,23 @@ public interface EventToEventSummary extends Consumer<RecordedEvent>, Predicate<
    */
   void accept(RecordedEvent ev);
 
+  /**
+   * Aggregates a JFR Event, reusing the values derived from it that are shared with the other
+   * mappers of the same event, such as its thread name. Summarizers that need those values should
+   * override this.
+   *
+   * @param context the context of the event to aggregate
+   */
+  default void accept(EventContext context) {
+    accept(context.getEvent());
+  }
+
   /**
    * Test to see if this event is interesting to this summarizer
    *
+   * <p>The result must only depend on the event's type, as consumers may cache it per type, and
+   * must be false for events not named by {@link #getEventNames()}.
+   *
    * @param event - event instance to see if we're interested
    * @return true if event is interesting, false otherwise
    */
@@ -0,0 +1,24 @@
+package com.newrelic.jfr.profiler;
+
+import java.util.Locale;
+
+/** How {@link ProfileSummarizer} sends the flamegraph of each thread. */
+public enum FlamegraphEncoding {
+  /** One {@code JfrFlameLevel} event per node of the tree. */
+  FLAME_LEVELS,
+  /**
+   * One {@code JfrFlamegraph} event per tree, see {@link CompactFlamegraphEncoder} for the format.
+   */
+  COMPACT;
+
+  /**
+   * Parse an encoding name, ignoring case.
+   *
+   * @param name the name, e.g. {@code compact}
+   * @return the encoding
+   * @throws IllegalArgumentException if there is no such encoding
+   */
+  public static FlamegraphEncoding parse(String name) {
+    return valueOf(name.trim().toUpperCase(Locale.ROOT));
+  }
+}
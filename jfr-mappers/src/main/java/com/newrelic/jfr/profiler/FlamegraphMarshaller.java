@@ -14,13 +14,10 @@
 
 package com.newrelic.jfr.profiler;
 
-import static java.util.Collections.emptyList;
-
 import com.google.gson.Gson;
 import java.io.BufferedWriter;
 import java.io.IOException;
 import java.util.*;
-import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Some code originally based upon a version of the JsonOutputWriter found at
@@ -45,6 +42,11 @@ public class FlamegraphMarshaller {
       this.name = name;
     }
 
+    public StackFrame(String name, Integer value) {
+      this.name = name;
+      this.value = value;
+    }
+
     public StackFrame addFrame(String frameName, Integer size) {
       if (children == null) {
         children = new ArrayList<>();
@@ -55,10 +57,15 @@ public class FlamegraphMarshaller {
         childrenMap.put(frameName, frame);
         children.add(frame);
       }
-      frame.value += size;
+      frame.value = saturatedAdd(frame.value, size);
       return frame;
     }
 
+    // Heavy weights, such as time blocked, can add up past the range of the values
+    private static int saturatedAdd(int value, int size) {
+      return (int) Math.min(Integer.MAX_VALUE, (long) value + size);
+    }
+
     public String getName() {
       return name;
     }
@@ -77,42 +84,39 @@ public class FlamegraphMarshaller {
     }
   }
 
+  /**
+   * Flatten a tree into levels with numeric ids, numbered depth first from 1.
+   *
+   * @deprecated unused by the profiler, which flattens with {@link FrameFlattener}; will be removed
+   *     in the next release
+   */
+  @Deprecated
   public List<FlameLevel> flatten(FlamegraphMarshaller.StackFrame root) {
-    return addChildren(root, null, new AtomicInteger(0));
-  }
-
-  private List<FlameLevel> addChildren(
-      FlamegraphMarshaller.StackFrame current, FlameLevel parent, AtomicInteger idGenerator) {
-    if (current == null) {
-      return emptyList();
-    }
-
-    String parentId = parent == null ? null : parent.getId();
-    String id = String.valueOf(idGenerator.incrementAndGet());
-    FlameLevel currentNewFlameLevel =
-        new FlameLevel(current.getName(), current.getValue(), parentId, id);
-    List<FlameLevel> flattenedResult = new LinkedList<>();
-    flattenedResult.add(currentNewFlameLevel);
-
-    if (current.getChildren() == null) {
-      return flattenedResult;
-    }
-
-    for (FlamegraphMarshaller.StackFrame child : current.getChildren()) {
-      flattenedResult.addAll(addChildren(child, currentNewFlameLevel, idGenerator));
-    }
-    return flattenedResult;
+    return new FrameFlattener().flatten(root, true);
   }
 
   public void processEvent(Stack<String> stack, Integer size) {
     StackFrame frame = profile;
-    frame.value += size;
+    frame.value = StackFrame.saturatedAdd(frame.value, size);
 
     while (!stack.empty()) {
       frame = frame.addFrame(stack.pop(), size);
     }
   }
 
+  /**
+   * Counts a sample at the root of the tree. The caller adds the frames of the sample with {@link
+   * StackFrame#addFrame(String, Integer)}, starting at the returned root with the bottom frame of
+   * the stack.
+   *
+   * @param size the size of the sample
+   * @return the root frame
+   */
+  public StackFrame addSample(Integer size) {
+    profile.value = StackFrame.saturatedAdd(profile.value, size);
+    return profile;
+  }
+
   public StackFrame getStackFrame() {
     return this.profile;
   }
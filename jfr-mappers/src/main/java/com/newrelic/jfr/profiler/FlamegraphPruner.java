@@ -0,0 +1,167 @@
+package com.newrelic.jfr.profiler;
+
+import com.newrelic.jfr.profiler.FlamegraphMarshaller.StackFrame;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Prunes a flamegraph tree before it's sent, to cap the size of the profiler output:
+ *
+ * <ul>
+ *   <li>Nodes with less than a minimum percentage of the samples of the tree are dropped, with
+ *       their subtrees.
+ *   <li>The children of a node at the maximum depth are folded into a single {@code [truncated]}
+ *       node.
+ *   <li>Only the nodes with the most samples are kept, up to a maximum number of nodes. A node has
+ *       at least as many samples as any of its descendants, so the kept nodes still form a tree.
+ * </ul>
+ *
+ * Each limit is disabled when it's 0. Pruning never changes the sample count of a kept node.
+ */
+public class FlamegraphPruner {
+  public static final String TRUNCATED = "[truncated]";
+
+  /** A pruner that keeps whole trees. */
+  public static final FlamegraphPruner NONE = new FlamegraphPruner(0, 0, 0);
+
+  private final double minSamplePercent;
+  private final int maxDepth;
+  private final int maxNodes;
+
+  /**
+   * Create a pruner.
+   *
+   * @param minSamplePercent the minimum percentage of the samples of the tree a node needs to be
+   *     kept, or 0
+   * @param maxDepth the depth below which frames are folded, the root being at depth 0, or 0
+   * @param maxNodes the maximum number of nodes of the tree, including the root, or 0
+   */
+  public FlamegraphPruner(double minSamplePercent, int maxDepth, int maxNodes) {
+    if (minSamplePercent < 0 || minSamplePercent > 100 || maxDepth < 0 || maxNodes < 0) {
+      throw new IllegalArgumentException(
+          "Invalid flamegraph pruning: minSamplePercent="
+              + minSamplePercent
+              + ", maxDepth="
+              + maxDepth
+              + ", maxNodes="
+              + maxNodes);
+    }
+    this.minSamplePercent = minSamplePercent;
+    this.maxDepth = maxDepth;
+    this.maxNodes = maxNodes;
+  }
+
+  /**
+   * Prune a tree.
+   *
+   * @param root the root of the tree, left unchanged
+   * @return the root of the pruned tree, or {@code root} when there's nothing to prune
+   */
+  public StackFrame prune(StackFrame root) {
+    if (minSamplePercent == 0 && maxDepth == 0 && maxNodes == 0) {
+      return root;
+    }
+    long minSamples = (long) Math.ceil(root.getValue() * minSamplePercent / 100);
+    List<Node> nodes = new ArrayList<>();
+    StackFrame pruned = copy(root, minSamples, nodes);
+    if (maxNodes == 0 || nodes.size() <= maxNodes) {
+      return pruned;
+    }
+
+    // Ancestors first among equal counts, so that every kept node's parent is kept
+    nodes.sort(
+        Comparator.comparing((Node node) -> node.frame.getValue())
+            .reversed()
+            .thenComparingInt(node -> node.depth));
+    Map<StackFrame, Boolean> kept = new IdentityHashMap<>();
+    for (Node node : nodes.subList(0, maxNodes)) {
+      kept.put(node.frame, Boolean.TRUE);
+    }
+    return copyKept(pruned, kept);
+  }
+
+  // Copies the nodes with enough samples, folding the deep ones. Records each copy in nodes.
+  private StackFrame copy(StackFrame root, long minSamples, List<Node> nodes) {
+    StackFrame rootCopy = new StackFrame(root.getName(), root.getValue());
+    nodes.add(new Node(rootCopy, 0));
+    Deque<Node> pending = new ArrayDeque<>();
+    Map<StackFrame, StackFrame> copies = new IdentityHashMap<>();
+    copies.put(root, rootCopy);
+    pending.push(new Node(root, 0));
+    while (!pending.isEmpty()) {
+      Node node = pending.pop();
+      StackFrame copy = copies.remove(node.frame);
+      List<StackFrame> children = node.frame.getChildren();
+      if (children == null) {
+        continue;
+      }
+      if (maxDepth > 0 && node.depth == maxDepth) {
+        long folded = 0;
+        for (StackFrame child : children) {
+          folded += child.getValue();
+        }
+        if (folded > 0 && folded >= minSamples) {
+          int value = (int) Math.min(Integer.MAX_VALUE, folded);
+          nodes.add(new Node(copy.addFrame(TRUNCATED, value), node.depth + 1));
+        }
+        continue;
+      }
+      for (StackFrame child : children) {
+        if (child.getValue() >= minSamples) {
+          StackFrame childCopy = copy.addFrame(child.getName(), child.getValue());
+          nodes.add(new Node(childCopy, node.depth + 1));
+          copies.put(child, childCopy);
+          pending.push(new Node(child, node.depth + 1));
+        }
+      }
+    }
+    return rootCopy;
+  }
+
+  private static StackFrame copyKept(StackFrame root, Map<StackFrame, Boolean> kept) {
+    StackFrame rootCopy = new StackFrame(root.getName(), root.getValue());
+    Deque<StackFrame[]> pending = new ArrayDeque<>();
+    pending.push(new StackFrame[] {root, rootCopy});
+    while (!pending.isEmpty()) {
+      StackFrame[] pair = pending.pop();
+      List<StackFrame> children = pair[0].getChildren();
+      if (children == null) {
+        continue;
+      }
+      for (StackFrame child : children) {
+        if (kept.containsKey(child)) {
+          StackFrame childCopy = pair[1].addFrame(child.getName(), child.getValue());
+          pending.push(new StackFrame[] {child, childCopy});
+        }
+      }
+    }
+    return rootCopy;
+  }
+
+  private static final class Node {
+    private final StackFrame frame;
+    private final int depth;
+
+    private Node(StackFrame frame, int depth) {
+      this.frame = frame;
+      this.depth = depth;
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "FlamegraphPruner{"
+        + "minSamplePercent="
+        + minSamplePercent
+        + ", maxDepth="
+        + maxDepth
+        + ", maxNodes="
+        + maxNodes
+        + '}';
+  }
+}
@@ -0,0 +1,92 @@
+package com.newrelic.jfr.profiler;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The flamegraphs of the last seconds of a profile, in a ring of one slice per second. A slice is
+ * replaced by the slice of a later second that maps to the same slot, so the ring holds the trees
+ * of at most as many seconds as it has slots, across harvests.
+ */
+final class FlamegraphSlices {
+  private final Slice[] ring;
+
+  FlamegraphSlices(int seconds) {
+    this.ring = new Slice[seconds];
+  }
+
+  /**
+   * @param second an epoch second
+   * @return the slice of the second, or null when it's already been sent or is older than the ring
+   */
+  Slice get(long second) {
+    int index = (int) Math.floorMod(second, (long) ring.length);
+    Slice slice = ring[index];
+    if (slice == null || slice.second < second) {
+      slice = new Slice(second);
+      ring[index] = slice;
+    } else if (slice.second > second || slice.sent) {
+      return null;
+    }
+    return slice;
+  }
+
+  /**
+   * Take the slices of the seconds with a spike that haven't been sent yet. Their trees are dropped
+   * from the ring, and later samples of their seconds are ignored.
+   *
+   * @param spikes the detector of the spikes
+   * @return the slices, in no particular order
+   */
+  List<Slice> takeSpikes(SpikeDetector spikes) {
+    List<Slice> taken = new ArrayList<>();
+    for (int i = 0; i < ring.length; i++) {
+      Slice slice = ring[i];
+      if (slice == null || slice.sent) {
+        continue;
+      }
+      String trigger = spikes.getTrigger(slice.second);
+      if (trigger != null) {
+        taken.add(slice);
+        Slice sent = new Slice(slice.second);
+        sent.sent = true;
+        ring[i] = sent;
+        slice.trigger = trigger;
+      }
+    }
+    return taken;
+  }
+
+  static final class Slice {
+    private final long second;
+    // Keyed by thread state, then by the key of the profile, as the trees of a harvest
+    private final Map<String, Map<String, FlamegraphMarshaller>> flamegraphs = new HashMap<>();
+    private boolean sent;
+    private String trigger;
+
+    private Slice(long second) {
+      this.second = second;
+    }
+
+    FlamegraphMarshaller flamegraph(String state, String key) {
+      return flamegraphs
+          .computeIfAbsent(state, k -> new HashMap<>())
+          .computeIfAbsent(key, k -> new FlamegraphMarshaller());
+    }
+
+    Map<String, Map<String, FlamegraphMarshaller>> getFlamegraphs() {
+      return flamegraphs;
+    }
+
+    long getStartMillis() {
+      return second * 1000;
+    }
+
+    /** @return what made a spike of the second, once the slice is taken */
+    String getTrigger() {
+      return trigger;
+    }
+  }
+}
@@ -0,0 +1,123 @@
+package com.newrelic.jfr.profiler;
+
+import com.newrelic.jfr.FrameNameCache;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedMethod;
+
+/**
+ * How the frames of the samples are aggregated into the nodes of a flamegraph: the {@link
+ * FrameKeying} of frames, and the packages whose frames are folded. Contiguous frames of types in
+ * the same folded package become a single node named after the package, e.g. {@code [java.*]}, so
+ * the internals of the JDK or of a framework don't fan out the tree.
+ */
+public final class FrameAggregation {
+  /** The packages folded by the {@code default} entry of {@link #parsePackages(String)}. */
+  public static final List<String> DEFAULT_FOLDED_PACKAGES =
+      Collections.unmodifiableList(Arrays.asList("java.", "jdk.internal.", "sun."));
+
+  /** Frames keyed by method and line, without folding. */
+  public static final FrameAggregation DEFAULT =
+      new FrameAggregation(FrameKeying.METHOD_AND_LINE, Collections.emptyList());
+
+  private final FrameKeying keying;
+  private final String[] foldedPackages;
+  private final String[] foldedNames;
+
+  /**
+   * Create an aggregation.
+   *
+   * @param keying what makes two frames the same node
+   * @param foldedPackages the prefixes of the names of the types whose frames are folded, e.g.
+   *     {@code java.}
+   */
+  public FrameAggregation(FrameKeying keying, List<String> foldedPackages) {
+    this.keying = keying;
+    this.foldedPackages = new String[foldedPackages.size()];
+    this.foldedNames = new String[foldedPackages.size()];
+    for (int i = 0; i < foldedPackages.size(); i++) {
+      String foldedPackage = normalizePackage(foldedPackages.get(i));
+      this.foldedPackages[i] = foldedPackage;
+      this.foldedNames[i] = "[" + foldedPackage + "*]";
+    }
+  }
+
+  /**
+   * Parse a comma separated list of packages, where {@code default} stands for the {@link
+   * #DEFAULT_FOLDED_PACKAGES}.
+   *
+   * @param packages the packages, e.g. {@code default,org.springframework}
+   * @return the packages
+   */
+  public static List<String> parsePackages(String packages) {
+    List<String> result = new ArrayList<>();
+    for (String entry : packages.split(",")) {
+      String trimmed = entry.trim();
+      if (trimmed.equals("default")) {
+        result.addAll(DEFAULT_FOLDED_PACKAGES);
+      } else if (!trimmed.isEmpty()) {
+        result.add(trimmed);
+      }
+    }
+    return result;
+  }
+
+  // "java", "java." and "java.*" all fold java.lang.Thread but not javax.net.SocketFactory
+  private static String normalizePackage(String foldedPackage) {
+    String result = foldedPackage;
+    if (result.endsWith("*")) {
+      result = result.substring(0, result.length() - 1);
+    }
+    return result.endsWith(".") ? result : result + ".";
+  }
+
+  public FrameKeying getKeying() {
+    return keying;
+  }
+
+  /** @return a cache of the names of frames, which ignores lines unless they key frames */
+  public FrameNameCache newFrameNameCache() {
+    return new FrameNameCache(
+        FrameNameCache.DEFAULT_CACHE_SIZE, keying == FrameKeying.METHOD_AND_LINE);
+  }
+
+  /**
+   * The node a frame is folded into.
+   *
+   * @param frame the frame
+   * @return the name of the node of the longest folded package of the frame's type, or null when
+   *     the frame isn't folded
+   */
+  String fold(RecordedFrame frame) {
+    if (foldedPackages.length == 0) {
+      return null;
+    }
+    RecordedMethod method = frame.getMethod();
+    if (method == null) {
+      return null;
+    }
+    String typeName = method.getType().getName();
+    String result = null;
+    int length = 0;
+    for (int i = 0; i < foldedPackages.length; i++) {
+      if (foldedPackages[i].length() > length && typeName.startsWith(foldedPackages[i])) {
+        result = foldedNames[i];
+        length = foldedPackages[i].length();
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public String toString() {
+    return "FrameAggregation{"
+        + "keying="
+        + keying
+        + ", foldedPackages="
+        + Arrays.toString(foldedPackages)
+        + '}';
+  }
+}
@@ -2,42 +2,90 @@ package com.newrelic.jfr.profiler;
 
 import static java.util.Collections.emptyList;
 
-import java.util.LinkedList;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * This class flattens the root {@link FlamegraphMarshaller.StackFrame} object into a single list
  */
 public class FrameFlattener {
 
+  // parentId of the root is set to "null" string because null type will cause an NPE in mapToJson
+  // in EventBatchMarshaller of TelemetryClient.
+  private static final String NO_PARENT = "null";
+
+  /**
+   * Flatten a tree depth first, each frame followed by the frames of its children in order. The
+   * tree is walked with an explicit stack, so the depth of the tree is not limited by the depth of
+   * the call stack.
+   *
+   * @param stackFrame the root of the tree, may be null
+   * @return the levels of the tree
+   */
   public List<FlameLevel> flatten(FlamegraphMarshaller.StackFrame stackFrame) {
-    List<FlameLevel> frames = addChildren(stackFrame, null, new AtomicInteger(0));
-    return frames;
+    return flatten(stackFrame, false);
   }
 
-  private List<FlameLevel> addChildren(
-      FlamegraphMarshaller.StackFrame current, FlameLevel parent, AtomicInteger idGenerator) {
-    if (current == null) {
+  /**
+   * Flatten a tree depth first into a list sized by a first pass that counts its frames.
+   *
+   * @param stackFrame the root of the tree, may be null
+   * @param numericIds whether levels are identified by their position in the list, from 1, with a
+   *     null parent id for the root, instead of by the names of their frames
+   * @return the levels of the tree
+   */
+  List<FlameLevel> flatten(FlamegraphMarshaller.StackFrame stackFrame, boolean numericIds) {
+    if (stackFrame == null) {
       return emptyList();
     }
 
-    // parentId is set to "null" string because null type will cause an NPE in mapToJson in
-    // EventBatchMarshaller of TelemetryClient.
-    String parentId = parent == null ? "null" : parent.getId();
-    String id = current.getName();
-    FlameLevel currentNewFlameLevel =
-        new FlameLevel(current.getName(), current.getValue(), parentId, id);
-    LinkedList<FlameLevel> flattenedResult = new LinkedList<>();
-    flattenedResult.add(currentNewFlameLevel);
-
-    if (current.getChildren() == null) {
-      return flattenedResult;
+    List<FlameLevel> result = new ArrayList<>(count(stackFrame));
+    String rootId = numericIds ? "1" : stackFrame.getName();
+    String rootParentId = numericIds ? null : NO_PARENT;
+    result.add(new FlameLevel(stackFrame.getName(), stackFrame.getValue(), rootParentId, rootId));
+
+    Deque<FlamegraphMarshaller.StackFrame> pending = new ArrayDeque<>();
+    Deque<String> pendingParentIds = new ArrayDeque<>();
+    pushChildren(stackFrame, rootId, pending, pendingParentIds);
+    while (!pending.isEmpty()) {
+      FlamegraphMarshaller.StackFrame current = pending.pop();
+      String id = numericIds ? String.valueOf(result.size() + 1) : current.getName();
+      result.add(new FlameLevel(current.getName(), current.getValue(), pendingParentIds.pop(), id));
+      pushChildren(current, id, pending, pendingParentIds);
+    }
+    return result;
+  }
+
+  private static void pushChildren(
+      FlamegraphMarshaller.StackFrame frame,
+      String id,
+      Deque<FlamegraphMarshaller.StackFrame> pending,
+      Deque<String> pendingParentIds) {
+    List<FlamegraphMarshaller.StackFrame> children = frame.getChildren();
+    if (children != null) {
+      // Pushed last to first, so that they're popped in order
+      for (int i = children.size() - 1; i >= 0; i--) {
+        pending.push(children.get(i));
+        pendingParentIds.push(id);
+      }
     }
+  }
 
-    for (FlamegraphMarshaller.StackFrame child : current.getChildren()) {
-      flattenedResult.addAll(addChildren(child, currentNewFlameLevel, idGenerator));
+  private static int count(FlamegraphMarshaller.StackFrame root) {
+    int count = 0;
+    Deque<FlamegraphMarshaller.StackFrame> pending = new ArrayDeque<>();
+    pending.push(root);
+    while (!pending.isEmpty()) {
+      count++;
+      List<FlamegraphMarshaller.StackFrame> children = pending.pop().getChildren();
+      if (children != null) {
+        for (FlamegraphMarshaller.StackFrame child : children) {
+          pending.push(child);
+        }
+      }
     }
-    return flattenedResult;
+    return count;
   }
 }
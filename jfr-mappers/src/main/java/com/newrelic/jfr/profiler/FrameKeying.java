@@ -0,0 +1,22 @@
+package com.newrelic.jfr.profiler;
+
+import java.util.Locale;
+
+/** What makes two frames of a flamegraph the same node. */
+public enum FrameKeying {
+  /** Frames of the same method are the same node, whatever line they're at. */
+  METHOD,
+  /** Frames of the same method at the same line are the same node. */
+  METHOD_AND_LINE;
+
+  /**
+   * Parse a keying name, ignoring case.
+   *
+   * @param name the name, e.g. {@code method}
+   * @return the keying
+   * @throws IllegalArgumentException if there is no such keying
+   */
+  public static FrameKeying parse(String name) {
+    return valueOf(name.trim().toUpperCase(Locale.ROOT));
+  }
+}
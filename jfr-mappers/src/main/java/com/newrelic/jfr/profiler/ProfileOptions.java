@@ -0,0 +1,177 @@
+package com.newrelic.jfr.profiler;
+
+import com.newrelic.jfr.FrameNameCache;
+import java.time.Duration;
+
+/**
+ * How the profiles are built and sent. The summarizers created with the same options share its
+ * {@link FrameNameCache} and {@link SpikeDetector}, so build one instance for all the profiles of a
+ * registry.
+ */
+public final class ProfileOptions {
+  private final FlamegraphEncoding encoding;
+  private final FlamegraphPruner pruner;
+  private final FrameAggregation aggregation;
+  private final boolean splitThreadStates;
+  private final boolean allocationProfile;
+  private final boolean lockProfile;
+  private final SpikeDetector spikes;
+  private final FrameNameCache frameNames;
+
+  private ProfileOptions(Builder builder) {
+    this.encoding = builder.encoding;
+    this.pruner = builder.pruner;
+    this.aggregation = builder.aggregation;
+    this.splitThreadStates = builder.splitThreadStates;
+    this.allocationProfile = builder.allocationProfile;
+    this.lockProfile = builder.lockProfile;
+    this.spikes =
+        builder.sliceSeconds > 0
+            ? new SpikeDetector(
+                builder.sliceSeconds, builder.spikeCpuLoad, builder.spikeGcPause)
+            : null;
+    this.frameNames = aggregation.newFrameNameCache();
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public FlamegraphEncoding getEncoding() {
+    return encoding;
+  }
+
+  public FlamegraphPruner getPruner() {
+    return pruner;
+  }
+
+  public FrameAggregation getAggregation() {
+    return aggregation;
+  }
+
+  /**
+   * @return whether execution and native method samples are profiled together, with a flamegraph
+   *     per thread state
+   */
+  public boolean splitThreadStates() {
+    return splitThreadStates;
+  }
+
+  /** @return whether allocations are profiled, weighted by the bytes allocated */
+  public boolean allocationProfile() {
+    return allocationProfile;
+  }
+
+  /** @return whether the time blocked on locks is profiled */
+  public boolean lockProfile() {
+    return lockProfile;
+  }
+
+  /** @return the detector of the seconds whose flamegraphs are also sent on their own, or null */
+  public SpikeDetector getSpikes() {
+    return spikes;
+  }
+
+  /** @return the cache of the names of frames, keyed as the aggregation keys frames */
+  public FrameNameCache getFrameNames() {
+    return frameNames;
+  }
+
+  @Override
+  public String toString() {
+    return "ProfileOptions{"
+        + "encoding="
+        + encoding
+        + ", pruner="
+        + pruner
+        + ", aggregation="
+        + aggregation
+        + ", splitThreadStates="
+        + splitThreadStates
+        + ", allocationProfile="
+        + allocationProfile
+        + ", lockProfile="
+        + lockProfile
+        + ", sliceSeconds="
+        + (spikes == null ? 0 : spikes.getSliceSeconds())
+        + '}';
+  }
+
+  public static class Builder {
+    private FlamegraphEncoding encoding = FlamegraphEncoding.FLAME_LEVELS;
+    private FlamegraphPruner pruner = FlamegraphPruner.NONE;
+    private FrameAggregation aggregation = FrameAggregation.DEFAULT;
+    private boolean splitThreadStates = false;
+    private boolean allocationProfile = false;
+    private boolean lockProfile = false;
+    private int sliceSeconds = 0;
+    private double spikeCpuLoad;
+    private Duration spikeGcPause;
+
+    /** @param encoding how the flamegraphs are sent */
+    public Builder encoding(FlamegraphEncoding encoding) {
+      this.encoding = encoding;
+      return this;
+    }
+
+    /** @param pruner how the flamegraphs are pruned before they're sent */
+    public Builder pruner(FlamegraphPruner pruner) {
+      this.pruner = pruner;
+      return this;
+    }
+
+    /** @param aggregation how frames are aggregated into the nodes of the flamegraphs */
+    public Builder aggregation(FrameAggregation aggregation) {
+      this.aggregation = aggregation;
+      return this;
+    }
+
+    /**
+     * @param splitThreadStates whether execution and native method samples are profiled together,
+     *     with a flamegraph per thread state
+     */
+    public Builder splitThreadStates(boolean splitThreadStates) {
+      this.splitThreadStates = splitThreadStates;
+      return this;
+    }
+
+    /**
+     * @param allocationProfile whether allocations are profiled, from {@code
+     *     jdk.ObjectAllocationSample}, {@code jdk.ObjectAllocationInNewTLAB} and {@code
+     *     jdk.ObjectAllocationOutsideTLAB} events
+     */
+    public Builder allocationProfile(boolean allocationProfile) {
+      this.allocationProfile = allocationProfile;
+      return this;
+    }
+
+    /**
+     * @param lockProfile whether the time blocked on locks is profiled, from {@code
+     *     jdk.JavaMonitorEnter}, {@code jdk.JavaMonitorWait} and {@code jdk.ThreadPark} events
+     */
+    public Builder lockProfile(boolean lockProfile) {
+      this.lockProfile = lockProfile;
+      return this;
+    }
+
+    /**
+     * Also send the flamegraphs of the seconds with a spike on their own.
+     *
+     * @param sliceSeconds for how many seconds the flamegraphs of each second are kept, or 0 for
+     *     none
+     * @param cpuLoadThreshold the share of the CPU used by the JVM that makes a spike
+     * @param gcPauseThreshold the GC pause that makes a spike
+     * @see SpikeDetector
+     */
+    public Builder slices(int sliceSeconds, double cpuLoadThreshold, Duration gcPauseThreshold) {
+      this.sliceSeconds = sliceSeconds;
+      this.spikeCpuLoad = cpuLoadThreshold;
+      this.spikeGcPause = gcPauseThreshold;
+      return this;
+    }
+
+    public ProfileOptions build() {
+      return new ProfileOptions(this);
+    }
+  }
+}
@@ -1,28 +1,61 @@
 package com.newrelic.jfr.profiler;
 
-import static com.newrelic.jfr.RecordedObjectValidators.hasField;
-
-import com.newrelic.jfr.MethodSupport;
+import com.newrelic.jfr.EventContext;
+import com.newrelic.jfr.FieldSchema;
+import com.newrelic.jfr.FrameNameCache;
 import com.newrelic.jfr.ThreadNameNormalizer;
 import com.newrelic.jfr.profiler.FlamegraphMarshaller.StackFrame;
+import com.newrelic.jfr.toevent.AttributeValueSplitter;
 import com.newrelic.telemetry.Attributes;
 import com.newrelic.telemetry.events.Event;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Stack;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
 import java.util.stream.Stream;
+import jdk.jfr.consumer.RecordedClass;
 import jdk.jfr.consumer.RecordedEvent;
 import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedMethod;
 import jdk.jfr.consumer.RecordedStackTrace;
-import jdk.jfr.consumer.RecordedThread;
 
+/**
+ * Aggregates the stacks of events into a flamegraph per normalized thread name, and sends the
+ * flamegraphs every harvest. Execution and native method samples weigh 1 each. Allocation events
+ * weigh the KiB they allocated, rounded up, and are sent under their own event types with the name
+ * of the profiled event in {@code profile.source}. Lock events weigh the microseconds they were
+ * blocked, rounded up, and are aggregated into a flamegraph per monitor class instead.
+ *
+ * <p>The thread state profile reads both execution and native method samples, and keeps a
+ * flamegraph per thread and state, sent with the state in {@code thread.state}: {@code running}
+ * for execution samples, {@code io} for native samples in I/O classes such as {@code
+ * sun.nio.ch.EPoll}, and {@code native} for the other native samples.
+ *
+ * <p>With a {@link SpikeDetector}, a profile also keeps the flamegraphs of each of the last
+ * seconds, and sends those of the seconds with a CPU or GC spike on their own, so that a spike
+ * isn't diluted in the flamegraphs of the whole harvest.
+ */
 public class ProfileSummarizer implements EventToEventSummary {
   public static final String EVENT_NAME = "jdk.ExecutionSample";
   public static final String NATIVE_EVENT_NAME = "jdk.NativeMethodSample";
+  public static final String OBJECT_ALLOCATION_SAMPLE_EVENT_NAME = "jdk.ObjectAllocationSample";
+  public static final String IN_NEW_TLAB_EVENT_NAME = "jdk.ObjectAllocationInNewTLAB";
+  public static final String OUTSIDE_TLAB_EVENT_NAME = "jdk.ObjectAllocationOutsideTLAB";
+  public static final String WEIGHT = "weight";
+  public static final String TLAB_SIZE = "tlabSize";
+  public static final String ALLOCATION_SIZE = "allocationSize";
+  public static final String MONITOR_ENTER_EVENT_NAME = "jdk.JavaMonitorEnter";
+  public static final String MONITOR_WAIT_EVENT_NAME = "jdk.JavaMonitorWait";
+  public static final String THREAD_PARK_EVENT_NAME = "jdk.ThreadPark";
+  public static final String MONITOR_CLASS = "monitorClass";
+  public static final String PARKED_CLASS = "parkedClass";
   public static final String SIMPLE_CLASS_NAME = ProfileSummarizer.class.getSimpleName();
   public static final String STATE = "state";
   public static final String THREAD_NAME = "thread.name";
@@ -31,132 +64,463 @@ public class ProfileSummarizer implements EventToEventSummary {
   public static final String FLAME_NAME = "flamelevel.name";
   public static final String FLAME_VALUE = "flamelevel.value";
   public static final String FLAME_PARENT_ID = "flamelevel.parentId";
+  public static final String JFR_FLAMEGRAPH = "JfrFlamegraph";
+  public static final String FLAMEGRAPH = "flamegraph";
+  public static final String JFR_ALLOCATION_FLAMELEVEL = "JfrAllocationFlameLevel";
+  public static final String JFR_ALLOCATION_FLAMEGRAPH = "JfrAllocationFlamegraph";
+  public static final String PROFILE_SOURCE = "profile.source";
+  public static final String JFR_LOCK_FLAMELEVEL = "JfrLockFlameLevel";
+  public static final String JFR_LOCK_FLAMEGRAPH = "JfrLockFlamegraph";
+  public static final String MONITOR_CLASS_NAME = "monitor.class";
+  public static final String UNKNOWN_CLASS = "[unknown]";
+  public static final String THREAD_STATE = "thread.state";
+  public static final String RUNNING = "running";
+  public static final String NATIVE_STATE = "native";
+  public static final String IO = "io";
+  public static final String SLICE = "Slice";
+  public static final String SPIKE_TRIGGER = "spike.trigger";
+  // Native methods of these packages are blocked on I/O, e.g. SocketInputStream.socketRead0
+  private static final String[] IO_PACKAGES = {
+    "java.io.", "java.net.", "sun.nio.ch.", "sun.nio.fs."
+  };
+  // The state of the trees of profiles that don't split thread states
+  private static final String NO_STATE = "";
+
+  private static final FieldSchema SCHEMA = FieldSchema.of(SIMPLE_CLASS_NAME);
+  private static final FieldSchema.Field WEIGHT_FIELD = SCHEMA.field(WEIGHT);
+  private static final FieldSchema.Field TLAB_SIZE_FIELD = SCHEMA.field(TLAB_SIZE);
+  private static final FieldSchema.Field ALLOCATION_SIZE_FIELD = SCHEMA.field(ALLOCATION_SIZE);
+  private static final FieldSchema.Field MONITOR_CLASS_FIELD = SCHEMA.field(MONITOR_CLASS);
+  private static final FieldSchema.Field PARKED_CLASS_FIELD = SCHEMA.field(PARKED_CLASS);
+
+  private static final Profile EXECUTION =
+      new Profile(
+          Collections.singletonList(EVENT_NAME),
+          JFR_FLAMELEVEL,
+          JFR_FLAMEGRAPH,
+          false,
+          THREAD_NAME,
+          ProfileSummarizer::sampledThreadName,
+          null,
+          ev -> 1);
+  private static final Profile NATIVE =
+      new Profile(
+          Collections.singletonList(NATIVE_EVENT_NAME),
+          JFR_FLAMELEVEL,
+          JFR_FLAMEGRAPH,
+          false,
+          THREAD_NAME,
+          ProfileSummarizer::sampledThreadName,
+          null,
+          ev -> 1);
+  private static final Profile ALLOCATION_SAMPLE =
+      new Profile(
+          Collections.singletonList(OBJECT_ALLOCATION_SAMPLE_EVENT_NAME),
+          JFR_ALLOCATION_FLAMELEVEL,
+          JFR_ALLOCATION_FLAMEGRAPH,
+          true,
+          THREAD_NAME,
+          ProfileSummarizer::eventThreadName,
+          null,
+          ProfileSummarizer::sampledAllocationWeight);
+  // Allocations in new TLABs and outside of TLABs add up to all of the allocations
+  private static final Profile TLAB_ALLOCATION =
+      new Profile(
+          Arrays.asList(IN_NEW_TLAB_EVENT_NAME, OUTSIDE_TLAB_EVENT_NAME),
+          JFR_ALLOCATION_FLAMELEVEL,
+          JFR_ALLOCATION_FLAMEGRAPH,
+          true,
+          THREAD_NAME,
+          ProfileSummarizer::eventThreadName,
+          null,
+          ProfileSummarizer::tlabAllocationWeight);
+  // Time spent entering a monitor, waiting on one, or parked, with or without contention
+  private static final Profile LOCK =
+      new Profile(
+          Arrays.asList(MONITOR_ENTER_EVENT_NAME, MONITOR_WAIT_EVENT_NAME, THREAD_PARK_EVENT_NAME),
+          JFR_LOCK_FLAMELEVEL,
+          JFR_LOCK_FLAMEGRAPH,
+          false,
+          MONITOR_CLASS_NAME,
+          ProfileSummarizer::monitorClassName,
+          null,
+          ev -> roundUp(ev.getDuration().toNanos(), 1000));
+  // Wall clock samples of threads in Java or in native code, split by state
+  private static final Profile THREAD_STATES =
+      new Profile(
+          Arrays.asList(EVENT_NAME, NATIVE_EVENT_NAME),
+          JFR_FLAMELEVEL,
+          JFR_FLAMEGRAPH,
+          false,
+          THREAD_NAME,
+          ProfileSummarizer::sampledThreadName,
+          ProfileSummarizer::threadState,
+          ev -> 1);
+
   private final FrameFlattener flattener;
   private final ThreadNameNormalizer nameNormalizer;
+  private final FlamegraphEncoding encoding;
+  private final FlamegraphPruner pruner;
+  private final FrameAggregation aggregation;
+  private final CompactFlamegraphEncoder compactEncoder = new CompactFlamegraphEncoder();
+  private final AttributeValueSplitter valueSplitter = new AttributeValueSplitter();
 
-  private final String eventName;
+  private final Profile profile;
 
-  private final Map<String, List<JvmStackTraceEvent>> stackTraceEventPerThread = new HashMap<>();
+  // Keyed by thread state, then by thread name or by monitor class for lock profiles
+  private final Map<String, Map<String, FlamegraphMarshaller>> flamegraphs = new HashMap<>();
+  // Kept across harvests, as the same methods are sampled in each
+  private final FrameNameCache frameNames;
+  // Null unless the trees of each second are kept, to send those of the seconds with a spike
+  private final SpikeDetector spikes;
+  private final FlamegraphSlices slices;
   private AtomicLong timestamp = new AtomicLong(Long.MAX_VALUE);
 
   // For tests
-  public Map<String, List<JvmStackTraceEvent>> getStackTraceEventPerThread() {
-    return stackTraceEventPerThread;
+  public Map<String, FlamegraphMarshaller> getFlamegraphPerThread() {
+    return getFlamegraphPerThread(NO_STATE);
+  }
+
+  // For tests
+  public Map<String, FlamegraphMarshaller> getFlamegraphPerThread(String state) {
+    return flamegraphs.getOrDefault(state, Collections.emptyMap());
   }
 
   private ProfileSummarizer(
-      final String eventName, FrameFlattener frameFlattener, ThreadNameNormalizer nameNormalizer) {
-    this.eventName = eventName;
+      Profile profile,
+      FrameFlattener frameFlattener,
+      ThreadNameNormalizer nameNormalizer,
+      ProfileOptions options) {
+    this.profile = profile;
     this.flattener = frameFlattener;
     this.nameNormalizer = nameNormalizer;
+    this.encoding = options.getEncoding();
+    this.pruner = options.getPruner();
+    this.aggregation = options.getAggregation();
+    this.frameNames = options.getFrameNames();
+    this.spikes = options.getSpikes();
+    this.slices = spikes == null ? null : new FlamegraphSlices(spikes.getSliceSeconds());
   }
 
   public static ProfileSummarizer forExecutionSample(ThreadNameNormalizer nameNormalizer) {
-    return new ProfileSummarizer(EVENT_NAME, new FrameFlattener(), nameNormalizer);
+    return forExecutionSample(nameNormalizer, ProfileOptions.builder().build());
+  }
+
+  public static ProfileSummarizer forExecutionSample(
+      ThreadNameNormalizer nameNormalizer, ProfileOptions options) {
+    return new ProfileSummarizer(EXECUTION, new FrameFlattener(), nameNormalizer, options);
   }
 
   public static ProfileSummarizer forNativeMethodSample(ThreadNameNormalizer nameNormalizer) {
-    return new ProfileSummarizer(NATIVE_EVENT_NAME, new FrameFlattener(), nameNormalizer);
+    return forNativeMethodSample(nameNormalizer, ProfileOptions.builder().build());
+  }
+
+  public static ProfileSummarizer forNativeMethodSample(
+      ThreadNameNormalizer nameNormalizer, ProfileOptions options) {
+    return new ProfileSummarizer(NATIVE, new FrameFlattener(), nameNormalizer, options);
+  }
+
+  /**
+   * Profile the allocations of {@code jdk.ObjectAllocationSample} events (Java 16+), weighted by
+   * their {@code weight}.
+   */
+  public static ProfileSummarizer forObjectAllocationSample(ThreadNameNormalizer nameNormalizer) {
+    return forObjectAllocationSample(nameNormalizer, ProfileOptions.builder().build());
+  }
+
+  public static ProfileSummarizer forObjectAllocationSample(
+      ThreadNameNormalizer nameNormalizer, ProfileOptions options) {
+    return new ProfileSummarizer(ALLOCATION_SAMPLE, new FrameFlattener(), nameNormalizer, options);
+  }
+
+  /**
+   * Profile the allocations of {@code jdk.ObjectAllocationInNewTLAB} events, weighted by their
+   * {@code tlabSize}, and {@code jdk.ObjectAllocationOutsideTLAB} events, weighted by their {@code
+   * allocationSize}, in the same flamegraphs.
+   */
+  public static ProfileSummarizer forTlabAllocation(ThreadNameNormalizer nameNormalizer) {
+    return forTlabAllocation(nameNormalizer, ProfileOptions.builder().build());
+  }
+
+  public static ProfileSummarizer forTlabAllocation(
+      ThreadNameNormalizer nameNormalizer, ProfileOptions options) {
+    return new ProfileSummarizer(TLAB_ALLOCATION, new FrameFlattener(), nameNormalizer, options);
+  }
+
+  /**
+   * Profile the time blocked in {@code jdk.JavaMonitorEnter}, {@code jdk.JavaMonitorWait} and
+   * {@code jdk.ThreadPark} events, in a flamegraph per monitor or parked class.
+   */
+  public static ProfileSummarizer forLock(ThreadNameNormalizer nameNormalizer) {
+    return forLock(nameNormalizer, ProfileOptions.builder().build());
+  }
+
+  public static ProfileSummarizer forLock(
+      ThreadNameNormalizer nameNormalizer, ProfileOptions options) {
+    return new ProfileSummarizer(LOCK, new FrameFlattener(), nameNormalizer, options);
+  }
+
+  /**
+   * Profile {@code jdk.ExecutionSample} and {@code jdk.NativeMethodSample} events together, with a
+   * flamegraph per thread and thread state. Replaces the execution and native method profiles.
+   */
+  public static ProfileSummarizer forThreadStates(ThreadNameNormalizer nameNormalizer) {
+    return forThreadStates(nameNormalizer, ProfileOptions.builder().build());
+  }
+
+  public static ProfileSummarizer forThreadStates(
+      ThreadNameNormalizer nameNormalizer, ProfileOptions options) {
+    return new ProfileSummarizer(THREAD_STATES, new FrameFlattener(), nameNormalizer, options);
   }
 
   @Override
   public String getEventName() {
-    return eventName;
+    return profile.eventNames.get(0);
+  }
+
+  @Override
+  public Collection<String> getEventNames() {
+    return profile.eventNames;
+  }
+
+  @Override
+  public boolean test(RecordedEvent event) {
+    return profile.eventNames.contains(event.getEventType().getName());
   }
 
   @Override
   public void accept(RecordedEvent ev) {
+    accept(new EventContext(ev));
+  }
+
+  @Override
+  public void accept(EventContext context) {
+    RecordedEvent ev = context.getEvent();
     RecordedStackTrace trace = ev.getStackTrace();
     if (trace == null) {
       return;
     }
+    int value = profile.weight.applyAsInt(ev);
+    if (value == 0) {
+      // Without the field of its weight, or too small to count
+      return;
+    }
     timestamp.updateAndGet(current -> Math.min(current, ev.getStartTime().toEpochMilli()));
 
-    String threadName = null;
-    if (hasField(ev, SAMPLED_THREAD, SIMPLE_CLASS_NAME)) {
-      RecordedThread sampledThread = ev.getThread(SAMPLED_THREAD);
-      threadName = nameNormalizer.getNormalizedThreadName(sampledThread.getJavaName());
+    String state = profile.state == null ? NO_STATE : profile.state.apply(ev);
+    String key = profile.key.apply(context, nameNormalizer);
+    FlamegraphMarshaller flamegraph =
+        flamegraphs
+            .computeIfAbsent(state, k -> new HashMap<>())
+            .computeIfAbsent(key, k -> new FlamegraphMarshaller());
+    List<RecordedFrame> frames = trace.getFrames();
+    addSample(flamegraph, frames, value);
+    if (slices != null) {
+      FlamegraphSlices.Slice slice = slices.get(ev.getStartTime().getEpochSecond());
+      if (slice != null) {
+        addSample(slice.flamegraph(state, key), frames, value);
+      }
     }
+  }
 
-    String threadState = null;
-    if (hasField(ev, STATE, SIMPLE_CLASS_NAME)) {
-      threadState = ev.getString(STATE);
+  // Insert the sample straight into the call tree, from the bottom frame up
+  private void addSample(FlamegraphMarshaller flamegraph, List<RecordedFrame> frames, int value) {
+    StackFrame stackFrame = flamegraph.addSample(value);
+    String lastFolded = null;
+    for (int i = frames.size() - 1; i >= 0; i--) {
+      RecordedFrame frame = frames.get(i);
+      String folded = aggregation.fold(frame);
+      if (folded != null && folded.equals(lastFolded)) {
+        continue;
+      }
+      lastFolded = folded;
+      String frameName = folded != null ? folded : frameNames.getFrameName(frame);
+      stackFrame = stackFrame.addFrame(frameName, value);
     }
-    JvmStackTraceEvent event = stackTraceToStackFrames(threadName, threadState, ev.getStackTrace());
-
-    stackTraceEventPerThread
-        .computeIfAbsent(event.getThreadName(), k -> new ArrayList<>())
-        .add(event);
   }
 
+  /**
+   * Summarize the flamegraphs of the harvest and, when slices are kept, those of the seconds with a
+   * spike that weren't sent yet. Slices are sent under the event types of the profile suffixed with
+   * {@code Slice}, e.g. {@code JfrFlameLevelSlice}, with the start of their second as timestamp and
+   * what made the spike in {@code spike.trigger}. Only the flamegraphs of the harvest are pruned.
+   */
   @Override
   public Stream<Event> summarize() {
-    Stream<Event> eventStream =
-        stackTraceEventPerThread.entrySet().stream()
-            .map(entry -> stackTraceToEvent(entry.getKey(), entry.getValue()))
-            .flatMap(Collection::stream);
-    return eventStream;
+    Stream<Event> events = summarize(flamegraphs, null);
+    if (slices == null) {
+      return events;
+    }
+    List<FlamegraphSlices.Slice> spiked = slices.takeSpikes(spikes);
+    return Stream.concat(
+        events, spiked.stream().flatMap(slice -> summarize(slice.getFlamegraphs(), slice)));
   }
 
-  private List<Event> stackTraceToEvent(String threadName, List<JvmStackTraceEvent> stackTraces) {
-    StackFrame stackFrame = stackTraceToStackFrame(stackTraces);
-    List<FlameLevel> flameLevels = flattener.flatten(stackFrame);
-    return flameLevelToEvent(flameLevels, threadName);
+  private Stream<Event> summarize(
+      Map<String, Map<String, FlamegraphMarshaller>> perState, FlamegraphSlices.Slice slice) {
+    return perState.entrySet().stream()
+        .flatMap(entry -> summarize(entry.getKey(), entry.getValue(), slice));
   }
 
-  private List<Event> flameLevelToEvent(List<FlameLevel> flameLevels, String threadName) {
+  private Stream<Event> summarize(
+      String state, Map<String, FlamegraphMarshaller> perKey, FlamegraphSlices.Slice slice) {
+    return perKey.entrySet().stream()
+        .map(entry -> flamegraphToEvents(state, entry.getKey(), entry.getValue(), slice))
+        .flatMap(Collection::stream);
+  }
+
+  // The slice is null for the flamegraphs of the harvest. Slices aren't pruned, as the frames of a
+  // short spike are those the pruning of a second's few samples would drop
+  private List<Event> flamegraphToEvents(
+      String state, String key, FlamegraphMarshaller flamegraph, FlamegraphSlices.Slice slice) {
+    StackFrame root =
+        slice == null ? pruner.prune(flamegraph.getStackFrame()) : flamegraph.getStackFrame();
+    long eventTimestamp = slice == null ? timestamp.longValue() : slice.getStartMillis();
+    if (encoding == FlamegraphEncoding.COMPACT) {
+      Attributes attr = commonAttributes(state, key, slice);
+      valueSplitter.maybeSplit(attr, FLAMEGRAPH, compactEncoder.encode(root));
+      return Collections.singletonList(
+          new Event(eventType(profile.flamegraphEventType, slice), attr, eventTimestamp));
+    }
+    List<FlameLevel> flameLevels = flattener.flatten(root);
+    return flameLevelToEvent(flameLevels, state, key, slice, eventTimestamp);
+  }
+
+  private List<Event> flameLevelToEvent(
+      List<FlameLevel> flameLevels,
+      String state,
+      String key,
+      FlamegraphSlices.Slice slice,
+      long eventTimestamp) {
+    String eventType = eventType(profile.flameLevelEventType, slice);
     List<Event> events = new ArrayList<>();
     for (FlameLevel flameLevel : flameLevels) {
-      Attributes attr = new Attributes();
-      attr.put(THREAD_NAME, threadName);
+      Attributes attr = commonAttributes(state, key, slice);
       attr.put(FLAME_NAME, flameLevel.getName());
       attr.put(FLAME_VALUE, flameLevel.getCount());
       attr.put(FLAME_PARENT_ID, flameLevel.getParentId());
-      events.add(new Event(JFR_FLAMELEVEL, attr, timestamp.longValue()));
+      events.add(new Event(eventType, attr, eventTimestamp));
     }
     return events;
   }
 
-  private StackFrame stackTraceToStackFrame(List<JvmStackTraceEvent> traces) {
-    FlamegraphMarshaller out = new FlamegraphMarshaller();
-    for (JvmStackTraceEvent trace : traces) {
-      Stack<String> stack = new Stack<>();
-      trace.getFrames().forEach(f -> stack.push(getFrameName(f)));
-      out.processEvent(stack, getValue());
+  private static String eventType(String eventType, FlamegraphSlices.Slice slice) {
+    return slice == null ? eventType : eventType + SLICE;
+  }
+
+  private Attributes commonAttributes(String state, String key, FlamegraphSlices.Slice slice) {
+    Attributes attr = new Attributes();
+    attr.put(profile.keyAttribute, key);
+    if (profile.hasSource) {
+      attr.put(PROFILE_SOURCE, getEventName());
+    }
+    if (profile.state != null) {
+      attr.put(THREAD_STATE, state);
+    }
+    if (slice != null) {
+      attr.put(SPIKE_TRIGGER, slice.getTrigger());
+    }
+    return attr;
+  }
+
+  private static String threadState(RecordedEvent ev) {
+    if (EVENT_NAME.equals(ev.getEventType().getName())) {
+      return RUNNING;
     }
-    return out.getStackFrame();
+    List<RecordedFrame> frames = ev.getStackTrace().getFrames();
+    RecordedMethod method = frames.isEmpty() ? null : frames.get(0).getMethod();
+    if (method != null) {
+      String typeName = method.getType().getName();
+      for (String ioPackage : IO_PACKAGES) {
+        if (typeName.startsWith(ioPackage)) {
+          return IO;
+        }
+      }
+    }
+    return NATIVE_STATE;
   }
 
-  private Integer getValue() {
-    // For CPU stack traces this is always 1 - for other things (mem) it's not
-    return 1;
+  private static String sampledThreadName(
+      EventContext context, ThreadNameNormalizer nameNormalizer) {
+    return context.getNormalizedSampledThreadName(nameNormalizer);
   }
 
-  private String getFrameName(JvmStackTraceEvent.JvmStackFrame frame) {
-    StringBuilder entryBuilder = new StringBuilder();
-    entryBuilder.append(frame.getDesc());
-    entryBuilder.append(":");
-    entryBuilder.append(frame.getLine());
-    return entryBuilder.toString();
+  private static String eventThreadName(EventContext context, ThreadNameNormalizer nameNormalizer) {
+    return context.getNormalizedThreadName(nameNormalizer).orElse(null);
   }
 
-  private static JvmStackTraceEvent stackTraceToStackFrames(
-      String name, String state, RecordedStackTrace stackTrace) {
-    List<JvmStackTraceEvent.JvmStackFrame> out = new ArrayList<>();
+  private static int sampledAllocationWeight(RecordedEvent ev) {
+    FieldSchema.Fields fields = SCHEMA.resolve(ev);
+    return fields.has(WEIGHT_FIELD) ? kibibytes(ev.getLong(WEIGHT)) : 0;
+  }
 
-    for (RecordedFrame frame : stackTrace.getFrames()) {
-      String desc = MethodSupport.describeMethod(frame.getMethod());
-      int line = frame.getLineNumber();
-      int bytecodeIndex = frame.getBytecodeIndex();
-      out.add(new JvmStackTraceEvent.JvmStackFrame(desc, line, bytecodeIndex));
+  private static int tlabAllocationWeight(RecordedEvent ev) {
+    FieldSchema.Fields fields = SCHEMA.resolve(ev);
+    if (IN_NEW_TLAB_EVENT_NAME.equals(ev.getEventType().getName())) {
+      return fields.has(TLAB_SIZE_FIELD) ? kibibytes(ev.getLong(TLAB_SIZE)) : 0;
     }
+    return fields.has(ALLOCATION_SIZE_FIELD) ? kibibytes(ev.getLong(ALLOCATION_SIZE)) : 0;
+  }
+
+  private static String monitorClassName(
+      EventContext context, ThreadNameNormalizer nameNormalizer) {
+    RecordedEvent ev = context.getEvent();
+    FieldSchema.Fields fields = SCHEMA.resolve(ev);
+    boolean parked = THREAD_PARK_EVENT_NAME.equals(ev.getEventType().getName());
+    FieldSchema.Field field = parked ? PARKED_CLASS_FIELD : MONITOR_CLASS_FIELD;
+    RecordedClass monitorClass = fields.has(field) ? ev.getClass(field.getName()) : null;
+    return monitorClass == null ? UNKNOWN_CLASS : monitorClass.getName();
+  }
+
+  static int kibibytes(long bytes) {
+    return roundUp(bytes, 1024);
+  }
 
-    return new JvmStackTraceEvent(name, state, out);
+  // Node values are ints, which would overflow with the bytes allocated or the nanoseconds blocked
+  // by busy threads, so weights are counted in coarser units
+  static int roundUp(long value, long unit) {
+    if (value <= 0) {
+      return 0;
+    }
+    return (int) Math.min(Integer.MAX_VALUE, (value - 1) / unit + 1);
   }
 
+  // Slices are kept across harvests, as the spike of a second may be read after its samples
   @Override
   public void reset() {
-    stackTraceEventPerThread.clear();
+    flamegraphs.clear();
     timestamp.set(Long.MAX_VALUE);
   }
+
+  // What a summarizer profiles: the events it reads, how they're weighed, and what it sends
+  private static final class Profile {
+    private final List<String> eventNames;
+    private final String flameLevelEventType;
+    private final String flamegraphEventType;
+    private final boolean hasSource;
+    private final String keyAttribute;
+    private final BiFunction<EventContext, ThreadNameNormalizer, String> key;
+    // Null when the profile doesn't split thread states
+    private final Function<RecordedEvent, String> state;
+    private final ToIntFunction<RecordedEvent> weight;
+
+    private Profile(
+        List<String> eventNames,
+        String flameLevelEventType,
+        String flamegraphEventType,
+        boolean hasSource,
+        String keyAttribute,
+        BiFunction<EventContext, ThreadNameNormalizer, String> key,
+        Function<RecordedEvent, String> state,
+        ToIntFunction<RecordedEvent> weight) {
+      this.eventNames = Collections.unmodifiableList(eventNames);
+      this.flameLevelEventType = flameLevelEventType;
+      this.flamegraphEventType = flamegraphEventType;
+      this.hasSource = hasSource;
+      this.keyAttribute = keyAttribute;
+      this.key = key;
+      this.state = state;
+      this.weight = weight;
+    }
+  }
 }
@@ -0,0 +1,145 @@
+package com.newrelic.jfr.profiler;
+
+import com.newrelic.jfr.FieldSchema;
+import com.newrelic.jfr.tometric.OverallCPULoadMapper;
+import com.newrelic.jfr.tosummary.BasicGarbageCollectionSummarizer;
+import com.newrelic.telemetry.events.Event;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+import jdk.jfr.consumer.RecordedEvent;
+
+/**
+ * Finds the seconds with a latency spike, for the profiles to send the flamegraphs of those seconds
+ * on their own. A second has a spike when the JVM used at least a share of the CPU in a {@code
+ * jdk.CPULoad} event, or when a {@code jdk.GarbageCollection} event paused the JVM for at least a
+ * duration.
+ *
+ * <p>CPU load events measure the load since the previous one, about a second earlier, so both
+ * seconds are spikes. GC events make spikes of all the seconds they overlap. Spikes are kept for as
+ * many seconds as the profiles keep slices, since the samples of a second may be read in a later
+ * harvest than its spike. This sends nothing itself.
+ */
+public class SpikeDetector implements EventToEventSummary {
+  public static final String SIMPLE_CLASS_NAME = SpikeDetector.class.getSimpleName();
+  public static final String CPU_LOAD = "cpuLoad";
+  public static final String GC_PAUSE = "gcPause";
+  public static final String LONGEST_PAUSE = "longestPause";
+  public static final double DEFAULT_CPU_LOAD_THRESHOLD = 0.8;
+  public static final Duration DEFAULT_GC_PAUSE_THRESHOLD = Duration.ofMillis(100);
+
+  private static final List<String> EVENT_NAMES =
+      Collections.unmodifiableList(
+          Arrays.asList(
+              OverallCPULoadMapper.EVENT_NAME, BasicGarbageCollectionSummarizer.EVENT_NAME));
+  private static final FieldSchema SCHEMA = FieldSchema.of(SIMPLE_CLASS_NAME);
+  private static final FieldSchema.Field JVM_USER_FIELD =
+      SCHEMA.field(OverallCPULoadMapper.JVM_USER);
+  private static final FieldSchema.Field JVM_SYSTEM_FIELD =
+      SCHEMA.field(OverallCPULoadMapper.JVM_SYSTEM);
+  private static final FieldSchema.Field LONGEST_PAUSE_FIELD = SCHEMA.field(LONGEST_PAUSE);
+
+  private final int sliceSeconds;
+  private final double cpuLoadThreshold;
+  private final Duration gcPauseThreshold;
+
+  // The trigger of each second with a spike, keyed by epoch second
+  private final TreeMap<Long, String> spikes = new TreeMap<>();
+  private long latestSecond = Long.MIN_VALUE;
+
+  /**
+   * Create a detector.
+   *
+   * @param sliceSeconds the number of seconds the profiles keep a slice of, at least 1
+   * @param cpuLoadThreshold the share of the CPU used by the JVM, user and system, of a spike
+   * @param gcPauseThreshold the GC pause of a spike
+   */
+  public SpikeDetector(int sliceSeconds, double cpuLoadThreshold, Duration gcPauseThreshold) {
+    if (sliceSeconds < 1) {
+      throw new IllegalArgumentException("Invalid flamegraph slice seconds: " + sliceSeconds);
+    }
+    this.sliceSeconds = sliceSeconds;
+    this.cpuLoadThreshold = cpuLoadThreshold;
+    this.gcPauseThreshold = gcPauseThreshold;
+  }
+
+  public int getSliceSeconds() {
+    return sliceSeconds;
+  }
+
+  @Override
+  public String getEventName() {
+    return OverallCPULoadMapper.EVENT_NAME;
+  }
+
+  @Override
+  public Collection<String> getEventNames() {
+    return EVENT_NAMES;
+  }
+
+  @Override
+  public boolean test(RecordedEvent event) {
+    return EVENT_NAMES.contains(event.getEventType().getName());
+  }
+
+  @Override
+  public synchronized void accept(RecordedEvent ev) {
+    FieldSchema.Fields fields = SCHEMA.resolve(ev);
+    Instant start = ev.getStartTime();
+    if (OverallCPULoadMapper.EVENT_NAME.equals(ev.getEventType().getName())) {
+      double load = 0;
+      if (fields.has(JVM_USER_FIELD)) {
+        load += ev.getDouble(OverallCPULoadMapper.JVM_USER);
+      }
+      if (fields.has(JVM_SYSTEM_FIELD)) {
+        load += ev.getDouble(OverallCPULoadMapper.JVM_SYSTEM);
+      }
+      if (load >= cpuLoadThreshold) {
+        mark(start.getEpochSecond() - 1, start.getEpochSecond(), CPU_LOAD);
+      }
+    } else {
+      // Concurrent collectors pause the JVM for a fraction of the collection
+      Duration pause =
+          fields.has(LONGEST_PAUSE_FIELD) ? ev.getDuration(LONGEST_PAUSE) : ev.getDuration();
+      if (pause.compareTo(gcPauseThreshold) >= 0) {
+        mark(start.getEpochSecond(), ev.getEndTime().getEpochSecond(), GC_PAUSE);
+      }
+    }
+  }
+
+  private void mark(long fromSecond, long toSecond, String trigger) {
+    // A single event can't hold the spikes of more seconds than are kept
+    long from = Math.max(fromSecond, toSecond - sliceSeconds + 1);
+    for (long second = from; second <= toSecond; second++) {
+      spikes.putIfAbsent(second, trigger);
+    }
+    latestSecond = Math.max(latestSecond, toSecond);
+  }
+
+  /**
+   * @param second an epoch second
+   * @return what made a spike of the second, {@code cpuLoad} or {@code gcPause}, or null when it
+   *     has none
+   */
+  public synchronized String getTrigger(long second) {
+    return spikes.get(second);
+  }
+
+  @Override
+  public Stream<Event> summarize() {
+    return Stream.empty();
+  }
+
+  /** Forget the spikes older than the slices kept by the profiles. */
+  @Override
+  public synchronized void reset() {
+    if (latestSecond != Long.MIN_VALUE) {
+      spikes.headMap(latestSecond - sliceSeconds, true).clear();
+    }
+  }
+}
@@ -7,7 +7,15 @@ public class AttributeValueSplitter {
   static final int MAX_LENGTH = 4096; // Event API attribute size limit
   static final String KEY_EXTENDED = "Extended_";
 
-  void maybeSplit(Attributes attr, String key, String value) {
+  /**
+   * Put a value in the attributes, split into several attributes when it's over the size limit.
+   * The first part is under {@code key}, the next ones under {@code key + "Extended_" + n}.
+   *
+   * @param attr the attributes
+   * @param key the key of the first part
+   * @param value the value
+   */
+  public void maybeSplit(Attributes attr, String key, String value) {
     int extendedCount = 0;
     while (value.length() > MAX_LENGTH) {
       String firstBlock = value.substring(0, MAX_LENGTH);
@@ -7,8 +7,11 @@
 
 package com.newrelic.jfr.toevent;
 
+import com.newrelic.jfr.EventContext;
 import com.newrelic.telemetry.events.Event;
 import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Function;
@@ -29,9 +32,33 @@ public interface EventToEvent
    */
   String getEventName();
 
+  /**
+   * JFR event names accepted by {@link #test(RecordedEvent)}. Readers may skip decoding events with
+   * any other name.
+   *
+   * @return the JFR event names, by default only {@link #getEventName()}
+   */
+  default Collection<String> getEventNames() {
+    return Collections.singleton(getEventName());
+  }
+
+  /**
+   * Map an event, reusing the values derived from it that are shared with the other mappers of
+   * the same event, such as its thread name. Mappers that need those values should override this.
+   *
+   * @param context the context of the event to map
+   * @return the events
+   */
+  default List<Event> apply(EventContext context) {
+    return apply(context.getEvent());
+  }
+
   /**
    * Test to see if this event is interesting to this mapper
    *
+   * <p>The result must only depend on the event's type, as consumers may cache it per type, and
+   * must be false for events not named by {@link #getEventNames()}.
+   *
    * @param event - event instance to see if we're interested
    * @return true if event is interesting, false otherwise
    */
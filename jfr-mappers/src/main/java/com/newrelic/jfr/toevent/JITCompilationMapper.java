@@ -7,8 +7,7 @@
 
 package com.newrelic.jfr.toevent;
 
-import static com.newrelic.jfr.RecordedObjectValidators.*;
-
+import com.newrelic.jfr.FieldSchema;
 import com.newrelic.jfr.MethodSupport;
 import com.newrelic.jfr.Workarounds;
 import com.newrelic.telemetry.Attributes;
@@ -42,18 +41,23 @@ public class JITCompilationMapper implements EventToEvent {
   public static final String THREAD_NAME = "thread.name";
   public static final String JFR_COMPILATION = "JfrCompilation";
 
+  private static final FieldSchema SCHEMA = FieldSchema.of(SIMPLE_CLASS_NAME);
+  private static final FieldSchema.Field METHOD_FIELD = SCHEMA.field(METHOD);
+  private static final FieldSchema.Field EVENT_THREAD_FIELD = SCHEMA.field(EVENT_THREAD);
+
   @Override
   public List<Event> apply(RecordedEvent event) {
     long timestamp = event.getStartTime().toEpochMilli();
     Duration duration = event.getDuration();
     Attributes attr = new Attributes();
-    if (hasField(event, METHOD, SIMPLE_CLASS_NAME)) {
+    FieldSchema.Fields fields = SCHEMA.resolve(event);
+    if (fields.has(METHOD_FIELD)) {
       attr.put(DESC, MethodSupport.describeMethod(event.getValue(METHOD)));
     }
     attr.put(DURATION, duration.toMillis());
     attr.put(SUCCEEDED, Workarounds.getSucceeded(event));
     RecordedThread threadId = null;
-    if (hasField(event, EVENT_THREAD, SIMPLE_CLASS_NAME)) {
+    if (fields.has(EVENT_THREAD_FIELD)) {
       threadId = event.getThread(EVENT_THREAD);
     }
     attr.put(THREAD_NAME, threadId == null ? null : threadId.getJavaName());
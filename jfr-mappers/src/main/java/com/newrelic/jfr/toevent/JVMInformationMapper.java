@@ -7,8 +7,7 @@
 
 package com.newrelic.jfr.toevent;
 
-import static com.newrelic.jfr.RecordedObjectValidators.*;
-
+import com.newrelic.jfr.FieldSchema;
 import com.newrelic.telemetry.Attributes;
 import com.newrelic.telemetry.events.Event;
 import java.util.Collections;
@@ -38,6 +37,11 @@ public class JVMInformationMapper implements EventToEvent {
   public static final String JVM_VERSION = "jvmVersion";
   public static final String JFR_JVM_INFORMATION = "JfrJVMInformation";
 
+  private static final FieldSchema SCHEMA = FieldSchema.of(SIMPLE_CLASS_NAME);
+  private static final FieldSchema.Field JVM_START_TIME_FIELD = SCHEMA.field(JVM_START_TIME);
+  private static final FieldSchema.Field JVM_ARGUMENTS_FIELD = SCHEMA.field(JVM_ARGUMENTS);
+  private static final FieldSchema.Field JVM_VERSION_FIELD = SCHEMA.field(JVM_VERSION);
+
   @Override
   public String getEventName() {
     return EVENT_NAME;
@@ -48,13 +52,14 @@ public class JVMInformationMapper implements EventToEvent {
 
     long timestamp = event.getStartTime().toEpochMilli();
     Attributes attr = new Attributes();
-    if (hasField(event, JVM_START_TIME, SIMPLE_CLASS_NAME)) {
+    FieldSchema.Fields fields = SCHEMA.resolve(event);
+    if (fields.has(JVM_START_TIME_FIELD)) {
       attr.put(JVM_START_TIME, event.getInstant(JVM_START_TIME).toEpochMilli());
     }
-    if (hasField(event, JVM_ARGUMENTS, SIMPLE_CLASS_NAME)) {
+    if (fields.has(JVM_ARGUMENTS_FIELD)) {
       attr.put(JVM_ARGUMENTS, event.getString(JVM_ARGUMENTS));
     }
-    if (hasField(event, JVM_VERSION, SIMPLE_CLASS_NAME)) {
+    if (fields.has(JVM_VERSION_FIELD)) {
       attr.put(JVM_VERSION, event.getString(JVM_VERSION));
     }
     return Collections.singletonList(new Event(JFR_JVM_INFORMATION, attr, timestamp));
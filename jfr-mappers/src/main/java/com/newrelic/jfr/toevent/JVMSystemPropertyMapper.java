@@ -7,8 +7,7 @@
 
 package com.newrelic.jfr.toevent;
 
-import static com.newrelic.jfr.RecordedObjectValidators.hasField;
-
+import com.newrelic.jfr.FieldSchema;
 import com.newrelic.telemetry.Attributes;
 import com.newrelic.telemetry.events.Event;
 import java.util.Collections;
@@ -30,6 +29,10 @@ public class JVMSystemPropertyMapper implements EventToEvent {
   public static final String VALUE = "value";
   public static final String JFR_JVM_INFORMATION = "JfrJVMInformation";
 
+  private static final FieldSchema SCHEMA = FieldSchema.of(SIMPLE_CLASS_NAME);
+  private static final FieldSchema.Field KEY_FIELD = SCHEMA.field(KEY);
+  private static final FieldSchema.Field VALUE_FIELD = SCHEMA.field(VALUE);
+
   private final AttributeValueSplitter valueSplitter;
 
   public JVMSystemPropertyMapper(AttributeValueSplitter valueSplitter) {
@@ -46,10 +49,11 @@ public class JVMSystemPropertyMapper implements EventToEvent {
     long timestamp = event.getStartTime().toEpochMilli();
     Attributes attr = new Attributes();
 
-    if (hasField(event, KEY, SIMPLE_CLASS_NAME)) {
+    FieldSchema.Fields fields = SCHEMA.resolve(event);
+    if (fields.has(KEY_FIELD)) {
       attr.put(JVM_PROPERTY, event.getString(KEY));
     }
-    if (hasField(event, VALUE, SIMPLE_CLASS_NAME)) {
+    if (fields.has(VALUE_FIELD)) {
       attr.put(JVM_PROPERTY_VALUE, "obfuscated");
     }
     return Collections.singletonList(new Event(JFR_JVM_INFORMATION, attr, timestamp));
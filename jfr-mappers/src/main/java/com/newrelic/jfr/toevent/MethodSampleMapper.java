@@ -7,8 +7,8 @@
 
 package com.newrelic.jfr.toevent;
 
-import static com.newrelic.jfr.RecordedObjectValidators.hasField;
-
+import com.newrelic.jfr.EventContext;
+import com.newrelic.jfr.FieldSchema;
 import com.newrelic.jfr.MethodSupport;
 import com.newrelic.telemetry.Attributes;
 import com.newrelic.telemetry.events.Event;
@@ -16,7 +16,6 @@ import java.util.Collections;
 import java.util.List;
 import jdk.jfr.consumer.RecordedEvent;
 import jdk.jfr.consumer.RecordedStackTrace;
-import jdk.jfr.consumer.RecordedThread;
 
 // Need to handle both jdk.ExecutionSample and jdk.NativeMethodSample...
 
@@ -44,6 +43,9 @@ public class MethodSampleMapper implements EventToEvent {
   public static final String STACK_TRACE = "stackTrace";
   public static final String JFR_METHOD_SAMPLE = "JfrMethodSample";
 
+  private static final FieldSchema SCHEMA = FieldSchema.of(SIMPLE_CLASS_NAME);
+  private static final FieldSchema.Field STATE_FIELD = SCHEMA.field(STATE);
+
   private final String eventName;
 
   private MethodSampleMapper(final String eventName) {
@@ -60,6 +62,12 @@ public class MethodSampleMapper implements EventToEvent {
 
   @Override
   public List<Event> apply(RecordedEvent ev) {
+    return apply(new EventContext(ev));
+  }
+
+  @Override
+  public List<Event> apply(EventContext context) {
+    RecordedEvent ev = context.getEvent();
     RecordedStackTrace trace = ev.getStackTrace();
     if (trace == null) {
       return Collections.emptyList();
@@ -67,15 +75,12 @@ public class MethodSampleMapper implements EventToEvent {
 
     long timestamp = ev.getStartTime().toEpochMilli();
     Attributes attr = new Attributes();
-    RecordedThread sampledThread = null;
-    if (hasField(ev, SAMPLED_THREAD, SIMPLE_CLASS_NAME)) {
-      sampledThread = ev.getThread(SAMPLED_THREAD);
-    }
-    attr.put(THREAD_NAME, sampledThread == null ? null : sampledThread.getJavaName());
-    if (hasField(ev, STATE, SIMPLE_CLASS_NAME)) {
+    FieldSchema.Fields fields = SCHEMA.resolve(ev);
+    attr.put(THREAD_NAME, context.getSampledThreadName());
+    if (fields.has(STATE_FIELD)) {
       attr.put(THREAD_STATE, ev.getString(STATE));
     }
-    attr.put(STACK_TRACE, MethodSupport.serialize(ev.getStackTrace()));
+    attr.put(STACK_TRACE, MethodSupport.serialize(trace));
     return Collections.singletonList(new Event(JFR_METHOD_SAMPLE, attr, timestamp));
   }
 
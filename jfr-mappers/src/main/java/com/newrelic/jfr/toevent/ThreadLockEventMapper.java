@@ -7,9 +7,9 @@
 
 package com.newrelic.jfr.toevent;
 
-import static com.newrelic.jfr.RecordedObjectValidators.hasField;
-
+import com.newrelic.jfr.FieldSchema;
 import com.newrelic.jfr.MethodSupport;
+import com.newrelic.jfr.StackTraceDictionary;
 import com.newrelic.telemetry.Attributes;
 import com.newrelic.telemetry.events.Event;
 import java.time.Duration;
@@ -31,24 +31,48 @@ public class ThreadLockEventMapper implements EventToEvent {
   public static final String STACK_TRACE = "stackTrace";
   public static final String JFR_JAVA_MONITOR_WAIT = "JfrJavaMonitorWait";
 
+  private static final FieldSchema SCHEMA = FieldSchema.of(SIMPLE_CLASS_NAME);
+  private static final FieldSchema.Field EVENT_THREAD_FIELD = SCHEMA.field(EVENT_THREAD);
+  private static final FieldSchema.Field MONITOR_CLASS_FIELD = SCHEMA.field(MONITOR_CLASS);
+
+  private final StackTraceDictionary stackTraces;
+
+  public ThreadLockEventMapper() {
+    this(null);
+  }
+
+  /**
+   * Create a mapper.
+   *
+   * @param stackTraces the dictionary to send stack traces through, or null to attach the whole
+   *     stack trace to each event
+   */
+  public ThreadLockEventMapper(StackTraceDictionary stackTraces) {
+    this.stackTraces = stackTraces;
+  }
+
   @Override
   public List<Event> apply(RecordedEvent ev) {
     Duration duration = ev.getDuration();
     if (duration.toMillis() > 20) {
       long timestamp = ev.getStartTime().toEpochMilli();
       Attributes attr = new Attributes();
-      if (hasField(ev, EVENT_THREAD, SIMPLE_CLASS_NAME)) {
+      FieldSchema.Fields fields = SCHEMA.resolve(ev);
+      if (fields.has(EVENT_THREAD_FIELD)) {
         attr.put(THREAD_NAME, ev.getThread(EVENT_THREAD).getJavaName());
       }
-      if (hasField(ev, MONITOR_CLASS, SIMPLE_CLASS_NAME)) {
+      if (fields.has(MONITOR_CLASS_FIELD)) {
         attr.put(CLASS, ev.getClass(MONITOR_CLASS).getName());
       }
       attr.put(DURATION, duration.toMillis());
       RecordedThread eventThread = null;
-      if (hasField(ev, EVENT_THREAD, SIMPLE_CLASS_NAME)) {
+      if (fields.has(EVENT_THREAD_FIELD)) {
         eventThread = ev.getThread(EVENT_THREAD);
       }
       attr.put(THREAD_NAME, eventThread == null ? null : eventThread.getJavaName());
+      if (stackTraces != null) {
+        return stackTraces.toEvents(JFR_JAVA_MONITOR_WAIT, attr, timestamp, ev.getStackTrace());
+      }
       attr.put(STACK_TRACE, MethodSupport.serialize(ev.getStackTrace()));
       return Collections.singletonList(new Event(JFR_JAVA_MONITOR_WAIT, attr, timestamp));
     }
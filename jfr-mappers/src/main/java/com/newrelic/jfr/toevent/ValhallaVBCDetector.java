@@ -1,10 +1,11 @@
 package com.newrelic.jfr.toevent;
 
-import static com.newrelic.jfr.RecordedObjectValidators.hasField;
-
+import com.newrelic.jfr.FieldSchema;
 import com.newrelic.jfr.MethodSupport;
 import com.newrelic.telemetry.Attributes;
 import com.newrelic.telemetry.events.Event;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import jdk.jfr.consumer.RecordedClass;
@@ -31,11 +32,20 @@ public class ValhallaVBCDetector implements EventToEvent {
   public static final String STACK_TRACE = "stackTrace";
   public static final String JFR_VALHALLA_VBC_SYNC = "JfrValhallaVBCSync";
 
+  private static final FieldSchema SCHEMA = FieldSchema.of(SIMPLE_CLASS_NAME);
+  private static final FieldSchema.Field EVENT_THREAD_FIELD = SCHEMA.field(EVENT_THREAD);
+  private static final FieldSchema.Field BOX_CLASS_FIELD = SCHEMA.field(BOX_CLASS);
+
   @Override
   public String getEventName() {
     return EVENT_NAME;
   }
 
+  @Override
+  public Collection<String> getEventNames() {
+    return Arrays.asList(EVENT_NAME, OLD_EVENT_NAME);
+  }
+
   @Override
   public boolean test(RecordedEvent event) {
     String name = event.getEventType().getName();
@@ -46,12 +56,13 @@ public class ValhallaVBCDetector implements EventToEvent {
   public List<Event> apply(RecordedEvent event) {
     long timestamp = event.getStartTime().toEpochMilli();
     Attributes attr = new Attributes();
+    FieldSchema.Fields fields = SCHEMA.resolve(event);
     RecordedThread eventThread = null;
-    if (hasField(event, EVENT_THREAD, SIMPLE_CLASS_NAME)) {
+    if (fields.has(EVENT_THREAD_FIELD)) {
       eventThread = event.getThread(EVENT_THREAD);
     }
     RecordedClass boxClass = null;
-    if (hasField(event, BOX_CLASS, SIMPLE_CLASS_NAME)) {
+    if (fields.has(BOX_CLASS_FIELD)) {
       boxClass = event.getClass(BOX_CLASS);
     }
     attr.put(THREAD_NAME, eventThread == null ? null : eventThread.getJavaName());
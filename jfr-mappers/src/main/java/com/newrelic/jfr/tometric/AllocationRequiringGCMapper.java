@@ -7,9 +7,8 @@
 
 package com.newrelic.jfr.tometric;
 
-import static com.newrelic.jfr.RecordedObjectValidators.*;
-
-import com.newrelic.jfr.Workarounds;
+import com.newrelic.jfr.EventContext;
+import com.newrelic.jfr.FieldSchema;
 import com.newrelic.telemetry.Attributes;
 import com.newrelic.telemetry.metrics.Gauge;
 import com.newrelic.telemetry.metrics.Metric;
@@ -26,14 +25,24 @@ public class AllocationRequiringGCMapper implements EventToMetric {
   public static final String JFR_ALLOCATION_REQUIRING_GC_ALLOCATION_SIZE =
       "jfr.AllocationRequiringGC.allocationSize";
 
+  private static final FieldSchema SCHEMA = FieldSchema.of(SIMPLE_CLASS_NAME);
+  private static final FieldSchema.Field SIZE_FIELD = SCHEMA.field(SIZE);
+
   @Override
   public List<? extends Metric> apply(RecordedEvent ev) {
+    return apply(new EventContext(ev));
+  }
+
+  @Override
+  public List<? extends Metric> apply(EventContext context) {
+    RecordedEvent ev = context.getEvent();
     Attributes attr = new Attributes();
     long timestamp = ev.getStartTime().toEpochMilli();
-    Optional<String> threadName = Workarounds.getThreadName(ev);
+    Optional<String> threadName = context.getThreadName();
     threadName.ifPresent(thread -> attr.put(THREAD_NAME, thread));
+    FieldSchema.Fields fields = SCHEMA.resolve(ev);
     long gaugeValue = 0;
-    if (hasField(ev, SIZE, SIMPLE_CLASS_NAME)) {
+    if (fields.has(SIZE_FIELD)) {
       gaugeValue = ev.getLong(SIZE);
     }
     return Collections.singletonList(
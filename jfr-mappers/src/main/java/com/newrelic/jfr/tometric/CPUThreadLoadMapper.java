@@ -7,9 +7,8 @@
 
 package com.newrelic.jfr.tometric;
 
-import static com.newrelic.jfr.RecordedObjectValidators.*;
-
-import com.newrelic.jfr.Workarounds;
+import com.newrelic.jfr.EventContext;
+import com.newrelic.jfr.FieldSchema;
 import com.newrelic.telemetry.Attributes;
 import com.newrelic.telemetry.metrics.Gauge;
 import com.newrelic.telemetry.metrics.Metric;
@@ -36,19 +35,30 @@ public class CPUThreadLoadMapper implements EventToMetric {
   public static final String JFR_THREAD_CPU_LOAD_USER = "jfr.ThreadCPULoad.user";
   public static final String JFR_THREAD_CPU_LOAD_SYSTEM = "jfr.ThreadCPULoad.system";
 
+  private static final FieldSchema SCHEMA = FieldSchema.of(SIMPLE_CLASS_NAME);
+  private static final FieldSchema.Field USER_FIELD = SCHEMA.field(USER);
+  private static final FieldSchema.Field SYSTEM_FIELD = SCHEMA.field(SYSTEM);
+
   @Override
   public List<? extends Metric> apply(RecordedEvent ev) {
-    Optional<String> possibleThreadName = Workarounds.getThreadName(ev);
+    return apply(new EventContext(ev));
+  }
+
+  @Override
+  public List<? extends Metric> apply(EventContext context) {
+    RecordedEvent ev = context.getEvent();
+    Optional<String> possibleThreadName = context.getThreadName();
     if (possibleThreadName.isPresent()) {
       String threadName = possibleThreadName.get();
       long timestamp = ev.getStartTime().toEpochMilli();
       Attributes attr = new Attributes().put(THREAD_NAME, threadName);
+      FieldSchema.Fields fields = SCHEMA.resolve(ev);
       double userGaugeValue = 0;
-      if (hasField(ev, USER, SIMPLE_CLASS_NAME)) {
+      if (fields.has(USER_FIELD)) {
         userGaugeValue = ev.getDouble(USER);
       }
       double systemGaugeValue = 0;
-      if (hasField(ev, SYSTEM, SIMPLE_CLASS_NAME)) {
+      if (fields.has(SYSTEM_FIELD)) {
         systemGaugeValue = ev.getDouble(SYSTEM);
       }
       // Do we need to throttle these events somehow? Or just send everything?
@@ -7,8 +7,7 @@
 
 package com.newrelic.jfr.tometric;
 
-import static com.newrelic.jfr.RecordedObjectValidators.*;
-
+import com.newrelic.jfr.FieldSchema;
 import com.newrelic.telemetry.Attributes;
 import com.newrelic.telemetry.metrics.Gauge;
 import com.newrelic.telemetry.metrics.Metric;
@@ -25,12 +24,16 @@ public class ContextSwitchRateMapper implements EventToMetric {
   public static final String SWITCH_RATE = "switchRate";
   public static final String JFR_THREAD_CONTEXT_SWITCH_RATE = "jfr.ThreadContextSwitchRate";
 
+  private static final FieldSchema SCHEMA = FieldSchema.of(SIMPLE_CLASS_NAME);
+  private static final FieldSchema.Field SWITCH_RATE_FIELD = SCHEMA.field(SWITCH_RATE);
+
   @Override
   public List<? extends Metric> apply(RecordedEvent ev) {
     long timestamp = ev.getStartTime().toEpochMilli();
     Attributes attr = new Attributes();
+    FieldSchema.Fields fields = SCHEMA.resolve(ev);
     double gaugeValue = 0;
-    if (hasField(ev, SWITCH_RATE, SIMPLE_CLASS_NAME)) {
+    if (fields.has(SWITCH_RATE_FIELD)) {
       gaugeValue = ev.getDouble(SWITCH_RATE);
     }
     return Collections.singletonList(
@@ -9,6 +9,7 @@ package com.newrelic.jfr.tometric;
 
 import static com.newrelic.jfr.RecordedObjectValidators.*;
 
+import com.newrelic.jfr.FieldSchema;
 import com.newrelic.telemetry.Attributes;
 import com.newrelic.telemetry.metrics.Gauge;
 import com.newrelic.telemetry.metrics.Metric;
@@ -34,38 +35,54 @@ public class GCHeapSummaryMapper implements EventToMetric {
   public static final String JFR_GC_HEAP_SUMMARY_RESERVED_SIZE = "jfr.GCHeapSummary.reservedSize";
   public static final String JFR_GC_HEAP_SUMMARY_HEAP_USED = "jfr.GCHeapSummary.heapUsed";
 
+  private static final FieldSchema SCHEMA = FieldSchema.of(SIMPLE_CLASS_NAME);
+  private static final FieldSchema.Field HEAP_USED_FIELD = SCHEMA.field(HEAP_USED);
+  private static final FieldSchema.Field HEAP_SPACE_FIELD = SCHEMA.field(HEAP_SPACE);
+  private static final FieldSchema HEAP_SPACE_SCHEMA = SCHEMA.nested(HEAP_SPACE);
+  private static final FieldSchema.Field COMMITTED_SIZE_FIELD =
+      HEAP_SPACE_SCHEMA.field(COMMITTED_SIZE);
+  private static final FieldSchema.Field RESERVED_SIZE_FIELD =
+      HEAP_SPACE_SCHEMA.field(RESERVED_SIZE);
+  private static final FieldSchema.Field WHEN_FIELD = HEAP_SPACE_SCHEMA.field(WHEN);
+  private static final FieldSchema.Field START_FIELD = HEAP_SPACE_SCHEMA.field(START);
+  private static final FieldSchema.Field COMMITTED_END_FIELD =
+      HEAP_SPACE_SCHEMA.field(COMMITTED_END);
+  private static final FieldSchema.Field RESERVED_END_FIELD = HEAP_SPACE_SCHEMA.field(RESERVED_END);
+
   @Override
   public List<? extends Metric> apply(RecordedEvent ev) {
     long timestamp = ev.getStartTime().toEpochMilli();
+    FieldSchema.Fields fields = SCHEMA.resolve(ev);
     long heapUsed = 0;
-    if (hasField(ev, HEAP_USED, SIMPLE_CLASS_NAME)) {
+    if (fields.has(HEAP_USED_FIELD)) {
       heapUsed = ev.getLong(HEAP_USED);
     }
     List<Gauge> list = new ArrayList<>();
     Attributes attr = new Attributes();
     RecordedObject heapSpace = null;
-    if (hasField(ev, HEAP_SPACE, SIMPLE_CLASS_NAME)) {
+    if (fields.has(HEAP_SPACE_FIELD)) {
       heapSpace = ev.getValue(HEAP_SPACE);
     }
     if (!isRecordedObjectNull(heapSpace, SIMPLE_CLASS_NAME)) {
+      FieldSchema.Fields heapSpaceFields = HEAP_SPACE_SCHEMA.resolve(ev, heapSpace);
       long committedSize = 0;
-      if (hasField(heapSpace, COMMITTED_SIZE, SIMPLE_CLASS_NAME)) {
+      if (heapSpaceFields.has(COMMITTED_SIZE_FIELD)) {
         committedSize = heapSpace.getLong(COMMITTED_SIZE);
       }
       long reservedSize = 0;
-      if (hasField(heapSpace, RESERVED_SIZE, SIMPLE_CLASS_NAME)) {
+      if (heapSpaceFields.has(RESERVED_SIZE_FIELD)) {
         reservedSize = heapSpace.getLong(RESERVED_SIZE);
       }
-      if (hasField(heapSpace, WHEN, SIMPLE_CLASS_NAME)) {
+      if (heapSpaceFields.has(WHEN_FIELD)) {
         attr.put(WHEN, ev.getString(WHEN));
       }
-      if (hasField(heapSpace, START, SIMPLE_CLASS_NAME)) {
+      if (heapSpaceFields.has(START_FIELD)) {
         attr.put(HEAP_START, heapSpace.getLong(START));
       }
-      if (hasField(heapSpace, COMMITTED_END, SIMPLE_CLASS_NAME)) {
+      if (heapSpaceFields.has(COMMITTED_END_FIELD)) {
         attr.put(COMMITTED_END, heapSpace.getLong(COMMITTED_END));
       }
-      if (hasField(heapSpace, RESERVED_END, SIMPLE_CLASS_NAME)) {
+      if (heapSpaceFields.has(RESERVED_END_FIELD)) {
         attr.put(RESERVED_END, heapSpace.getLong(RESERVED_END));
       }
       list.add(new Gauge(JFR_GC_HEAP_SUMMARY_HEAP_COMMITTED_SIZE, committedSize, timestamp, attr));
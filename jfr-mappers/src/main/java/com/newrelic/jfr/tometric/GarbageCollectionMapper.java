@@ -7,8 +7,7 @@
 
 package com.newrelic.jfr.tometric;
 
-import static com.newrelic.jfr.RecordedObjectValidators.*;
-
+import com.newrelic.jfr.FieldSchema;
 import com.newrelic.telemetry.Attributes;
 import com.newrelic.telemetry.metrics.Gauge;
 import com.newrelic.telemetry.metrics.Metric;
@@ -25,18 +24,24 @@ public class GarbageCollectionMapper implements EventToMetric {
   public static final String JFR_GARBAGE_COLLECTION_LONGEST_PAUSE =
       "jfr.GarbageCollection.longestPause";
 
+  private static final FieldSchema SCHEMA = FieldSchema.of(SIMPLE_CLASS_NAME);
+  private static final FieldSchema.Field LONGEST_PAUSE_FIELD = SCHEMA.field(LONGEST_PAUSE);
+  private static final FieldSchema.Field NAME_FIELD = SCHEMA.field(NAME);
+  private static final FieldSchema.Field CAUSE_FIELD = SCHEMA.field(CAUSE);
+
   @Override
   public List<? extends Metric> apply(RecordedEvent ev) {
     long timestamp = ev.getStartTime().toEpochMilli();
+    FieldSchema.Fields fields = SCHEMA.resolve(ev);
     double longestPause = 0;
-    if (hasField(ev, LONGEST_PAUSE, SIMPLE_CLASS_NAME)) {
+    if (fields.has(LONGEST_PAUSE_FIELD)) {
       longestPause = ev.getDouble(LONGEST_PAUSE);
     }
     Attributes attr = new Attributes();
-    if (hasField(ev, NAME, SIMPLE_CLASS_NAME)) {
+    if (fields.has(NAME_FIELD)) {
       attr.put(NAME, ev.getString(NAME));
     }
-    if (hasField(ev, CAUSE, SIMPLE_CLASS_NAME)) {
+    if (fields.has(CAUSE_FIELD)) {
       attr.put(CAUSE, ev.getString(CAUSE));
     }
     return Collections.singletonList(
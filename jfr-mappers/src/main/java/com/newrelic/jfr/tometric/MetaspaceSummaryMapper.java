@@ -9,6 +9,7 @@ package com.newrelic.jfr.tometric;
 
 import static com.newrelic.jfr.RecordedObjectValidators.*;
 
+import com.newrelic.jfr.FieldSchema;
 import com.newrelic.telemetry.Attributes;
 import com.newrelic.telemetry.metrics.Gauge;
 import com.newrelic.telemetry.metrics.Metric;
@@ -32,45 +33,62 @@ public class MetaspaceSummaryMapper implements EventToMetric {
   public static final String RESERVED = "reserved";
   public static final String DOT_DELIMITER = ".";
 
+  private static final FieldSchema SCHEMA = FieldSchema.of(SIMPLE_CLASS_NAME);
+  private static final FieldSchema.Field METASPACE_FIELD = SCHEMA.field(METASPACE);
+  private static final FieldSchema.Field DATA_SPACE_FIELD = SCHEMA.field(DATA_SPACE);
+  private static final FieldSchema.Field CLASS_SPACE_FIELD = SCHEMA.field(CLASS_SPACE);
+  private static final FieldSchema.Field WHEN_FIELD = SCHEMA.field(WHEN);
+  private static final SpaceSchema METASPACE_SCHEMA = new SpaceSchema(SCHEMA.nested(METASPACE));
+  private static final SpaceSchema DATA_SPACE_SCHEMA = new SpaceSchema(SCHEMA.nested(DATA_SPACE));
+  private static final SpaceSchema CLASS_SPACE_SCHEMA = new SpaceSchema(SCHEMA.nested(CLASS_SPACE));
+
   @Override
   public List<? extends Metric> apply(RecordedEvent ev) {
     long timestamp = ev.getStartTime().toEpochMilli();
+    FieldSchema.Fields fields = SCHEMA.resolve(ev);
     RecordedObject metaspace = null;
-    if (hasField(ev, METASPACE, SIMPLE_CLASS_NAME)) {
+    if (fields.has(METASPACE_FIELD)) {
       metaspace = ev.getValue(METASPACE);
     }
     RecordedObject dataSpace = null;
-    if (hasField(ev, DATA_SPACE, SIMPLE_CLASS_NAME)) {
+    if (fields.has(DATA_SPACE_FIELD)) {
       dataSpace = ev.getValue(DATA_SPACE);
     }
     RecordedObject classSpace = null;
-    if (hasField(ev, CLASS_SPACE, SIMPLE_CLASS_NAME)) {
+    if (fields.has(CLASS_SPACE_FIELD)) {
       classSpace = ev.getValue(CLASS_SPACE);
     }
     Attributes attr = new Attributes();
-    if (hasField(ev, WHEN, SIMPLE_CLASS_NAME)) {
+    if (fields.has(WHEN_FIELD)) {
       attr.put(WHEN, ev.getString(WHEN));
     }
     List<Metric> metrics = new ArrayList<>(9);
-    metrics.addAll(generateMetric(METASPACE, metaspace, attr, timestamp));
-    metrics.addAll(generateMetric(DATA_SPACE, dataSpace, attr, timestamp));
-    metrics.addAll(generateMetric(CLASS_SPACE, classSpace, attr, timestamp));
+    metrics.addAll(generateMetric(METASPACE, METASPACE_SCHEMA, ev, metaspace, attr, timestamp));
+    metrics.addAll(generateMetric(DATA_SPACE, DATA_SPACE_SCHEMA, ev, dataSpace, attr, timestamp));
+    metrics.addAll(
+        generateMetric(CLASS_SPACE, CLASS_SPACE_SCHEMA, ev, classSpace, attr, timestamp));
     return metrics;
   }
 
   private List<? extends Metric> generateMetric(
-      String name, RecordedObject recordedObject, Attributes attr, long timestamp) {
+      String name,
+      SpaceSchema spaceSchema,
+      RecordedEvent ev,
+      RecordedObject recordedObject,
+      Attributes attr,
+      long timestamp) {
     if (!isRecordedObjectNull(recordedObject, SIMPLE_CLASS_NAME)) {
+      FieldSchema.Fields fields = spaceSchema.schema.resolve(ev, recordedObject);
       double committedGaugeValue = 0;
-      if (hasField(recordedObject, COMMITTED, SIMPLE_CLASS_NAME)) {
+      if (fields.has(spaceSchema.committed)) {
         committedGaugeValue = recordedObject.getDouble(COMMITTED);
       }
       double usedGaugeValue = 0;
-      if (hasField(recordedObject, USED, SIMPLE_CLASS_NAME)) {
+      if (fields.has(spaceSchema.used)) {
         usedGaugeValue = recordedObject.getDouble(USED);
       }
       double reservedGaugeValue = 0;
-      if (hasField(recordedObject, RESERVED, SIMPLE_CLASS_NAME)) {
+      if (fields.has(spaceSchema.reserved)) {
         reservedGaugeValue = recordedObject.getDouble(RESERVED);
       }
 
@@ -95,4 +113,19 @@ public class MetaspaceSummaryMapper implements EventToMetric {
   public String getEventName() {
     return EVENT_NAME;
   }
+
+  /** The fields of the {@code jdk.types.MetaspaceSizes} held by one of the space fields. */
+  private static final class SpaceSchema {
+    private final FieldSchema schema;
+    private final FieldSchema.Field committed;
+    private final FieldSchema.Field used;
+    private final FieldSchema.Field reserved;
+
+    private SpaceSchema(FieldSchema schema) {
+      this.schema = schema;
+      this.committed = schema.field(COMMITTED);
+      this.used = schema.field(USED);
+      this.reserved = schema.field(RESERVED);
+    }
+  }
 }
@@ -7,8 +7,7 @@
 
 package com.newrelic.jfr.tometric;
 
-import static com.newrelic.jfr.RecordedObjectValidators.*;
-
+import com.newrelic.jfr.FieldSchema;
 import com.newrelic.telemetry.Attributes;
 import com.newrelic.telemetry.metrics.Gauge;
 import com.newrelic.telemetry.metrics.Metric;
@@ -29,20 +28,26 @@ public class OverallCPULoadMapper implements EventToMetric {
   public static final String JFR_CPU_LOAD_JVM_SYSTEM = "jfr.CPULoad.jvmSystem";
   public static final String JFR_CPU_LOAD_MACHINE_TOTAL = "jfr.CPULoad.machineTotal";
 
+  private static final FieldSchema SCHEMA = FieldSchema.of(SIMPLE_CLASS_NAME);
+  private static final FieldSchema.Field JVM_USER_FIELD = SCHEMA.field(JVM_USER);
+  private static final FieldSchema.Field JVM_SYSTEM_FIELD = SCHEMA.field(JVM_SYSTEM);
+  private static final FieldSchema.Field MACHINE_TOTAL_FIELD = SCHEMA.field(MACHINE_TOTAL);
+
   @Override
   public List<? extends Metric> apply(RecordedEvent ev) {
     long timestamp = ev.getStartTime().toEpochMilli();
     Attributes attr = new Attributes();
+    FieldSchema.Fields fields = SCHEMA.resolve(ev);
     double jvmUserGaugeValue = 0;
-    if (hasField(ev, JVM_USER, SIMPLE_CLASS_NAME)) {
+    if (fields.has(JVM_USER_FIELD)) {
       jvmUserGaugeValue = ev.getDouble(JVM_USER);
     }
     double jvmSystemGaugeValue = 0;
-    if (hasField(ev, JVM_SYSTEM, SIMPLE_CLASS_NAME)) {
+    if (fields.has(JVM_SYSTEM_FIELD)) {
       jvmSystemGaugeValue = ev.getDouble(JVM_SYSTEM);
     }
     double machineTotalGaugeValue = 0;
-    if (hasField(ev, MACHINE_TOTAL, SIMPLE_CLASS_NAME)) {
+    if (fields.has(MACHINE_TOTAL_FIELD)) {
       machineTotalGaugeValue = ev.getDouble(MACHINE_TOTAL);
     }
     return Arrays.asList(
@@ -7,8 +7,7 @@
 
 package com.newrelic.jfr.tometric;
 
-import static com.newrelic.jfr.RecordedObjectValidators.*;
-
+import com.newrelic.jfr.FieldSchema;
 import com.newrelic.telemetry.Attributes;
 import com.newrelic.telemetry.metrics.Gauge;
 import com.newrelic.telemetry.metrics.Metric;
@@ -28,15 +27,20 @@ public class ThreadAllocationStatisticsMapper implements EventToMetric {
   public static final String JFR_THREAD_ALLOCATION_STATISTICS_ALLOCATED =
       "jfr.ThreadAllocationStatistics.allocated";
 
+  private static final FieldSchema SCHEMA = FieldSchema.of(SIMPLE_CLASS_NAME);
+  private static final FieldSchema.Field ALLOCATED_FIELD = SCHEMA.field(ALLOCATED);
+  private static final FieldSchema.Field THREAD_FIELD = SCHEMA.field(THREAD);
+
   @Override
   public List<? extends Metric> apply(RecordedEvent ev) {
     long time = ev.getStartTime().toEpochMilli();
+    FieldSchema.Fields fields = SCHEMA.resolve(ev);
     double allocated = 0;
-    if (hasField(ev, ALLOCATED, SIMPLE_CLASS_NAME)) {
+    if (fields.has(ALLOCATED_FIELD)) {
       allocated = ev.getDouble(ALLOCATED);
     }
     RecordedThread t = null;
-    if (hasField(ev, THREAD, SIMPLE_CLASS_NAME)) {
+    if (fields.has(THREAD_FIELD)) {
       t = ev.getValue(THREAD);
     }
     Attributes attr = new Attributes();
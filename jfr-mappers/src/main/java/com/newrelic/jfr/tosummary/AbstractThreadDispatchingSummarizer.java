@@ -7,8 +7,8 @@
 
 package com.newrelic.jfr.tosummary;
 
+import com.newrelic.jfr.EventContext;
 import com.newrelic.jfr.ThreadNameNormalizer;
-import com.newrelic.jfr.Workarounds;
 import com.newrelic.telemetry.metrics.Summary;
 import java.util.HashMap;
 import java.util.Map;
@@ -41,7 +41,13 @@ public abstract class AbstractThreadDispatchingSummarizer implements EventToSumm
 
   @Override
   public void accept(RecordedEvent ev) {
-    final Optional<String> possibleGroupedThreadName = groupedName(ev);
+    accept(new EventContext(ev));
+  }
+
+  @Override
+  public void accept(EventContext context) {
+    RecordedEvent ev = context.getEvent();
+    final Optional<String> possibleGroupedThreadName = groupedName(context);
     possibleGroupedThreadName.ifPresent(
         groupedThreadName -> {
           if (perThread.get(groupedThreadName) == null) {
@@ -53,14 +59,16 @@ public abstract class AbstractThreadDispatchingSummarizer implements EventToSumm
         });
   }
 
-  protected Optional<String> groupedName(RecordedEvent ev) {
-    Optional<String> possibleThreadName = Workarounds.getThreadName(ev);
+  protected Optional<String> groupedName(EventContext context) {
+    return context.getNormalizedThreadName(nameNormalizer);
+  }
 
-    if (possibleThreadName.isPresent()) {
-      String normalizedThreadName =
-          nameNormalizer.getNormalizedThreadName(possibleThreadName.get());
-      return Optional.ofNullable(normalizedThreadName);
-    }
-    return Optional.empty();
+  /**
+   * @deprecated overrides are no longer called, override {@link #groupedName(EventContext)}
+   *     instead; will be removed in the next release
+   */
+  @Deprecated
+  protected Optional<String> groupedName(RecordedEvent ev) {
+    return groupedName(new EventContext(ev));
   }
 }
@@ -7,16 +7,22 @@
 
 package com.newrelic.jfr.tosummary;
 
+import com.newrelic.telemetry.Attributes;
+import com.newrelic.telemetry.metrics.Gauge;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Optional;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 public abstract class BaseDurationSummarizer {
 
   public static final Supplier<Long> DEFAULT_CLOCK = () -> Instant.now().toEpochMilli();
+  private static final double NANOS_PER_MILLI = 1_000_000;
   private final Supplier<Long> clock;
   protected final Optional<String> durationName;
+  // Null unless percentiles are kept, in nanoseconds
+  private final LogHistogram histogram;
   private long startTimeMs;
   protected long endTimeMs;
   protected Duration duration = Duration.ofNanos(0L);
@@ -32,10 +38,28 @@ public abstract class BaseDurationSummarizer {
   }
 
   public BaseDurationSummarizer(long startTimeMs, Supplier<Long> clock, String durationName) {
+    this(startTimeMs, clock, durationName, null);
+  }
+
+  /**
+   * @param startTimeMs the start time of the summaries
+   * @param clock the clock of the start time of the summaries after a reset
+   * @param durationName the summarized duration field, or null for the duration of the events
+   * @param histogram the histogram of the percentiles of the durations, or null to keep none
+   */
+  public BaseDurationSummarizer(
+      long startTimeMs, Supplier<Long> clock, String durationName, LogHistogram histogram) {
     this.startTimeMs = startTimeMs;
     this.endTimeMs = this.startTimeMs;
     this.clock = clock;
     this.durationName = Optional.ofNullable(durationName);
+    this.histogram = histogram;
+  }
+
+  protected void recordPercentile(Duration duration) {
+    if (histogram != null) {
+      histogram.record(duration.toNanos());
+    }
   }
 
   public void reset() {
@@ -44,6 +68,21 @@ public abstract class BaseDurationSummarizer {
     duration = Duration.ofNanos(0L);
     minDuration = Duration.ofNanos(Long.MAX_VALUE);
     maxDuration = Duration.ofNanos(Long.MIN_VALUE);
+    if (histogram != null) {
+      histogram.reset();
+    }
+  }
+
+  /**
+   * @return the percentile gauges of the durations in milliseconds, or none when percentiles aren't
+   *     kept
+   * @see LogHistogram#summarize(String, double, Attributes, long)
+   */
+  public Stream<Gauge> summarizePercentiles(String name, Attributes attr, long timestampMs) {
+    if (histogram == null) {
+      return Stream.empty();
+    }
+    return histogram.summarize(name, NANOS_PER_MILLI, attr, timestampMs);
   }
 
   public long getStartTimeMs() {
@@ -7,10 +7,11 @@
 
 package com.newrelic.jfr.tosummary;
 
-import static com.newrelic.jfr.RecordedObjectValidators.*;
 import static com.newrelic.jfr.tosummary.BaseDurationSummarizer.DEFAULT_CLOCK;
 
+import com.newrelic.jfr.FieldSchema;
 import com.newrelic.telemetry.Attributes;
+import com.newrelic.telemetry.metrics.Gauge;
 import com.newrelic.telemetry.metrics.Summary;
 import java.time.Instant;
 import java.util.Collections;
@@ -48,6 +49,9 @@ public final class BasicGarbageCollectionSummarizer implements EventToSummary {
   public static final String ZGC_MINOR = "ZGC Minor";
   public static final String SHENANDOAH = "Shenandoah";
 
+  private static final FieldSchema SCHEMA = FieldSchema.of(SIMPLE_CLASS_NAME);
+  private static final FieldSchema.Field NAME_FIELD = SCHEMA.field(NAME);
+
   private static final Logger logger =
       LoggerFactory.getLogger(BasicGarbageCollectionSummarizer.class);
   private final SimpleDurationSummarizer minorGcDurationSummarizer;
@@ -93,8 +97,8 @@ public final class BasicGarbageCollectionSummarizer implements EventToSummary {
   public BasicGarbageCollectionSummarizer(long startTimeMs) {
     this(
         startTimeMs,
-        new SimpleDurationSummarizer(startTimeMs, DEFAULT_CLOCK, DURATION),
-        new SimpleDurationSummarizer(startTimeMs, DEFAULT_CLOCK, DURATION));
+        new SimpleDurationSummarizer(startTimeMs, DEFAULT_CLOCK, DURATION, new LogHistogram()),
+        new SimpleDurationSummarizer(startTimeMs, DEFAULT_CLOCK, DURATION, new LogHistogram()));
   }
 
   public BasicGarbageCollectionSummarizer(
@@ -113,8 +117,9 @@ public final class BasicGarbageCollectionSummarizer implements EventToSummary {
 
   @Override
   public void accept(RecordedEvent ev) {
+    FieldSchema.Fields fields = SCHEMA.resolve(ev);
     String name = null;
-    if (hasField(ev, NAME, SIMPLE_CLASS_NAME)) {
+    if (fields.has(NAME_FIELD)) {
       name = ev.getValue(NAME);
     }
     if (name != null) {
@@ -159,6 +164,16 @@ public final class BasicGarbageCollectionSummarizer implements EventToSummary {
     return Stream.of(minorGcDuration, majorGcDuration);
   }
 
+  @Override
+  public Stream<Gauge> summarizeGauges() {
+    Attributes attr = new Attributes();
+    return Stream.concat(
+        minorGcDurationSummarizer.summarizePercentiles(
+            JFR_GARBAGE_COLLECTION_MINOR_DURATION, attr, minorGcEndTimeMs),
+        majorGcDurationSummarizer.summarizePercentiles(
+            JFR_GARBAGE_COLLECTION_MAJOR_DURATION, attr, majorGcEndTimeMs));
+  }
+
   public void reset() {
     startTimeMs = Instant.now().toEpochMilli();
     minorGcEndTimeMs = 0L;
@@ -7,7 +7,11 @@
 
 package com.newrelic.jfr.tosummary;
 
+import com.newrelic.jfr.EventContext;
+import com.newrelic.telemetry.metrics.Gauge;
 import com.newrelic.telemetry.metrics.Summary;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
@@ -22,6 +26,16 @@ public interface EventToSummary extends Consumer<RecordedEvent>, Predicate<Recor
    */
   String getEventName();
 
+  /**
+   * JFR event names accepted by {@link #test(RecordedEvent)}. Readers may skip decoding events with
+   * any other name.
+   *
+   * @return the JFR event names, by default only {@link #getEventName()}
+   */
+  default Collection<String> getEventNames() {
+    return Collections.singleton(getEventName());
+  }
+
   /**
    * Aggregates JFR Events into a collection based on thread or class name
    *
@@ -29,9 +43,23 @@ public interface EventToSummary extends Consumer<RecordedEvent>, Predicate<Recor
    */
   void accept(RecordedEvent ev);
 
+  /**
+   * Aggregates a JFR Event, reusing the values derived from it that are shared with the other
+   * mappers of the same event, such as its thread name. Summarizers that need those values should
+   * override this.
+   *
+   * @param context the context of the event to aggregate
+   */
+  default void accept(EventContext context) {
+    accept(context.getEvent());
+  }
+
   /**
    * Test to see if this event is interesting to this summarizer
    *
+   * <p>The result must only depend on the event's type, as consumers may cache it per type, and
+   * must be false for events not named by {@link #getEventNames()}.
+   *
    * @param event - event instance to see if we're interested
    * @return true if event is interesting, false otherwise
    */
@@ -46,6 +74,16 @@ public interface EventToSummary extends Consumer<RecordedEvent>, Predicate<Recor
    */
   Stream<Summary> summarize();
 
+  /**
+   * Gauges of the aggregated JFR Events, such as the percentiles of their durations. Consumers call
+   * this before {@link #summarize()}, which may reset the summarizer.
+   *
+   * @return Gauge metrics for JFR Events, by default none
+   */
+  default Stream<Gauge> summarizeGauges() {
+    return Stream.empty();
+  }
+
   /** Clears the summary information */
   void reset();
 }
@@ -10,6 +10,7 @@ package com.newrelic.jfr.tosummary;
 import static com.newrelic.jfr.tosummary.BaseDurationSummarizer.DEFAULT_CLOCK;
 
 import com.newrelic.telemetry.Attributes;
+import com.newrelic.telemetry.metrics.Gauge;
 import com.newrelic.telemetry.metrics.Summary;
 import java.time.Instant;
 import java.util.stream.Stream;
@@ -31,7 +32,9 @@ public final class G1GarbageCollectionSummarizer implements EventToSummary {
   }
 
   public G1GarbageCollectionSummarizer(long startTimeMs) {
-    this(startTimeMs, new SimpleDurationSummarizer(startTimeMs, DEFAULT_CLOCK, "duration"));
+    this(
+        startTimeMs,
+        new SimpleDurationSummarizer(startTimeMs, DEFAULT_CLOCK, "duration", new LogHistogram()));
   }
 
   public G1GarbageCollectionSummarizer(long startTimeMs, SimpleDurationSummarizer summarizer) {
@@ -67,6 +70,12 @@ public final class G1GarbageCollectionSummarizer implements EventToSummary {
     return Stream.of(out);
   }
 
+  @Override
+  public Stream<Gauge> summarizeGauges() {
+    return summarizer.summarizePercentiles(
+        JFR_G1_GARBAGE_COLLECTION_DURATION, new Attributes(), endTimeMs);
+  }
+
   public void reset() {
     startTimeMs = Instant.now().toEpochMilli();
     endTimeMs = 0L;
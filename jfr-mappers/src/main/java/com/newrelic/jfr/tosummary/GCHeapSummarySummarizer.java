@@ -7,10 +7,11 @@
 
 package com.newrelic.jfr.tosummary;
 
-import static com.newrelic.jfr.RecordedObjectValidators.*;
 import static com.newrelic.jfr.tosummary.BaseDurationSummarizer.DEFAULT_CLOCK;
 
+import com.newrelic.jfr.FieldSchema;
 import com.newrelic.telemetry.Attributes;
+import com.newrelic.telemetry.metrics.Gauge;
 import com.newrelic.telemetry.metrics.Summary;
 import java.time.Instant;
 import java.util.HashMap;
@@ -29,6 +30,11 @@ public final class GCHeapSummarySummarizer implements EventToSummary {
   public static final String AFTER = "After GC";
   public static final String GC_ID = "gcId";
   public static final String WHEN = "when";
+  public static final String JFR_GARBAGE_COLLECTION_DURATION = "jfr.GarbageCollection.duration";
+
+  private static final FieldSchema SCHEMA = FieldSchema.of(SIMPLE_CLASS_NAME);
+  private static final FieldSchema.Field WHEN_FIELD = SCHEMA.field(WHEN);
+  private static final FieldSchema.Field GC_ID_FIELD = SCHEMA.field(GC_ID);
 
   private final Map<Long, RecordedEvent> awaitingPairs = new HashMap<>();
 
@@ -42,7 +48,9 @@ public final class GCHeapSummarySummarizer implements EventToSummary {
   }
 
   public GCHeapSummarySummarizer(long startTimeMs) {
-    this(startTimeMs, new PairSummarizer(startTimeMs, DEFAULT_CLOCK, "duration"));
+    this(
+        startTimeMs,
+        new PairSummarizer(startTimeMs, DEFAULT_CLOCK, "duration", new LogHistogram()));
   }
 
   public GCHeapSummarySummarizer(long startTimeMs, PairSummarizer summarizer) {
@@ -58,8 +66,9 @@ public final class GCHeapSummarySummarizer implements EventToSummary {
   @Override
   public void accept(RecordedEvent ev) {
     endTimeMs = ev.getStartTime().toEpochMilli();
+    FieldSchema.Fields fields = SCHEMA.resolve(ev);
     String when = null;
-    if (hasField(ev, WHEN, SIMPLE_CLASS_NAME)) {
+    if (fields.has(WHEN_FIELD)) {
       when = ev.getString(WHEN);
     }
     if (when != null) {
@@ -69,7 +78,7 @@ public final class GCHeapSummarySummarizer implements EventToSummary {
     }
     count = count + 1;
     long gcId = 0;
-    if (hasField(ev, GC_ID, SIMPLE_CLASS_NAME)) {
+    if (fields.has(GC_ID_FIELD)) {
       gcId = ev.getLong(GC_ID);
     }
     RecordedEvent pair = awaitingPairs.get(gcId);
@@ -90,7 +99,7 @@ public final class GCHeapSummarySummarizer implements EventToSummary {
     Attributes attr = new Attributes();
     Summary out =
         new Summary(
-            "jfr.GarbageCollection.duration",
+            JFR_GARBAGE_COLLECTION_DURATION,
             count,
             summarizer.getDurationMillis(),
             summarizer.getMinDurationMillis(),
@@ -102,6 +111,12 @@ public final class GCHeapSummarySummarizer implements EventToSummary {
     return Stream.of(out);
   }
 
+  @Override
+  public Stream<Gauge> summarizeGauges() {
+    return summarizer.summarizePercentiles(
+        JFR_GARBAGE_COLLECTION_DURATION, new Attributes(), endTimeMs);
+  }
+
   @Override
   public void reset() {
     startTimeMs = Instant.now().toEpochMilli();
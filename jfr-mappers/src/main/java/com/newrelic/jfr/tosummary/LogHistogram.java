@@ -0,0 +1,133 @@
+package com.newrelic.jfr.tosummary;
+
+import com.newrelic.telemetry.Attributes;
+import com.newrelic.telemetry.metrics.Gauge;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+/**
+ * A histogram of non-negative longs in logarithmic buckets, to estimate percentiles. Each power of
+ * two is split into 32 buckets, so a percentile is off by at most 1/64 of its value, and values
+ * under 32 are exact. The buckets are a fixed array of counts allocated with the histogram:
+ * recording a value allocates nothing, and histograms merge by adding their counts.
+ *
+ * <p>Percentiles are sent as a {@code <name>.percentiles} gauge per percentile, with the percentile
+ * in {@code percentile}, e.g. 99.9.
+ */
+public final class LogHistogram {
+  public static final String PERCENTILES = ".percentiles";
+  public static final String PERCENTILE = "percentile";
+  private static final double[] DEFAULT_PERCENTILES = {50, 90, 99, 99.9};
+
+  private static final int SUB_BUCKET_BITS = 5;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  // Values under SUB_BUCKETS have a bucket each, then every power of two up to 2^62 has SUB_BUCKETS
+  private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+  private final long[] counts = new long[BUCKETS];
+  private long count = 0;
+  private long min = Long.MAX_VALUE;
+  private long max = 0;
+
+  /**
+   * Record a value. Negative values are recorded as 0.
+   *
+   * @param value the value
+   */
+  public void record(long value) {
+    long recorded = Math.max(value, 0);
+    counts[index(recorded)]++;
+    count++;
+    min = Math.min(min, recorded);
+    max = Math.max(max, recorded);
+  }
+
+  /**
+   * Add the values of another histogram to this one.
+   *
+   * @param other the histogram to add, left unchanged
+   */
+  public void merge(LogHistogram other) {
+    for (int i = 0; i < BUCKETS; i++) {
+      counts[i] += other.counts[i];
+    }
+    count += other.count;
+    min = Math.min(min, other.min);
+    max = Math.max(max, other.max);
+  }
+
+  public void reset() {
+    Arrays.fill(counts, 0);
+    count = 0;
+    min = Long.MAX_VALUE;
+    max = 0;
+  }
+
+  public long getCount() {
+    return count;
+  }
+
+  /**
+   * Estimate the value under which a percentage of the recorded values fall.
+   *
+   * @param percentile the percentage, from 0 to 100
+   * @return the middle of the bucket of the percentile, within the recorded min and max, or 0 when
+   *     no value was recorded
+   */
+  public long getValueAtPercentile(double percentile) {
+    if (count == 0) {
+      return 0;
+    }
+    long rank = Math.max(1, (long) Math.ceil(count * percentile / 100));
+    long seen = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += counts[i];
+      if (seen >= rank) {
+        return Math.min(max, Math.max(min, middle(i)));
+      }
+    }
+    return max;
+  }
+
+  /**
+   * Create the percentile gauges of the recorded values.
+   *
+   * @param name the name of the summarized metric, suffixed with {@code .percentiles}
+   * @param unit the recorded value of a unit of the gauges, e.g. 1,000,000 for nanoseconds sent as
+   *     milliseconds
+   * @param attributes the attributes of the summarized metric, copied
+   * @param timestampMs the timestamp of the gauges
+   * @return a gauge per default percentile, or none when no value was recorded
+   */
+  public Stream<Gauge> summarize(
+      String name, double unit, Attributes attributes, long timestampMs) {
+    if (count == 0) {
+      return Stream.empty();
+    }
+    Gauge[] gauges = new Gauge[DEFAULT_PERCENTILES.length];
+    for (int i = 0; i < gauges.length; i++) {
+      double value = getValueAtPercentile(DEFAULT_PERCENTILES[i]) / unit;
+      Attributes attr = attributes.copy().put(PERCENTILE, DEFAULT_PERCENTILES[i]);
+      gauges[i] = new Gauge(name + PERCENTILES, value, timestampMs, attr);
+    }
+    return Stream.of(gauges);
+  }
+
+  static int index(long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+    int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+    int subBucket = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+    return (shift + 1) * SUB_BUCKETS + subBucket;
+  }
+
+  private static long middle(int index) {
+    if (index < SUB_BUCKETS) {
+      return index;
+    }
+    int shift = index / SUB_BUCKETS - 1;
+    long lowest = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+    return lowest + ((1L << shift) >> 1);
+  }
+}
@@ -7,14 +7,15 @@
 
 package com.newrelic.jfr.tosummary;
 
-import static com.newrelic.jfr.RecordedObjectValidators.*;
-
+import com.newrelic.jfr.FieldSchema;
 import jdk.jfr.consumer.RecordedEvent;
 
 public class LongSummarizer {
   public static final String SIMPLE_CLASS_NAME = LongSummarizer.class.getSimpleName();
 
   private final String fieldName;
+  private final FieldSchema schema = FieldSchema.of(SIMPLE_CLASS_NAME);
+  private final FieldSchema.Field field;
   private int count = 0;
   private long sum = 0L;
   private long min = Long.MAX_VALUE;
@@ -22,12 +23,13 @@ public class LongSummarizer {
 
   public LongSummarizer(String fieldName) {
     this.fieldName = fieldName;
+    this.field = schema.field(fieldName);
   }
 
   public void accept(RecordedEvent ev) {
     count++;
     long currentValue = 0;
-    if (hasField(ev, fieldName, SIMPLE_CLASS_NAME)) {
+    if (schema.resolve(ev).has(field)) {
       currentValue = ev.getLong(fieldName);
     }
     sum = sum + currentValue;
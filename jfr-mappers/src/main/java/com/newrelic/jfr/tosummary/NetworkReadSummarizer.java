@@ -7,7 +7,14 @@
 
 package com.newrelic.jfr.tosummary;
 
+import static com.newrelic.jfr.tosummary.BaseDurationSummarizer.DEFAULT_CLOCK;
+import static com.newrelic.jfr.tosummary.PerThreadNetworkReadSummarizer.JFR_SOCKET_READ_DURATION;
+
+import com.newrelic.jfr.EventContext;
 import com.newrelic.jfr.ThreadNameNormalizer;
+import com.newrelic.telemetry.Attributes;
+import com.newrelic.telemetry.metrics.Gauge;
+import java.util.stream.Stream;
 
 // jdk.SocketRead {
 //        startTime = 15:47:41.648
@@ -31,6 +38,9 @@ import com.newrelic.jfr.ThreadNameNormalizer;
 
 public class NetworkReadSummarizer extends AbstractThreadDispatchingSummarizer {
   public static final String EVENT_NAME = "jdk.SocketRead";
+  // The percentiles of the durations of all threads, as a histogram per thread would be too large
+  private final SimpleDurationSummarizer duration =
+      new SimpleDurationSummarizer(DEFAULT_CLOCK.get(), DEFAULT_CLOCK, null, new LogHistogram());
 
   public NetworkReadSummarizer(ThreadNameNormalizer nameNormalizer) {
     super(nameNormalizer);
@@ -45,4 +55,22 @@ public class NetworkReadSummarizer extends AbstractThreadDispatchingSummarizer {
   public EventToSummary createPerThreadSummarizer(String threadName, long startTimeMs) {
     return new PerThreadNetworkReadSummarizer(threadName, startTimeMs);
   }
+
+  @Override
+  public void accept(EventContext context) {
+    super.accept(context);
+    duration.accept(context.getEvent());
+  }
+
+  @Override
+  public Stream<Gauge> summarizeGauges() {
+    return duration.summarizePercentiles(
+        JFR_SOCKET_READ_DURATION, new Attributes(), duration.getEndTimeMs());
+  }
+
+  @Override
+  public void reset() {
+    super.reset();
+    duration.reset();
+  }
 }
@@ -7,7 +7,14 @@
 
 package com.newrelic.jfr.tosummary;
 
+import static com.newrelic.jfr.tosummary.BaseDurationSummarizer.DEFAULT_CLOCK;
+import static com.newrelic.jfr.tosummary.PerThreadNetworkWriteSummarizer.JFR_SOCKET_WRITE_DURATION;
+
+import com.newrelic.jfr.EventContext;
 import com.newrelic.jfr.ThreadNameNormalizer;
+import com.newrelic.telemetry.Attributes;
+import com.newrelic.telemetry.metrics.Gauge;
+import java.util.stream.Stream;
 
 // jdk.SocketWrite {
 //        startTime = 20:22:57.161
@@ -29,6 +36,9 @@ import com.newrelic.jfr.ThreadNameNormalizer;
 
 public class NetworkWriteSummarizer extends AbstractThreadDispatchingSummarizer {
   public static final String EVENT_NAME = "jdk.SocketWrite";
+  // The percentiles of the durations of all threads, as a histogram per thread would be too large
+  private final SimpleDurationSummarizer duration =
+      new SimpleDurationSummarizer(DEFAULT_CLOCK.get(), DEFAULT_CLOCK, null, new LogHistogram());
 
   public NetworkWriteSummarizer(ThreadNameNormalizer nameNormalizer) {
     super(nameNormalizer);
@@ -43,4 +53,22 @@ public class NetworkWriteSummarizer extends AbstractThreadDispatchingSummarizer
   public EventToSummary createPerThreadSummarizer(String threadName, long startTimeMs) {
     return new PerThreadNetworkWriteSummarizer(threadName, startTimeMs);
   }
+
+  @Override
+  public void accept(EventContext context) {
+    super.accept(context);
+    duration.accept(context.getEvent());
+  }
+
+  @Override
+  public Stream<Gauge> summarizeGauges() {
+    return duration.summarizePercentiles(
+        JFR_SOCKET_WRITE_DURATION, new Attributes(), duration.getEndTimeMs());
+  }
+
+  @Override
+  public void reset() {
+    super.reset();
+    duration.reset();
+  }
 }
@@ -10,10 +10,13 @@ public class PairSummarizer extends BaseDurationSummarizer {
     super(startTimeMs, defaultClock, duration);
   }
 
+  public PairSummarizer(
+      long startTimeMs, Supplier<Long> defaultClock, String duration, LogHistogram histogram) {
+    super(startTimeMs, defaultClock, duration, histogram);
+  }
+
   public void accept(RecordedEvent before, RecordedEvent after) {
-    Duration pairDuration =
-        Duration.ofMillis(
-            after.getStartTime().toEpochMilli() - before.getStartTime().toEpochMilli());
+    Duration pairDuration = Duration.between(before.getStartTime(), after.getStartTime());
     endTimeMs = after.getStartTime().toEpochMilli();
     duration = duration.plus(pairDuration);
     if (pairDuration.compareTo(maxDuration) > 0) {
@@ -22,5 +25,6 @@ public class PairSummarizer extends BaseDurationSummarizer {
     if (pairDuration.compareTo(minDuration) < 0) {
       minDuration = pairDuration;
     }
+    recordPercentile(pairDuration);
   }
 }
@@ -1,7 +1,6 @@
 package com.newrelic.jfr.tosummary;
 
-import static com.newrelic.jfr.RecordedObjectValidators.*;
-
+import com.newrelic.jfr.FieldSchema;
 import java.time.Duration;
 import java.util.function.Supplier;
 import jdk.jfr.consumer.RecordedEvent;
@@ -9,6 +8,9 @@ import jdk.jfr.consumer.RecordedEvent;
 public class SimpleDurationSummarizer extends BaseDurationSummarizer {
   public static final String SIMPLE_CLASS_NAME = SimpleDurationSummarizer.class.getSimpleName();
 
+  private final FieldSchema schema = FieldSchema.of(SIMPLE_CLASS_NAME);
+  private final FieldSchema.Field durationField = durationName.map(schema::field).orElse(null);
+
   public SimpleDurationSummarizer(long startTimeMs) {
     super(startTimeMs);
   }
@@ -21,8 +23,13 @@ public class SimpleDurationSummarizer extends BaseDurationSummarizer {
     super(startTimeMs, clock, durationName);
   }
 
+  public SimpleDurationSummarizer(
+      long startTimeMs, Supplier<Long> clock, String durationName, LogHistogram histogram) {
+    super(startTimeMs, clock, durationName, histogram);
+  }
+
   private Duration getDuration(RecordedEvent ev) {
-    if (durationName.isPresent() && hasField(ev, durationName.get(), SIMPLE_CLASS_NAME)) {
+    if (durationField != null && schema.resolve(ev).has(durationField)) {
       return ev.getDuration(durationName.get());
     }
     return ev.getDuration();
@@ -38,5 +45,6 @@ public class SimpleDurationSummarizer extends BaseDurationSummarizer {
     if (duration.compareTo(minDuration) < 0) {
       minDuration = duration;
     }
+    recordPercentile(duration);
   }
 }
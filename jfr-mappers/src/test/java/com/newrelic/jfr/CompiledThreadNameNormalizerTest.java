@@ -0,0 +1,92 @@
+package com.newrelic.jfr;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class CompiledThreadNameNormalizerTest {
+  private static final List<String> NAMES =
+      List.of(
+          "",
+          "main",
+          "Server-8091-130-selector-ServerConnectorManager@6182e1ea/7",
+          "ThreadInfo/timeslices-84a3c-ae01b_hello-one-two-3c.example.com-3-74ae8_watcher_executor",
+          "caf",
+          "cafe",
+          "cafe1",
+          "_cafe_",
+          "pool-1-thread-2",
+          "pool-thread",
+          "pool-threa",
+          "pool-1-thread\n",
+          "ForkJoinPool.commonPool-worker-3",
+          "http-nio-8080-exec-1 GET /api/v1/users",
+          "grpc GET",
+          "x POST y",
+          "default-akka.actor.default-dispatcher-5",
+          "default-akka\ud83d\ude00actor-default-dispatcher-5",
+          "default-akka.actor.default\n",
+          "org-eclipse-jetty-server-session-HashSessionManager-1",
+          "hystrix-pool-1",
+          "ActiveMQ Transport: tcp://localhost/127.0.0.1:61616@53211",
+          "Sending mailitem To='x@example.com'",
+          "Thread-3 http://example.com/path?q=1",
+          "HTTPS://EXAMPLE.COM uri:thing @ref",
+          "rt-1-ResultCollector-[[Hello World by GSS[123]] - MMMOAC2RF]",
+          "rt-1-ResultCollector-[test] value=[dude] email=[p@thing.com]",
+          "{a(b}c)[d{e]f}",
+          "unclosed (brace [in {here",
+          "\u2028deadbeef\u2029 12\u0085ab34\r\n",
+          "\ud83d\ude00abcd\ud83d\ude00");
+
+  private static final String[] FRAGMENTS = {
+    "a", "B", "z", "_", "-", ".", "/", " ", "1", "42", "9f", "abcd", "DEADBEEF", "cafe_", "{", "}",
+    "(", ")", "[", "]", "@", "http:", "HTTPS:", "uri:", "URI:", "\n", "\r", "\u0085", "\u2028",
+    "\u00e9", "\ud83d\ude00", "pool-", "thread", " GET ", " DELETE ", "GET", "ActiveMQ", "hystrix",
+    "default-akka", ".actor", "default-akkaXactorXdefault", "JobHandler", "Sending mailitem"
+  };
+
+  @Test
+  void testKnownNamesMatchLegacyRules() {
+    assertSameAsLegacy(ThreadNameNormalizer.DEFAULT_PATTERN, NAMES);
+  }
+
+  @Test
+  void testRandomNamesMatchLegacyRules() {
+    assertSameAsLegacy(ThreadNameNormalizer.DEFAULT_PATTERN, randomNames(20_000));
+  }
+
+  @Test
+  void testCustomPatternMatchesLegacyRules() {
+    assertSameAsLegacy("[a-z]+", NAMES);
+    assertSameAsLegacy("[a-z]+", randomNames(2_000));
+  }
+
+  private static List<String> randomNames(int count) {
+    var random = new Random(31);
+    var names = new ArrayList<String>(count);
+    for (int i = 0; i < count; i++) {
+      var sb = new StringBuilder();
+      if (random.nextInt(4) == 0) {
+        sb.append(random.nextBoolean() ? "pool-" : "default-akka.actor.default");
+      }
+      int fragments = random.nextInt(12);
+      for (int j = 0; j < fragments; j++) {
+        sb.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+      }
+      names.add(sb.toString());
+    }
+    return names;
+  }
+
+  private static void assertSameAsLegacy(String pattern, List<String> names) {
+    var legacy = new LegacyThreadNameNormalizer(pattern);
+    var compiled = new CompiledThreadNameNormalizer(pattern);
+    for (String name : names) {
+      assertEquals(legacy.getNormalizedThreadName(name), compiled.normalize(name), name);
+    }
+  }
+}
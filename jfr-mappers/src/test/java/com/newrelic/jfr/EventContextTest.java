@@ -0,0 +1,67 @@
+package com.newrelic.jfr;
+
+import static com.newrelic.jfr.EventContext.SAMPLED_THREAD;
+import static com.newrelic.jfr.EventTypes.mockEvent;
+import static com.newrelic.jfr.Workarounds.EVENT_THREAD;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+import jdk.jfr.consumer.RecordedThread;
+import org.junit.jupiter.api.Test;
+
+class EventContextTest {
+
+  @Test
+  void testThreadNameIsNormalizedOnce() {
+    var event = mockEvent();
+    var thread = mock(RecordedThread.class);
+    var normalizer = mock(ThreadNameNormalizer.class);
+    when(event.hasField(EVENT_THREAD)).thenReturn(true);
+    when(event.getValue(EVENT_THREAD)).thenReturn(thread);
+    when(thread.getJavaName()).thenReturn("pool-1-thread-2");
+    when(normalizer.getNormalizedThreadName("pool-1-thread-2")).thenReturn("pool#thread#");
+
+    var context = new EventContext(event);
+    assertEquals(Optional.of("pool-1-thread-2"), context.getThreadName());
+    assertEquals(Optional.of("pool#thread#"), context.getNormalizedThreadName(normalizer));
+    assertEquals(Optional.of("pool#thread#"), context.getNormalizedThreadName(normalizer));
+
+    verify(event, times(1)).getValue(EVENT_THREAD);
+    verify(normalizer, times(1)).getNormalizedThreadName("pool-1-thread-2");
+  }
+
+  @Test
+  void testSampledThreadName() {
+    var event = mockEvent();
+    var thread = mock(RecordedThread.class);
+    var normalizer = mock(ThreadNameNormalizer.class);
+    when(event.hasField(SAMPLED_THREAD)).thenReturn(true);
+    when(event.getThread(SAMPLED_THREAD)).thenReturn(thread);
+    when(thread.getJavaName()).thenReturn("worker-12");
+    when(normalizer.getNormalizedThreadName("worker-12")).thenReturn("worker-#");
+
+    var context = new EventContext(event);
+    assertEquals("worker-12", context.getSampledThreadName());
+    assertEquals("worker-#", context.getNormalizedSampledThreadName(normalizer));
+    assertEquals("worker-#", context.getNormalizedSampledThreadName(normalizer));
+
+    verify(event, times(1)).getThread(SAMPLED_THREAD);
+    verify(normalizer, times(1)).getNormalizedThreadName("worker-12");
+  }
+
+  @Test
+  void testNoThread() {
+    var event = mockEvent();
+    var normalizer = mock(ThreadNameNormalizer.class);
+
+    var context = new EventContext(event);
+    assertTrue(context.getNormalizedThreadName(normalizer).isEmpty());
+    assertNull(context.getNormalizedSampledThreadName(normalizer));
+  }
+}
@@ -0,0 +1,48 @@
+package com.newrelic.jfr;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import jdk.jfr.EventType;
+import jdk.jfr.ValueDescriptor;
+import jdk.jfr.consumer.RecordedEvent;
+
+/**
+ * Types of mocked {@link RecordedEvent}s. Mappers resolve the fields they read against the type of
+ * each event, so a mocked event needs a type declaring those fields.
+ */
+public final class EventTypes {
+
+  private EventTypes() {}
+
+  /** @return a mocked event of a type on which every field exists */
+  public static RecordedEvent mockEvent() {
+    var event = mock(RecordedEvent.class);
+    var eventType = withAllFields();
+    when(event.getEventType()).thenReturn(eventType);
+    return event;
+  }
+
+  /** @return a type on which every field exists */
+  public static EventType withAllFields() {
+    var eventType = mock(EventType.class);
+    var field = mock(ValueDescriptor.class);
+    when(eventType.getField(anyString())).thenReturn(field);
+    return eventType;
+  }
+
+  /**
+   * @param fieldNames the names of the fields, or the dotted paths of nested fields such as {@code
+   *     heapSpace.committedSize}
+   * @return a type on which only the given fields exist
+   */
+  public static EventType withFields(String... fieldNames) {
+    var eventType = mock(EventType.class);
+    var field = mock(ValueDescriptor.class);
+    for (var fieldName : fieldNames) {
+      when(eventType.getField(fieldName)).thenReturn(field);
+    }
+    return eventType;
+  }
+}
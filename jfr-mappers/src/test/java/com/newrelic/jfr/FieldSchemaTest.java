@@ -0,0 +1,79 @@
+package com.newrelic.jfr;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.net.URL;
+import java.nio.file.Paths;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedObject;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+class FieldSchemaTest {
+
+  @Test
+  void testResolvesFieldsOfRealEvents() throws Exception {
+    var schema = FieldSchema.of("test");
+    var heapUsed = schema.field("heapUsed");
+    var heapSpace = schema.field("heapSpace");
+    var missing = schema.field("doesNotExist");
+    var heapSpaceSchema = schema.nested("heapSpace");
+    var committedSize = heapSpaceSchema.field("committedSize");
+    var nestedMissing = heapSpaceSchema.field("heapUsed");
+
+    var count = 0;
+    URL url = FieldSchemaTest.class.getClassLoader().getResource("startup3.jfr");
+    try (var recordingFile = new RecordingFile(Paths.get(url.toURI()))) {
+      while (recordingFile.hasMoreEvents()) {
+        var event = recordingFile.readEvent();
+        if (!event.getEventType().getName().equals("jdk.GCHeapSummary")) {
+          continue;
+        }
+        var fields = schema.resolve(event);
+        assertSame(fields, schema.resolve(event));
+        assertTrue(fields.has(heapUsed));
+        assertTrue(fields.has(heapSpace));
+        assertFalse(fields.has(missing));
+
+        RecordedObject space = event.getValue("heapSpace");
+        var spaceFields = heapSpaceSchema.resolve(event, space);
+        assertEquals(space.hasField("committedSize"), spaceFields.has(committedSize));
+        assertTrue(spaceFields.has(committedSize));
+        assertFalse(spaceFields.has(nestedMissing));
+        count++;
+      }
+    }
+    assertTrue(count > 0);
+  }
+
+  @Test
+  void testResolvesFieldsOfEventType() {
+    var schema = FieldSchema.of("test");
+    var present = schema.field("present");
+    var missing = schema.field("missing");
+    var nestedSchema = schema.nested("nested");
+    var nested = nestedSchema.field("field");
+
+    var event = mock(RecordedEvent.class);
+    var eventType = EventTypes.withFields("present", "nested.field");
+    when(event.getEventType()).thenReturn(eventType);
+
+    var fields = schema.resolve(event);
+    assertTrue(fields.has(present));
+    assertFalse(fields.has(missing));
+    assertTrue(nestedSchema.resolve(event, mock(RecordedObject.class)).has(nested));
+  }
+
+  @Test
+  void testNullNestedObjectHasNoFields() {
+    var schema = FieldSchema.of("test").nested("nested");
+    var field = schema.field("field");
+
+    assertFalse(schema.resolve(mock(RecordedEvent.class), null).has(field));
+  }
+}
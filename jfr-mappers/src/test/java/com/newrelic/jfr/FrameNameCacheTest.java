@@ -0,0 +1,69 @@
+package com.newrelic.jfr;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import jdk.jfr.consumer.RecordedMethod;
+import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
+
+class FrameNameCacheTest {
+
+  @Test
+  void testSameMethodAndLineShareAName() {
+    var cache = new FrameNameCache();
+    // Different instances, as in different recordings
+    var method1 = method("java.lang.Thread", "run", "()V");
+    var method2 = method("java.lang.Thread", "run", "()V");
+
+    var name = cache.getFrameName(method1, 834);
+    assertEquals("java.lang.Thread.run()V:834", name);
+    assertSame(name, cache.getFrameName(method2, 834));
+    assertEquals("java.lang.Thread.run()V:835", cache.getFrameName(method2, 835));
+    assertEquals(1, cache.getHitCount());
+    assertEquals(2, cache.getMissCount());
+  }
+
+  @Test
+  void testLinesIgnored() {
+    var cache = new FrameNameCache(FrameNameCache.DEFAULT_CACHE_SIZE, false);
+    var method = method("java.lang.Thread", "run", "()V");
+
+    var name = cache.getFrameName(method, 834);
+    assertEquals("java.lang.Thread.run()V", name);
+    assertSame(name, cache.getFrameName(method, 835));
+    assertEquals(1, cache.size());
+  }
+
+  @Test
+  void testMissingMethod() {
+    var cache = new FrameNameCache();
+    assertEquals("[missing]:-1", cache.getFrameName(null, -1));
+  }
+
+  @Test
+  void testLeastRecentlySeenFramesAreEvicted() {
+    var cache = new FrameNameCache(2);
+    var method = method("Foo", "bar", "()V");
+
+    cache.getFrameName(method, 1);
+    cache.getFrameName(method, 2);
+    cache.getFrameName(method, 1);
+    cache.getFrameName(method, 3);
+    assertEquals(2, cache.size());
+    assertEquals(1, cache.getEvictionCount());
+
+    cache.getFrameName(method, 1);
+    assertEquals(2, cache.getHitCount());
+  }
+
+  private static RecordedMethod method(String typeName, String methodName, String descriptor) {
+    var method = mock(RecordedMethod.class, Answers.RETURNS_DEEP_STUBS);
+    when(method.getType().getName()).thenReturn(typeName);
+    when(method.getName()).thenReturn(methodName);
+    when(method.getDescriptor()).thenReturn(descriptor);
+    return method;
+  }
+}
@@ -0,0 +1,83 @@
+package com.newrelic.jfr;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class LruCacheTest {
+
+  @Test
+  void testComputesOnlyOnMiss() {
+    var computed = new AtomicInteger();
+    var cache = new LruCache<String, Integer>(10);
+
+    assertEquals(3, cache.computeIfAbsent("foo", k -> computed.incrementAndGet() + 2));
+    assertEquals(3, cache.computeIfAbsent("foo", k -> computed.incrementAndGet() + 2));
+
+    assertEquals(1, computed.get());
+    assertEquals(1, cache.getHitCount());
+    assertEquals(1, cache.getMissCount());
+    assertEquals(0, cache.getEvictionCount());
+    assertEquals(1, cache.size());
+  }
+
+  @Test
+  void testGetAndPutIfAbsent() {
+    var cache = new LruCache<String, Integer>(10);
+
+    assertNull(cache.get("foo"));
+    assertNull(cache.putIfAbsent("foo", 1));
+    assertEquals(1, cache.putIfAbsent("foo", 2));
+    assertEquals(1, cache.get("foo"));
+
+    assertEquals(1, cache.getHitCount());
+    assertEquals(1, cache.getMissCount());
+  }
+
+  @Test
+  void testEvictsLeastRecentlyUsed() {
+    var cache = new LruCache<String, String>(2);
+    cache.computeIfAbsent("a", k -> "A");
+    cache.computeIfAbsent("b", k -> "B");
+    // Touch a, so b is the least recently used
+    cache.computeIfAbsent("a", k -> "A");
+    cache.computeIfAbsent("c", k -> "C");
+
+    assertEquals(2, cache.size());
+    assertEquals(1, cache.getEvictionCount());
+    assertEquals("A", cache.computeIfAbsent("a", k -> "new"));
+    assertEquals("new", cache.computeIfAbsent("b", k -> "new"));
+  }
+
+  @Test
+  void testSizeIsBoundedAcrossSegments() throws Exception {
+    var cache = new LruCache<Integer, Integer>(1000);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    for (int t = 0; t < 4; t++) {
+      int offset = t * 10_000;
+      executor.submit(
+          () -> {
+            for (int i = 0; i < 10_000; i++) {
+              cache.computeIfAbsent(offset + i, k -> k);
+            }
+          });
+    }
+    executor.shutdown();
+    executor.awaitTermination(30, TimeUnit.SECONDS);
+
+    assertEquals(1000, cache.size());
+    assertEquals(40_000, cache.getMissCount());
+    assertEquals(39_000, cache.getEvictionCount());
+  }
+
+  @Test
+  void testRejectsNonPositiveSize() {
+    assertThrows(IllegalArgumentException.class, () -> new LruCache<String, String>(0));
+  }
+}
@@ -30,7 +30,7 @@ public class MethodSupportTest {
 
   @SuppressWarnings("unchecked")
   @Test
-  void testJsonWriteWithTruncate() throws Exception {
+  void testJsonWriteWithTruncate() {
     var method = buildMethod("Foo", "meth", "()V");
 
     var frames = new ArrayList<RecordedFrame>();
@@ -75,11 +75,11 @@ public class MethodSupportTest {
     }
 
     assertEquals(3113, count);
-    assertEquals(2986, max);
+    assertEquals(3034, max);
     assertEquals(1627, histo[0]);
     assertEquals(1484, histo[1]);
-    assertEquals(2, histo[2]);
-    assertEquals(0, histo[3]); // 94.72% fit under the 4k limit
+    assertEquals(1, histo[2]);
+    assertEquals(1, histo[3]); // 94.72% fit under the 4k limit
     assertEquals(0, histo[4]);
     assertEquals(0, histo[5]);
     assertEquals(0, histo[6]);
@@ -87,7 +87,7 @@ public class MethodSupportTest {
   }
 
   @Test
-  void writeJsonSimple_noLimit() throws Exception {
+  void writeJsonSimple_noLimit() {
     var action = buildMethod("Act", "ion", "");
     List<RecordedFrame> stack = new ArrayList<>();
     stack.add(buildFrame(action, 21, 77));
@@ -101,7 +101,7 @@ public class MethodSupportTest {
   }
 
   @Test
-  void writeJsonSimple_limitMatchesFrameCount() throws Exception {
+  void writeJsonSimple_limitMatchesFrameCount() {
     var action = buildMethod("Act", "ion", "()V");
     List<RecordedFrame> stack = new ArrayList<>();
     stack.add(buildFrame(action, 21, 77));
@@ -115,7 +115,7 @@ public class MethodSupportTest {
   }
 
   @Test
-  void writeJsonSimple_withLimit() throws Exception {
+  void writeJsonSimple_withLimit() {
     var action1 = buildMethod("Foo", "action1", "()V");
     var action2 = buildMethod("Foo", "action2", "()V");
     var action3 = buildMethod("Foo", "action3", "()V");
@@ -137,15 +137,16 @@ public class MethodSupportTest {
   }
 
   @Test
-  void writeLargeStack() throws Exception {
+  void writeLargeStack() {
     List<RecordedFrame> stack = new ArrayList<>();
     for (int i = 0; i < 500; i++) {
       var method = buildMethod("Act", "io" + i, "");
       stack.add(buildFrame(method, 21 + i, 77 + i));
     }
 
+    // As many frames as fit in the headroom
     String payloads =
-        IntStream.range(0, 55)
+        IntStream.range(0, 56)
             .mapToObj(
                 i ->
                     "{\"desc\":\"Act.io"
@@ -162,10 +163,21 @@ public class MethodSupportTest {
             + "]}";
     var result = MethodSupport.jsonWrite(stack, Optional.empty());
     assertEquals(expected, result);
+    assertTrue(result.length() <= MethodSupport.HEADROOM_75PC);
+  }
+
+  @Test
+  void writeEscapedNames() {
+    var method = buildMethod("Foo\"$1", "meth\n", "()V\u001f");
+    var stack = List.of(buildFrame(method, 1, 2));
+    var expected =
+        "{\"type\":\"stacktrace\",\"language\":\"java\",\"version\":1,\"truncated\":false,\"payload\":["
+            + "{\"desc\":\"Foo\\\"$1.meth\\n()V\\u001f\",\"line\":\"1\",\"bytecodeIndex\":\"2\"}]}";
+    assertEquals(expected, MethodSupport.jsonWrite(stack, Optional.empty()));
   }
 
   @Test
-  void writeLargeStack_edgeCase() throws Exception {
+  void writeLargeStack_edgeCase() {
     var stack = new ArrayList<RecordedFrame>();
     var method = buildMethod("", "", "");
     // Specially crafted artisanal length in order to exercise the edge case
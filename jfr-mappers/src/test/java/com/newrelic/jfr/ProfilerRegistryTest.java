@@ -4,6 +4,7 @@ import static java.util.stream.Collectors.toList;
 import static org.junit.jupiter.api.Assertions.*;
 
 import com.newrelic.jfr.profiler.EventToEventSummary;
+import com.newrelic.jfr.profiler.ProfileOptions;
 import com.newrelic.jfr.profiler.ProfileSummarizer;
 import java.util.List;
 import org.junit.jupiter.api.Test;
@@ -38,4 +39,34 @@ class ProfilerRegistryTest {
     ProfilerRegistry registry = ProfilerRegistry.createDefault(null);
     assertTrue(registry.get(ProfileSummarizer.NATIVE_EVENT_NAME).isPresent());
   }
+
+  @Test
+  void testAllocationAndLockProfilesAreOptIn() {
+    ProfilerRegistry registry = ProfilerRegistry.createDefault(null);
+    assertTrue(registry.get(ProfileSummarizer.OUTSIDE_TLAB_EVENT_NAME).isEmpty());
+    assertTrue(registry.get(ProfileSummarizer.MONITOR_ENTER_EVENT_NAME).isEmpty());
+
+    registry =
+        ProfilerRegistry.createDefault(
+            null, ProfileOptions.builder().allocationProfile(true).lockProfile(true).build());
+    assertTrue(registry.get(ProfileSummarizer.OUTSIDE_TLAB_EVENT_NAME).isPresent());
+    assertTrue(registry.get(ProfileSummarizer.OBJECT_ALLOCATION_SAMPLE_EVENT_NAME).isPresent());
+    assertTrue(registry.get(ProfileSummarizer.MONITOR_ENTER_EVENT_NAME).isPresent());
+  }
+
+  @Test
+  void testSplitThreadStatesReplacesSampleProfiles() {
+    ProfilerRegistry registry =
+        ProfilerRegistry.createDefault(
+            null, ProfileOptions.builder().splitThreadStates(true).build());
+
+    var executionProfiler = registry.get(ProfileSummarizer.EVENT_NAME).orElseThrow();
+    assertSame(executionProfiler, registry.get(ProfileSummarizer.NATIVE_EVENT_NAME).orElseThrow());
+    assertEquals(
+        1,
+        registry
+            .all()
+            .filter(m -> m.getEventNames().contains(ProfileSummarizer.NATIVE_EVENT_NAME))
+            .count());
+  }
 }
@@ -0,0 +1,101 @@
+package com.newrelic.jfr;
+
+import static com.newrelic.jfr.StackTraceDictionary.JFR_STACK_TRACE;
+import static com.newrelic.jfr.StackTraceDictionary.STACK_TRACE;
+import static com.newrelic.jfr.StackTraceDictionary.STACK_TRACE_ID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Answers.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.newrelic.telemetry.Attributes;
+import java.util.List;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import org.junit.jupiter.api.Test;
+
+class StackTraceDictionaryTest {
+
+  @Test
+  void testStackIsSentOncePerHarvest() {
+    var dictionary = new StackTraceDictionary();
+    var trace = trace("run", 10);
+
+    var first = dictionary.toEvents("Test", new Attributes(), 1L, trace);
+    assertEquals(2, first.size());
+    var stackEvent = first.get(0).getAttributes().asMap();
+    var id = stackEvent.get(STACK_TRACE_ID);
+    assertEquals(JFR_STACK_TRACE, first.get(0).getEventType());
+    assertEquals(MethodSupport.serialize(trace), stackEvent.get(STACK_TRACE));
+    assertEquals(id, first.get(1).getAttributes().asMap().get(STACK_TRACE_ID));
+    assertFalse(first.get(1).getAttributes().asMap().containsKey(STACK_TRACE));
+
+    // Another instance of the same stack, as read from another recording
+    var second = dictionary.toEvents("Test", new Attributes(), 2L, trace("run", 10));
+    assertEquals(1, second.size());
+    assertEquals("Test", second.get(0).getEventType());
+    assertEquals(id, second.get(0).getAttributes().asMap().get(STACK_TRACE_ID));
+
+    dictionary.reset();
+    var afterReset = dictionary.toEvents("Test", new Attributes(), 3L, trace);
+    assertEquals(2, afterReset.size());
+    assertEquals(id, afterReset.get(0).getAttributes().asMap().get(STACK_TRACE_ID));
+  }
+
+  @Test
+  void testDifferentStacksHaveDifferentIds() {
+    assertNotEquals(
+        StackTraceDictionary.hash(trace("run", 10)), StackTraceDictionary.hash(trace("run", 11)));
+    assertNotEquals(
+        StackTraceDictionary.hash(trace("run", 10)), StackTraceDictionary.hash(trace("walk", 10)));
+    // Names with the same String.hashCode
+    assertEquals("Aa".hashCode(), "BB".hashCode());
+    assertNotEquals(
+        StackTraceDictionary.hash(trace("Aa", 10)), StackTraceDictionary.hash(trace("BB", 10)));
+  }
+
+  @Test
+  void testNamesDontRunIntoEachOther() {
+    assertNotEquals(
+        StackTraceDictionary.hash(trace("Foo", "run", 10)),
+        StackTraceDictionary.hash(trace("Foor", "un", 10)));
+  }
+
+  @Test
+  void testFullDictionaryAttachesStack() {
+    var dictionary = new StackTraceDictionary(1);
+    dictionary.toEvents("Test", new Attributes(), 1L, trace("run", 10));
+
+    var trace = trace("run", 11);
+    var events = dictionary.toEvents("Test", new Attributes(), 1L, trace);
+    assertEquals(1, events.size());
+    var attributes = events.get(0).getAttributes().asMap();
+    assertEquals(MethodSupport.serialize(trace), attributes.get(STACK_TRACE));
+    assertFalse(attributes.containsKey(STACK_TRACE_ID));
+  }
+
+  @Test
+  void testNoStack() {
+    var events = new StackTraceDictionary().toEvents("Test", new Attributes(), 1L, null);
+    assertEquals(1, events.size());
+    assertNull(events.get(0).getAttributes().asMap().get(STACK_TRACE));
+  }
+
+  private static RecordedStackTrace trace(String methodName, int line) {
+    return trace("Foo", methodName, line);
+  }
+
+  private static RecordedStackTrace trace(String typeName, String methodName, int line) {
+    var frame = mock(RecordedFrame.class, RETURNS_DEEP_STUBS);
+    when(frame.getMethod().getType().getName()).thenReturn(typeName);
+    when(frame.getMethod().getName()).thenReturn(methodName);
+    when(frame.getMethod().getDescriptor()).thenReturn("()V");
+    when(frame.getLineNumber()).thenReturn(line);
+    var trace = mock(RecordedStackTrace.class);
+    when(trace.getFrames()).thenReturn(List.of(frame));
+    return trace;
+  }
+}
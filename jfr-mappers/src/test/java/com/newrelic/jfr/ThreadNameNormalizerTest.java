@@ -258,4 +258,19 @@ public class ThreadNameNormalizerTest {
         normalizer.getNormalizedThreadName(
             "rt-#-ResultCollector-[test] value=[dude] email=[p@thing.com]"));
   }
+
+  @Test
+  public void cachesNormalizedNames() {
+    var normalizer = new ThreadNameNormalizer(ThreadNameNormalizer.DEFAULT_PATTERN, 2);
+    Assertions.assertEquals("pool#thread#", normalizer.getNormalizedThreadName("pool-1-thread-1"));
+    Assertions.assertEquals("pool#thread#", normalizer.getNormalizedThreadName("pool-1-thread-1"));
+    Assertions.assertEquals(1, normalizer.getCacheHitCount());
+    Assertions.assertEquals(1, normalizer.getCacheMissCount());
+
+    normalizer.getNormalizedThreadName("worker-1");
+    normalizer.getNormalizedThreadName("worker-2");
+    Assertions.assertEquals(2, normalizer.getCachedNameCount());
+    Assertions.assertEquals(1, normalizer.getCacheEvictionCount());
+    Assertions.assertEquals("worker-#", normalizer.getNormalizedThreadName("worker-3"));
+  }
 }
@@ -8,6 +8,7 @@ import com.newrelic.jfr.tometric.CPUThreadLoadMapper;
 import com.newrelic.jfr.tometric.EventToMetric;
 import com.newrelic.jfr.tometric.GCHeapSummaryMapper;
 import java.util.List;
+import java.util.Set;
 import org.junit.jupiter.api.Test;
 
 class ToMetricRegistryTest {
@@ -40,4 +41,14 @@ class ToMetricRegistryTest {
     ToMetricRegistry registry = ToMetricRegistry.createDefault();
     assertTrue(registry.get(CPUThreadLoadMapper.EVENT_NAME).isPresent());
   }
+
+  @Test
+  void testEventNames() {
+    ToMetricRegistry registry =
+        ToMetricRegistry.create(
+            List.of("unknown1", CPUThreadLoadMapper.EVENT_NAME, GCHeapSummaryMapper.EVENT_NAME));
+    assertEquals(
+        Set.of(CPUThreadLoadMapper.EVENT_NAME, GCHeapSummaryMapper.EVENT_NAME),
+        registry.eventNames());
+  }
 }
@@ -0,0 +1,39 @@
+package com.newrelic.jfr.profiler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Stack;
+import org.junit.jupiter.api.Test;
+
+class CompactFlamegraphEncoderTest {
+
+  @Test
+  void testEncodesTreeDepthFirst() {
+    var marshaller = new FlamegraphMarshaller();
+    marshaller.processEvent(stack("a", "b"), 2);
+    marshaller.processEvent(stack("a", "c"), 1);
+    marshaller.processEvent(stack("b"), 1);
+
+    var expected =
+        "{\"version\":1,\"strings\":[\"root\",\"a\",\"b\",\"c\"],"
+            + "\"parents\":[-1,0,1,1,0],\"names\":[0,1,2,3,2],\"counts\":[4,3,2,1,1]}";
+    assertEquals(expected, new CompactFlamegraphEncoder().encode(marshaller.getStackFrame()));
+  }
+
+  @Test
+  void testEncodesEmptyTree() {
+    var expected =
+        "{\"version\":1,\"strings\":[\"root\"],\"parents\":[-1],\"names\":[0],\"counts\":[0]}";
+    var root = new FlamegraphMarshaller().getStackFrame();
+    assertEquals(expected, new CompactFlamegraphEncoder().encode(root));
+  }
+
+  // Frames from the bottom of the stack up
+  private static Stack<String> stack(String... frames) {
+    var stack = new Stack<String>();
+    for (int i = frames.length - 1; i >= 0; i--) {
+      stack.push(frames[i]);
+    }
+    return stack;
+  }
+}
@@ -23,6 +23,15 @@ public class FlamegraphMarshallerTest {
     assertTrue(stackFrame.getChildren().contains(result));
   }
 
+  @Test
+  public void testAddFrameSaturates() {
+    var stackFrame = new FlamegraphMarshaller.StackFrame("stackFrame");
+    stackFrame.addFrame("frame", Integer.MAX_VALUE - 1);
+    var result = stackFrame.addFrame("frame", 2);
+
+    assertEquals(Integer.MAX_VALUE, result.getValue());
+  }
+
   @Test
   public void testProcessEvent() {
     var stack = new Stack<String>();
@@ -58,4 +67,39 @@ public class FlamegraphMarshallerTest {
     assertEquals(expectedFrameName1, frame1.getName());
     assertEquals(expectedFrameValue, frame1.getValue());
   }
+
+  @Test
+  @SuppressWarnings("deprecation")
+  public void testFlattenNumbersLevelsDepthFirst() {
+    var root = new FlamegraphMarshaller.StackFrame("root");
+    root.addFrame("child1", 1).addFrame("child2", 10);
+    root.addFrame("child3", 1);
+
+    var result = new FlamegraphMarshaller().flatten(root);
+
+    var expected =
+        List.of(
+            new FlameLevel("root", 0, null, "1"),
+            new FlameLevel("child1", 1, "1", "2"),
+            new FlameLevel("child2", 10, "2", "3"),
+            new FlameLevel("child3", 1, "1", "4"));
+    assertEquals(expected, result);
+    assertTrue(new FlamegraphMarshaller().flatten(null).isEmpty());
+  }
+
+  @Test
+  @SuppressWarnings("deprecation")
+  public void testFlattenVeryDeepStack() {
+    var root = new FlamegraphMarshaller.StackFrame("root");
+    var frame = root;
+    for (int i = 0; i < 50_000; i++) {
+      frame = frame.addFrame("frame", 1);
+    }
+
+    var result = new FlamegraphMarshaller().flatten(root);
+
+    assertEquals(50_001, result.size());
+    assertEquals("50001", result.get(50_000).getId());
+    assertEquals("50000", result.get(50_000).getParentId());
+  }
 }
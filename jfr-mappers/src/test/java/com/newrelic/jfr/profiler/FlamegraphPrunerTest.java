@@ -0,0 +1,99 @@
+package com.newrelic.jfr.profiler;
+
+import static com.newrelic.jfr.profiler.FlamegraphPruner.TRUNCATED;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.newrelic.jfr.profiler.FlamegraphMarshaller.StackFrame;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class FlamegraphPrunerTest {
+
+  @Test
+  void testNoLimitsKeepsTree() {
+    var root = tree();
+    assertSame(root, FlamegraphPruner.NONE.prune(root));
+  }
+
+  @Test
+  void testMinSamplePercent() {
+    var root = tree();
+    // 10% of 100 samples
+    var pruned = new FlamegraphPruner(10, 0, 0).prune(root);
+
+    var expected =
+        List.of(
+            new FlameLevel("root", 100, "null", "root"),
+            new FlameLevel("main", 90, "root", "main"),
+            new FlameLevel("work", 60, "main", "work"),
+            new FlameLevel("parse", 50, "work", "parse"),
+            new FlameLevel("sleep", 30, "main", "sleep"),
+            new FlameLevel("gc", 10, "root", "gc"));
+    assertEquals(expected, new FrameFlattener().flatten(pruned));
+    // The original tree is unchanged
+    assertEquals(8, new FrameFlattener().flatten(root).size());
+  }
+
+  @Test
+  void testMaxDepthFoldsDeeperFrames() {
+    var pruned = new FlamegraphPruner(0, 2, 0).prune(tree());
+
+    var expected =
+        List.of(
+            new FlameLevel("root", 100, "null", "root"),
+            new FlameLevel("main", 90, "root", "main"),
+            new FlameLevel("work", 60, "main", "work"),
+            new FlameLevel(TRUNCATED, 58, "work", TRUNCATED),
+            new FlameLevel("sleep", 30, "main", "sleep"),
+            new FlameLevel("gc", 10, "root", "gc"));
+    assertEquals(expected, new FrameFlattener().flatten(pruned));
+  }
+
+  @Test
+  void testMaxNodesKeepsHeaviest() {
+    var pruned = new FlamegraphPruner(0, 0, 4).prune(tree());
+
+    var expected =
+        List.of(
+            new FlameLevel("root", 100, "null", "root"),
+            new FlameLevel("main", 90, "root", "main"),
+            new FlameLevel("work", 60, "main", "work"),
+            new FlameLevel("parse", 50, "work", "parse"));
+    assertEquals(expected, new FrameFlattener().flatten(pruned));
+  }
+
+  @Test
+  void testMaxNodesKeepsParentsOfTies() {
+    var root = new StackFrame("root", 2);
+    root.addFrame("a", 1).addFrame("b", 1);
+    root.addFrame("c", 1);
+
+    var pruned = new FlamegraphPruner(0, 0, 3).prune(root);
+
+    assertEquals(2, pruned.getChildren().size());
+    assertEquals("a", pruned.getChildren().get(0).getName());
+    assertNull(pruned.getChildren().get(0).getChildren());
+    assertEquals("c", pruned.getChildren().get(1).getName());
+  }
+
+  @Test
+  void testInvalidLimits() {
+    assertThrows(IllegalArgumentException.class, () -> new FlamegraphPruner(101, 0, 0));
+    assertThrows(IllegalArgumentException.class, () -> new FlamegraphPruner(0, -1, 0));
+    assertThrows(IllegalArgumentException.class, () -> new FlamegraphPruner(0, 0, -1));
+  }
+
+  private static StackFrame tree() {
+    var root = new StackFrame("root", 100);
+    var main = root.addFrame("main", 90);
+    var work = main.addFrame("work", 60);
+    work.addFrame("parse", 50).addFrame("read", 8);
+    work.addFrame("log", 8);
+    main.addFrame("sleep", 30);
+    root.addFrame("gc", 10);
+    return root;
+  }
+}
@@ -0,0 +1,40 @@
+package com.newrelic.jfr.profiler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import jdk.jfr.consumer.RecordedFrame;
+import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
+
+class FrameAggregationTest {
+
+  @Test
+  void testParsePackages() {
+    assertEquals(
+        List.of("java.", "jdk.internal.", "sun.", "org.springframework"),
+        FrameAggregation.parsePackages("default, org.springframework,"));
+  }
+
+  @Test
+  void testLongestPackageWins() {
+    var aggregation =
+        new FrameAggregation(FrameKeying.METHOD, List.of("java", "java.util.concurrent.*"));
+
+    assertEquals("[java.*]", aggregation.fold(frame("java.lang.Thread")));
+    assertEquals(
+        "[java.util.concurrent.*]",
+        aggregation.fold(frame("java.util.concurrent.ThreadPoolExecutor")));
+    assertNull(aggregation.fold(frame("javax.net.SocketFactory")));
+    assertNull(FrameAggregation.DEFAULT.fold(frame("java.lang.Thread")));
+  }
+
+  private static RecordedFrame frame(String typeName) {
+    var frame = mock(RecordedFrame.class, Answers.RETURNS_DEEP_STUBS);
+    when(frame.getMethod().getType().getName()).thenReturn(typeName);
+    return frame;
+  }
+}
@@ -10,7 +10,7 @@ import org.junit.jupiter.api.Test;
 public class FrameFlattenerTest {
   @Test
   public void testNullRoot() {
-    var testClass = new FlamegraphMarshaller();
+    var testClass = new FrameFlattener();
     var result = testClass.flatten(null);
     List<FlameLevel> expected = Collections.emptyList();
     assertEquals(expected, result);
@@ -18,27 +18,27 @@ public class FrameFlattenerTest {
 
   @Test
   public void testNullChildren() {
-    var testClass = new FlamegraphMarshaller();
+    var testClass = new FrameFlattener();
     var stackFrame = new FlamegraphMarshaller.StackFrame("testFrame");
 
     var result = testClass.flatten(stackFrame);
-    var expected = new FlameLevel("testFrame", 0, null, String.valueOf(1));
+    var expected = new FlameLevel("testFrame", 0, "null", "testFrame");
 
     assertEquals(expected, result.get(0));
   }
 
   @Test
   public void testFlattenHappyPath() {
-    var testClass = new FlamegraphMarshaller();
+    var testClass = new FrameFlattener();
     var stackFrame = new FlamegraphMarshaller.StackFrame("root");
     stackFrame.addFrame("child1", 1).addFrame("child2", 10);
     stackFrame.addFrame("child3", 1);
     var result = testClass.flatten(stackFrame);
 
-    var expectedRoot = new FlameLevel("root", 0, null, String.valueOf(1));
-    var expectedChild1 = new FlameLevel("child1", 1, String.valueOf(1), String.valueOf(2));
-    var expectedChild2 = new FlameLevel("child2", 10, String.valueOf(2), String.valueOf(3));
-    var expectedChild3 = new FlameLevel("child3", 1, String.valueOf(1), String.valueOf(4));
+    var expectedRoot = new FlameLevel("root", 0, "null", "root");
+    var expectedChild1 = new FlameLevel("child1", 1, "root", "child1");
+    var expectedChild2 = new FlameLevel("child2", 10, "child1", "child2");
+    var expectedChild3 = new FlameLevel("child3", 1, "root", "child3");
 
     assertEquals(4, result.size());
     assertEquals(expectedRoot, result.get(0));
@@ -49,7 +49,7 @@ public class FrameFlattenerTest {
 
   @Test
   public void testChildrenBreadth() {
-    var testClass = new FlamegraphMarshaller();
+    var testClass = new FrameFlattener();
     var stackFrame = new FlamegraphMarshaller.StackFrame("root");
     for (int i = 1; i < 72000; i++) {
       stackFrame.addFrame(String.valueOf(i), 1);
@@ -59,8 +59,8 @@ public class FrameFlattenerTest {
 
     int count = 0;
     for (FlameLevel s : result) {
-      if (s.getParentId() != null) {
-        assertEquals(String.valueOf(1), s.getParentId());
+      if (!s.getParentId().equals("null")) {
+        assertEquals("root", s.getParentId());
       } else {
         count++;
       }
@@ -71,7 +71,7 @@ public class FrameFlattenerTest {
 
   @Test
   public void testChildrenDepth() {
-    var testClass = new FlamegraphMarshaller();
+    var testClass = new FrameFlattener();
     var stackFrame = new FlamegraphMarshaller.StackFrame("root");
     makeStackFrames(stackFrame, 99);
 
@@ -85,10 +85,25 @@ public class FrameFlattenerTest {
     assertEquals(100, parentIds.size());
   }
 
+  @Test
+  public void testVeryDeepStack() {
+    var testClass = new FrameFlattener();
+    var stackFrame = new FlamegraphMarshaller.StackFrame("root");
+    makeStackFrames(stackFrame, 50_000);
+
+    var result = testClass.flatten(stackFrame);
+    assertEquals(50_001, result.size());
+    assertEquals("name50000", result.get(1).getName());
+    assertEquals("name1", result.get(50_000).getName());
+    assertEquals("name2", result.get(50_000).getParentId());
+  }
+
+  // Frames are named after their distance to the leaf, as frame names are the ids of levels
   private void makeStackFrames(FlamegraphMarshaller.StackFrame stackFrame, int count) {
-    if (count > 0) {
-      var frame = stackFrame.addFrame("name", 1);
-      makeStackFrames(frame, --count);
+    var frame = stackFrame;
+    while (count > 0) {
+      frame = frame.addFrame("name" + count, 1);
+      count--;
     }
   }
 }
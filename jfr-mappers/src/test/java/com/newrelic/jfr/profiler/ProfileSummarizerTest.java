@@ -1,21 +1,35 @@
 package com.newrelic.jfr.profiler;
 
+import static com.newrelic.jfr.profiler.ProfileSummarizer.FLAMEGRAPH;
 import static com.newrelic.jfr.profiler.ProfileSummarizer.FLAME_VALUE;
+import static com.newrelic.jfr.profiler.ProfileSummarizer.JFR_FLAMEGRAPH;
+import static com.newrelic.jfr.profiler.ProfileSummarizer.JFR_FLAMELEVEL;
+import static com.newrelic.jfr.profiler.ProfileSummarizer.PROFILE_SOURCE;
 import static com.newrelic.jfr.profiler.ProfileSummarizer.SAMPLED_THREAD;
 import static com.newrelic.jfr.profiler.ProfileSummarizer.STATE;
 import static com.newrelic.jfr.profiler.ProfileSummarizer.THREAD_NAME;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-import com.newrelic.jfr.RecordedObjectValidators;
+import com.newrelic.jfr.EventTypes;
 import com.newrelic.jfr.ThreadNameNormalizer;
 import com.newrelic.telemetry.events.Event;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
+import jdk.jfr.consumer.RecordedClass;
 import jdk.jfr.consumer.RecordedEvent;
 import jdk.jfr.consumer.RecordedFrame;
 import jdk.jfr.consumer.RecordedStackTrace;
@@ -24,7 +38,6 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Answers;
 import org.mockito.Mock;
-import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 
@@ -82,23 +95,26 @@ class ProfileSummarizerTest {
         .thenAnswer(invocation -> invocation.getArgument(0, String.class));
     ProfileSummarizer testClass = ProfileSummarizer.forExecutionSample(nameNormalizer);
 
-    try (MockedStatic<RecordedObjectValidators> recordedObjectValidator =
-        Mockito.mockStatic(RecordedObjectValidators.class)) {
-      recordedObjectValidator
-          .when(() -> RecordedObjectValidators.hasField(any(), any(), any()))
-          .thenReturn(true);
+    testClass.accept(mockEvent);
+    testClass.accept(mockEvent);
+    testClass.accept(mockEvent2);
+    testClass.accept(mockEvent2);
 
-      testClass.accept(mockEvent);
-      testClass.accept(mockEvent);
-      testClass.accept(mockEvent2);
-      testClass.accept(mockEvent2);
-    }
-
-    Map<String, List<JvmStackTraceEvent>> result = testClass.getStackTraceEventPerThread();
+    Map<String, FlamegraphMarshaller> result = testClass.getFlamegraphPerThread();
 
     assertEquals(2, result.size());
-    assertEquals(2, result.get("thread-1").size());
-    assertEquals(2, result.get("thread-2").size());
+    assertEquals(2, result.get("thread-1").getStackFrame().getValue());
+    assertEquals(2, result.get("thread-2").getStackFrame().getValue());
+    // Both samples of a thread share one path of 7 frames below the root
+    var frame = result.get("thread-1").getStackFrame();
+    for (int depth = 0; depth < 7; depth++) {
+      assertEquals(1, frame.getChildren().size());
+      frame = frame.getChildren().get(0);
+      assertEquals(2, frame.getValue());
+    }
+    assertEquals(
+        "java.net.PlainSocketImpl.socketAccept(Ljava/net/SocketImpl;)V:-1", frame.getName());
+    assertNull(frame.getChildren());
   }
 
   @Test
@@ -107,16 +123,10 @@ class ProfileSummarizerTest {
         .thenAnswer(invocation -> invocation.getArgument(0, String.class));
     ProfileSummarizer testClass = ProfileSummarizer.forExecutionSample(nameNormalizer);
 
-    try (MockedStatic<RecordedObjectValidators> recordedObjectValidator =
-        Mockito.mockStatic(RecordedObjectValidators.class)) {
-      recordedObjectValidator
-          .when(() -> RecordedObjectValidators.hasField(any(), any(), any()))
-          .thenReturn(true);
-      testClass.accept(mockEvent);
-      testClass.accept(mockEvent);
-      testClass.accept(mockEvent2);
-      testClass.accept(mockEvent2);
-    }
+    testClass.accept(mockEvent);
+    testClass.accept(mockEvent);
+    testClass.accept(mockEvent2);
+    testClass.accept(mockEvent2);
 
     List<Event> resultEvents = testClass.summarize().collect(Collectors.toList());
 
@@ -141,49 +151,360 @@ class ProfileSummarizerTest {
     when(nameNormalizer.getNormalizedThreadName(any(String.class))).thenReturn("thread-#");
     ProfileSummarizer testClass = ProfileSummarizer.forExecutionSample(nameNormalizer);
 
-    try (MockedStatic<RecordedObjectValidators> recordedObjectValidator =
-        Mockito.mockStatic(RecordedObjectValidators.class)) {
-      recordedObjectValidator
-          .when(() -> RecordedObjectValidators.hasField(any(), any(), any()))
-          .thenReturn(true);
-      testClass.accept(mockEvent);
-      testClass.accept(mockEvent);
-      testClass.accept(mockEvent2);
-      testClass.accept(mockEvent2);
-
-      List<Event> resultEvents = testClass.summarize().collect(Collectors.toList());
-
-      assertEquals(8, resultEvents.size());
-      assertEquals(
-          8,
-          (int)
-              resultEvents.stream()
-                  .filter(
-                      e -> e.getAttributes().asMap().get(THREAD_NAME).toString().equals("thread-#"))
-                  .count());
-      assertEquals(
-          32,
-          resultEvents.stream()
-              .filter(e -> e.getAttributes().asMap().get(THREAD_NAME).toString().equals("thread-#"))
-              .mapToInt(e -> (int) e.getAttributes().asMap().get(FLAME_VALUE))
-              .sum());
+    testClass.accept(mockEvent);
+    testClass.accept(mockEvent);
+    testClass.accept(mockEvent2);
+    testClass.accept(mockEvent2);
+
+    List<Event> resultEvents = testClass.summarize().collect(Collectors.toList());
+
+    assertEquals(8, resultEvents.size());
+    assertEquals(
+        8,
+        (int)
+            resultEvents.stream()
+                .filter(
+                    e -> e.getAttributes().asMap().get(THREAD_NAME).toString().equals("thread-#"))
+                .count());
+    assertEquals(
+        32,
+        resultEvents.stream()
+            .filter(e -> e.getAttributes().asMap().get(THREAD_NAME).toString().equals("thread-#"))
+            .mapToInt(e -> (int) e.getAttributes().asMap().get(FLAME_VALUE))
+            .sum());
+  }
+
+  @Test
+  public void summarizesCompactly() {
+    when(nameNormalizer.getNormalizedThreadName(any(String.class)))
+        .thenAnswer(invocation -> invocation.getArgument(0, String.class));
+    ProfileSummarizer testClass =
+        ProfileSummarizer.forExecutionSample(
+            nameNormalizer, ProfileOptions.builder().encoding(FlamegraphEncoding.COMPACT).build());
+
+    testClass.accept(mockEvent);
+    testClass.accept(mockEvent);
+    testClass.accept(mockEvent2);
+
+    List<Event> resultEvents = testClass.summarize().collect(Collectors.toList());
+
+    assertEquals(2, resultEvents.size());
+    for (Event event : resultEvents) {
+      assertEquals(JFR_FLAMEGRAPH, event.getEventType());
+      var attributes = event.getAttributes().asMap();
+      var flamegraph = attributes.get(FLAMEGRAPH).toString();
+      var samples = attributes.get(THREAD_NAME).equals("thread-1") ? "2" : "1";
+      // The root and the 7 frames of the single stack, all sampled by every sample
+      var counts = String.join(",", Collections.nCopies(8, samples));
+      assertTrue(flamegraph.endsWith("\"counts\":[" + counts + "]}"), flamegraph);
     }
   }
 
+  @Test
+  public void foldsPackagesAndIgnoresLines() {
+    when(nameNormalizer.getNormalizedThreadName(any(String.class)))
+        .thenAnswer(invocation -> invocation.getArgument(0, String.class));
+    var aggregation = new FrameAggregation(FrameKeying.METHOD, List.of("sun"));
+    ProfileSummarizer testClass =
+        ProfileSummarizer.forExecutionSample(
+            nameNormalizer, ProfileOptions.builder().aggregation(aggregation).build());
+
+    testClass.accept(mockEvent);
+
+    var names = new ArrayList<String>();
+    var frame = testClass.getFlamegraphPerThread().get("thread-1").getStackFrame();
+    while (frame.getChildren() != null) {
+      frame = frame.getChildren().get(0);
+      names.add(frame.getName());
+    }
+    var expected =
+        List.of(
+            "java.lang.Thread.run()V",
+            "[sun.*]",
+            "java.net.ServerSocket.accept()Ljava/net/Socket;",
+            "java.net.ServerSocket.implAccept(Ljava/net/Socket;)V",
+            "java.net.AbstractPlainSocketImpl.accept(Ljava/net/SocketImpl;)V",
+            "java.net.PlainSocketImpl.socketAccept(Ljava/net/SocketImpl;)V");
+    assertEquals(expected, names);
+  }
+
+  @Test
+  public void foldsContiguousFramesOfEachPackage() {
+    when(nameNormalizer.getNormalizedThreadName(any(String.class)))
+        .thenAnswer(invocation -> invocation.getArgument(0, String.class));
+    var aggregation =
+        new FrameAggregation(
+            FrameKeying.METHOD_AND_LINE, FrameAggregation.parsePackages("default"));
+    ProfileSummarizer testClass =
+        ProfileSummarizer.forExecutionSample(
+            nameNormalizer, ProfileOptions.builder().aggregation(aggregation).build());
+
+    testClass.accept(mockEvent);
+
+    var levels =
+        new FrameFlattener()
+            .flatten(testClass.getFlamegraphPerThread().get("thread-1").getStackFrame());
+    var names = levels.stream().map(FlameLevel::getName).collect(Collectors.toList());
+    assertEquals(List.of("root", "[java.*]", "[sun.*]", "[java.*]"), names);
+  }
+
+  @Test
+  public void weighsTlabAllocationsInKibibytes() {
+    when(nameNormalizer.getNormalizedThreadName(any(String.class)))
+        .thenAnswer(invocation -> invocation.getArgument(0, String.class));
+    ProfileSummarizer testClass = ProfileSummarizer.forTlabAllocation(nameNormalizer);
+    var inNewTlab = allocationEvent(ProfileSummarizer.IN_NEW_TLAB_EVENT_NAME);
+    when(inNewTlab.getLong(ProfileSummarizer.TLAB_SIZE)).thenReturn(8192L);
+    var outsideTlab = allocationEvent(ProfileSummarizer.OUTSIDE_TLAB_EVENT_NAME);
+    when(outsideTlab.getLong(ProfileSummarizer.ALLOCATION_SIZE)).thenReturn(100L);
+
+    assertTrue(testClass.test(inNewTlab));
+    assertTrue(testClass.test(outsideTlab));
+    assertFalse(testClass.test(mockEvent));
+
+    testClass.accept(inNewTlab);
+    testClass.accept(outsideTlab);
+
+    List<Event> resultEvents = testClass.summarize().collect(Collectors.toList());
+
+    // The root and the 7 frames of the single stack
+    assertEquals(8, resultEvents.size());
+    for (Event event : resultEvents) {
+      assertEquals(ProfileSummarizer.JFR_ALLOCATION_FLAMELEVEL, event.getEventType());
+      var attributes = event.getAttributes().asMap();
+      assertEquals("thread-1", attributes.get(THREAD_NAME));
+      assertEquals(ProfileSummarizer.IN_NEW_TLAB_EVENT_NAME, attributes.get(PROFILE_SOURCE));
+      // 8 KiB and 100 bytes rounded up to 1 KiB
+      assertEquals(9, attributes.get(FLAME_VALUE));
+    }
+  }
+
+  @Test
+  public void skipsAllocationsWithoutSize() {
+    ProfileSummarizer testClass = ProfileSummarizer.forTlabAllocation(nameNormalizer);
+    var inNewTlab = allocationEvent(ProfileSummarizer.IN_NEW_TLAB_EVENT_NAME);
+    var eventType = EventTypes.withFields(ProfileSummarizer.ALLOCATION_SIZE);
+    when(eventType.getName()).thenReturn(ProfileSummarizer.IN_NEW_TLAB_EVENT_NAME);
+    when(inNewTlab.getEventType()).thenReturn(eventType);
+
+    testClass.accept(inNewTlab);
+
+    verify(inNewTlab, never()).getLong(any());
+    assertTrue(testClass.getFlamegraphPerThread().isEmpty());
+  }
+
+  @Test
+  public void roundsUpToKibibytes() {
+    assertEquals(0, ProfileSummarizer.kibibytes(0));
+    assertEquals(1, ProfileSummarizer.kibibytes(1));
+    assertEquals(1, ProfileSummarizer.kibibytes(1024));
+    assertEquals(2, ProfileSummarizer.kibibytes(1025));
+    assertEquals(Integer.MAX_VALUE, ProfileSummarizer.kibibytes(Long.MAX_VALUE));
+  }
+
+  @Test
+  public void weighsLocksByMonitorClass() {
+    ProfileSummarizer testClass = ProfileSummarizer.forLock(nameNormalizer);
+    var monitorClass = mock(RecordedClass.class);
+    when(monitorClass.getName()).thenReturn("java.lang.Object");
+    var enter = lockEvent(ProfileSummarizer.MONITOR_ENTER_EVENT_NAME, Duration.ofNanos(2_500_001));
+    when(enter.getClass(ProfileSummarizer.MONITOR_CLASS)).thenReturn(monitorClass);
+    var wait = lockEvent(ProfileSummarizer.MONITOR_WAIT_EVENT_NAME, Duration.ofMillis(3));
+    when(wait.getClass(ProfileSummarizer.MONITOR_CLASS)).thenReturn(monitorClass);
+    var park = lockEvent(ProfileSummarizer.THREAD_PARK_EVENT_NAME, Duration.ofMillis(1));
+    // Parked without a blocker
+    when(park.getClass(ProfileSummarizer.PARKED_CLASS)).thenReturn(null);
+
+    assertTrue(testClass.test(park));
+    testClass.accept(enter);
+    testClass.accept(wait);
+    testClass.accept(park);
+
+    var result = testClass.getFlamegraphPerThread();
+    assertEquals(2, result.size());
+    // 2,500.001 us rounded up, and 3 ms
+    assertEquals(5501, result.get("java.lang.Object").getStackFrame().getValue());
+    assertEquals(1000, result.get(ProfileSummarizer.UNKNOWN_CLASS).getStackFrame().getValue());
+
+    List<Event> resultEvents = testClass.summarize().collect(Collectors.toList());
+    assertEquals(16, resultEvents.size());
+    for (Event event : resultEvents) {
+      assertEquals(ProfileSummarizer.JFR_LOCK_FLAMELEVEL, event.getEventType());
+      assertTrue(event.getAttributes().asMap().containsKey(ProfileSummarizer.MONITOR_CLASS_NAME));
+    }
+  }
+
+  @Test
+  public void weighsTimedParks() {
+    ProfileSummarizer testClass = ProfileSummarizer.forLock(nameNormalizer);
+    // LockSupport.parkNanos sets a relative timeout, parkUntil an absolute deadline instead
+    var parkNanos = lockEvent(ProfileSummarizer.THREAD_PARK_EVENT_NAME, Duration.ofMillis(50));
+    when(parkNanos.getLong("timeout")).thenReturn(50_000_000L);
+    when(parkNanos.getLong("until")).thenReturn(Long.MIN_VALUE);
+    when(parkNanos.getClass(ProfileSummarizer.PARKED_CLASS)).thenReturn(null);
+    var parkUntil = lockEvent(ProfileSummarizer.THREAD_PARK_EVENT_NAME, Duration.ofMillis(30));
+    when(parkUntil.getLong("timeout")).thenReturn(Long.MIN_VALUE);
+    when(parkUntil.getLong("until")).thenReturn(1_600_000_000_000L);
+    when(parkUntil.getClass(ProfileSummarizer.PARKED_CLASS)).thenReturn(null);
+    var park = lockEvent(ProfileSummarizer.THREAD_PARK_EVENT_NAME, Duration.ofMillis(20));
+    when(park.getLong("timeout")).thenReturn(0L);
+    when(park.getLong("until")).thenReturn(Long.MIN_VALUE);
+    when(park.getClass(ProfileSummarizer.PARKED_CLASS)).thenReturn(null);
+
+    testClass.accept(parkNanos);
+    testClass.accept(parkUntil);
+    testClass.accept(park);
+
+    var result = testClass.getFlamegraphPerThread();
+    assertEquals(1, result.size());
+    assertEquals(100_000, result.get(ProfileSummarizer.UNKNOWN_CLASS).getStackFrame().getValue());
+  }
+
+  @Test
+  public void locksWithoutMonitorClassAreUnknown() {
+    ProfileSummarizer testClass = ProfileSummarizer.forLock(nameNormalizer);
+    var enter = lockEvent(ProfileSummarizer.MONITOR_ENTER_EVENT_NAME, Duration.ofMillis(1));
+    var eventType = EventTypes.withFields();
+    when(eventType.getName()).thenReturn(ProfileSummarizer.MONITOR_ENTER_EVENT_NAME);
+    when(enter.getEventType()).thenReturn(eventType);
+
+    testClass.accept(enter);
+
+    verify(enter, never()).getClass(any());
+    assertEquals(
+        1000,
+        testClass
+            .getFlamegraphPerThread()
+            .get(ProfileSummarizer.UNKNOWN_CLASS)
+            .getStackFrame()
+            .getValue());
+  }
+
+  @Test
+  public void splitsThreadStates() {
+    when(nameNormalizer.getNormalizedThreadName(any(String.class)))
+        .thenAnswer(invocation -> invocation.getArgument(0, String.class));
+    ProfileSummarizer testClass = ProfileSummarizer.forThreadStates(nameNormalizer);
+    when(mockEvent.getEventType().getName()).thenReturn(ProfileSummarizer.EVENT_NAME);
+    // Native in java.net.PlainSocketImpl.socketAccept
+    when(mockEvent2.getEventType().getName()).thenReturn(ProfileSummarizer.NATIVE_EVENT_NAME);
+    var nativeEvent = mock(RecordedEvent.class, Answers.RETURNS_DEEP_STUBS);
+    when(nativeEvent.getEventType().getName()).thenReturn(ProfileSummarizer.NATIVE_EVENT_NAME);
+    when(nativeEvent.getThread(SAMPLED_THREAD)).thenReturn(mockThread);
+    var nativeFrame = buildFrame("com.example.Zip", "inflate", "()V", -1, 0);
+    var nativeTrace = mock(RecordedStackTrace.class);
+    when(nativeTrace.getFrames()).thenReturn(List.of(nativeFrame));
+    when(nativeEvent.getStackTrace()).thenReturn(nativeTrace);
+
+    assertTrue(testClass.test(mockEvent));
+    assertTrue(testClass.test(mockEvent2));
+
+    testClass.accept(mockEvent);
+    testClass.accept(mockEvent2);
+    testClass.accept(nativeEvent);
+
+    var running = testClass.getFlamegraphPerThread(ProfileSummarizer.RUNNING);
+    assertEquals(Set.of("thread-1"), running.keySet());
+    var io = testClass.getFlamegraphPerThread(ProfileSummarizer.IO);
+    assertEquals(Set.of("thread-2"), io.keySet());
+    var nativeState = testClass.getFlamegraphPerThread(ProfileSummarizer.NATIVE_STATE);
+    assertEquals(Set.of("thread-1"), nativeState.keySet());
+    assertTrue(testClass.getFlamegraphPerThread().isEmpty());
+
+    List<Event> resultEvents = testClass.summarize().collect(Collectors.toList());
+    // Two trees of the 7 frames and one of a single frame, with their roots
+    assertEquals(18, resultEvents.size());
+    var states =
+        resultEvents.stream()
+            .map(e -> e.getAttributes().asMap().get(ProfileSummarizer.THREAD_STATE))
+            .collect(Collectors.toSet());
+    assertEquals(
+        Set.of(ProfileSummarizer.RUNNING, ProfileSummarizer.IO, ProfileSummarizer.NATIVE_STATE),
+        states);
+  }
+
+  @Test
+  public void sendsSlicesOfSpikesOnce() {
+    when(nameNormalizer.getNormalizedThreadName(any(String.class)))
+        .thenAnswer(invocation -> invocation.getArgument(0, String.class));
+    var options = ProfileOptions.builder().slices(10, 0.8, Duration.ofMillis(100)).build();
+    var spikes = options.getSpikes();
+    ProfileSummarizer testClass = ProfileSummarizer.forExecutionSample(nameNormalizer, options);
+    when(mockEvent.getStartTime().getEpochSecond()).thenReturn(100L);
+    when(mockEvent2.getStartTime().getEpochSecond()).thenReturn(101L);
+    var gc = mock(RecordedEvent.class, Answers.RETURNS_DEEP_STUBS);
+    when(gc.getEventType().getName()).thenReturn("jdk.GarbageCollection");
+    when(gc.getDuration(SpikeDetector.LONGEST_PAUSE)).thenReturn(Duration.ofMillis(200));
+    when(gc.getStartTime().getEpochSecond()).thenReturn(101L);
+    when(gc.getEndTime().getEpochSecond()).thenReturn(101L);
+
+    testClass.accept(mockEvent);
+    testClass.accept(mockEvent2);
+    spikes.accept(gc);
+
+    List<Event> resultEvents = testClass.summarize().collect(Collectors.toList());
+    // The trees of both threads, then the slice of the thread sampled in the GC's second
+    assertEquals(24, resultEvents.size());
+    var slices =
+        resultEvents.stream()
+            .filter(e -> e.getEventType().equals(JFR_FLAMELEVEL + ProfileSummarizer.SLICE))
+            .collect(Collectors.toList());
+    assertEquals(8, slices.size());
+    for (Event slice : slices) {
+      var attributes = slice.getAttributes().asMap();
+      assertEquals(101_000L, slice.getTimestamp());
+      assertEquals("thread-2", attributes.get(THREAD_NAME));
+      assertEquals(SpikeDetector.GC_PAUSE, attributes.get(ProfileSummarizer.SPIKE_TRIGGER));
+    }
+    testClass.reset();
+    spikes.reset();
+
+    // Late samples of a sent slice are only in the trees of the harvest
+    testClass.accept(mockEvent2);
+    assertEquals(8, testClass.summarize().count());
+  }
+
+  @Test
+  public void slicesAreNotPruned() {
+    when(nameNormalizer.getNormalizedThreadName(any(String.class)))
+        .thenAnswer(invocation -> invocation.getArgument(0, String.class));
+    var options =
+        ProfileOptions.builder()
+            .pruner(new FlamegraphPruner(0, 0, 3))
+            .slices(10, 0.8, Duration.ofMillis(100))
+            .build();
+    var spikes = options.getSpikes();
+    ProfileSummarizer testClass = ProfileSummarizer.forExecutionSample(nameNormalizer, options);
+    when(mockEvent.getStartTime().getEpochSecond()).thenReturn(100L);
+    when(mockEvent2.getStartTime().getEpochSecond()).thenReturn(101L);
+    var gc = mock(RecordedEvent.class, Answers.RETURNS_DEEP_STUBS);
+    when(gc.getEventType().getName()).thenReturn("jdk.GarbageCollection");
+    when(gc.getDuration(SpikeDetector.LONGEST_PAUSE)).thenReturn(Duration.ofMillis(200));
+    when(gc.getStartTime().getEpochSecond()).thenReturn(101L);
+    when(gc.getEndTime().getEpochSecond()).thenReturn(101L);
+
+    testClass.accept(mockEvent);
+    testClass.accept(mockEvent2);
+    spikes.accept(gc);
+
+    List<Event> resultEvents = testClass.summarize().collect(Collectors.toList());
+    // The trees of both threads pruned to 3 nodes, then the whole slice of 8
+    assertEquals(14, resultEvents.size());
+    assertEquals(
+        8,
+        resultEvents.stream()
+            .filter(e -> e.getEventType().equals(JFR_FLAMELEVEL + ProfileSummarizer.SLICE))
+            .count());
+  }
+
   @Test
   public void earliestEventTimestampIsSet() {
     when(nameNormalizer.getNormalizedThreadName(any(String.class)))
         .thenAnswer(invocation -> invocation.getArgument(0, String.class));
     ProfileSummarizer testClass = ProfileSummarizer.forExecutionSample(nameNormalizer);
 
-    try (MockedStatic<RecordedObjectValidators> recordedObjectValidator =
-        Mockito.mockStatic(RecordedObjectValidators.class)) {
-      recordedObjectValidator
-          .when(() -> RecordedObjectValidators.hasField(any(), any(), any()))
-          .thenReturn(true);
-      testClass.accept(mockEvent2);
-      testClass.accept(mockEvent);
-    }
+    testClass.accept(mockEvent2);
+    testClass.accept(mockEvent);
 
     List<Event> resultEvents = testClass.summarize().collect(Collectors.toList());
 
@@ -191,6 +512,24 @@ class ProfileSummarizerTest {
     assertEquals(16, resultEvents.stream().filter(e -> e.getTimestamp() == 1L).count());
   }
 
+  private RecordedEvent allocationEvent(String eventName) {
+    RecordedEvent event = mock(RecordedEvent.class, Answers.RETURNS_DEEP_STUBS);
+    when(event.getEventType().getName()).thenReturn(eventName);
+    when(event.getValue("eventThread")).thenReturn(mockThread);
+    when(event.getStackTrace()).thenReturn(mockStackTrace);
+    when(event.getStartTime().toEpochMilli()).thenReturn(1L);
+    return event;
+  }
+
+  private RecordedEvent lockEvent(String eventName, Duration duration) {
+    RecordedEvent event = mock(RecordedEvent.class, Answers.RETURNS_DEEP_STUBS);
+    when(event.getEventType().getName()).thenReturn(eventName);
+    when(event.getDuration()).thenReturn(duration);
+    when(event.getStackTrace()).thenReturn(mockStackTrace);
+    when(event.getStartTime().toEpochMilli()).thenReturn(1L);
+    return event;
+  }
+
   private RecordedFrame buildFrame(
       String className, String methodName, String descriptor, int line, int bytecodeIndex) {
     RecordedFrame frame = mock(RecordedFrame.class, Answers.RETURNS_DEEP_STUBS);
@@ -0,0 +1,107 @@
+package com.newrelic.jfr.profiler;
+
+import static com.newrelic.jfr.profiler.SpikeDetector.CPU_LOAD;
+import static com.newrelic.jfr.profiler.SpikeDetector.GC_PAUSE;
+import static com.newrelic.jfr.profiler.SpikeDetector.LONGEST_PAUSE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.newrelic.jfr.EventTypes;
+import java.time.Duration;
+import jdk.jfr.consumer.RecordedEvent;
+import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
+
+class SpikeDetectorTest {
+
+  @Test
+  void testCpuLoadMarksItsSecondAndThePreviousOne() {
+    var detector = new SpikeDetector(10, 0.8, Duration.ofMillis(100));
+    detector.accept(cpuLoad(100, 0.5, 0.375));
+    detector.accept(cpuLoad(200, 0.5, 0.25));
+
+    assertNull(detector.getTrigger(98));
+    assertEquals(CPU_LOAD, detector.getTrigger(99));
+    assertEquals(CPU_LOAD, detector.getTrigger(100));
+    assertNull(detector.getTrigger(101));
+    assertNull(detector.getTrigger(199));
+    assertNull(detector.getTrigger(200));
+  }
+
+  @Test
+  void testGcPauseMarksTheSecondsItOverlaps() {
+    var detector = new SpikeDetector(10, 0.8, Duration.ofMillis(100));
+    var gc = gc(100, 102, LONGEST_PAUSE);
+    when(gc.getDuration(LONGEST_PAUSE)).thenReturn(Duration.ofMillis(100));
+    // A long concurrent collection with short pauses
+    var concurrentGc = gc(200, 203, LONGEST_PAUSE);
+    when(concurrentGc.getDuration(LONGEST_PAUSE)).thenReturn(Duration.ofMillis(5));
+    // Without a longest pause, the whole collection pauses
+    var serialGc = gc(300, 300);
+    when(serialGc.getDuration()).thenReturn(Duration.ofMillis(300));
+
+    detector.accept(gc);
+    detector.accept(concurrentGc);
+    detector.accept(serialGc);
+
+    assertEquals(GC_PAUSE, detector.getTrigger(100));
+    assertEquals(GC_PAUSE, detector.getTrigger(101));
+    assertEquals(GC_PAUSE, detector.getTrigger(102));
+    assertNull(detector.getTrigger(201));
+    assertEquals(GC_PAUSE, detector.getTrigger(300));
+  }
+
+  @Test
+  void testResetKeepsTheSpikesOfTheSlices() {
+    var detector = new SpikeDetector(10, 0.8, Duration.ofMillis(100));
+    detector.accept(cpuLoad(100, 0.9, 0));
+    detector.accept(cpuLoad(105, 0.9, 0));
+    detector.accept(cpuLoad(111, 0.9, 0));
+
+    detector.reset();
+
+    assertNull(detector.getTrigger(100));
+    assertEquals(CPU_LOAD, detector.getTrigger(105));
+    assertEquals(CPU_LOAD, detector.getTrigger(111));
+    assertEquals(0, detector.summarize().count());
+  }
+
+  @Test
+  void testReadsCpuLoadAndGcEvents() {
+    var detector = new SpikeDetector(10, 0.8, Duration.ofMillis(100));
+    assertTrue(detector.test(cpuLoad(1, 0, 0)));
+    assertTrue(detector.test(gc(1, 1)));
+    assertEquals(2, detector.getEventNames().size());
+  }
+
+  @Test
+  void testInvalidSliceSeconds() {
+    assertThrows(
+        IllegalArgumentException.class, () -> new SpikeDetector(0, 0.8, Duration.ofMillis(100)));
+  }
+
+  private static RecordedEvent cpuLoad(long second, double jvmUser, double jvmSystem) {
+    var event = mock(RecordedEvent.class, Answers.RETURNS_DEEP_STUBS);
+    var eventType = EventTypes.withFields("jvmUser", "jvmSystem");
+    when(eventType.getName()).thenReturn("jdk.CPULoad");
+    when(event.getEventType()).thenReturn(eventType);
+    when(event.getStartTime().getEpochSecond()).thenReturn(second);
+    when(event.getDouble("jvmUser")).thenReturn(jvmUser);
+    when(event.getDouble("jvmSystem")).thenReturn(jvmSystem);
+    return event;
+  }
+
+  private static RecordedEvent gc(long startSecond, long endSecond, String... fieldNames) {
+    var event = mock(RecordedEvent.class, Answers.RETURNS_DEEP_STUBS);
+    var eventType = EventTypes.withFields(fieldNames);
+    when(eventType.getName()).thenReturn("jdk.GarbageCollection");
+    when(event.getEventType()).thenReturn(eventType);
+    when(event.getStartTime().getEpochSecond()).thenReturn(startSecond);
+    when(event.getEndTime().getEpochSecond()).thenReturn(endSecond);
+    return event;
+  }
+}
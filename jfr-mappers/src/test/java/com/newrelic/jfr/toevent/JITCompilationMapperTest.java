@@ -10,11 +10,10 @@ import static com.newrelic.jfr.toevent.JITCompilationMapper.SUCCEEDED;
 import static com.newrelic.jfr.toevent.JITCompilationMapper.THREAD_NAME;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
-import com.newrelic.jfr.RecordedObjectValidators;
+import com.newrelic.jfr.EventTypes;
 import com.newrelic.jfr.Workarounds;
 import com.newrelic.telemetry.Attributes;
 import com.newrelic.telemetry.events.Event;
@@ -22,9 +21,7 @@ import java.nio.file.Path;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
-import jdk.jfr.EventType;
 import jdk.jfr.consumer.RecordedEvent;
-import jdk.jfr.consumer.RecordedObject;
 import jdk.jfr.consumer.RecordedThread;
 import jdk.jfr.consumer.RecordingFile;
 import org.junit.jupiter.api.AfterAll;
@@ -34,7 +31,6 @@ import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 
 class JITCompilationMapperTest {
-  private static MockedStatic<RecordedObjectValidators> recordedObjectValidatorsMockedStatic;
   private static MockedStatic<Workarounds> workaroundsMockedStatic;
   private static final String MISSING = "[missing]";
 
@@ -44,28 +40,11 @@ class JITCompilationMapperTest {
     workaroundsMockedStatic
         .when(() -> Workarounds.getSucceeded(any(RecordedEvent.class)))
         .thenReturn(true);
-
-    recordedObjectValidatorsMockedStatic = Mockito.mockStatic(RecordedObjectValidators.class);
-
-    recordedObjectValidatorsMockedStatic
-        .when(
-            () ->
-                RecordedObjectValidators.hasField(
-                    any(RecordedObject.class), anyString(), anyString()))
-        .thenReturn(true);
-
-    recordedObjectValidatorsMockedStatic
-        .when(
-            () ->
-                RecordedObjectValidators.isRecordedObjectNull(
-                    any(RecordedObject.class), anyString()))
-        .thenReturn(false);
   }
 
   @AfterAll
   static void teardown() {
     workaroundsMockedStatic.close();
-    recordedObjectValidatorsMockedStatic.close();
   }
 
   @Test
@@ -84,7 +63,7 @@ class JITCompilationMapperTest {
 
     var event = mock(RecordedEvent.class);
     var eventThread = mock(RecordedThread.class);
-    var eventType = mock(EventType.class);
+    var eventType = EventTypes.withAllFields();
 
     when(event.getStartTime()).thenReturn(startTime);
     when(event.getDuration()).thenReturn(duration);
@@ -122,7 +101,7 @@ class JITCompilationMapperTest {
 
     var event = mock(RecordedEvent.class);
     var eventThread = mock(RecordedThread.class);
-    var eventType = mock(EventType.class);
+    var eventType = EventTypes.withAllFields();
 
     when(event.getStartTime()).thenReturn(startTime);
     when(event.getDuration()).thenReturn(duration);
@@ -1,55 +1,22 @@
 package com.newrelic.jfr.toevent;
 
+import static com.newrelic.jfr.EventTypes.mockEvent;
 import static com.newrelic.jfr.toevent.JVMInformationMapper.JFR_JVM_INFORMATION;
 import static com.newrelic.jfr.toevent.JVMInformationMapper.JVM_ARGUMENTS;
 import static com.newrelic.jfr.toevent.JVMInformationMapper.JVM_START_TIME;
 import static com.newrelic.jfr.toevent.JVMInformationMapper.JVM_VERSION;
 import static java.time.temporal.ChronoUnit.MILLIS;
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
-import com.newrelic.jfr.RecordedObjectValidators;
 import com.newrelic.telemetry.Attributes;
 import com.newrelic.telemetry.events.Event;
 import java.time.Instant;
 import java.util.List;
-import jdk.jfr.consumer.RecordedEvent;
-import jdk.jfr.consumer.RecordedObject;
-import org.junit.jupiter.api.AfterAll;
-import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
-import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 
 class JVMInformationMapperTest {
-  private static MockedStatic<RecordedObjectValidators> recordedObjectValidatorsMockedStatic;
-
-  @BeforeAll
-  static void init() {
-    recordedObjectValidatorsMockedStatic = Mockito.mockStatic(RecordedObjectValidators.class);
-
-    recordedObjectValidatorsMockedStatic
-        .when(
-            () ->
-                RecordedObjectValidators.hasField(
-                    any(RecordedObject.class), anyString(), anyString()))
-        .thenReturn(true);
-
-    recordedObjectValidatorsMockedStatic
-        .when(
-            () ->
-                RecordedObjectValidators.isRecordedObjectNull(
-                    any(RecordedObject.class), anyString()))
-        .thenReturn(false);
-  }
-
-  @AfterAll
-  static void teardown() {
-    recordedObjectValidatorsMockedStatic.close();
-  }
 
   @Test
   void testApply() {
@@ -66,7 +33,7 @@ class JVMInformationMapperTest {
         new Event(JFR_JVM_INFORMATION, expectedAttributes, eventTime.toEpochMilli());
     var expected = List.of(expectedEvent);
 
-    var event = mock(RecordedEvent.class);
+    var event = mockEvent();
 
     when(event.getStartTime()).thenReturn(eventTime);
     when(event.getString(JVM_ARGUMENTS)).thenReturn(jvmArgs);
@@ -1,5 +1,6 @@
 package com.newrelic.jfr.toevent;
 
+import static com.newrelic.jfr.EventTypes.mockEvent;
 import static com.newrelic.jfr.toevent.MethodSampleMapper.JFR_METHOD_SAMPLE;
 import static com.newrelic.jfr.toevent.MethodSampleMapper.SAMPLED_THREAD;
 import static com.newrelic.jfr.toevent.MethodSampleMapper.STACK_TRACE;
@@ -7,52 +8,19 @@ import static com.newrelic.jfr.toevent.MethodSampleMapper.STATE;
 import static com.newrelic.jfr.toevent.MethodSampleMapper.THREAD_NAME;
 import static com.newrelic.jfr.toevent.MethodSampleMapper.THREAD_STATE;
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
-import com.newrelic.jfr.RecordedObjectValidators;
 import com.newrelic.telemetry.Attributes;
 import com.newrelic.telemetry.events.Event;
 import java.time.Instant;
 import java.util.List;
-import jdk.jfr.consumer.RecordedEvent;
-import jdk.jfr.consumer.RecordedObject;
 import jdk.jfr.consumer.RecordedStackTrace;
 import jdk.jfr.consumer.RecordedThread;
-import org.junit.jupiter.api.AfterAll;
-import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
-import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 
 class MethodSampleMapperTest {
-  private static MockedStatic<RecordedObjectValidators> recordedObjectValidatorsMockedStatic;
-
-  @BeforeAll
-  static void init() {
-    recordedObjectValidatorsMockedStatic = Mockito.mockStatic(RecordedObjectValidators.class);
-
-    recordedObjectValidatorsMockedStatic
-        .when(
-            () ->
-                RecordedObjectValidators.hasField(
-                    any(RecordedObject.class), anyString(), anyString()))
-        .thenReturn(true);
-
-    recordedObjectValidatorsMockedStatic
-        .when(
-            () ->
-                RecordedObjectValidators.isRecordedObjectNull(
-                    any(RecordedObject.class), anyString()))
-        .thenReturn(false);
-  }
-
-  @AfterAll
-  static void teardown() {
-    recordedObjectValidatorsMockedStatic.close();
-  }
 
   @Test
   void testApply() {
@@ -69,7 +37,7 @@ class MethodSampleMapperTest {
     var expectedEvent = new Event(JFR_METHOD_SAMPLE, expectedAttrs, startTime.toEpochMilli());
     var expected = List.of(expectedEvent);
 
-    var event = mock(RecordedEvent.class);
+    var event = mockEvent();
     var stack = mock(RecordedStackTrace.class);
     var sampledThread = mock(RecordedThread.class);
 
@@ -88,7 +56,7 @@ class MethodSampleMapperTest {
 
   @Test
   void testApplyButNoTrace() {
-    var event = mock(RecordedEvent.class);
+    var event = mockEvent();
     when(event.getStackTrace()).thenReturn(null);
     var mapper = MethodSampleMapper.forExecutionSample();
 
@@ -1,5 +1,8 @@
 package com.newrelic.jfr.toevent;
 
+import static com.newrelic.jfr.EventTypes.mockEvent;
+import static com.newrelic.jfr.StackTraceDictionary.JFR_STACK_TRACE;
+import static com.newrelic.jfr.StackTraceDictionary.STACK_TRACE_ID;
 import static com.newrelic.jfr.toevent.ThreadLockEventMapper.CLASS;
 import static com.newrelic.jfr.toevent.ThreadLockEventMapper.DURATION;
 import static com.newrelic.jfr.toevent.ThreadLockEventMapper.EVENT_THREAD;
@@ -9,53 +12,22 @@ import static com.newrelic.jfr.toevent.ThreadLockEventMapper.STACK_TRACE;
 import static com.newrelic.jfr.toevent.ThreadLockEventMapper.THREAD_NAME;
 import static java.time.temporal.ChronoUnit.MILLIS;
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
-import com.newrelic.jfr.RecordedObjectValidators;
+import com.newrelic.jfr.StackTraceDictionary;
 import com.newrelic.telemetry.Attributes;
 import com.newrelic.telemetry.events.Event;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 import jdk.jfr.consumer.RecordedClass;
-import jdk.jfr.consumer.RecordedEvent;
-import jdk.jfr.consumer.RecordedObject;
+import jdk.jfr.consumer.RecordedStackTrace;
 import jdk.jfr.consumer.RecordedThread;
-import org.junit.jupiter.api.AfterAll;
-import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
-import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 
 class ThreadLockEventMapperTest {
-  private static MockedStatic<RecordedObjectValidators> recordedObjectValidatorsMockedStatic;
-
-  @BeforeAll
-  static void init() {
-    recordedObjectValidatorsMockedStatic = Mockito.mockStatic(RecordedObjectValidators.class);
-
-    recordedObjectValidatorsMockedStatic
-        .when(
-            () ->
-                RecordedObjectValidators.hasField(
-                    any(RecordedObject.class), anyString(), anyString()))
-        .thenReturn(true);
-
-    recordedObjectValidatorsMockedStatic
-        .when(
-            () ->
-                RecordedObjectValidators.isRecordedObjectNull(
-                    any(RecordedObject.class), anyString()))
-        .thenReturn(false);
-  }
-
-  @AfterAll
-  static void teardown() {
-    recordedObjectValidatorsMockedStatic.close();
-  }
 
   @Test
   void testApply() {
@@ -73,7 +45,7 @@ class ThreadLockEventMapperTest {
         new Event(JFR_JAVA_MONITOR_WAIT, expectedAttributes, startTime.toEpochMilli());
     var expected = List.of(expectedEvent);
 
-    var event = mock(RecordedEvent.class);
+    var event = mockEvent();
     var monitorClass = mock(RecordedClass.class);
     var eventThread = mock(RecordedThread.class);
 
@@ -90,12 +62,38 @@ class ThreadLockEventMapperTest {
     assertEquals(expected, result);
   }
 
+  @Test
+  void testApplyWithStackTraceDictionary() {
+    var event = mockEvent();
+    var trace = mock(RecordedStackTrace.class);
+    var eventThread = mock(RecordedThread.class);
+    when(event.getStartTime()).thenReturn(Instant.now());
+    when(event.getThread(EVENT_THREAD)).thenReturn(eventThread);
+    when(event.getClass(MONITOR_CLASS)).thenReturn(mock(RecordedClass.class));
+    when(event.getDuration()).thenReturn(Duration.of(21, MILLIS));
+    when(event.getStackTrace()).thenReturn(trace);
+    when(trace.getFrames()).thenReturn(List.of());
+
+    var mapper = new ThreadLockEventMapper(new StackTraceDictionary());
+
+    var first = mapper.apply(event);
+    assertEquals(2, first.size());
+    assertEquals(JFR_STACK_TRACE, first.get(0).getEventType());
+    var id = first.get(0).getAttributes().asMap().get(STACK_TRACE_ID);
+    assertEquals(id, first.get(1).getAttributes().asMap().get(STACK_TRACE_ID));
+
+    var second = mapper.apply(event);
+    assertEquals(1, second.size());
+    assertEquals(JFR_JAVA_MONITOR_WAIT, second.get(0).getEventType());
+    assertEquals(id, second.get(0).getAttributes().asMap().get(STACK_TRACE_ID));
+  }
+
   @Test
   public void testApplyButDurationTooShort() throws Exception {
     var duration = Duration.of(19, MILLIS);
     var expected = List.of();
 
-    var event = mock(RecordedEvent.class);
+    var event = mockEvent();
 
     when(event.getDuration()).thenReturn(duration);
 
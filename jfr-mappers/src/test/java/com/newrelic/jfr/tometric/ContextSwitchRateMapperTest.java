@@ -1,53 +1,21 @@
 package com.newrelic.jfr.tometric;
 
+import static com.newrelic.jfr.EventTypes.mockEvent;
 import static com.newrelic.jfr.tometric.ContextSwitchRateMapper.JFR_THREAD_CONTEXT_SWITCH_RATE;
 import static com.newrelic.jfr.tometric.ContextSwitchRateMapper.SWITCH_RATE;
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
-import com.newrelic.jfr.RecordedObjectValidators;
 import com.newrelic.telemetry.Attributes;
 import com.newrelic.telemetry.metrics.Gauge;
 import com.newrelic.telemetry.metrics.Metric;
 import java.time.Instant;
 import java.util.List;
 import jdk.jfr.consumer.RecordedEvent;
-import jdk.jfr.consumer.RecordedObject;
-import org.junit.jupiter.api.AfterAll;
-import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
-import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 
 class ContextSwitchRateMapperTest {
-  private static MockedStatic<RecordedObjectValidators> recordedObjectValidatorsMockedStatic;
-
-  @BeforeAll
-  static void init() {
-    recordedObjectValidatorsMockedStatic = Mockito.mockStatic(RecordedObjectValidators.class);
-
-    recordedObjectValidatorsMockedStatic
-        .when(
-            () ->
-                RecordedObjectValidators.hasField(
-                    any(RecordedObject.class), anyString(), anyString()))
-        .thenReturn(true);
-
-    recordedObjectValidatorsMockedStatic
-        .when(
-            () ->
-                RecordedObjectValidators.isRecordedObjectNull(
-                    any(RecordedObject.class), anyString()))
-        .thenReturn(false);
-  }
-
-  @AfterAll
-  static void teardown() {
-    recordedObjectValidatorsMockedStatic.close();
-  }
 
   @Test
   void testApply() {
@@ -58,7 +26,7 @@ class ContextSwitchRateMapperTest {
         new Gauge(
             JFR_THREAD_CONTEXT_SWITCH_RATE, switchRate, timestamp.toEpochMilli(), new Attributes());
 
-    RecordedEvent event = mock(RecordedEvent.class);
+    RecordedEvent event = mockEvent();
     when(event.getStartTime()).thenReturn(timestamp);
     when(event.getDouble(SWITCH_RATE)).thenReturn(switchRate);
 
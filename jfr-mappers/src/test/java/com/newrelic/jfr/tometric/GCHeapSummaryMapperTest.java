@@ -1,5 +1,6 @@
 package com.newrelic.jfr.tometric;
 
+import static com.newrelic.jfr.EventTypes.mockEvent;
 import static com.newrelic.jfr.tometric.GCHeapSummaryMapper.COMMITTED_END;
 import static com.newrelic.jfr.tometric.GCHeapSummaryMapper.COMMITTED_SIZE;
 import static com.newrelic.jfr.tometric.GCHeapSummaryMapper.HEAP_SPACE;
@@ -24,7 +25,6 @@ import com.newrelic.telemetry.metrics.Gauge;
 import com.newrelic.telemetry.metrics.Metric;
 import java.time.Instant;
 import java.util.List;
-import jdk.jfr.consumer.RecordedEvent;
 import jdk.jfr.consumer.RecordedObject;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
@@ -90,7 +90,7 @@ class GCHeapSummaryMapperTest {
     when(recordedObject.getLong(COMMITTED_END)).thenReturn(committedEnd);
     when(recordedObject.getLong(RESERVED_END)).thenReturn(reservedEnd);
 
-    var event = mock(RecordedEvent.class);
+    var event = mockEvent();
     when(event.getStartTime()).thenReturn(startTime);
     when(event.getLong(HEAP_USED)).thenReturn(heapUsed);
     when(event.getValue(HEAP_SPACE)).thenReturn(recordedObject);
@@ -1,5 +1,6 @@
 package com.newrelic.jfr.tometric;
 
+import static com.newrelic.jfr.EventTypes.mockEvent;
 import static com.newrelic.jfr.tometric.MetaspaceSummaryMapper.CLASS_SPACE;
 import static com.newrelic.jfr.tometric.MetaspaceSummaryMapper.COMMITTED;
 import static com.newrelic.jfr.tometric.MetaspaceSummaryMapper.DATA_SPACE;
@@ -21,7 +22,6 @@ import com.newrelic.telemetry.metrics.Metric;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
-import jdk.jfr.consumer.RecordedEvent;
 import jdk.jfr.consumer.RecordedObject;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
@@ -84,7 +84,7 @@ public class MetaspaceSummaryMapperTest {
     when(recordedObject.getDouble(COMMITTED)).thenReturn(committed);
     when(recordedObject.getDouble(RESERVED)).thenReturn(reserved);
 
-    var event = mock(RecordedEvent.class);
+    var event = mockEvent();
     when(event.getStartTime()).thenReturn(startTime);
     when(event.getString(WHEN)).thenReturn(when);
     when(event.getValue(METASPACE)).thenReturn(recordedObject);
@@ -1,5 +1,6 @@
 package com.newrelic.jfr.tosummary;
 
+import static com.newrelic.jfr.EventTypes.mockEvent;
 import static com.newrelic.jfr.tosummary.BasicGarbageCollectionSummarizer.CONCURRENT_MARK_SWEEP;
 import static com.newrelic.jfr.tosummary.BasicGarbageCollectionSummarizer.DEF_NEW;
 import static com.newrelic.jfr.tosummary.BasicGarbageCollectionSummarizer.DURATION;
@@ -14,12 +15,8 @@ import static com.newrelic.jfr.tosummary.BasicGarbageCollectionSummarizer.PS_MAR
 import static com.newrelic.jfr.tosummary.BasicGarbageCollectionSummarizer.SERIAL_OLD;
 import static java.util.stream.Collectors.toList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
-import com.newrelic.jfr.RecordedObjectValidators;
 import com.newrelic.telemetry.Attributes;
 import com.newrelic.telemetry.metrics.Metric;
 import com.newrelic.telemetry.metrics.Summary;
@@ -27,12 +24,8 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicLong;
-import jdk.jfr.consumer.RecordedEvent;
-import jdk.jfr.consumer.RecordedObject;
-import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
-import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 
 class BasicGarbageCollectionSummarizerTest {
@@ -46,7 +39,6 @@ class BasicGarbageCollectionSummarizerTest {
   private static final long DEFAULT_END_TIME_MS = 0L;
   private static final String MINOR_GC_DURATION_METRIC_NAME = "jfr.GarbageCollection.minorDuration";
   private static final String MAJOR_GC_DURATION_METRIC_NAME = "jfr.GarbageCollection.majorDuration";
-  private static MockedStatic<RecordedObjectValidators> recordedObjectValidatorsMockedStatic;
 
   @BeforeAll
   static void init() {
@@ -71,32 +63,11 @@ class BasicGarbageCollectionSummarizerTest {
             DEFAULT_START_TIME_MS,
             DEFAULT_END_TIME_MS,
             new Attributes());
-
-    recordedObjectValidatorsMockedStatic = Mockito.mockStatic(RecordedObjectValidators.class);
-
-    recordedObjectValidatorsMockedStatic
-        .when(
-            () ->
-                RecordedObjectValidators.hasField(
-                    any(RecordedObject.class), anyString(), anyString()))
-        .thenReturn(true);
-
-    recordedObjectValidatorsMockedStatic
-        .when(
-            () ->
-                RecordedObjectValidators.isRecordedObjectNull(
-                    any(RecordedObject.class), anyString()))
-        .thenReturn(false);
-  }
-
-  @AfterAll
-  static void teardown() {
-    recordedObjectValidatorsMockedStatic.close();
   }
 
   @Test
   void testSingleMinorGcEventSummary() {
-    var event = mock(RecordedEvent.class);
+    var event = mockEvent();
     var numOfEvents = 1;
     var eventStartTime = DEFAULT_START_TIME_MS + 1;
     var eventDurationNanos = 13_700_000;
@@ -136,7 +107,7 @@ class BasicGarbageCollectionSummarizerTest {
 
   @Test
   void testSingleMajorGcEventSummary() {
-    var event = mock(RecordedEvent.class);
+    var event = mockEvent();
     var numOfEvents = 1;
     var eventStartTime = DEFAULT_START_TIME_MS + 1;
     var eventDurationNanos = 13_700_000;
@@ -177,16 +148,16 @@ class BasicGarbageCollectionSummarizerTest {
   @Test
   void testMultipleGcEventSummariesOfBothTypesAndReset() {
     var numOfMinorGcEvents = 4;
-    var minorGcEvent1 = mock(RecordedEvent.class);
-    var minorGcEvent2 = mock(RecordedEvent.class);
-    var minorGcEvent3 = mock(RecordedEvent.class);
-    var minorGcEvent4 = mock(RecordedEvent.class);
+    var minorGcEvent1 = mockEvent();
+    var minorGcEvent2 = mockEvent();
+    var minorGcEvent3 = mockEvent();
+    var minorGcEvent4 = mockEvent();
 
     var numOfMajorGcEvents = 4;
-    var majorGcEvent5 = mock(RecordedEvent.class);
-    var majorGcEvent6 = mock(RecordedEvent.class);
-    var majorGcEvent7 = mock(RecordedEvent.class);
-    var majorGcEvent8 = mock(RecordedEvent.class);
+    var majorGcEvent5 = mockEvent();
+    var majorGcEvent6 = mockEvent();
+    var majorGcEvent7 = mockEvent();
+    var majorGcEvent8 = mockEvent();
 
     var startTimeEvent1 = new AtomicLong(DEFAULT_START_TIME_MS + 1);
     var startTimeEvent2 = new AtomicLong(startTimeEvent1.incrementAndGet());
@@ -300,7 +271,7 @@ class BasicGarbageCollectionSummarizerTest {
 
   @Test
   void testUnsupportedGcEventName() {
-    var event = mock(RecordedEvent.class);
+    var event = mockEvent();
     var eventStartTime = DEFAULT_START_TIME_MS + 1;
     var eventDurationNanos = 13_700_000;
 
@@ -1,12 +1,11 @@
 package com.newrelic.jfr.tosummary;
 
+import static com.newrelic.jfr.EventTypes.mockEvent;
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import java.time.Duration;
 import java.time.Instant;
-import jdk.jfr.consumer.RecordedEvent;
 import org.junit.jupiter.api.Test;
 
 class DurationSummarizerTest {
@@ -18,8 +17,8 @@ class DurationSummarizerTest {
     var duration1 = Duration.ofSeconds(5);
     var duration2 = Duration.ofSeconds(13);
 
-    var ev1 = mock(RecordedEvent.class);
-    var ev2 = mock(RecordedEvent.class);
+    var ev1 = mockEvent();
+    var ev2 = mockEvent();
 
     when(ev1.getStartTime()).thenReturn(Instant.ofEpochMilli(start1));
     when(ev1.getDuration()).thenReturn(duration1);
@@ -57,8 +56,8 @@ class DurationSummarizerTest {
     var duration1 = Duration.ofSeconds(11);
     var duration2 = Duration.ofSeconds(23);
 
-    var ev1 = mock(RecordedEvent.class);
-    var ev2 = mock(RecordedEvent.class);
+    var ev1 = mockEvent();
+    var ev2 = mockEvent();
 
     when(ev1.getStartTime()).thenReturn(Instant.ofEpochMilli(start1));
     when(ev1.getDuration()).thenReturn(duration1);
@@ -82,7 +81,7 @@ class DurationSummarizerTest {
     var start = System.currentTimeMillis();
     var duration = Duration.ofSeconds(1101);
 
-    var ev = mock(RecordedEvent.class);
+    var ev = mockEvent();
 
     when(ev.getStartTime()).thenReturn(Instant.ofEpochMilli(start));
     when(ev.getDuration()).thenReturn(duration);
@@ -1,14 +1,12 @@
 package com.newrelic.jfr.tosummary;
 
+import static com.newrelic.jfr.EventTypes.mockEvent;
 import static com.newrelic.jfr.tosummary.G1GarbageCollectionSummarizer.JFR_G1_GARBAGE_COLLECTION_DURATION;
+import static com.newrelic.jfr.tosummary.LogHistogram.PERCENTILES;
 import static java.util.stream.Collectors.toList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
-import com.newrelic.jfr.RecordedObjectValidators;
 import com.newrelic.telemetry.Attributes;
 import com.newrelic.telemetry.metrics.Metric;
 import com.newrelic.telemetry.metrics.Summary;
@@ -16,17 +14,13 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 import jdk.jfr.consumer.RecordedEvent;
-import jdk.jfr.consumer.RecordedObject;
-import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
-import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 
 class G1GarbageCollectionSummarizerTest {
 
   private static Summary defaultSummary;
-  private static MockedStatic<RecordedObjectValidators> recordedObjectValidatorsMockedStatic;
   private static final String DURATION = "duration";
   private static final String JFR_OBJECT_ALLOCATION_IN_NEW_TLAB_ALLOCATION =
       "jfr.ObjectAllocationInNewTLAB.allocation";
@@ -43,34 +37,13 @@ class G1GarbageCollectionSummarizerTest {
             Instant.now().toEpochMilli(),
             0L,
             new Attributes());
-
-    recordedObjectValidatorsMockedStatic = Mockito.mockStatic(RecordedObjectValidators.class);
-
-    recordedObjectValidatorsMockedStatic
-        .when(
-            () ->
-                RecordedObjectValidators.hasField(
-                    any(RecordedObject.class), anyString(), anyString()))
-        .thenReturn(true);
-
-    recordedObjectValidatorsMockedStatic
-        .when(
-            () ->
-                RecordedObjectValidators.isRecordedObjectNull(
-                    any(RecordedObject.class), anyString()))
-        .thenReturn(false);
-  }
-
-  @AfterAll
-  static void teardown() {
-    recordedObjectValidatorsMockedStatic.close();
   }
 
   @Test
   void testSingleEventSummary() {
     var summaryStartTime = Instant.now().toEpochMilli();
 
-    var event = mock(RecordedEvent.class);
+    var event = mockEvent();
     var numOfEvents = 1;
     var eventStartTime = summaryStartTime + 1;
     var eventDurationNanos = 13700000;
@@ -103,18 +76,18 @@ class G1GarbageCollectionSummarizerTest {
   void testMultipleEventSummary() {
     var summaryStartTime = Instant.now().toEpochMilli();
 
-    var event1 = mock(RecordedEvent.class);
+    var event1 = mockEvent();
     var numOfEvents = 1;
     var event1StartTime = summaryStartTime + 1;
     var event1DurationNanos = 13700000;
 
-    var event2 = mock(RecordedEvent.class);
+    var event2 = mockEvent();
     numOfEvents = ++numOfEvents;
     var event2StartTime = summaryStartTime + 2;
     var event2DurationNanos = 24800000; // max duration of final summary
     var event2DurationMillis = Duration.ofNanos(event2DurationNanos).toMillis();
 
-    var event3 = mock(RecordedEvent.class);
+    var event3 = mockEvent();
     numOfEvents = ++numOfEvents;
     var event3StartTime = summaryStartTime + 3;
     var event3DurationNanos = 1000000; // min duration of final summary
@@ -157,11 +130,36 @@ class G1GarbageCollectionSummarizerTest {
     assertEquals(expected, result);
   }
 
+  @Test
+  void testPercentiles() {
+    var summaryStartTime = Instant.now().toEpochMilli();
+    var testClass = new G1GarbageCollectionSummarizer(summaryStartTime);
+    for (int i = 1; i <= 100; i++) {
+      var event = mockEvent();
+      when(event.getStartTime()).thenReturn(Instant.ofEpochMilli(summaryStartTime + i));
+      when(event.getDuration(DURATION)).thenReturn(Duration.ofMillis(i));
+      testClass.accept(event);
+    }
+
+    var percentiles = testClass.summarizeGauges().collect(toList());
+
+    assertEquals(4, percentiles.size());
+    assertEquals(JFR_G1_GARBAGE_COLLECTION_DURATION + PERCENTILES, percentiles.get(0).getName());
+    assertEquals(summaryStartTime + 100, percentiles.get(0).getTimestamp());
+    assertEquals(50, percentiles.get(0).getValue(), 50 / 64.0);
+    assertEquals(90, percentiles.get(1).getValue(), 90 / 64.0);
+    assertEquals(99, percentiles.get(2).getValue(), 99 / 64.0);
+    assertEquals(100, percentiles.get(3).getValue(), 100 / 64.0);
+
+    testClass.reset();
+    assertEquals(0, testClass.summarizeGauges().count());
+  }
+
   @Test
   void testReset() {
     var summaryStartTime = Instant.now().toEpochMilli();
 
-    var event = mock(RecordedEvent.class);
+    var event = mockEvent();
     var numOfEvents = 1;
     var eventStartTime = summaryStartTime + 1;
     var eventDurationNanos = 13700000;
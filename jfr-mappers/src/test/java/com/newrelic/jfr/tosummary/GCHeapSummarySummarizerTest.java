@@ -1,11 +1,13 @@
 package com.newrelic.jfr.tosummary;
 
+import static com.newrelic.jfr.EventTypes.mockEvent;
+import static com.newrelic.jfr.tosummary.LogHistogram.PERCENTILES;
 import static java.util.stream.Collectors.toList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import com.newrelic.telemetry.Attributes;
+import com.newrelic.telemetry.metrics.Gauge;
 import com.newrelic.telemetry.metrics.Summary;
 import java.nio.file.Path;
 import java.time.Duration;
@@ -39,7 +41,7 @@ class GCHeapSummarySummarizerTest {
   void mock_pairEventSummaryAndReset() {
     var summaryStartTime = Instant.now().toEpochMilli();
 
-    var before = mock(RecordedEvent.class);
+    var before = mockEvent();
     var numOfEvents = 1;
     var beforeStartTime = summaryStartTime + 1;
     var beforeDurationNanos = 13700000;
@@ -49,7 +51,7 @@ class GCHeapSummarySummarizerTest {
     when(before.getStartTime()).thenReturn(Instant.ofEpochMilli(beforeStartTime));
     when(before.getDuration("duration")).thenReturn(Duration.ofNanos(beforeDurationNanos));
 
-    var after = mock(RecordedEvent.class);
+    var after = mockEvent();
     numOfEvents = numOfEvents + 1;
     var afterStartTime = summaryStartTime + 11;
     var afterDurationNanos = 24800000; // max duration of final summary
@@ -81,9 +83,16 @@ class GCHeapSummarySummarizerTest {
     testClass.accept(before);
     testClass.accept(after);
 
+    var percentiles = testClass.summarizeGauges().collect(toList());
     var result = testClass.summarize().collect(toList());
     testClass.reset();
     assertEquals(expected, result);
+    // The percentiles of a single pair are its duration
+    assertEquals(4, percentiles.size());
+    for (Gauge percentile : percentiles) {
+      assertEquals("jfr.GarbageCollection.duration" + PERCENTILES, percentile.getName());
+      assertEquals(pairDurationMillis, percentile.getValue());
+    }
 
     var resetResultSummary = testClass.summarize().collect(toList()).get(0);
 
@@ -95,6 +104,26 @@ class GCHeapSummarySummarizerTest {
     assertEquals(defaultSummary.getMax(), resetResultSummary.getMax());
   }
 
+  @Test
+  void mock_pairPercentilesKeepSubMillisecondDurations() {
+    var before = mockEvent();
+    when(before.getString("when")).thenReturn("Before GC");
+    when(before.getStartTime()).thenReturn(Instant.ofEpochSecond(100, 250_000));
+    var after = mockEvent();
+    when(after.getString("when")).thenReturn("After GC");
+    when(after.getStartTime()).thenReturn(Instant.ofEpochSecond(100, 1_750_000));
+
+    var testClass = new GCHeapSummarySummarizer(Instant.now().toEpochMilli());
+    testClass.accept(before);
+    testClass.accept(after);
+
+    var percentiles = testClass.summarizeGauges().collect(toList());
+    assertEquals(4, percentiles.size());
+    for (Gauge percentile : percentiles) {
+      assertEquals(1.5, percentile.getValue());
+    }
+  }
+
   @Disabled // FIXME should this test be deleted? The JFR recording seems to be missing.
   @Test
   void read_real_event() throws Exception {
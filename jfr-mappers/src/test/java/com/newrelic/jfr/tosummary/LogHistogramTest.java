@@ -0,0 +1,119 @@
+package com.newrelic.jfr.tosummary;
+
+import static com.newrelic.jfr.tosummary.LogHistogram.PERCENTILE;
+import static com.newrelic.jfr.tosummary.LogHistogram.PERCENTILES;
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.newrelic.telemetry.Attributes;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class LogHistogramTest {
+
+  @Test
+  void testSmallValuesAreExact() {
+    var histogram = new LogHistogram();
+    for (long value = 0; value < 32; value++) {
+      histogram.record(value);
+    }
+
+    assertEquals(0, histogram.getValueAtPercentile(0));
+    assertEquals(15, histogram.getValueAtPercentile(50));
+    assertEquals(31, histogram.getValueAtPercentile(100));
+  }
+
+  @Test
+  void testRelativeErrorIsBounded() {
+    var random = new Random(42);
+    for (int i = 0; i < 10_000; i++) {
+      long value = random.nextLong() >>> (1 + random.nextInt(Long.SIZE - 1));
+      var histogram = new LogHistogram();
+      // Keep the min and max away from the value, so that it isn't clamped
+      histogram.record(0);
+      histogram.record(value);
+      histogram.record(Long.MAX_VALUE);
+
+      long estimate = histogram.getValueAtPercentile(50);
+      assertTrue(
+          Math.abs(estimate - value) <= value / 64.0, "value " + value + " estimate " + estimate);
+    }
+  }
+
+  @Test
+  void testPercentiles() {
+    var histogram = new LogHistogram();
+    for (long value = 1; value <= 1000; value++) {
+      histogram.record(value * 1_000_000);
+    }
+
+    assertEquals(1000, histogram.getCount());
+    assertEquals(500_000_000, histogram.getValueAtPercentile(50), 500_000_000 / 64.0);
+    assertEquals(990_000_000, histogram.getValueAtPercentile(99), 990_000_000 / 64.0);
+    assertEquals(1_000_000_000, histogram.getValueAtPercentile(100), 1_000_000_000 / 64.0);
+    assertEquals(1_000_000, histogram.getValueAtPercentile(0), 1_000_000 / 64.0);
+  }
+
+  @Test
+  void testMerge() {
+    var merged = new LogHistogram();
+    var other = new LogHistogram();
+    for (long value = 1; value <= 100; value++) {
+      (value % 2 == 0 ? merged : other).record(value);
+    }
+    var whole = new LogHistogram();
+    for (long value = 1; value <= 100; value++) {
+      whole.record(value);
+    }
+
+    merged.merge(other);
+
+    assertEquals(100, merged.getCount());
+    for (double percentile : new double[] {0, 10, 50, 90, 99, 100}) {
+      assertEquals(whole.getValueAtPercentile(percentile), merged.getValueAtPercentile(percentile));
+    }
+  }
+
+  @Test
+  void testNegativeValuesAreZero() {
+    var histogram = new LogHistogram();
+    histogram.record(-5);
+
+    assertEquals(0, histogram.getValueAtPercentile(50));
+  }
+
+  @Test
+  void testSummarize() {
+    var histogram = new LogHistogram();
+    histogram.record(2_000_000);
+    var attr = new Attributes().put("thread.name", "main");
+
+    var gauges = histogram.summarize("jfr.Test.duration", 1_000_000, attr, 2L);
+
+    var result = gauges.collect(toList());
+    assertEquals(4, result.size());
+    var percentiles = result.stream().map(g -> g.getAttributes().get(PERCENTILE)).collect(toList());
+    assertEquals(List.of(50.0, 90.0, 99.0, 99.9), percentiles);
+    for (var gauge : result) {
+      assertEquals("jfr.Test.duration" + PERCENTILES, gauge.getName());
+      assertEquals(2.0, gauge.getValue());
+      assertEquals(2L, gauge.getTimestamp());
+      assertEquals("main", gauge.getAttributes().get("thread.name"));
+    }
+    // The attributes of the summarized metric are left unchanged
+    assertEquals(1, attr.asMap().size());
+  }
+
+  @Test
+  void testResetAndEmpty() {
+    var histogram = new LogHistogram();
+    histogram.record(10);
+    histogram.reset();
+
+    assertEquals(0, histogram.getCount());
+    assertEquals(0, histogram.getValueAtPercentile(50));
+    assertEquals(0, histogram.summarize("jfr.Test", 1, new Attributes(), 2L).count());
+  }
+}
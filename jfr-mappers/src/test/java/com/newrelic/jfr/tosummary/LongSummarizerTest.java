@@ -1,50 +1,17 @@
 package com.newrelic.jfr.tosummary;
 
+import static com.newrelic.jfr.EventTypes.mockEvent;
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
-import com.newrelic.jfr.RecordedObjectValidators;
-import jdk.jfr.consumer.RecordedEvent;
-import jdk.jfr.consumer.RecordedObject;
-import org.junit.jupiter.api.AfterAll;
-import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
-import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 
 class LongSummarizerTest {
-  private static MockedStatic<RecordedObjectValidators> recordedObjectValidatorsMockedStatic;
-
-  @BeforeAll
-  static void init() {
-    recordedObjectValidatorsMockedStatic = Mockito.mockStatic(RecordedObjectValidators.class);
-
-    recordedObjectValidatorsMockedStatic
-        .when(
-            () ->
-                RecordedObjectValidators.hasField(
-                    any(RecordedObject.class), anyString(), anyString()))
-        .thenReturn(true);
-
-    recordedObjectValidatorsMockedStatic
-        .when(
-            () ->
-                RecordedObjectValidators.isRecordedObjectNull(
-                    any(RecordedObject.class), anyString()))
-        .thenReturn(false);
-  }
-
-  @AfterAll
-  static void teardown() {
-    recordedObjectValidatorsMockedStatic.close();
-  }
 
   @Test
   void testAccept() {
-    var ev = mock(RecordedEvent.class);
+    var ev = mockEvent();
 
     var fieldName = "theGoodData";
     when(ev.getLong(fieldName)).thenReturn(11L, 12L);
@@ -73,7 +40,7 @@ class LongSummarizerTest {
 
   @Test
   void testReset() {
-    var ev = mock(RecordedEvent.class);
+    var ev = mockEvent();
 
     var fieldName = "theGoodData";
     when(ev.getLong(fieldName)).thenReturn(101L, 102L);
@@ -1,5 +1,7 @@
 package com.newrelic.jfr.tosummary;
 
+import static com.newrelic.jfr.EventTypes.mockEvent;
+import static com.newrelic.jfr.tosummary.LogHistogram.PERCENTILES;
 import static com.newrelic.jfr.tosummary.PerThreadNetworkReadSummarizer.BYTES_READ;
 import static com.newrelic.jfr.tosummary.PerThreadNetworkReadSummarizer.JFR_SOCKET_READ_BYTES_READ;
 import static com.newrelic.jfr.tosummary.PerThreadNetworkReadSummarizer.JFR_SOCKET_READ_DURATION;
@@ -7,12 +9,11 @@ import static com.newrelic.jfr.tosummary.PerThreadNetworkReadSummarizer.THREAD_N
 import static java.time.temporal.ChronoUnit.SECONDS;
 import static java.util.stream.Collectors.toList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
-import com.newrelic.jfr.RecordedObjectValidators;
 import com.newrelic.jfr.ThreadNameNormalizer;
 import com.newrelic.telemetry.Attributes;
 import com.newrelic.telemetry.metrics.Summary;
@@ -20,46 +21,21 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 import jdk.jfr.consumer.RecordedEvent;
-import jdk.jfr.consumer.RecordedObject;
 import jdk.jfr.consumer.RecordedThread;
-import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
-import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 
 class NetworkReadSummarizerTest {
-  private static MockedStatic<RecordedObjectValidators> recordedObjectValidatorsMockedStatic;
   private static ThreadNameNormalizer tnn;
   private static final String EVENT_THREAD = "eventThread";
 
   @BeforeAll
   static void init() {
-    recordedObjectValidatorsMockedStatic = Mockito.mockStatic(RecordedObjectValidators.class);
-
-    recordedObjectValidatorsMockedStatic
-        .when(
-            () ->
-                RecordedObjectValidators.hasField(
-                    any(RecordedObject.class), anyString(), anyString()))
-        .thenReturn(true);
-
-    recordedObjectValidatorsMockedStatic
-        .when(
-            () ->
-                RecordedObjectValidators.isRecordedObjectNull(
-                    any(RecordedObject.class), anyString()))
-        .thenReturn(false);
-
     tnn = Mockito.mock(ThreadNameNormalizer.class);
   }
 
-  @AfterAll
-  static void teardown() {
-    recordedObjectValidatorsMockedStatic.close();
-  }
-
   @AfterEach
   public void resetMocks() {
     Mockito.reset(tnn);
@@ -206,12 +182,40 @@ class NetworkReadSummarizerTest {
     assertEquals(0, emptySummaries.collect(toList()).size());
   }
 
+  @Test
+  void testPercentilesOfAllThreads() {
+    final Instant time1 = Instant.now();
+
+    when(tnn.getNormalizedThreadName(any(String.class)))
+        .thenAnswer(invocation -> invocation.getArgument(0, String.class));
+
+    NetworkReadSummarizer summarizer = new NetworkReadSummarizer(tnn);
+    for (int i = 1; i <= 100; i++) {
+      var threadName = i % 2 == 0 ? "spam" : "eggs";
+      var startTime = time1.plusMillis(i);
+      summarizer.accept(buildEvent(threadName, i, startTime, startTime.plusMillis(i)));
+    }
+
+    var percentiles = summarizer.summarizeGauges().collect(toList());
+
+    assertEquals(4, percentiles.size());
+    assertEquals(JFR_SOCKET_READ_DURATION + PERCENTILES, percentiles.get(0).getName());
+    assertEquals(time1.plusMillis(200).toEpochMilli(), percentiles.get(0).getTimestamp());
+    assertEquals(50, percentiles.get(0).getValue(), 50 / 64.0);
+    assertEquals(99, percentiles.get(2).getValue(), 99 / 64.0);
+    // Sent once for all threads
+    assertNull(percentiles.get(0).getAttributes().get(THREAD_NAME));
+
+    summarizer.reset();
+    assertEquals(0, summarizer.summarizeGauges().count());
+  }
+
   private RecordedEvent buildEvent(
       String threadName, long bytes, Instant startTime, Instant endTime) {
     var recordedThread = mock(RecordedThread.class);
     when(recordedThread.getJavaName()).thenReturn(threadName);
 
-    var event = mock(RecordedEvent.class);
+    var event = mockEvent();
     when(event.getValue(EVENT_THREAD)).thenReturn(recordedThread);
     when(event.getLong(BYTES_READ)).thenReturn(bytes);
     when(event.getStartTime()).thenReturn(startTime);
@@ -1,5 +1,6 @@
 package com.newrelic.jfr.tosummary;
 
+import static com.newrelic.jfr.EventTypes.mockEvent;
 import static com.newrelic.jfr.tosummary.PerThreadObjectAllocationOutsideTLABSummarizer.ALLOCATION_SIZE;
 import static com.newrelic.jfr.tosummary.PerThreadObjectAllocationOutsideTLABSummarizer.JFR_OBJECT_ALLOCATION_OUTSIDE_TLAB_ALLOCATION;
 import static com.newrelic.jfr.tosummary.PerThreadObjectAllocationOutsideTLABSummarizer.THREAD_NAME;
@@ -7,11 +8,9 @@ import static java.util.stream.Collectors.toList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
-import com.newrelic.jfr.RecordedObjectValidators;
 import com.newrelic.jfr.ThreadNameNormalizer;
 import com.newrelic.telemetry.Attributes;
 import com.newrelic.telemetry.metrics.Metric;
@@ -19,46 +18,21 @@ import com.newrelic.telemetry.metrics.Summary;
 import java.time.Instant;
 import java.util.List;
 import jdk.jfr.consumer.RecordedEvent;
-import jdk.jfr.consumer.RecordedObject;
 import jdk.jfr.consumer.RecordedThread;
-import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
-import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 
 class ObjectAllocationOutsideTLABSummarizerTest {
-  private static MockedStatic<RecordedObjectValidators> recordedObjectValidatorsMockedStatic;
   private static ThreadNameNormalizer tnn;
   private static final String EVENT_THREAD = "eventThread";
 
   @BeforeAll
   static void init() {
-    recordedObjectValidatorsMockedStatic = Mockito.mockStatic(RecordedObjectValidators.class);
-
-    recordedObjectValidatorsMockedStatic
-        .when(
-            () ->
-                RecordedObjectValidators.hasField(
-                    any(RecordedObject.class), anyString(), anyString()))
-        .thenReturn(true);
-
-    recordedObjectValidatorsMockedStatic
-        .when(
-            () ->
-                RecordedObjectValidators.isRecordedObjectNull(
-                    any(RecordedObject.class), anyString()))
-        .thenReturn(false);
-
     tnn = Mockito.mock(ThreadNameNormalizer.class);
   }
 
-  @AfterAll
-  static void teardown() {
-    recordedObjectValidatorsMockedStatic.close();
-  }
-
   @AfterEach
   public void resetMocks() {
     Mockito.reset(tnn);
@@ -71,7 +45,7 @@ class ObjectAllocationOutsideTLABSummarizerTest {
     when(tnn.getNormalizedThreadName(any(String.class)))
         .thenAnswer(invocation -> invocation.getArgument(0, String.class));
 
-    var event = mock(RecordedEvent.class);
+    var event = mockEvent();
     var numOfEvents = 1;
     var eventStartTime = Instant.now().toEpochMilli();
     var eventAllocationSize = 1500L;
@@ -113,18 +87,18 @@ class ObjectAllocationOutsideTLABSummarizerTest {
     var eventThreadName = "main";
     when(tnn.getNormalizedThreadName(any(String.class))).thenReturn(eventThreadName);
 
-    var event1 = mock(RecordedEvent.class);
+    var event1 = mockEvent();
     var numOfEvents = 1;
     var event1StartTime = Instant.now().toEpochMilli();
     var event1AllocationSize = 847L;
     var attr = new Attributes().put(THREAD_NAME, eventThreadName);
 
-    var event2 = mock(RecordedEvent.class);
+    var event2 = mockEvent();
     numOfEvents = ++numOfEvents;
     var event2StartTime = event1StartTime + 1;
     var event2AllocationSize = 520L; // min allocation size of final summary
 
-    var event3 = mock(RecordedEvent.class);
+    var event3 = mockEvent();
     numOfEvents = ++numOfEvents;
     var event3StartTime = event1StartTime + 2;
     var event3AllocationSize = 1760L; // max allocation size of final summary
@@ -179,18 +153,18 @@ class ObjectAllocationOutsideTLABSummarizerTest {
     var groupedThreadName = "thread#";
     when(tnn.getNormalizedThreadName(any(String.class))).thenReturn(groupedThreadName);
 
-    var event1 = mock(RecordedEvent.class);
+    var event1 = mockEvent();
     var numOfEvents = 1;
     var event1StartTime = Instant.now().toEpochMilli();
     var event1AllocationSize = 847L;
     var attr = new Attributes().put(THREAD_NAME, groupedThreadName);
 
-    var event2 = mock(RecordedEvent.class);
+    var event2 = mockEvent();
     numOfEvents = ++numOfEvents;
     var event2StartTime = event1StartTime + 1;
     var event2AllocationSize = 520L; // min allocation size of final summary
 
-    var event3 = mock(RecordedEvent.class);
+    var event3 = mockEvent();
     numOfEvents = ++numOfEvents;
     var event3StartTime = event1StartTime + 2;
     var event3AllocationSize = 1760L; // max allocation size of final summary
@@ -244,7 +218,7 @@ class ObjectAllocationOutsideTLABSummarizerTest {
     when(tnn.getNormalizedThreadName(any(String.class)))
         .thenAnswer(invocation -> invocation.getArgument(0, String.class));
 
-    var event = mock(RecordedEvent.class);
+    var event = mockEvent();
     var eventStartTime = Instant.now().toEpochMilli();
     var eventAllocationSize = 1500L;
 
@@ -1,33 +1,27 @@
 package com.newrelic.jfr.tosummary;
 
+import static com.newrelic.jfr.EventTypes.mockEvent;
 import static com.newrelic.jfr.tosummary.PerThreadObjectAllocationOutsideTLABSummarizer.ALLOCATION_SIZE;
 import static com.newrelic.jfr.tosummary.PerThreadObjectAllocationOutsideTLABSummarizer.JFR_OBJECT_ALLOCATION_OUTSIDE_TLAB_ALLOCATION;
 import static com.newrelic.jfr.tosummary.PerThreadObjectAllocationOutsideTLABSummarizer.THREAD_NAME;
 import static java.util.stream.Collectors.toList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
-import com.newrelic.jfr.RecordedObjectValidators;
 import com.newrelic.telemetry.Attributes;
 import com.newrelic.telemetry.metrics.Metric;
 import com.newrelic.telemetry.metrics.Summary;
 import java.time.Instant;
 import java.util.List;
 import jdk.jfr.consumer.RecordedEvent;
-import jdk.jfr.consumer.RecordedObject;
 import jdk.jfr.consumer.RecordedThread;
-import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
-import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 
 class PerThreadObjectAllocationOutsideTLABSummarizerTest {
   private static Summary defaultSummary;
-  private static MockedStatic<RecordedObjectValidators> recordedObjectValidatorsMockedStatic;
   private static final String EVENT_THREAD = "eventThread";
 
   @BeforeAll
@@ -42,27 +36,6 @@ class PerThreadObjectAllocationOutsideTLABSummarizerTest {
             Instant.now().toEpochMilli(),
             0L,
             new Attributes());
-
-    recordedObjectValidatorsMockedStatic = Mockito.mockStatic(RecordedObjectValidators.class);
-
-    recordedObjectValidatorsMockedStatic
-        .when(
-            () ->
-                RecordedObjectValidators.hasField(
-                    any(RecordedObject.class), anyString(), anyString()))
-        .thenReturn(true);
-
-    recordedObjectValidatorsMockedStatic
-        .when(
-            () ->
-                RecordedObjectValidators.isRecordedObjectNull(
-                    any(RecordedObject.class), anyString()))
-        .thenReturn(false);
-  }
-
-  @AfterAll
-  static void teardown() {
-    recordedObjectValidatorsMockedStatic.close();
   }
 
   @Test
@@ -70,7 +43,7 @@ class PerThreadObjectAllocationOutsideTLABSummarizerTest {
     var recordedThread = mock(RecordedThread.class);
     var eventThreadName = "main";
 
-    var event = mock(RecordedEvent.class);
+    var event = mockEvent();
     var numOfEvents = 1;
     var eventStartTime = Instant.now().toEpochMilli();
     var eventAllocationSize = 1500L;
@@ -112,18 +85,18 @@ class PerThreadObjectAllocationOutsideTLABSummarizerTest {
     var recordedThread = mock(RecordedThread.class);
     var eventThreadName = "main";
 
-    var event1 = mock(RecordedEvent.class);
+    var event1 = mockEvent();
     var numOfEvents = 1;
     var event1StartTime = Instant.now().toEpochMilli();
     var event1AllocationSize = 847L;
     var attr = new Attributes().put(THREAD_NAME, eventThreadName);
 
-    var event2 = mock(RecordedEvent.class);
+    var event2 = mockEvent();
     numOfEvents = ++numOfEvents;
     var event2StartTime = event1StartTime + 1;
     var event2AllocationSize = 520L; // min allocation size of final summary
 
-    var event3 = mock(RecordedEvent.class);
+    var event3 = mockEvent();
     numOfEvents = ++numOfEvents;
     var event3StartTime = event2StartTime + 2;
     var event3AllocationSize = 1760L; // max allocation size of final summary
@@ -177,7 +150,7 @@ class PerThreadObjectAllocationOutsideTLABSummarizerTest {
     var recordedThread = mock(RecordedThread.class);
     var eventThreadName = "main";
 
-    var event = mock(RecordedEvent.class);
+    var event = mockEvent();
     var numOfEvents = 1;
     var eventStartTime = Instant.now().toEpochMilli();
     var eventAllocationSize = 1500L;